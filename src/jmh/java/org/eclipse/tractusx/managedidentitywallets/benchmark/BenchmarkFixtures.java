@@ -0,0 +1,182 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.tractusx.managedidentitywallets.config.JsonLdSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
+import org.eclipse.tractusx.managedidentitywallets.constant.MIWVerifiableCredentialType;
+import org.eclipse.tractusx.managedidentitywallets.constant.StringPool;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.HoldersCredential;
+import org.eclipse.tractusx.managedidentitywallets.service.JsonLdContextLoader;
+import org.eclipse.tractusx.managedidentitywallets.utils.CommonUtils;
+import org.eclipse.tractusx.ssi.lib.crypt.KeyPair;
+import org.eclipse.tractusx.ssi.lib.crypt.jwk.JsonWebKey;
+import org.eclipse.tractusx.ssi.lib.crypt.x21559.x21559Generator;
+import org.eclipse.tractusx.ssi.lib.did.resolver.DidResolver;
+import org.eclipse.tractusx.ssi.lib.did.web.DidWebFactory;
+import org.eclipse.tractusx.ssi.lib.model.did.Did;
+import org.eclipse.tractusx.ssi.lib.model.did.DidDocument;
+import org.eclipse.tractusx.ssi.lib.model.did.DidDocumentBuilder;
+import org.eclipse.tractusx.ssi.lib.model.did.JWKVerificationMethod;
+import org.eclipse.tractusx.ssi.lib.model.did.JWKVerificationMethodBuilder;
+import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredentialSubject;
+import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredentialType;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Wallets and credentials shared by the benchmarks, built the same way as in the wallet and issuer services.
+ */
+final class BenchmarkFixtures {
+
+    static final String HOST = "localhost";
+
+    static final String ISSUER_BPN = "BPNL000000000000";
+
+    static final String HOLDER_BPN = "BPNL000000000001";
+
+    static final String ENCRYPTION_KEY = "ohb7echohNe3zoo1so0eiC2phue4liux";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Settings with the default contexts of application.yaml.
+     *
+     * @return the miw settings
+     */
+    static MIWSettings miwSettings() {
+        //the contexts are mutable, credential signing adds the JWS context to them
+        return new MIWSettings(HOST, ENCRYPTION_KEY, ISSUER_BPN, didOf(ISSUER_BPN), "Catena-X",
+                new ArrayList<>(List.of(URI.create("https://www.w3.org/2018/credentials/v1"),
+                        URI.create("https://catenax-ng.github.io/product-core-schemas/businessPartnerData.json"))),
+                new ArrayList<>(List.of(URI.create("https://www.w3.org/2018/credentials/v1"),
+                        URI.create("https://catenax-ng.github.io/product-core-schemas/SummaryVC.json"))),
+                new Date(System.currentTimeMillis() + Duration.ofDays(365).toMillis()), null, false, null,
+                List.of(URI.create("https://www.w3.org/ns/did/v1"), URI.create("https://w3c.github.io/vc-jws-2020/contexts/v1")));
+    }
+
+    /**
+     * Install the JSON-LD context loader and fetch the contexts before measuring, so that no benchmark iteration
+     * waits for the network.
+     *
+     * @param miwSettings the miw settings
+     * @return the installed loader
+     */
+    static JsonLdContextLoader installContextLoader(MIWSettings miwSettings) {
+        JsonLdContextLoader loader = new JsonLdContextLoader(miwSettings,
+                new JsonLdSettings(100, Duration.ofHours(1), true), new SimpleMeterRegistry());
+        loader.install();
+        loader.preload();
+        return loader;
+    }
+
+    /**
+     * New Ed25519 key pair.
+     *
+     * @return the key pair
+     * @throws Exception if the key can not be generated
+     */
+    static KeyPair keyPair() throws Exception {
+        return new x21559Generator().generateKey();
+    }
+
+    /**
+     * Did of a wallet hosted by this MIW.
+     *
+     * @param bpn the bpn
+     * @return the did
+     */
+    static String didOf(String bpn) {
+        return DidWebFactory.fromHostnameAndPath(HOST, bpn).toString();
+    }
+
+    /**
+     * Did document of a wallet, as created by the wallet service.
+     *
+     * @param miwSettings the miw settings
+     * @param bpn         the bpn
+     * @param keyPair     the key pair
+     * @return the did document
+     */
+    static DidDocument didDocument(MIWSettings miwSettings, String bpn, KeyPair keyPair) {
+        Did did = DidWebFactory.fromHostnameAndPath(HOST, bpn);
+        JsonWebKey jwk = new JsonWebKey(UUID.randomUUID().toString(), keyPair.getPublicKey(), keyPair.getPrivateKey());
+        JWKVerificationMethod verificationMethod = new JWKVerificationMethodBuilder().did(did).jwk(jwk).build();
+        DidDocument didDocument = new DidDocumentBuilder()
+                .id(did.toUri())
+                .verificationMethods(List.of(verificationMethod))
+                .build();
+        List<URI> context = new ArrayList<>(didDocument.getContext());
+        miwSettings.didDocumentContextUrls().forEach(uri -> {
+            if (!context.contains(uri)) {
+                context.add(uri);
+            }
+        });
+        didDocument.put("@context", context);
+        return DidDocument.fromJson(didDocument.toJson());
+    }
+
+    /**
+     * Sign a BPN credential of the holder.
+     *
+     * @param miwSettings the miw settings
+     * @param issuerDoc   the issuer did document
+     * @param privateKey  the private key of the issuer
+     * @return the holders credential
+     */
+    static HoldersCredential bpnCredential(MIWSettings miwSettings, DidDocument issuerDoc, byte[] privateKey) {
+        String holderDid = didOf(HOLDER_BPN);
+        VerifiableCredentialSubject subject = new VerifiableCredentialSubject(Map.of(StringPool.TYPE, MIWVerifiableCredentialType.BPN_CREDENTIAL,
+                StringPool.ID, holderDid,
+                StringPool.BPN, HOLDER_BPN));
+        return CommonUtils.getHoldersCredential(subject,
+                List.of(VerifiableCredentialType.VERIFIABLE_CREDENTIAL, MIWVerifiableCredentialType.BPN_CREDENTIAL),
+                issuerDoc, privateKey, holderDid, miwSettings.vcContexts(), miwSettings.vcExpiryDate(), false);
+    }
+
+    /**
+     * Resolver which knows only the given did document.
+     *
+     * @param didDocument the did document
+     * @return the did resolver
+     */
+    static DidResolver resolverOf(DidDocument didDocument) {
+        return new DidResolver() {
+            @Override
+            public DidDocument resolve(Did did) {
+                return didDocument;
+            }
+
+            public boolean isResolvable(Did did) {
+                return true;
+            }
+        };
+    }
+}
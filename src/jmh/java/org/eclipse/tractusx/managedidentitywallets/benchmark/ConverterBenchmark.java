@@ -0,0 +1,120 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
+import org.eclipse.tractusx.managedidentitywallets.service.JsonLdContextLoader;
+import org.eclipse.tractusx.managedidentitywallets.utils.EncryptionUtils;
+import org.eclipse.tractusx.managedidentitywallets.utils.StringToCredentialConverter;
+import org.eclipse.tractusx.managedidentitywallets.utils.StringToDidDocumentConverter;
+import org.eclipse.tractusx.ssi.lib.crypt.KeyPair;
+import org.eclipse.tractusx.ssi.lib.model.did.DidDocument;
+import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredential;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JPA converters of credentials and did documents, and the encryption of private keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConverterBenchmark {
+
+    private final StringToCredentialConverter credentialConverter = new StringToCredentialConverter(new ObjectMapper());
+
+    private final StringToDidDocumentConverter didDocumentConverter = new StringToDidDocumentConverter();
+
+    private EncryptionUtils encryptionUtils;
+
+    private VerifiableCredential credential;
+
+    private String credentialJson;
+
+    private DidDocument didDocument;
+
+    private String didDocumentJson;
+
+    private String privateKey;
+
+    private String encryptedPrivateKey;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        MIWSettings miwSettings = BenchmarkFixtures.miwSettings();
+        encryptionUtils = new EncryptionUtils(miwSettings);
+        KeyPair keyPair = BenchmarkFixtures.keyPair();
+        didDocument = BenchmarkFixtures.didDocument(miwSettings, BenchmarkFixtures.ISSUER_BPN, keyPair);
+        didDocumentJson = didDocumentConverter.convertToDatabaseColumn(didDocument);
+
+        JsonLdContextLoader contextLoader = BenchmarkFixtures.installContextLoader(miwSettings);
+        try {
+            credential = BenchmarkFixtures.bpnCredential(miwSettings, didDocument, keyPair.getPrivateKey().asByte()).getData();
+        } finally {
+            contextLoader.uninstall();
+        }
+        credentialJson = credentialConverter.convertToDatabaseColumn(credential);
+
+        privateKey = Base64.getEncoder().encodeToString(keyPair.getPrivateKey().asByte());
+        encryptedPrivateKey = encryptionUtils.encrypt(privateKey);
+    }
+
+    @Benchmark
+    public String writeCredential() {
+        return credentialConverter.convertToDatabaseColumn(credential);
+    }
+
+    @Benchmark
+    public VerifiableCredential readCredential() {
+        return credentialConverter.convertToEntityAttribute(credentialJson);
+    }
+
+    @Benchmark
+    public String writeDidDocument() {
+        return didDocumentConverter.convertToDatabaseColumn(didDocument);
+    }
+
+    @Benchmark
+    public DidDocument readDidDocument() {
+        return didDocumentConverter.convertToEntityAttribute(didDocumentJson);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return encryptionUtils.encrypt(privateKey);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return encryptionUtils.decrypt(encryptedPrivateKey);
+    }
+}
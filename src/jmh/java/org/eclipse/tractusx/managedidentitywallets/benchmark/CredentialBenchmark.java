@@ -0,0 +1,96 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.VerificationSettings;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.HoldersCredential;
+import org.eclipse.tractusx.managedidentitywallets.service.CredentialVerificationService;
+import org.eclipse.tractusx.managedidentitywallets.service.JsonLdContextLoader;
+import org.eclipse.tractusx.ssi.lib.crypt.KeyPair;
+import org.eclipse.tractusx.ssi.lib.model.did.DidDocument;
+import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredential;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Linked data proof signing and verification of a BPN credential.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CredentialBenchmark {
+
+    private MIWSettings miwSettings;
+
+    private JsonLdContextLoader contextLoader;
+
+    private DidDocument issuerDoc;
+
+    private byte[] privateKey;
+
+    private VerifiableCredential credential;
+
+    private CredentialVerificationService verificationService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        miwSettings = BenchmarkFixtures.miwSettings();
+        contextLoader = BenchmarkFixtures.installContextLoader(miwSettings);
+        KeyPair keyPair = BenchmarkFixtures.keyPair();
+        issuerDoc = BenchmarkFixtures.didDocument(miwSettings, BenchmarkFixtures.ISSUER_BPN, keyPair);
+        privateKey = keyPair.getPrivateKey().asByte();
+        credential = BenchmarkFixtures.bpnCredential(miwSettings, issuerDoc, privateKey).getData();
+        verificationService = new CredentialVerificationService(BenchmarkFixtures.resolverOf(issuerDoc),
+                new VerificationSettings(1, Duration.ofSeconds(30), 100), new SimpleMeterRegistry());
+        if (!verificationService.verifyProof(credential)) {
+            throw new IllegalStateException("Signed credential of the benchmark is not valid");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        verificationService.shutdown();
+        contextLoader.uninstall();
+    }
+
+    @Benchmark
+    public HoldersCredential sign() {
+        return BenchmarkFixtures.bpnCredential(miwSettings, issuerDoc, privateKey);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return verificationService.verifyProof(credential);
+    }
+}
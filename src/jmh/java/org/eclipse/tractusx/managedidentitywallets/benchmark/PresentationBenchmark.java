@@ -0,0 +1,118 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.VerificationSettings;
+import org.eclipse.tractusx.managedidentitywallets.constant.StringPool;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.Wallet;
+import org.eclipse.tractusx.managedidentitywallets.service.CommonService;
+import org.eclipse.tractusx.managedidentitywallets.service.CredentialVerificationService;
+import org.eclipse.tractusx.managedidentitywallets.service.JsonLdContextLoader;
+import org.eclipse.tractusx.managedidentitywallets.service.PresentationService;
+import org.eclipse.tractusx.managedidentitywallets.service.WalletKeyService;
+import org.eclipse.tractusx.ssi.lib.crypt.KeyPair;
+import org.eclipse.tractusx.ssi.lib.crypt.ed25519.Ed25519Key;
+import org.eclipse.tractusx.ssi.lib.model.did.DidDocument;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation of a VP as JWT by the holder of one BPN credential.
+ * <p>
+ * Wallet and key lookups are stubbed, the benchmark measures serialization and signing of the presentation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PresentationBenchmark {
+
+    private static final String AUDIENCE = "smartSense";
+
+    private static final long HOLDER_WALLET_ID = 2L;
+
+    private JsonLdContextLoader contextLoader;
+
+    private CredentialVerificationService verificationService;
+
+    private PresentationService presentationService;
+
+    private Map<String, Object> request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        MIWSettings miwSettings = BenchmarkFixtures.miwSettings();
+        contextLoader = BenchmarkFixtures.installContextLoader(miwSettings);
+
+        KeyPair issuerKeyPair = BenchmarkFixtures.keyPair();
+        DidDocument issuerDoc = BenchmarkFixtures.didDocument(miwSettings, BenchmarkFixtures.ISSUER_BPN, issuerKeyPair);
+        KeyPair holderKeyPair = BenchmarkFixtures.keyPair();
+        DidDocument holderDoc = BenchmarkFixtures.didDocument(miwSettings, BenchmarkFixtures.HOLDER_BPN, holderKeyPair);
+        Wallet holderWallet = Wallet.builder()
+                .id(HOLDER_WALLET_ID)
+                .bpn(BenchmarkFixtures.HOLDER_BPN)
+                .did(holderDoc.getId().toString())
+                .didDocument(holderDoc)
+                .build();
+
+        CommonService commonService = Mockito.mock(CommonService.class);
+        Mockito.when(commonService.getWalletByIdentifier(BenchmarkFixtures.HOLDER_BPN)).thenReturn(holderWallet);
+        WalletKeyService walletKeyService = Mockito.mock(WalletKeyService.class);
+        Ed25519Key holderKey = Ed25519Key.asPrivateKey(holderKeyPair.getPrivateKey().asByte());
+        Mockito.when(walletKeyService.withPrivateKey(Mockito.eq(HOLDER_WALLET_ID), Mockito.any()))
+                .thenAnswer(invocation -> invocation.<WalletKeyService.KeyOperation<?>>getArgument(1).apply(holderKey));
+
+        verificationService = new CredentialVerificationService(BenchmarkFixtures.resolverOf(issuerDoc),
+                new VerificationSettings(1, Duration.ofSeconds(30), 100), new SimpleMeterRegistry());
+        presentationService = new PresentationService(null, null, commonService, walletKeyService, miwSettings,
+                BenchmarkFixtures.resolverOf(holderDoc), verificationService, new SimpleMeterRegistry());
+
+        Map<String, Object> credential = BenchmarkFixtures.bpnCredential(miwSettings, issuerDoc,
+                issuerKeyPair.getPrivateKey().asByte()).getData();
+        request = Map.of(StringPool.VERIFIABLE_CREDENTIALS, List.of(credential));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        verificationService.shutdown();
+        contextLoader.uninstall();
+    }
+
+    @Benchmark
+    public Map<String, Object> createPresentationAsJwt() {
+        return presentationService.createPresentation(request, true, AUDIENCE, BenchmarkFixtures.HOLDER_BPN);
+    }
+}
@@ -72,6 +72,16 @@ public class ApplicationConfig implements WebMvcConfigurer {
         return objectMapper;
     }
 
+    /**
+     * Records SQL statements of requests, static so that data sources are wrapped before anything uses them.
+     *
+     * @return the bean post processor
+     */
+    @Bean
+    public static SqlStatisticsDataSource.PostProcessor sqlStatisticsDataSourcePostProcessor() {
+        return new SqlStatisticsDataSource.PostProcessor();
+    }
+
     @Bean
     public SpecificationUtil specificationUtil() {
         return new SpecificationUtil<>();
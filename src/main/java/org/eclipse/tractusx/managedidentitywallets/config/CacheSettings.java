@@ -0,0 +1,48 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * The type Cache settings.
+ *
+ * @param signingKey      cache of decrypted signing keys of wallets
+ * @param credentialCount cache of approximate credential counts per issuer, the ttl is the time after which a count is refreshed
+ * @param wallet          cache of wallets by BPN and did, the authority wallet is always kept
+ * @param idempotency     responses of requests with Idempotency-Key header, the ttl is the time a key can be replayed
+ */
+@ConfigurationProperties(prefix = "miw.cache")
+public record CacheSettings(CacheSpec signingKey, CacheSpec credentialCount, CacheSpec wallet,
+                            CacheSpec idempotency) {
+
+    /**
+     * Bounds of a single in-memory cache.
+     *
+     * @param maxSize max number of entries, 0 disables the cache
+     * @param ttl     time to live of an entry after it is written
+     */
+    public record CacheSpec(long maxSize, Duration ttl) {
+    }
+}
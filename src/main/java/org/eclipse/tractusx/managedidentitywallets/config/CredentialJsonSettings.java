@@ -0,0 +1,37 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * The type Credential json settings.
+ *
+ * @param migrationBatchSize          number of credentials converted to jsonb per batch
+ * @param migrationPollIntervalMillis interval in which the next batch is converted
+ * @param maxSubjectFields            max number of subject fields of a credential query
+ * @param layoutRefreshIntervalMillis interval in which the jsonb column is read again while credentials are converted
+ */
+@ConfigurationProperties(prefix = "miw.credential-json")
+public record CredentialJsonSettings(int migrationBatchSize, long migrationPollIntervalMillis, int maxSubjectFields,
+                                     long layoutRefreshIntervalMillis) {
+}
@@ -0,0 +1,43 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The type Did resolver settings.
+ *
+ * @param connectTimeout connect timeout of the shared HTTP client
+ * @param requestTimeout timeout of a single DID document request
+ * @param cacheMaxSize   max number of cached DID documents, 0 disables the cache
+ * @param defaultTtl     time a DID document is cached when the response has no Cache-Control max-age
+ * @param maxTtl         upper bound for the time a DID document is cached, regardless of Cache-Control
+ * @param negativeTtl    time a failed resolution is remembered before the DID is fetched again
+ * @param metricHosts    hosts tagged by name in resolution metrics, other hosts except the MIW host are tagged "other"
+ */
+@ConfigurationProperties(prefix = "miw.did-resolver")
+public record DidResolverSettings(Duration connectTimeout, Duration requestTimeout, long cacheMaxSize,
+                                  Duration defaultTtl, Duration maxTtl, Duration negativeTtl, List<String> metricHosts) {
+}
@@ -156,8 +156,8 @@ public class ExceptionHandling {
      * @param e the e
      * @return the problem detail
      */
-    @ExceptionHandler(CredentialNotFoundProblem.class)
-    ProblemDetail handleNotFoundCredentialProblem(CredentialNotFoundProblem e) {
+    @ExceptionHandler({CredentialNotFoundProblem.class, IssuanceJobNotFoundProblem.class})
+    ProblemDetail handleNotFoundCredentialProblem(RuntimeException e) {
         ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
         problemDetail.setTitle(e.getMessage());
         problemDetail.setProperty(TIMESTAMP, System.currentTimeMillis());
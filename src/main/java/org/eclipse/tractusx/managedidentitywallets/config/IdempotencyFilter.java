@@ -0,0 +1,296 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.text.StringEscapeUtils;
+import org.eclipse.tractusx.managedidentitywallets.constant.RestURI;
+import org.eclipse.tractusx.managedidentitywallets.constant.StringPool;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Replays the stored response of a POST request, if a request with the same Idempotency-Key header was already
+ * completed by the same caller, so retries of callers do not issue or sign again.
+ * <p>
+ * Keys are scoped to the caller and bound to method, path and body of the first request, reusing a key for another
+ * request is rejected. Responses are kept in memory of the instance, 5xx responses are not kept so that the request
+ * can be retried. A second request with a key which is still in progress is rejected instead of waiting.
+ * <p>
+ * As keys are not shared between instances, a retry which is routed to another replica is run again. Deployments with
+ * more than one replica need sticky routing by caller for replays to hold, otherwise the keys would have to be persisted.
+ */
+@Slf4j
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    /**
+     * The constant IDEMPOTENCY_KEY.
+     */
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    /**
+     * Header set on replayed responses.
+     */
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    /**
+     * Name of the idempotent response cache in metrics.
+     */
+    public static final String IDEMPOTENT_RESPONSE_CACHE = "idempotentResponses";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final List<RequestMatcher> IDEMPOTENT_ENDPOINTS = Stream.of(
+                    RestURI.WALLETS,
+                    RestURI.WALLETS_BATCH,
+                    RestURI.API_WALLETS_IDENTIFIER_CREDENTIALS,
+                    RestURI.CREDENTIALS,
+                    RestURI.ISSUERS_CREDENTIALS,
+                    RestURI.CREDENTIALS_ISSUER_MEMBERSHIP,
+                    RestURI.CREDENTIALS_ISSUER_DISMANTLER,
+                    RestURI.API_CREDENTIALS_ISSUER_FRAMEWORK,
+                    RestURI.CREDENTIALS_ISSUER_MEMBERSHIP_BATCH,
+                    RestURI.API_CREDENTIALS_ISSUER_FRAMEWORK_BATCH,
+                    RestURI.ISSUERS_CREDENTIALS_ASYNC,
+                    RestURI.CREDENTIALS_ISSUER_MEMBERSHIP_ASYNC,
+                    RestURI.CREDENTIALS_ISSUER_DISMANTLER_ASYNC,
+                    RestURI.API_CREDENTIALS_ISSUER_FRAMEWORK_ASYNC)
+            .map(uri -> (RequestMatcher) new AntPathRequestMatcher(uri, HttpMethod.POST.name()))
+            .toList();
+
+    private final Cache<String, StoredResponse> responses;
+
+    private final Set<String> inProgress = ConcurrentHashMap.newKeySet();
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Instantiates a new Idempotency filter.
+     *
+     * @param cacheSettings the cache settings
+     * @param objectMapper  the object mapper
+     * @param meterRegistry the meter registry
+     */
+    public IdempotencyFilter(CacheSettings cacheSettings, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(cacheSettings.idempotency().maxSize())
+                .expireAfterWrite(cacheSettings.idempotency().ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, IDEMPOTENT_RESPONSE_CACHE);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !StringUtils.hasText(request.getHeader(IDEMPOTENCY_KEY)) || IDEMPOTENT_ENDPOINTS.stream().noneMatch(matcher -> matcher.matches(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY);
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeProblem(request, response, HttpStatus.BAD_REQUEST, IDEMPOTENCY_KEY + " must not be longer than " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        String key = caller(request.getUserPrincipal()) + "|" + idempotencyKey;
+
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        byte[] fingerprint = fingerprint(request, body);
+
+        StoredResponse stored = responses.getIfPresent(key);
+        if (stored != null) {
+            replay(request, response, stored, fingerprint);
+            return;
+        }
+        if (!inProgress.add(key)) {
+            writeProblem(request, response, HttpStatus.CONFLICT, "Request with same " + IDEMPOTENCY_KEY + " is still in progress");
+            return;
+        }
+        try {
+            //completed between the first lookup and taking the key
+            stored = responses.getIfPresent(key);
+            if (stored != null) {
+                replay(request, response, stored, fingerprint);
+                return;
+            }
+
+            ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+            filterChain.doFilter(new CachedBodyRequest(request, body), responseWrapper);
+            if (responseWrapper.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                responses.put(key, new StoredResponse(fingerprint, responseWrapper.getStatus(), responseWrapper.getContentType(),
+                        responseWrapper.getHeader(HttpHeaders.LOCATION), responseWrapper.getContentAsByteArray()));
+            }
+            responseWrapper.copyBodyToResponse();
+        } finally {
+            inProgress.remove(key);
+        }
+    }
+
+    private void replay(HttpServletRequest request, HttpServletResponse response, StoredResponse stored, byte[] fingerprint) throws IOException {
+        if (!MessageDigest.isEqual(stored.fingerprint(), fingerprint)) {
+            writeProblem(request, response, HttpStatus.UNPROCESSABLE_ENTITY, IDEMPOTENCY_KEY + " was already used for a different request");
+            return;
+        }
+        log.debug("Replaying response of {} {}", StringEscapeUtils.escapeJava(request.getRequestURI()), StringEscapeUtils.escapeJava(request.getHeader(IDEMPOTENCY_KEY)));
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        response.setHeader(IDEMPOTENT_REPLAYED, Boolean.TRUE.toString());
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeProblem(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String detail) throws IOException {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, detail);
+        problemDetail.setTitle(detail);
+        problemDetail.setInstance(URI.create(request.getRequestURI()));
+        problemDetail.setProperty(ExceptionHandling.TIMESTAMP, System.currentTimeMillis());
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problemDetail);
+    }
+
+    private static String caller(Principal principal) {
+        if (principal instanceof JwtAuthenticationToken token) {
+            //same user can get tokens of different BPNs
+            Map<String, Object> claims = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            claims.putAll(token.getTokenAttributes());
+            return token.getName() + "|" + claims.get(StringPool.BPN);
+        }
+        return principal == null ? "" : principal.getName();
+    }
+
+    private static byte[] fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getRequestURI() + "?" + request.getQueryString() + "\n").getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record StoredResponse(byte[] fingerprint, int status, String contentType, String location, byte[] body) {
+    }
+
+    /**
+     * Request which serves the body read by the filter.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream inputStream = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return inputStream.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    //the whole body is in memory, so it is available and read completely right away
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return inputStream.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return inputStream.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), getCharacterEncoding() == null ? StandardCharsets.UTF_8 : Charset.forName(getCharacterEncoding())));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * The type Issuance job settings.
+ *
+ * @param workers                 number of threads running asynchronous issuance jobs
+ * @param perIssuerConcurrency    max number of jobs of one issuer running at the same time
+ * @param pollIntervalMillis      interval in which queued jobs are checked
+ * @param pollBatchSize           max number of queued jobs read per poll
+ * @param runningTimeout          time a running job is leased to its worker, a job whose lease was not renewed within
+ *                                this time is considered lost, e.g. by a restart, and queued again
+ * @param heartbeatIntervalMillis interval in which workers renew the lease of their running jobs, well below runningTimeout
+ */
+@ConfigurationProperties(prefix = "miw.issuance-job")
+public record IssuanceJobSettings(int workers, int perIssuerConcurrency, long pollIntervalMillis, int pollBatchSize,
+                                  Duration runningTimeout, long heartbeatIntervalMillis) {
+}
@@ -0,0 +1,118 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Number and time of SQL statements run by the current request, optionally with their SQL.
+ * <p>
+ * Statements are recorded for the thread which started the statistics only, statements run by worker pools, e.g. of
+ * batch issuance, are not part of the request statistics.
+ */
+public final class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+
+    private long nanos;
+
+    private final List<String> sql;
+
+    private SqlStatistics(boolean keepSql) {
+        sql = keepSql ? new ArrayList<>() : null;
+    }
+
+    /**
+     * Start recording SQL statements of the current thread.
+     *
+     * @return the statistics of the current thread
+     */
+    public static SqlStatistics start() {
+        return start(false);
+    }
+
+    /**
+     * Start recording SQL statements of the current thread.
+     *
+     * @param keepSql keep the SQL of the statements, e.g. to explain them in tests
+     * @return the statistics of the current thread
+     */
+    public static SqlStatistics start(boolean keepSql) {
+        SqlStatistics statistics = new SqlStatistics(keepSql);
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Stop recording SQL statements of the current thread.
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Record a statement, if statistics are recorded for the current thread.
+     *
+     * @param sql   SQL of the statement, null if not known
+     * @param nanos time taken by the statement
+     */
+    static void record(String sql, long nanos) {
+        SqlStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+            statistics.nanos += nanos;
+            if (statistics.sql != null && sql != null) {
+                statistics.sql.add(sql);
+            }
+        }
+    }
+
+    /**
+     * Gets number of statements.
+     *
+     * @return the number of statements
+     */
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * Gets time taken by all statements.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Gets SQL of the statements, if started to keep it.
+     *
+     * @return the SQL in order of execution, empty if the SQL is not kept
+     */
+    public List<String> getSql() {
+        return sql == null ? List.of() : List.copyOf(sql);
+    }
+}
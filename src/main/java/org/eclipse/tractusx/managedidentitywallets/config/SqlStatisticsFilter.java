@@ -0,0 +1,168 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.text.StringEscapeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts SQL statements and SQL time of every request, to find endpoints running more statements than expected,
+ * e.g. N+1 selects.
+ * <p>
+ * Statement count and SQL time are recorded as histograms by endpoint. A warning is logged if a request runs more
+ * statements than the threshold of its endpoint. Optionally, count and time are added as response headers, which
+ * needs the response to be buffered and is meant for non-prod environments only. Responses with a streaming content
+ * type, e.g. newline delimited JSON, are not buffered and get no headers.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    /**
+     * Header with number of SQL statements of the request.
+     */
+    public static final String SQL_STATEMENTS = "X-Sql-Statements";
+
+    /**
+     * Header with time taken by SQL statements of the request in milliseconds.
+     */
+    public static final String SQL_TIME = "X-Sql-Time-Ms";
+
+    /**
+     * Name of the histogram of SQL statements per request, tagged with method and uri.
+     */
+    public static final String STATEMENTS_METRIC = "miw.http.sql.statements";
+
+    /**
+     * Name of the timer of SQL time per request, tagged with method and uri.
+     */
+    public static final String TIME_METRIC = "miw.http.sql.time";
+
+    private static final String UNKNOWN = "UNKNOWN";
+
+    //streamed responses are not buffered to add headers
+    private static final List<MediaType> STREAMED = List.of(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+
+    private final SqlStatisticsSettings settings;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Instantiates a new Sql statistics filter.
+     *
+     * @param settings      the settings
+     * @param meterRegistry the meter registry
+     */
+    public SqlStatisticsFilter(SqlStatisticsSettings settings, MeterRegistry meterRegistry) {
+        this.settings = settings;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        BufferedResponse bufferedResponse = settings.responseHeaders() ? new BufferedResponse(response) : null;
+        SqlStatistics statistics = SqlStatistics.start();
+        try {
+            filterChain.doFilter(request, bufferedResponse == null ? response : bufferedResponse);
+        } finally {
+            SqlStatistics.stop();
+            record(request, statistics);
+            if (bufferedResponse != null) {
+                if (!bufferedResponse.isStreamed()) {
+                    bufferedResponse.setHeader(SQL_STATEMENTS, String.valueOf(statistics.getStatements()));
+                    bufferedResponse.setHeader(SQL_TIME, String.valueOf(TimeUnit.NANOSECONDS.toMillis(statistics.getNanos())));
+                }
+                bufferedResponse.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? UNKNOWN : pattern.toString();
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("SQL statements run by a request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        Timer.builder(TIME_METRIC)
+                .description("Time taken by SQL statements of a request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getNanos(), TimeUnit.NANOSECONDS);
+
+        int threshold = settings.warnStatements(uri);
+        if (statistics.getStatements() > threshold) {
+            log.warn("{} {} ran {} SQL statements in {} ms, more than {} expected, check for N+1 queries", request.getMethod(),
+                    StringEscapeUtils.escapeJava(uri), statistics.getStatements(), TimeUnit.NANOSECONDS.toMillis(statistics.getNanos()), threshold);
+        }
+    }
+
+    /**
+     * Response buffered to add headers at the end of the request, unless a streaming content type is set before the
+     * body is written. Body of a streamed response is written to the response right away.
+     */
+    private static class BufferedResponse extends ContentCachingResponseWrapper {
+
+        private BufferedResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        private boolean isStreamed() {
+            String contentType = getContentType();
+            return contentType != null && STREAMED.stream().anyMatch(type -> type.isCompatibleWith(MediaType.parseMediaType(contentType)));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            return isStreamed() ? getResponse().getOutputStream() : super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            return isStreamed() ? getResponse().getWriter() : super.getWriter();
+        }
+    }
+}
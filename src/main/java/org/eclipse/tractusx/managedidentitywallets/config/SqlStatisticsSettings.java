@@ -0,0 +1,50 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * The type Sql statistics settings.
+ *
+ * @param responseHeaders        add SQL statement count and time of a request as response headers, meant for non-prod
+ * @param warnStatements         log a warning if a request runs more SQL statements than this
+ * @param endpointWarnStatements warn threshold by endpoint path pattern, overrides warnStatements
+ */
+@ConfigurationProperties(prefix = "miw.sql-statistics")
+public record SqlStatisticsSettings(boolean responseHeaders, int warnStatements, Map<String, Integer> endpointWarnStatements) {
+
+    /**
+     * Warn threshold of an endpoint.
+     *
+     * @param pattern the path pattern of the endpoint
+     * @return the max number of statements without warning
+     */
+    public int warnStatements(String pattern) {
+        if (endpointWarnStatements == null) {
+            return warnStatements;
+        }
+        return endpointWarnStatements.getOrDefault(pattern, warnStatements);
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * The type Summary settings.
+ *
+ * @param coalesce           queue summary VC updates and sign them once per holder per window instead of after every issuance
+ * @param coalesceWindow     time a queued summary VC update waits for further issuances to the same holder
+ * @param pollIntervalMillis interval in which queued summary VC updates are checked
+ * @param pollBatchSize      max number of queued updates read per poll
+ * @param lockStripes        number of locks holders are mapped to, summary VC updates of holders sharing a lock are serialised
+ */
+@ConfigurationProperties(prefix = "miw.summary")
+public record SummarySettings(boolean coalesce, Duration coalesceWindow, long pollIntervalMillis, int pollBatchSize,
+                              int lockStripes) {
+}
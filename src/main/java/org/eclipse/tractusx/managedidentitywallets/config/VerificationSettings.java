@@ -0,0 +1,39 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * The type Verification settings.
+ *
+ * @param parallelism  number of threads used to verify proofs of credentials
+ * @param timeout      max time to verify all credentials of one request, unverified credentials are not valid;
+ *                     verifications which already started are not interrupted, they keep their thread of the pool
+ *                     until they finish, only verifications not started yet are skipped
+ * @param maxBatchSize max number of credentials accepted by one batch validation request
+ */
+@ConfigurationProperties(prefix = "miw.verification")
+public record VerificationSettings(int parallelism, Duration timeout, int maxBatchSize) {
+}
@@ -35,6 +35,11 @@ public class RestURI {
      */
     public static final String WALLETS = "/api/wallets";
 
+    /**
+     * The constant WALLETS_BATCH.
+     */
+    public static final String WALLETS_BATCH = "/api/wallets/batch";
+
     /**
      * The constant DID_DOCUMENTS.
      */
@@ -49,6 +54,11 @@ public class RestURI {
      * The constant API_WALLETS_IDENTIFIER_CREDENTIALS.
      */
     public static final String API_WALLETS_IDENTIFIER_CREDENTIALS = "/api/wallets/{identifier}/credentials";
+
+    /**
+     * The constant API_WALLETS_IDENTIFIER_CREDENTIALS_EXPORT.
+     */
+    public static final String API_WALLETS_IDENTIFIER_CREDENTIALS_EXPORT = "/api/wallets/{identifier}/credentials/export";
     /**
      * The constant CREDENTIALS.
      */
@@ -57,6 +67,11 @@ public class RestURI {
 
     public static final String CREDENTIALS_VALIDATION = "/api/credentials/validation";
 
+    /**
+     * The constant CREDENTIALS_VALIDATION_BATCH.
+     */
+    public static final String CREDENTIALS_VALIDATION_BATCH = "/api/credentials/validation/batch";
+
 
     public static final String ISSUERS_CREDENTIALS = "/api/credentials/issuer";
 
@@ -75,6 +90,51 @@ public class RestURI {
      */
     public static final String API_CREDENTIALS_ISSUER_FRAMEWORK = "/api/credentials/issuer/framework";
 
+    /**
+     * The constant CREDENTIALS_ISSUER_MEMBERSHIP_BATCH.
+     */
+    public static final String CREDENTIALS_ISSUER_MEMBERSHIP_BATCH = "/api/credentials/issuer/membership/batch";
+
+    /**
+     * The constant API_CREDENTIALS_ISSUER_FRAMEWORK_BATCH.
+     */
+    public static final String API_CREDENTIALS_ISSUER_FRAMEWORK_BATCH = "/api/credentials/issuer/framework/batch";
+
+    /**
+     * The constant CREDENTIALS_ISSUER_MEMBERSHIP_ASYNC.
+     */
+    public static final String CREDENTIALS_ISSUER_MEMBERSHIP_ASYNC = "/api/credentials/issuer/membership/async";
+
+    /**
+     * The constant CREDENTIALS_ISSUER_DISMANTLER_ASYNC.
+     */
+    public static final String CREDENTIALS_ISSUER_DISMANTLER_ASYNC = "/api/credentials/issuer/dismantler/async";
+
+    /**
+     * The constant API_CREDENTIALS_ISSUER_FRAMEWORK_ASYNC.
+     */
+    public static final String API_CREDENTIALS_ISSUER_FRAMEWORK_ASYNC = "/api/credentials/issuer/framework/async";
+
+    /**
+     * The constant ISSUERS_CREDENTIALS_ASYNC.
+     */
+    public static final String ISSUERS_CREDENTIALS_ASYNC = "/api/credentials/issuer/async";
+
+    /**
+     * The constant ISSUERS_CREDENTIALS_JOB.
+     */
+    public static final String ISSUERS_CREDENTIALS_JOB = "/api/credentials/issuer/jobs/{jobId}";
+
+    /**
+     * The constant CREDENTIALS_QUERY.
+     */
+    public static final String CREDENTIALS_QUERY = "/api/credentials/query";
+
+    /**
+     * The constant ISSUERS_CREDENTIALS_QUERY.
+     */
+    public static final String ISSUERS_CREDENTIALS_QUERY = "/api/credentials/issuer/query";
+
     public static final String API_PRESENTATIONS = "/api/presentations";
     public static final String API_PRESENTATIONS_VALIDATION = "/api/presentations/validation";
 
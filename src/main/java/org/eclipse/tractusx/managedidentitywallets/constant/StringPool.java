@@ -37,6 +37,7 @@ public class StringPool {
     public static final String VALIDATE_AUDIENCE = "validateAudience";
     public static final String VALIDATE_EXPIRY_DATE = "validateExpiryDate";
     public static final String VALIDATE_JWT_EXPIRY_DATE = "validateJWTExpiryDate";
+    public static final String ERROR = "error";
     public static final String DID_DOCUMENT = "didDocument";
     public static final String VEHICLE_DISMANTLE = "vehicleDismantle";
     public static final String CREATED_AT = "createdAt";
@@ -51,6 +52,7 @@ public class StringPool {
     public static final String NAME = "name";
     public static final String CONTRACT_TEMPLATE = "contractTemplate";
     public static final String TYPE = "type";
+    public static final String TYPES = "types";
     public static final String MEMBER_OF = "memberOf";
     public static final String STATUS = "status";
     public static final String START_TIME = "startTime";
@@ -89,4 +91,6 @@ public class StringPool {
     public static final String CLIENT_CREDENTIALS = "client_credentials";
     public static final String OPENID = "openid";
     public static final String BEARER_SPACE = "Bearer ";
+
+    public static final String JWS_2020_CONTEXT = "https://w3id.org/security/suites/jws-2020/v1";
 }
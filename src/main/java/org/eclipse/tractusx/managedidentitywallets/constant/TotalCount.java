@@ -0,0 +1,61 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.constant;
+
+import org.eclipse.tractusx.managedidentitywallets.exception.BadDataException;
+
+import java.util.Locale;
+
+/**
+ * How the total number of records is reported by a listing.
+ */
+public enum TotalCount {
+
+    /**
+     * Page with the exact total, read with a count query.
+     */
+    EXACT,
+
+    /**
+     * Slice without total, whether there is a next page is found by reading one more row.
+     */
+    NONE,
+
+    /**
+     * Slice with a cached total, which is refreshed in the background and may be behind.
+     */
+    APPROXIMATE;
+
+    /**
+     * Parse total count mode, ignoring case.
+     *
+     * @param value the value
+     * @return the total count
+     */
+    public static TotalCount of(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadDataException("Invalid total count " + value + ", must be one of exact, none or approximate");
+        }
+    }
+}
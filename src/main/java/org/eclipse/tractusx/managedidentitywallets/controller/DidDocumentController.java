@@ -28,9 +28,11 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.eclipse.tractusx.managedidentitywallets.config.DidDocumentSettings;
 import org.eclipse.tractusx.managedidentitywallets.constant.RestURI;
 import org.eclipse.tractusx.managedidentitywallets.service.DidDocumentService;
 import org.eclipse.tractusx.ssi.lib.model.did.DidDocument;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -47,6 +49,8 @@ import org.springframework.web.bind.annotation.RestController;
 public class DidDocumentController {
     private final DidDocumentService service;
 
+    private final DidDocumentSettings didDocumentSettings;
+
     /**
      * Gets did document.
      *
@@ -116,7 +120,7 @@ public class DidDocumentController {
      * Gets did resolve.
      *
      * @param bpn the bpn
-     * @return the did resolve
+     * @return the did resolve, not modified if the If-None-Match header matches its ETag
      */
     @ApiResponse(responseCode = "500", description = "Any other internal server error", content = {@Content(examples = {
             @ExampleObject(name = "Internal server error", value = """
@@ -146,6 +150,7 @@ public class DidDocumentController {
                     }
                     """)
     })})
+    @ApiResponse(responseCode = "304", description = "DID document not modified, the If-None-Match header matches its ETag", content = {@Content(examples = {})})
     @ApiResponse(responseCode = "200", description = "DID document", content = {
             @Content(examples = {
                     @ExampleObject(name = " DID document", value = """
@@ -171,9 +176,15 @@ public class DidDocumentController {
                             """)
             })
     })
-    @Operation(description = "Resolve the DID document for a given BPN", summary = "Resolve DID Document")
+    @Operation(description = "Resolve the DID document for a given BPN. The response has a strong ETag and may be cached, use If-None-Match to revalidate it", summary = "Resolve DID Document")
     @GetMapping(path = RestURI.DID_RESOLVE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<DidDocument> getDidResolve(@Parameter(description = "BPN",examples = {@ExampleObject(name = "bpn", value = "BPNL000000000000", description = "bpn")}) @PathVariable(name = "bpn") String bpn) {
-        return ResponseEntity.status(HttpStatus.OK).body(service.getDidDocument(bpn));
+    public ResponseEntity<byte[]> getDidResolve(@Parameter(description = "BPN",examples = {@ExampleObject(name = "bpn", value = "BPNL000000000000", description = "bpn")}) @PathVariable(name = "bpn") String bpn) {
+        //Spring answers 304 Not Modified itself when If-None-Match matches the ETag
+        DidDocumentService.SerializedDidDocument didDocument = service.getSerializedDidDocument(bpn);
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(didDocument.etag())
+                .cacheControl(CacheControl.maxAge(didDocumentSettings.maxAge()).cachePublic())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(didDocument.body());
     }
 }
@@ -31,9 +31,11 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.eclipse.tractusx.managedidentitywallets.constant.RestURI;
+import org.eclipse.tractusx.managedidentitywallets.dto.CredentialQueryRequest;
+import org.eclipse.tractusx.managedidentitywallets.service.CredentialQueryService;
 import org.eclipse.tractusx.managedidentitywallets.service.HoldersCredentialService;
 import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredential;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -53,6 +55,8 @@ public class HoldersCredentialController extends BaseController {
 
     private final HoldersCredentialService holdersCredentialService;
 
+    private final CredentialQueryService credentialQueryService;
+
 
     /**
      * Gets credentials.
@@ -194,7 +198,7 @@ public class HoldersCredentialController extends BaseController {
     })
     @Operation(description = "Permission: **view_wallets** OR **view_wallet** (The BPN of holderIdentifier must equal BPN of caller)\n\n Search verifiable credentials with filter criteria", summary = "Query Verifiable Credentials")
     @GetMapping(path = RestURI.CREDENTIALS, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<PageImpl<VerifiableCredential>> getCredentials(@Parameter(name = "credentialId", description = "Credential Id", examples = {@ExampleObject(name = "Credential Id", value = "did:web:localhost:BPNL000000000000#12528899-160a-48bd-ba15-f396c3959ae9")}) @RequestParam(required = false) String credentialId,
+    public ResponseEntity<Slice<VerifiableCredential>> getCredentials(@Parameter(name = "credentialId", description = "Credential Id", examples = {@ExampleObject(name = "Credential Id", value = "did:web:localhost:BPNL000000000000#12528899-160a-48bd-ba15-f396c3959ae9")}) @RequestParam(required = false) String credentialId,
                                                                          @Parameter(name = "issuerIdentifier", description = "Issuer identifier(did of BPN)", examples = {@ExampleObject(name = "bpn", value = "BPNL000000000000", description = "bpn"), @ExampleObject(description = "did", name = "did", value = "did:web:localhost:BPNL000000000000")}) @RequestParam(required = false) String issuerIdentifier,
                                                                          @Parameter(name = "type", description = "Type of VC", examples = {@ExampleObject(name = "SummaryCredential", value = "SummaryCredential", description = "SummaryCredential"), @ExampleObject(description = "BpnCredential", name = "BpnCredential", value = "BpnCredential")}) @RequestParam(required = false) List<String> type,
                                                                          @Parameter(name = "sortColumn", description = "Sort column name",
@@ -210,7 +214,11 @@ public class HoldersCredentialController extends BaseController {
                                                                          @Parameter(name = "sortTpe", description = "Sort order", examples = {@ExampleObject(value = "desc", name = "Descending order"), @ExampleObject(value = "asc", name = "Ascending order")}) @RequestParam(required = false, defaultValue = "desc") String sortTpe,
                                                                          @Min(0) @Max(Integer.MAX_VALUE) @Parameter(description = "Page number, Page number start with zero") @RequestParam(required = false, defaultValue = "0") int pageNumber,
                                                                          @Min(0) @Max(Integer.MAX_VALUE) @Parameter(description = "Number of records per page") @RequestParam(required = false, defaultValue = Integer.MAX_VALUE + "") int size,
+                                                                         @Parameter(name = "cursor", description = "Opaque cursor of the next page, from nextCursor of the previous response. If present, cursor pagination without total count is used and pageNumber is ignored, use an empty value for the first page") @RequestParam(required = false) String cursor,
                                                                          Principal principal) {
+        if (cursor != null) {
+            return ResponseEntity.status(HttpStatus.OK).body(holdersCredentialService.getCredentialsByCursor(credentialId, issuerIdentifier, type, sortColumn, sortTpe, size, cursor, getBPNFromToken(principal)));
+        }
         return ResponseEntity.status(HttpStatus.OK).body(holdersCredentialService.getCredentials(credentialId, issuerIdentifier, type, sortColumn, sortTpe, pageNumber, size, getBPNFromToken(principal)));
     }
 
@@ -345,4 +353,37 @@ public class HoldersCredentialController extends BaseController {
     public ResponseEntity<VerifiableCredential> issueCredential(@RequestBody Map<String, Object> data, Principal principal) {
         return ResponseEntity.status(HttpStatus.CREATED).body(holdersCredentialService.issueCredential(data, getBPNFromToken(principal)));
     }
+
+    /**
+     * Query credentials by credential subject fields and expiration date.
+     *
+     * @param request    the request
+     * @param pageNumber the page number
+     * @param size       the size
+     * @param principal  the principal
+     * @return the credentials held by the caller, newest first
+     */
+    @ApiResponse(responseCode = "401", description = "The request could not be completed due to a failed authorization.", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "403", description = "The request could not be completed due to a forbidden access", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "400", description = "Too many or invalid subject fields", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "200", description = "Matching credentials", content = {@Content(examples = {})})
+    @Operation(summary = "Query Verifiable Credentials by subject", description = "Permission: **view_wallets** OR **view_wallet**\n\n All given subject fields must match the credential subject, expiresAfter and expiresBefore bound the expirationDate")
+    @PostMapping(path = RestURI.CREDENTIALS_QUERY, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(content = {
+            @Content(examples = @ExampleObject("""
+                                {
+                                  "subject": {
+                                    "holderIdentifier": "BPNL000000000000",
+                                    "contractVersion": "1.0.0"
+                                  },
+                                  "expiresAfter": "2024-01-01T00:00:00Z"
+                                }
+                    """))
+    })
+    public ResponseEntity<Slice<VerifiableCredential>> queryCredentials(@RequestBody CredentialQueryRequest request,
+                                                                     @Min(0) @Max(Integer.MAX_VALUE) @Parameter(description = "Page number, Page number start with zero") @RequestParam(required = false, defaultValue = "0") int pageNumber,
+                                                                     @Min(1) @Max(1000) @Parameter(description = "Number of records per page") @RequestParam(required = false, defaultValue = "100") int size,
+                                                                     Principal principal) {
+        return ResponseEntity.status(HttpStatus.OK).body(credentialQueryService.queryHoldersCredentials(request, pageNumber, size, getBPNFromToken(principal)));
+    }
 }
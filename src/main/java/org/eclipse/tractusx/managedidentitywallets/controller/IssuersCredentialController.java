@@ -32,16 +32,25 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.eclipse.tractusx.managedidentitywallets.constant.RestURI;
+import org.eclipse.tractusx.managedidentitywallets.constant.TotalCount;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.IssuanceJob;
+import org.eclipse.tractusx.managedidentitywallets.dto.BatchIssuanceResult;
+import org.eclipse.tractusx.managedidentitywallets.dto.CredentialQueryRequest;
 import org.eclipse.tractusx.managedidentitywallets.dto.IssueDismantlerCredentialRequest;
+import org.eclipse.tractusx.managedidentitywallets.dto.IssueFrameworkCredentialBatchRequest;
 import org.eclipse.tractusx.managedidentitywallets.dto.IssueFrameworkCredentialRequest;
+import org.eclipse.tractusx.managedidentitywallets.dto.IssueMembershipCredentialBatchRequest;
 import org.eclipse.tractusx.managedidentitywallets.dto.IssueMembershipCredentialRequest;
+import org.eclipse.tractusx.managedidentitywallets.service.CredentialQueryService;
+import org.eclipse.tractusx.managedidentitywallets.service.IssuanceJobService;
 import org.eclipse.tractusx.managedidentitywallets.service.IssuersCredentialService;
 import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredential;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.security.Principal;
 import java.util.List;
@@ -65,6 +74,10 @@ public class IssuersCredentialController extends BaseController {
 
     private final IssuersCredentialService issuersCredentialService;
 
+    private final IssuanceJobService issuanceJobService;
+
+    private final CredentialQueryService credentialQueryService;
+
 
     /**
      * Gets credentials.
@@ -243,7 +256,7 @@ public class IssuersCredentialController extends BaseController {
     })
     @Operation(description = "Permission: **view_wallets** (The BPN of holderIdentifier must equal BPN of caller)\n\n Search verifiable credentials with filter criteria", summary = "Query Verifiable Credentials")
     @GetMapping(path = RestURI.ISSUERS_CREDENTIALS, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<PageImpl<VerifiableCredential>> getCredentials(@Parameter(name = "credentialId", description = "Credential Id", examples = {@ExampleObject(name = "Credential Id", value = "did:web:localhost:BPNL000000000000#12528899-160a-48bd-ba15-f396c3959ae9")}) @RequestParam(required = false) String credentialId,
+    public ResponseEntity<Slice<VerifiableCredential>> getCredentials(@Parameter(name = "credentialId", description = "Credential Id", examples = {@ExampleObject(name = "Credential Id", value = "did:web:localhost:BPNL000000000000#12528899-160a-48bd-ba15-f396c3959ae9")}) @RequestParam(required = false) String credentialId,
                                                                          @Parameter(name = "holderIdentifier", description = "Holder identifier(did of BPN)", examples = {@ExampleObject(name = "bpn", value = "BPNL000000000001", description = "bpn"), @ExampleObject(description = "did", name = "did", value = "did:web:localhost:BPNL000000000001")}) @RequestParam(required = false) String holderIdentifier,
                                                                          @Parameter(name = "type", description = "Type of VC", examples = {@ExampleObject(name = "SummaryCredential", value = "SummaryCredential", description = "SummaryCredential"), @ExampleObject(description = "BpnCredential", name = "BpnCredential", value = "BpnCredential")}) @RequestParam(required = false) List<String> type,
                                                                          @Min(0) @Max(Integer.MAX_VALUE) @Parameter(description = "Page number, Page number start with zero") @RequestParam(required = false, defaultValue = "0") int pageNumber,
@@ -256,7 +269,17 @@ public class IssuersCredentialController extends BaseController {
                                                                                          @ExampleObject(value = "credentialId", name = "Credential id")
                                                                                  }
                                                                          ) @RequestParam(required = false, defaultValue = "createdAt") String sortColumn,
-                                                                         @Parameter(name = "sortTpe", description = "Sort order", examples = {@ExampleObject(value = "desc", name = "Descending order"), @ExampleObject(value = "asc", name = "Ascending order")}) @RequestParam(required = false, defaultValue = "desc") String sortTpe, Principal principal) {
+                                                                         @Parameter(name = "sortTpe", description = "Sort order", examples = {@ExampleObject(value = "desc", name = "Descending order"), @ExampleObject(value = "asc", name = "Ascending order")}) @RequestParam(required = false, defaultValue = "desc") String sortTpe,
+                                                                         @Parameter(name = "cursor", description = "Opaque cursor of the next page, from nextCursor of the previous response. If present, cursor pagination without total count is used and pageNumber is ignored, use an empty value for the first page") @RequestParam(required = false) String cursor,
+                                                                         @Parameter(name = "totalCount", description = "exact: page with total count. none: no total count, hasNext tells if there is a next page. approximate: same as none, plus approximateTotalElements of the issuer refreshed in background, only given without filter", examples = {@ExampleObject(value = "exact", name = "Exact total"), @ExampleObject(value = "none", name = "No total"), @ExampleObject(value = "approximate", name = "Approximate total")}) @RequestParam(required = false, defaultValue = "exact") String totalCount,
+                                                                         Principal principal) {
+        if (cursor != null) {
+            return ResponseEntity.status(HttpStatus.OK).body(issuersCredentialService.getCredentialsByCursor(credentialId, holderIdentifier, type, sortColumn, sortTpe, size, cursor, getBPNFromToken(principal)));
+        }
+        TotalCount total = TotalCount.of(totalCount);
+        if (total != TotalCount.EXACT) {
+            return ResponseEntity.status(HttpStatus.OK).body(issuersCredentialService.getCredentialsSlice(credentialId, holderIdentifier, type, sortColumn, sortTpe, pageNumber, size, total == TotalCount.APPROXIMATE, getBPNFromToken(principal)));
+        }
         return ResponseEntity.status(HttpStatus.OK).body(issuersCredentialService.getCredentials(credentialId, holderIdentifier, type, sortColumn, sortTpe, pageNumber, size, getBPNFromToken(principal)));
     }
 
@@ -847,6 +870,223 @@ public class IssuersCredentialController extends BaseController {
         return ResponseEntity.status(HttpStatus.CREATED).body(issuersCredentialService.issueFrameworkCredential(request, getBPNFromToken(principal)));
     }
 
+    /**
+     * Issue membership credentials in batch response entity.
+     *
+     * @param request   the request
+     * @param principal the principal
+     * @return the response entity
+     */
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(content = {
+            @Content(examples = @ExampleObject("""
+                                {
+                                   "credentials": [
+                                     { "bpn": "BPNL000000000001" },
+                                     { "bpn": "BPNL000000000002" }
+                                   ]
+                                 }
+                    """))
+    })
+    @Tag(name = API_TAG_VERIFIABLE_CREDENTIAL_ISSUER)
+    @ApiResponse(responseCode = "401", description = "The request could not be completed due to a failed authorization.", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "403", description = "The request could not be completed due to a forbidden access", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "400", description = "The input does not comply to the syntax requirements", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "201", description = "All credentials issued", content = {
+            @Content(examples = {
+                    @ExampleObject(name = "Batch result", value = """
+                             [
+                               {
+                                 "holderIdentifier": "BPNL000000000001",
+                                 "success": true,
+                                 "credential": {
+                                   "id": "did:web:localhost:BPNL000000000000#0d6b6447-99de-4bc5-94f3-3ac0ae8ee188",
+                                   "type": [
+                                     "VerifiableCredential",
+                                     "MembershipCredential"
+                                   ]
+                                 }
+                               }
+                             ]
+                            """)
+            })
+    })
+    @ApiResponse(responseCode = "207", description = "Some credentials could not be issued, see error of each item", content = {
+            @Content(examples = {
+                    @ExampleObject(name = "Batch result with failure", value = """
+                             [
+                               {
+                                 "holderIdentifier": "BPNL000000000002",
+                                 "success": false,
+                                 "error": "Credential of type MembershipCredential is already exists "
+                               }
+                             ]
+                            """)
+            })
+    })
+    @Operation(summary = "Issue Membership Verifiable Credentials in batch with base wallet issuer", description = "Permission: **update_wallets** (The BPN of base wallet must equal BPN of caller)\n\n Issue membership verifiable credentials to many holders, result is returned per holder")
+    @PostMapping(path = RestURI.CREDENTIALS_ISSUER_MEMBERSHIP_BATCH, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BatchIssuanceResult>> issueMembershipCredentials(@Valid @RequestBody IssueMembershipCredentialBatchRequest request, Principal principal) {
+        return batchResponse(issuersCredentialService.issueMembershipCredentials(request.getCredentials(), getBPNFromToken(principal)));
+    }
+
+    /**
+     * Issue framework credentials in batch response entity.
+     *
+     * @param request   the request
+     * @param principal the principal
+     * @return the response entity
+     */
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(content = {
+            @Content(examples = @ExampleObject("""
+                                {
+                                   "credentials": [
+                                     {
+                                       "holderIdentifier": "BPNL000000000001",
+                                       "type": "PcfCredential",
+                                       "contract-template": "https://public.catena-x.org/contracts/pcf.v1.pdf",
+                                       "contract-version": "1.0.0"
+                                     }
+                                   ]
+                                 }
+                    """))
+    })
+    @Tag(name = API_TAG_VERIFIABLE_CREDENTIAL_ISSUER)
+    @ApiResponse(responseCode = "401", description = "The request could not be completed due to a failed authorization.", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "403", description = "The request could not be completed due to a forbidden access", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "400", description = "The input does not comply to the syntax requirements", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "201", description = "All credentials issued", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "207", description = "Some credentials could not be issued, see error of each item", content = {@Content(examples = {})})
+    @Operation(summary = "Issue Use Case Verifiable Credentials in batch with base wallet issuer", description = "Permission: **update_wallets** (The BPN of base wallet must equal BPN of caller)\n\n Issue framework verifiable credentials to many holders, result is returned per holder")
+    @PostMapping(path = RestURI.API_CREDENTIALS_ISSUER_FRAMEWORK_BATCH, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BatchIssuanceResult>> issueFrameworkCredentials(@Valid @RequestBody IssueFrameworkCredentialBatchRequest request, Principal principal) {
+        return batchResponse(issuersCredentialService.issueFrameworkCredentials(request.getCredentials(), getBPNFromToken(principal)));
+    }
+
+    /**
+     * Issue membership credential asynchronously response entity.
+     *
+     * @param issueMembershipCredentialRequest the issue membership credential request
+     * @param principal                        the principal
+     * @return the response entity
+     */
+    @Tag(name = API_TAG_VERIFIABLE_CREDENTIAL_ISSUER)
+    @ApiResponse(responseCode = "401", description = "The request could not be completed due to a failed authorization.", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "403", description = "The request could not be completed due to a forbidden access", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "400", description = "The input does not comply to the syntax requirements", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "202", description = "Issuance job accepted, status can be read from the Location header", content = {
+            @Content(examples = {
+                    @ExampleObject(name = "Queued issuance job", value = """
+                             {
+                               "jobId": "5a3bd5fc-0b8b-4d26-8f4e-7e1d7d3a3f2b",
+                               "type": "MEMBERSHIP",
+                               "status": "QUEUED",
+                               "holderIdentifier": "BPNL000000000001"
+                             }
+                            """)
+            })
+    })
+    @Operation(summary = "Issue a Membership Verifiable Credential with base wallet issuer asynchronously", description = "Permission: **update_wallets** (The BPN of base wallet must equal BPN of caller)\n\n Queue issuance of a membership verifiable credential, the credential is issued by a worker and returned by the issuance job")
+    @PostMapping(path = RestURI.CREDENTIALS_ISSUER_MEMBERSHIP_ASYNC, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<IssuanceJob> issueMembershipCredentialAsync(@Valid @RequestBody IssueMembershipCredentialRequest issueMembershipCredentialRequest, Principal principal) {
+        return acceptedResponse(issuanceJobService.submitMembershipCredential(issueMembershipCredentialRequest, getBPNFromToken(principal)));
+    }
+
+    /**
+     * Issue dismantler credential asynchronously response entity.
+     *
+     * @param request   the request
+     * @param principal the principal
+     * @return the response entity
+     */
+    @Tag(name = API_TAG_VERIFIABLE_CREDENTIAL_ISSUER)
+    @ApiResponse(responseCode = "401", description = "The request could not be completed due to a failed authorization.", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "403", description = "The request could not be completed due to a forbidden access", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "400", description = "The input does not comply to the syntax requirements", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "202", description = "Issuance job accepted, status can be read from the Location header", content = {@Content(examples = {})})
+    @Operation(summary = "Issue a Dismantler Verifiable Credential with base wallet issuer asynchronously", description = "Permission: **update_wallets** (The BPN of base wallet must equal BPN of caller)\n\n Queue issuance of a dismantler verifiable credential, the credential is issued by a worker and returned by the issuance job")
+    @PostMapping(path = RestURI.CREDENTIALS_ISSUER_DISMANTLER_ASYNC, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<IssuanceJob> issueDismantlerCredentialAsync(@Valid @RequestBody IssueDismantlerCredentialRequest request, Principal principal) {
+        return acceptedResponse(issuanceJobService.submitDismantlerCredential(request, getBPNFromToken(principal)));
+    }
+
+    /**
+     * Issue framework credential asynchronously response entity.
+     *
+     * @param request   the request
+     * @param principal the principal
+     * @return the response entity
+     */
+    @Tag(name = API_TAG_VERIFIABLE_CREDENTIAL_ISSUER)
+    @ApiResponse(responseCode = "401", description = "The request could not be completed due to a failed authorization.", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "403", description = "The request could not be completed due to a forbidden access", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "400", description = "The input does not comply to the syntax requirements", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "202", description = "Issuance job accepted, status can be read from the Location header", content = {@Content(examples = {})})
+    @Operation(summary = "Issue a Use Case Verifiable Credential with base wallet issuer asynchronously", description = "Permission: **update_wallets** (The BPN of base wallet must equal BPN of caller)\n\n Queue issuance of a framework verifiable credential, the credential is issued by a worker and returned by the issuance job")
+    @PostMapping(path = RestURI.API_CREDENTIALS_ISSUER_FRAMEWORK_ASYNC, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<IssuanceJob> issueFrameworkCredentialAsync(@Valid @RequestBody IssueFrameworkCredentialRequest request, Principal principal) {
+        return acceptedResponse(issuanceJobService.submitFrameworkCredential(request, getBPNFromToken(principal)));
+    }
+
+    /**
+     * Issue credential asynchronously response entity.
+     *
+     * @param holderDid the holder did
+     * @param data      the data
+     * @param principal the principal
+     * @return the response entity
+     */
+    @Tag(name = API_TAG_VERIFIABLE_CREDENTIAL_ISSUER)
+    @ApiResponse(responseCode = "401", description = "The request could not be completed due to a failed authorization.", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "403", description = "The request could not be completed due to a forbidden access", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "202", description = "Issuance job accepted, status can be read from the Location header", content = {@Content(examples = {})})
+    @Operation(summary = "Issue Verifiable Credential asynchronously", description = "Permission: **update_wallets** (The BPN of issuer of VC must equal BPN of caller)\n\n Queue issuance of a verifiable credential, issuer of the VC is validated when the job runs")
+    @PostMapping(path = RestURI.ISSUERS_CREDENTIALS_ASYNC, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<IssuanceJob> issueCredentialUsingBaseWalletAsync(@Parameter(description = "Holder DID", examples = {@ExampleObject(description = "did", name = "did", value = "did:web:localhost:BPNL000000000000")}) @RequestParam(name = "holderDid") String holderDid, @RequestBody Map<String, Object> data, Principal principal) {
+        return acceptedResponse(issuanceJobService.submitCredential(holderDid, data, getBPNFromToken(principal)));
+    }
+
+    /**
+     * Gets issuance job.
+     *
+     * @param jobId     the job id
+     * @param principal the principal
+     * @return the issuance job
+     */
+    @Tag(name = API_TAG_VERIFIABLE_CREDENTIAL_ISSUER)
+    @ApiResponse(responseCode = "401", description = "The request could not be completed due to a failed authorization.", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "403", description = "The request could not be completed due to a forbidden access", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "404", description = "Issuance job not found", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "200", description = "Issuance job, credential is set once status is SUCCEEDED and errorMessage once status is FAILED", content = {
+            @Content(examples = {
+                    @ExampleObject(name = "Failed issuance job", value = """
+                             {
+                               "jobId": "5a3bd5fc-0b8b-4d26-8f4e-7e1d7d3a3f2b",
+                               "type": "MEMBERSHIP",
+                               "status": "FAILED",
+                               "holderIdentifier": "BPNL000000000001",
+                               "errorMessage": "Credential of type MembershipCredential is already exists ",
+                               "completedAt": "2023-07-19T13:13:57.000+00:00"
+                             }
+                            """)
+            })
+    })
+    @Operation(summary = "Get asynchronous issuance job", description = "Permission: **update_wallets** (The BPN of caller must equal BPN which submitted the job)\n\n Status and result of an asynchronous issuance")
+    @GetMapping(path = RestURI.ISSUERS_CREDENTIALS_JOB, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<IssuanceJob> getIssuanceJob(@Parameter(description = "Issuance job id") @PathVariable(name = "jobId") String jobId, Principal principal) {
+        return ResponseEntity.status(HttpStatus.OK).body(issuanceJobService.getJob(jobId, getBPNFromToken(principal)));
+    }
+
+    private static ResponseEntity<IssuanceJob> acceptedResponse(IssuanceJob job) {
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath().path(RestURI.ISSUERS_CREDENTIALS_JOB).buildAndExpand(job.getJobId()).toUri())
+                .body(job);
+    }
+
+    private static ResponseEntity<List<BatchIssuanceResult>> batchResponse(List<BatchIssuanceResult> results) {
+        boolean allIssued = results.stream().allMatch(BatchIssuanceResult::isSuccess);
+        return ResponseEntity.status(allIssued ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS).body(results);
+    }
+
     /**
      * Credentials validation response entity.
      *
@@ -1054,6 +1294,25 @@ public class IssuersCredentialController extends BaseController {
         return ResponseEntity.status(HttpStatus.OK).body(issuersCredentialService.credentialsValidation(data, withCredentialExpiryDate));
     }
 
+    /**
+     * Validate many credentials at once.
+     *
+     * @param data                     the credentials
+     * @param withCredentialExpiryDate the with credential expiry date
+     * @return the validation result of each credential
+     */
+    @Tag(name = API_TAG_VERIFIABLE_CREDENTIAL_VALIDATION)
+    @ApiResponse(responseCode = "401", description = "The request could not be completed due to a failed authorization.", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "403", description = "The request could not be completed due to a forbidden access", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "400", description = "The input does not comply to the syntax requirements", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "200", description = "Validation result of each credential, in order of the request", content = {@Content(examples = {})})
+    @Operation(summary = "Validate Verifiable Credentials in batch", description = "Permission: **view_wallets** OR **view_wallet** \n\n Validate many Verifiable Credentials, issuer DIDs are resolved once per batch and signatures are verified in parallel")
+    @PostMapping(path = RestURI.CREDENTIALS_VALIDATION_BATCH, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<Map<String, Object>>> credentialsValidation(@RequestBody List<Map<String, Object>> data,
+                                                                           @Parameter(description = "Check expiry of VC") @RequestParam(name = "withCredentialExpiryDate", defaultValue = "false", required = false) boolean withCredentialExpiryDate) {
+        return ResponseEntity.status(HttpStatus.OK).body(issuersCredentialService.credentialsValidation(data, withCredentialExpiryDate));
+    }
+
     /**
      * Issue credential response entity.
      *
@@ -1181,4 +1440,38 @@ public class IssuersCredentialController extends BaseController {
     public ResponseEntity<VerifiableCredential> issueCredentialUsingBaseWallet(@Parameter(description = "Holder DID", examples = {@ExampleObject(description = "did", name = "did", value = "did:web:localhost:BPNL000000000000")}) @RequestParam(name = "holderDid") String holderDid, @RequestBody Map<String, Object> data, Principal principal) {
         return ResponseEntity.status(HttpStatus.CREATED).body(issuersCredentialService.issueCredentialUsingBaseWallet(holderDid, data, getBPNFromToken(principal)));
     }
+
+    /**
+     * Query credentials by credential subject fields and expiration date.
+     *
+     * @param request    the request
+     * @param pageNumber the page number
+     * @param size       the size
+     * @param principal  the principal
+     * @return the credentials issued by the caller, newest first
+     */
+    @Tag(name = API_TAG_VERIFIABLE_CREDENTIAL_ISSUER)
+    @ApiResponse(responseCode = "401", description = "The request could not be completed due to a failed authorization.", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "403", description = "The request could not be completed due to a forbidden access", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "400", description = "Too many or invalid subject fields", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "200", description = "Matching credentials", content = {@Content(examples = {})})
+    @Operation(summary = "Query Verifiable Credentials by subject", description = "Permission: **update_wallets** (The BPN of the issuer must equal BPN of caller)\n\n All given subject fields must match the credential subject, expiresAfter and expiresBefore bound the expirationDate")
+    @PostMapping(path = RestURI.ISSUERS_CREDENTIALS_QUERY, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(content = {
+            @Content(examples = @ExampleObject("""
+                                {
+                                  "subject": {
+                                    "holderIdentifier": "BPNL000000000000",
+                                    "contractVersion": "1.0.0"
+                                  },
+                                  "expiresAfter": "2024-01-01T00:00:00Z"
+                                }
+                    """))
+    })
+    public ResponseEntity<Slice<VerifiableCredential>> queryIssuersCredentials(@RequestBody CredentialQueryRequest request,
+                                                                     @Min(0) @Max(Integer.MAX_VALUE) @Parameter(description = "Page number, Page number start with zero") @RequestParam(required = false, defaultValue = "0") int pageNumber,
+                                                                     @Min(1) @Max(1000) @Parameter(description = "Number of records per page") @RequestParam(required = false, defaultValue = "100") int size,
+                                                                     Principal principal) {
+        return ResponseEntity.status(HttpStatus.OK).body(credentialQueryService.queryIssuersCredentials(request, pageNumber, size, getBPNFromToken(principal)));
+    }
 }
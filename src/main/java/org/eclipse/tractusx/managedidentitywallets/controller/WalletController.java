@@ -27,19 +27,25 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.eclipse.tractusx.managedidentitywallets.constant.RestURI;
 import org.eclipse.tractusx.managedidentitywallets.dao.entity.Wallet;
+import org.eclipse.tractusx.managedidentitywallets.dto.BatchWalletResult;
+import org.eclipse.tractusx.managedidentitywallets.dto.CreateWalletBatchRequest;
 import org.eclipse.tractusx.managedidentitywallets.dto.CreateWalletRequest;
 import org.eclipse.tractusx.managedidentitywallets.service.WalletService;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -161,6 +167,68 @@ public class WalletController extends BaseController {
         return ResponseEntity.status(HttpStatus.CREATED).body(service.createWallet(request,getBPNFromToken(principal)));
     }
 
+    /**
+     * Create wallets in batch response entity.
+     *
+     * @param request   the request
+     * @param principal the principal
+     * @return the response entity
+     */
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(content = {
+            @Content(examples = {
+                    @ExampleObject(name = "Create wallets with BPN", value = """
+                                                        {
+                                                          "wallets": [
+                                                            { "bpn": "BPNL000000000001", "name": "companyA" },
+                                                            { "bpn": "BPNL000000000002", "name": "companyB" }
+                                                          ]
+                                                        }
+                            """)
+            })
+    })
+    @ApiResponse(responseCode = "401", description = "The request could not be completed due to a failed authorization.", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "403", description = "The request could not be completed due to a forbidden access", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "400", description = "The input does not comply to the syntax requirements", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "201", description = "All wallets created", content = {
+            @Content(examples = {
+                    @ExampleObject(name = "Batch result", value = """
+                             [
+                               {
+                                 "bpn": "BPNL000000000001",
+                                 "did": "did:web:localhost:BPNL000000000001",
+                                 "success": true,
+                                 "wallet": {
+                                   "name": "companyA",
+                                   "did": "did:web:localhost:BPNL000000000001",
+                                   "bpn": "BPNL000000000001",
+                                   "algorithm": "ED25519"
+                                 }
+                               }
+                             ]
+                            """)
+            })
+    })
+    @ApiResponse(responseCode = "207", description = "Some wallets could not be created, see error of each item", content = {
+            @Content(examples = {
+                    @ExampleObject(name = "Batch result with failure", value = """
+                             [
+                               {
+                                 "bpn": "BPNL000000000002",
+                                 "success": false,
+                                 "error": "Wallet is already exists for bpn BPNL000000000002"
+                               }
+                             ]
+                            """)
+            })
+    })
+    @Operation(summary = "Create Wallets in batch", description = "Permission: **add_wallets** (The BPN of the base wallet must equal BPN of caller)\n\n Create many wallets with their BPN credential and summary credential, result is returned per BPN")
+    @PostMapping(path = RestURI.WALLETS_BATCH, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BatchWalletResult>> createWallets(@Valid @RequestBody CreateWalletBatchRequest request, Principal principal) {
+        List<BatchWalletResult> results = service.createWallets(request.getWallets(), getBPNFromToken(principal));
+        boolean allCreated = results.stream().allMatch(BatchWalletResult::isSuccess);
+        return ResponseEntity.status(allCreated ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS).body(results);
+    }
+
     /**
      * Store credential response entity.
      *
@@ -443,6 +511,63 @@ public class WalletController extends BaseController {
         return ResponseEntity.status(HttpStatus.OK).body(service.getWalletByIdentifier(identifier, withCredentials, getBPNFromToken(principal)));
     }
 
+    /**
+     * Export credentials of a wallet as newline delimited JSON.
+     *
+     * @param identifier the identifier
+     * @param principal  the principal
+     * @param response   the response
+     * @throws IOException if writing the response fails
+     */
+    @ApiResponse(responseCode = "401", description = "The request could not be completed due to a failed authorization.", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "403", description = "The request could not be completed due to a forbidden access", content = {@Content(examples = {})})
+    @ApiResponse(responseCode = "500", description = "Any other internal server error", content = {@Content(examples = {
+            @ExampleObject(name = "Internal server error", value = """
+                    {
+                      "type": "about:blank",
+                      "title": "Error Title",
+                      "status": 500,
+                      "detail": "Error Details",
+                      "instance": "API endpoint",
+                      "properties": {
+                        "timestamp": 1689762476720
+                      }
+                    }
+                    """)
+    })})
+    @ApiResponse(responseCode = "404", description = "Wallet not found with provided identifier", content = {@Content(examples = {
+            @ExampleObject(name = "Wallet not found with provided identifier", value = """
+                    {
+                       "type": "about:blank",
+                       "title": "Wallet not found for identifier did:web:localhost:BPNL0000000501",
+                       "status": 404,
+                       "detail": "Wallet not found for identifier did:web:localhost:BPNL0000000501",
+                       "instance": "/api/wallets/did%3Aweb%3Alocalhost%3ABPNL0000000501/credentials/export",
+                       "properties": {
+                         "timestamp": 1689764377224
+                       }
+                     }
+                    """)
+    })})
+    @ApiResponse(responseCode = "200", description = "Credentials of the wallet, one JSON credential per line", content = {@Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, examples = {
+            @ExampleObject(name = "Credentials of the wallet", value = """
+                    {"@context":["https://www.w3.org/2018/credentials/v1","https://catenax-ng.github.io/product-core-schemas/businessPartnerData.json","https://w3id.org/security/suites/jws-2020/v1"],"id":"did:web:localhost:BPNL000000000000#a1f8ae36-9919-4ed8-8546-535280acc5bf","type":["VerifiableCredential","BpnCredential"],"issuer":"did:web:localhost:BPNL000000000000","issuanceDate":"2023-07-19T09:14:45Z","expirationDate":"2023-09-30T18:30:00Z","credentialSubject":[{"bpn":"BPNL000000000001","id":"did:web:localhost:BPNL000000000001","type":"BpnCredential"}],"proof":{"created":"2023-07-19T09:14:47Z","jws":"eyJhbGciOiJFZERTQSJ9..O69dLGMDVgZQJ7chFx3aUbkJFvibH8WWunw634rIDC77_pdiUHvQpQ0hq15_7OgFMy3dp-9H-pNgxTZ-i4UXCw","proofPurpose":"proofPurpose","type":"JsonWebSignature2020","verificationMethod":"did:web:localhost:BPNL000000000000#"}}
+                    {"@context":["https://www.w3.org/2018/credentials/v1","https://catenax-ng.github.io/product-core-schemas/SummaryVC.json","https://w3id.org/security/suites/jws-2020/v1"],"id":"did:web:localhost:BPNL000000000000#954d43de-ebed-481d-9e35-e3bbb311b8f5","type":["VerifiableCredential","SummaryCredential"],"issuer":"did:web:localhost:BPNL000000000000","issuanceDate":"2023-07-19T09:14:46Z","expirationDate":"2023-09-30T18:30:00Z","credentialSubject":[{"contractTemplate":"https://public.catena-x.org/contracts/","holderIdentifier":"BPNL000000000001","id":"did:web:localhost:BPNL000000000001","items":["BpnCredential"],"type":"SummaryCredential"}],"proof":{"created":"2023-07-19T09:14:48Z","jws":"eyJhbGciOiJFZERTQSJ9..4xwFUCtP0xXVEo5_lXd90Vv-TWO2FijZut-HZ5cozAQseexj8EpTkK1erhFbf2Ua1kb8pi_H5At5HiPkTxSIAQ","proofPurpose":"proofPurpose","type":"JsonWebSignature2020","verificationMethod":"did:web:localhost:BPNL000000000000#"}}
+                    """)
+    })})
+    @Operation(summary = "Export credentials of wallet", description = "Permission: **view_wallets** OR **view_wallet** (The BPN of Wallet to export must equal the BPN of caller or Base wallet, authority wallet can export all wallets) \n\n Stream all credentials of the wallet as newline delimited JSON, oldest first, without loading them all in memory")
+    @GetMapping(path = RestURI.API_WALLETS_IDENTIFIER_CREDENTIALS_EXPORT)
+    public void exportCredentials(@Parameter(description = "Did or BPN", examples = {@ExampleObject(name = "bpn", value = "BPNL000000000001", description = "bpn"), @ExampleObject(description = "did", name = "did", value = "did:web:localhost:BPNL000000000001")}) @PathVariable(name = "identifier") String identifier,
+                                  Principal principal, HttpServletResponse response) throws IOException {
+        //validate access before anything is written, so errors are still given as problem details
+        //content type is set here and not with produces, which would prevent negotiating the problem details
+        Wallet wallet = service.getWalletByIdentifier(identifier, false, getBPNFromToken(principal));
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        service.exportCredentials(wallet.getDid(), response.getOutputStream());
+    }
+
     /**
      * Gets wallets.
      *
@@ -546,7 +671,7 @@ public class WalletController extends BaseController {
     })
     @Operation(summary = "List of wallets", description = "Permission: **view_wallets** \n\n Retrieve list of registered wallets")
     @GetMapping(path = RestURI.WALLETS, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Page<Wallet>> getWallets(@Parameter(name = "pageNumber", description = "Page number, Page number start with zero") @RequestParam(required = false, defaultValue = "0") int pageNumber,
+    public ResponseEntity<Slice<Wallet>> getWallets(@Parameter(name = "pageNumber", description = "Page number, Page number start with zero") @RequestParam(required = false, defaultValue = "0") int pageNumber,
                                                    @Parameter(name = "size", description = "Number of records per page") @RequestParam(required = false, defaultValue = Integer.MAX_VALUE + "") int size,
                                                    @Parameter(name = "sortColumn", description = "Sort column name", examples = {
                                                            @ExampleObject(value = "createdAt", name = "Creation date"),
@@ -556,7 +681,11 @@ public class WalletController extends BaseController {
                                                    }
                                                    )
                                                    @RequestParam(required = false, defaultValue = "createdAt") String sortColumn,
-                                                   @Parameter(name = "sortTpe", description = "Sort order", examples = {@ExampleObject(value = "desc", name = "Descending order"), @ExampleObject(value = "asc", name = "Ascending order")}) @RequestParam(required = false, defaultValue = "desc") String sortTpe) {
+                                                   @Parameter(name = "sortTpe", description = "Sort order", examples = {@ExampleObject(value = "desc", name = "Descending order"), @ExampleObject(value = "asc", name = "Ascending order")}) @RequestParam(required = false, defaultValue = "desc") String sortTpe,
+                                                    @Parameter(name = "cursor", description = "Opaque cursor of the next page, from nextCursor of the previous response. If present, cursor pagination without total count is used and pageNumber is ignored, use an empty value for the first page") @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return ResponseEntity.status(HttpStatus.OK).body(service.getWalletsByCursor(size, sortColumn, sortTpe, cursor));
+        }
         return ResponseEntity.status(HttpStatus.OK).body(service.getWallets(pageNumber, size, sortColumn, sortTpe));
     }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.dao.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.eclipse.tractusx.managedidentitywallets.utils.StringToCredentialConverter;
+import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredential;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Immutable;
+
+
+/**
+ * JSON of a credential stored once by its SHA-256 hash, referenced by holders and issuers credentials.
+ */
+@Getter
+@Setter
+@Entity
+@Immutable
+@BatchSize(size = 100)
+@AllArgsConstructor
+@NoArgsConstructor
+public class CredentialContent extends MIWBaseEntity {
+
+    @Id
+    @Column(nullable = false, unique = true)
+    private String hash;
+
+    @Column(nullable = false, name = "credential_data")
+    @Convert(converter = StringToCredentialConverter.class)
+    private VerifiableCredential data;
+}
@@ -0,0 +1,55 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.dao.entity;
+
+import jakarta.persistence.PrePersist;
+import lombok.RequiredArgsConstructor;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.CredentialContentRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the JSON of new credentials to credential_content if shared storage is enabled. The holder and issuer copy of
+ * a credential have the same hash, so the JSON is written once.
+ */
+@Component
+@RequiredArgsConstructor
+public class CredentialContentListener {
+
+    private final CredentialContentRepository credentialContentRepository;
+
+    /**
+     * Store the content before the credential is inserted.
+     *
+     * @param entity the credential
+     */
+    @PrePersist
+    public void storeContent(Object entity) {
+        if (!credentialContentRepository.isSharing() || !(entity instanceof SharedContent credential)
+                || credential.getContentHash() != null || credential.getData() == null) {
+            return;
+        }
+        String json = credential.getData().toJson();
+        String hash = CredentialContentRepository.hash(json);
+        credentialContentRepository.save(hash, json);
+        credential.shareContent(hash);
+    }
+}
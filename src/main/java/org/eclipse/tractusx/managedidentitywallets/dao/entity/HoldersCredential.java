@@ -24,9 +24,11 @@ package org.eclipse.tractusx.managedidentitywallets.dao.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.eclipse.tractusx.managedidentitywallets.utils.CommonUtils;
 import org.eclipse.tractusx.managedidentitywallets.utils.StringToCredentialConverter;
 import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredential;
 
+import java.util.Set;
 
 /**
  * The type Credential.
@@ -37,7 +39,8 @@ import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCreden
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-public class HoldersCredential extends MIWBaseEntity {
+@EntityListeners(CredentialContentListener.class)
+public class HoldersCredential extends MIWBaseEntity implements SharedContent {
 
 
     @Id
@@ -55,16 +58,69 @@ public class HoldersCredential extends MIWBaseEntity {
     @Column(nullable = false, name = "credential_type")
     private String type;
 
-    @Column(nullable = false, name="credential_data")
+    /**
+     * JSON of the credential, null if it is stored in {@link #content}.
+     */
+    @Column(name = "credential_data")
     @Convert(converter = StringToCredentialConverter.class)
     private VerifiableCredential data;
 
+    @JsonIgnore
+    @Column(name = "content_hash")
+    private String contentHash;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "content_hash", insertable = false, updatable = false)
+    private CredentialContent content;
+
+    /**
+     * Credential moved to the shared content when stored, {@link #content} is only read when the credential is loaded.
+     */
+    @JsonIgnore
+    @Transient
+    private VerifiableCredential sharedData;
+
     @Column(nullable = false)
     private String credentialId;
 
+    /**
+     * Types of the credential, set from {@link #type} when the credential is stored. Used to filter by type.
+     */
+    @JsonIgnore
+    @ElementCollection
+    @CollectionTable(name = "holders_credential_type", joinColumns = @JoinColumn(name = "credential_id"))
+    @Column(name = "credential_type", nullable = false)
+    private Set<String> types;
+
     @Column(nullable = false, name = "is_self_issued")
     private boolean selfIssued;
 
     @Column(nullable = false, name = "is_stored")
     private boolean stored;
+
+    @Override
+    public VerifiableCredential getData() {
+        if (data != null) {
+            return data;
+        }
+        if (sharedData != null) {
+            return sharedData;
+        }
+        return content == null ? null : content.getData();
+    }
+
+    @Override
+    public void shareContent(String contentHash) {
+        this.sharedData = getData();
+        this.contentHash = contentHash;
+        this.data = null;
+    }
+
+    @PrePersist
+    void initTypes() {
+        if (types == null) {
+            types = CommonUtils.getCredentialTypes(type);
+        }
+    }
 }
@@ -0,0 +1,86 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.dao.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+import org.eclipse.tractusx.managedidentitywallets.constant.IssuanceJobStatus;
+import org.eclipse.tractusx.managedidentitywallets.constant.IssuanceJobType;
+import org.eclipse.tractusx.managedidentitywallets.utils.StringToCredentialConverter;
+import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredential;
+
+import java.util.Date;
+
+/**
+ * Asynchronous issuance job, the request is kept until a worker has issued the credential.
+ */
+@Getter
+@Setter
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class IssuanceJob extends MIWBaseEntity {
+
+    @Id
+    @JsonIgnore
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", columnDefinition = "serial", nullable = false, unique = true)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String jobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, name = "job_type")
+    private IssuanceJobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private IssuanceJobStatus status;
+
+    @JsonIgnore
+    @Column(nullable = false)
+    private String issuerBpn;
+
+    private String holderIdentifier;
+
+    @JsonIgnore
+    @Column(nullable = false)
+    private String requestData;
+
+    @Convert(converter = StringToCredentialConverter.class)
+    private VerifiableCredential credential;
+
+    private String errorMessage;
+
+    @Temporal(value = TemporalType.TIMESTAMP)
+    private Date completedAt;
+
+    @JsonIgnore
+    private String leaseOwner;
+
+    @JsonIgnore
+    @Temporal(value = TemporalType.TIMESTAMP)
+    private Date leaseUntil;
+}
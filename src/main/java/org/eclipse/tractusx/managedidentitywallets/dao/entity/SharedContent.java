@@ -0,0 +1,52 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.dao.entity;
+
+import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredential;
+
+/**
+ * Credential of which the JSON can be stored in {@link CredentialContent} instead of the row of the credential.
+ */
+public interface SharedContent {
+
+    /**
+     * Gets the credential, from the row or from the shared content.
+     *
+     * @return the credential
+     */
+    VerifiableCredential getData();
+
+    /**
+     * Gets the hash of the shared content.
+     *
+     * @return the hash, null if the JSON is stored in the row
+     */
+    String getContentHash();
+
+    /**
+     * Reference the shared content instead of storing the JSON in the row. The credential is still returned by
+     * {@link #getData()}.
+     *
+     * @param contentHash the hash of the stored content
+     */
+    void shareContent(String contentHash);
+}
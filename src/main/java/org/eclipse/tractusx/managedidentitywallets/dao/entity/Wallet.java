@@ -39,7 +39,7 @@ import java.util.List;
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class Wallet extends MIWBaseEntity {
 
     @Id
@@ -0,0 +1,75 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.dao.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import java.sql.DatabaseMetaData;
+
+/**
+ * Postgres advisory locks, which lock across all instances using the same database.
+ */
+@Repository
+public class AdvisoryLockRepository {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private static final String ADVISORY_XACT_LOCK = "select pg_advisory_xact_lock(hashtext(?))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final boolean supported;
+
+    /**
+     * Instantiates a new Advisory lock repository.
+     *
+     * @param jdbcTemplate the jdbc template
+     * @throws MetaDataAccessException if database product can not be read
+     */
+    public AdvisoryLockRepository(JdbcTemplate jdbcTemplate) throws MetaDataAccessException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.supported = POSTGRESQL.equals(JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(), DatabaseMetaData::getDatabaseProductName));
+    }
+
+    /**
+     * Is supported, false for databases other than Postgres, e.g. H2 used by tests.
+     *
+     * @return true if advisory locks can be used
+     */
+    public boolean isSupported() {
+        return supported;
+    }
+
+    /**
+     * Lock key until current transaction ends, waits while the key is locked by another transaction.
+     *
+     * @param key the key
+     */
+    public void lockForTransaction(String key) {
+        jdbcTemplate.query(ADVISORY_XACT_LOCK, (RowCallbackHandler) rs -> {
+        }, key);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.dao.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.HoldersCredential;
+import org.eclipse.tractusx.managedidentitywallets.utils.CommonUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Writes issued credentials and their types with JDBC batch inserts, used by batch issuance where one statement per row is too slow.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CredentialBatchRepository {
+
+    private static final String INSERT_HOLDERS_CREDENTIAL = "insert into holders_credential (holder_did, issuer_did, credential_id, credential_data, content_hash, credential_type, is_self_issued, is_stored, created_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ISSUERS_CREDENTIAL = "insert into issuers_credential (holder_did, issuer_did, credential_id, credential_data, content_hash, credential_type, created_at) values (?, ?, ?, ?, ?, ?, ?)";
+
+    //ids of batch inserted rows are not returned, types are added to the rows of the credential which have not got them yet
+    private static final String INSERT_HOLDERS_CREDENTIAL_TYPE = "insert into holders_credential_type (credential_id, credential_type) select c.id, ? from holders_credential c where c.holder_did = ? and c.credential_id = ? and not exists (select 1 from holders_credential_type t where t.credential_id = c.id and t.credential_type = ?)";
+
+    private static final String INSERT_ISSUERS_CREDENTIAL_TYPE = "insert into issuers_credential_type (credential_id, credential_type) select c.id, ? from issuers_credential c where c.holder_did = ? and c.issuer_did = ? and c.credential_id = ? and not exists (select 1 from issuers_credential_type t where t.credential_id = c.id and t.credential_type = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final CredentialContentRepository credentialContentRepository;
+
+    /**
+     * Save credentials in holders_credential and issuers_credential table. With shared storage the JSON is saved once
+     * in credential_content.
+     *
+     * @param credentials the credentials
+     */
+    public void saveAll(List<HoldersCredential> credentials) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<String> json = credentials.stream().map(credential -> credential.getData().toJson()).toList();
+        List<String> hashes = new ArrayList<>(Collections.nCopies(credentials.size(), null));
+        if (credentialContentRepository.isSharing()) {
+            Map<String, String> contents = new LinkedHashMap<>();
+            for (int i = 0; i < json.size(); i++) {
+                hashes.set(i, CredentialContentRepository.hash(json.get(i)));
+                contents.put(hashes.get(i), json.get(i));
+            }
+            credentialContentRepository.saveAll(contents);
+        }
+        List<Integer> rows = IntStream.range(0, credentials.size()).boxed().toList();
+        jdbcTemplate.batchUpdate(INSERT_HOLDERS_CREDENTIAL, rows, rows.size(), (ps, i) -> {
+            HoldersCredential credential = credentials.get(i);
+            ps.setString(1, credential.getHolderDid());
+            ps.setString(2, credential.getIssuerDid());
+            ps.setString(3, credential.getCredentialId());
+            ps.setString(4, hashes.get(i) == null ? json.get(i) : null);
+            ps.setString(5, hashes.get(i));
+            ps.setString(6, credential.getType());
+            ps.setBoolean(7, credential.isSelfIssued());
+            ps.setBoolean(8, credential.isStored());
+            ps.setTimestamp(9, now);
+        });
+        jdbcTemplate.batchUpdate(INSERT_ISSUERS_CREDENTIAL, rows, rows.size(), (ps, i) -> {
+            HoldersCredential credential = credentials.get(i);
+            ps.setString(1, credential.getHolderDid());
+            ps.setString(2, credential.getIssuerDid());
+            ps.setString(3, credential.getCredentialId());
+            ps.setString(4, hashes.get(i) == null ? json.get(i) : null);
+            ps.setString(5, hashes.get(i));
+            ps.setString(6, credential.getType());
+            ps.setTimestamp(7, now);
+        });
+
+        List<CredentialType> types = credentials.stream()
+                .flatMap(credential -> CommonUtils.getCredentialTypes(credential.getType()).stream().map(type -> new CredentialType(credential, type)))
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_HOLDERS_CREDENTIAL_TYPE, types, types.size(), (ps, credentialType) -> {
+            ps.setString(1, credentialType.type());
+            ps.setString(2, credentialType.credential().getHolderDid());
+            ps.setString(3, credentialType.credential().getCredentialId());
+            ps.setString(4, credentialType.type());
+        });
+        jdbcTemplate.batchUpdate(INSERT_ISSUERS_CREDENTIAL_TYPE, types, types.size(), (ps, credentialType) -> {
+            ps.setString(1, credentialType.type());
+            ps.setString(2, credentialType.credential().getHolderDid());
+            ps.setString(3, credentialType.credential().getIssuerDid());
+            ps.setString(4, credentialType.credential().getCredentialId());
+            ps.setString(5, credentialType.type());
+        });
+    }
+
+    private record CredentialType(HoldersCredential credential, String type) {
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.dao.repository;
+
+import lombok.SneakyThrows;
+import org.eclipse.tractusx.managedidentitywallets.config.CredentialStorageSettings;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes the JSON of credentials to credential_content, where it is stored once by SHA-256 hash and referenced by
+ * content_hash of holders and issuers credentials.
+ * <p>
+ * Content is never updated, writing a hash which is already stored does nothing. The content is locked until the end of
+ * the transaction which writes it, so it is not deleted as unreferenced before the credential referring to it commits;
+ * deletion skips locked contents, and the foreign keys of the credential tables reject deleting referenced ones.
+ * <p>
+ * Shared storage is not used while credential_data is migrated to jsonb, even if it is enabled: changeset nitin:10
+ * switches to jsonb only once every credential has its jsonb copy, which shared credentials have not.
+ */
+@Repository
+public class CredentialContentRepository {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private static final String INSERT_CONTENT_POSTGRESQL = "insert into credential_content (hash, credential_data) values (?, ?) on conflict (hash) do nothing";
+
+    //H2 used by tests, content of a hash is always the same, so merging an existing row does not change it, but locks it
+    private static final String MERGE_CONTENT = "merge into credential_content (hash, credential_data) key (hash) values (?, ?)";
+
+    //same lock as taken by the foreign key check of a referencing credential
+    private static final String LOCK_CONTENT_POSTGRESQL = "select hash from credential_content where hash in (%s) for key share";
+
+    private static final String SELECT_NOT_SHARED = "select id, credential_data from %s where content_hash is null and credential_data is not null order by id limit ?";
+
+    private static final String SHARE_CONTENT = "update %s set content_hash = ?, credential_data = null where id = ?";
+
+    private static final String DELETE_UNREFERENCED = "delete from credential_content where hash in (select c.hash from credential_content c where not exists (select 1 from holders_credential h where h.content_hash = c.hash) and not exists (select 1 from issuers_credential i where i.content_hash = c.hash) limit ?%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final CredentialStorageSettings credentialStorageSettings;
+
+    private final CredentialQueryRepository credentialQueryRepository;
+
+    private final boolean postgresql;
+
+    /**
+     * Instantiates a new Credential content repository.
+     *
+     * @param jdbcTemplate              the jdbc template
+     * @param credentialStorageSettings the credential storage settings
+     * @param credentialQueryRepository the credential query repository
+     * @throws MetaDataAccessException if database product can not be read
+     */
+    public CredentialContentRepository(JdbcTemplate jdbcTemplate, CredentialStorageSettings credentialStorageSettings,
+                                       CredentialQueryRepository credentialQueryRepository) throws MetaDataAccessException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.credentialStorageSettings = credentialStorageSettings;
+        this.credentialQueryRepository = credentialQueryRepository;
+        this.postgresql = POSTGRESQL.equals(JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(), DatabaseMetaData::getDatabaseProductName));
+    }
+
+    /**
+     * Is the JSON of new and existing credentials stored in credential_content.
+     *
+     * @return true if shared storage is enabled and credential_data is not migrated to jsonb right now
+     */
+    public boolean isSharing() {
+        return credentialStorageSettings.shared()
+                && !credentialQueryRepository.isMigrating(CredentialQueryRepository.HOLDERS_CREDENTIAL)
+                && !credentialQueryRepository.isMigrating(CredentialQueryRepository.ISSUERS_CREDENTIAL);
+    }
+
+    /**
+     * Hash of the JSON of a credential, used as key of the content.
+     *
+     * @param json the credential JSON
+     * @return the SHA-256 hash, hex encoded
+     */
+    @SneakyThrows
+    public static String hash(String json) {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Store content if the hash is not stored yet.
+     *
+     * @param hash the hash
+     * @param json the credential JSON
+     */
+    public void save(String hash, String json) {
+        saveAll(Map.of(hash, json));
+    }
+
+    /**
+     * Store contents of which the hash is not stored yet, and lock all of them until the end of the transaction.
+     *
+     * @param contents the credential JSON by hash
+     */
+    public void saveAll(Map<String, String> contents) {
+        Map<String, String> unlocked = contents;
+        while (!unlocked.isEmpty()) {
+            List<Map.Entry<String, String>> entries = new ArrayList<>(unlocked.entrySet());
+            jdbcTemplate.batchUpdate(postgresql ? INSERT_CONTENT_POSTGRESQL : MERGE_CONTENT, entries, entries.size(), (ps, entry) -> {
+                ps.setString(1, entry.getKey());
+                ps.setString(2, entry.getValue());
+            });
+            if (!postgresql) {
+                return;
+            }
+            //an existing content is not locked by the insert, it is locked now, unless it was deleted meanwhile and is inserted again
+            Set<String> locked = new HashSet<>(jdbcTemplate.queryForList(String.format(LOCK_CONTENT_POSTGRESQL, String.join(", ", Collections.nCopies(entries.size(), "?"))),
+                    String.class, unlocked.keySet().toArray()));
+            Map<String, String> deleted = new LinkedHashMap<>();
+            unlocked.forEach((hash, json) -> {
+                if (!locked.contains(hash)) {
+                    deleted.put(hash, json);
+                }
+            });
+            unlocked = deleted;
+        }
+    }
+
+    /**
+     * Move the JSON of the next batch of credentials which are stored with their own JSON to credential_content. Must
+     * run in a transaction, on Postgres rows locked by another instance are skipped.
+     *
+     * @param table     holders_credential or issuers_credential
+     * @param batchSize the batch size
+     * @return number of moved credentials, 0 if all credentials are shared
+     */
+    public int shareBatch(String table, int batchSize) {
+        String select = String.format(SELECT_NOT_SHARED, table) + (postgresql ? " for update skip locked" : "");
+        Map<Long, String> hashes = new LinkedHashMap<>();
+        Map<String, String> contents = new LinkedHashMap<>();
+        jdbcTemplate.query(select, (RowCallbackHandler) rs -> {
+            String json = rs.getString(2);
+            String hash = hash(json);
+            hashes.put(rs.getLong(1), hash);
+            contents.putIfAbsent(hash, json);
+        }, batchSize);
+        if (hashes.isEmpty()) {
+            return 0;
+        }
+        saveAll(contents);
+        List<Map.Entry<Long, String>> rows = new ArrayList<>(hashes.entrySet());
+        jdbcTemplate.batchUpdate(String.format(SHARE_CONTENT, table), rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.getValue());
+            ps.setLong(2, row.getKey());
+        });
+        return rows.size();
+    }
+
+    /**
+     * Delete contents no credential refers to anymore, e.g. after wallets are deleted.
+     *
+     * @param batchSize max number of contents to delete
+     * @return number of deleted contents
+     */
+    public int deleteUnreferenced(int batchSize) {
+        //contents locked by a transaction storing a credential are skipped, they are referenced once it commits
+        return jdbcTemplate.update(String.format(DELETE_UNREFERENCED, postgresql ? " for update skip locked" : ""), batchSize);
+    }
+}
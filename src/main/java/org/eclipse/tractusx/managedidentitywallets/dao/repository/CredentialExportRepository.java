@@ -0,0 +1,76 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.dao.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads stored credential JSON page by page, used by exports where loading all credentials is too heavy.
+ * <p>
+ * Pages follow each other by (created_at, id) of the last credential, each page is read in its own short statement, so
+ * no connection nor transaction is held while the export is written to a slow client. The export is no snapshot:
+ * credentials stored while it runs are included if they sort after the current page, deleted ones are left out, but no
+ * credential is repeated or skipped.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CredentialExportRepository {
+
+    private static final String SELECT_HOLDERS_CREDENTIAL_DATA = "select h.created_at, h.id, coalesce(cast(h.credential_data as varchar), cast(c.credential_data as varchar)) from holders_credential h left join credential_content c on c.hash = h.content_hash where h.holder_did = ? %s order by h.created_at, h.id limit ?";
+
+    private static final String FIRST_PAGE = String.format(SELECT_HOLDERS_CREDENTIAL_DATA, "");
+
+    private static final String NEXT_PAGE = String.format(SELECT_HOLDERS_CREDENTIAL_DATA, "and (h.created_at > ? or (h.created_at = ? and h.id > ?))");
+
+    private static final RowMapper<Row> ROW_MAPPER = (resultSet, rowNum) -> new Row(resultSet.getTimestamp(1), resultSet.getLong(2), resultSet.getString(3));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Pass the stored JSON of each credential of a holder to the consumer, oldest first.
+     *
+     * @param holderDid the holder did
+     * @param pageSize  the number of rows read per page
+     * @param consumer  the consumer of the credential JSON
+     */
+    public void forEachCredentialData(String holderDid, int pageSize, Consumer<String> consumer) {
+        List<Row> page = jdbcTemplate.query(FIRST_PAGE, ROW_MAPPER, holderDid, pageSize);
+        while (true) {
+            page.forEach(row -> consumer.accept(row.data()));
+            if (page.size() < pageSize) {
+                return;
+            }
+            Row last = page.get(page.size() - 1);
+            page = jdbcTemplate.query(NEXT_PAGE, ROW_MAPPER, holderDid, last.createdAt(), last.createdAt(), last.id(), pageSize);
+        }
+    }
+
+    private record Row(Timestamp createdAt, long id, String data) {
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.dao.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.managedidentitywallets.config.CredentialJsonSettings;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.CollectionUtils;
+
+import java.sql.DatabaseMetaData;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Queries stored credentials by fields of the credential subject and by expiration date.
+ * <p>
+ * On Postgres the predicates are run on the jsonb column of the credential, using its GIN index for subject fields.
+ * While credential_data is migrated to jsonb, the jsonb copy in credential_json is queried, so credentials not
+ * migrated yet are not found. Other databases, e.g. H2 used by tests, filter the credentials of the wallet in Java.
+ * Credentials in shared storage have no credential_data, their JSON is read from credential_content by content_hash.
+ * Both storage modes are queried in their own branch of a UNION ALL, so each predicate is on a plain jsonb column and
+ * can use its GIN index, which a coalesce of both columns could not.
+ * <p>
+ * The jsonb column is read from the database schema. While credential_data is migrated, the schema is read again
+ * after {@link CredentialJsonSettings#layoutRefreshIntervalMillis()} and whenever a query fails on an unknown column,
+ * as another instance may switch credential_data to jsonb on its start while this one keeps running.
+ */
+@Slf4j
+@Repository
+public class CredentialQueryRepository {
+
+    /**
+     * The constant HOLDERS_CREDENTIAL.
+     */
+    public static final String HOLDERS_CREDENTIAL = "holders_credential";
+
+    /**
+     * The constant ISSUERS_CREDENTIAL.
+     */
+    public static final String ISSUERS_CREDENTIAL = "issuers_credential";
+
+    /**
+     * Column of the jsonb copy of credential_data during migration.
+     */
+    public static final String CREDENTIAL_JSON = "credential_json";
+
+    private static final String CREDENTIAL_DATA = "credential_data";
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private static final String SELECT_JSON_COLUMNS = "select column_name, data_type from information_schema.columns where table_schema = current_schema() and table_name = ? and column_name in ('credential_data', 'credential_json')";
+
+    private static final String MIGRATE_BATCH = "update %1$s set credential_json = credential_data::jsonb where id in (select id from %1$s where credential_json is null and credential_data is not null order by id limit ? for update skip locked)";
+
+    private static final String SELECT_DATA = "select coalesce(cast(c.credential_data as varchar), cast(s.credential_data as varchar)) from %s c left join credential_content s on s.hash = c.content_hash where c.%s = ?";
+
+    private static final String SELECT_OWN_DATA = "select c.created_at, c.id, cast(c.credential_data as varchar) as data from %s c where c.%s = ? and c.content_hash is null";
+
+    private static final String SELECT_SHARED_DATA = "select c.created_at, c.id, cast(s.credential_data as varchar) as data from %s c join credential_content s on s.hash = c.content_hash where c.%s = ?";
+
+    private static final String SHARED_DATA_COLUMN = "s.credential_data";
+
+    private static final String CREDENTIAL_SUBJECT = "credentialSubject";
+
+    private static final String EXPIRATION_DATE = "expirationDate";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final CredentialJsonSettings credentialJsonSettings;
+
+    private volatile Map<String, String> jsonColumns;
+
+    private volatile long jsonColumnsReadAt;
+
+    /**
+     * Instantiates a new Credential query repository.
+     *
+     * @param jdbcTemplate           the jdbc template
+     * @param objectMapper           the object mapper
+     * @param credentialJsonSettings the credential json settings
+     */
+    public CredentialQueryRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, CredentialJsonSettings credentialJsonSettings) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.credentialJsonSettings = credentialJsonSettings;
+    }
+
+    /**
+     * Find stored JSON of credentials of a wallet, newest first.
+     *
+     * @param table         holders_credential or issuers_credential
+     * @param ownerColumn   holder_did or issuer_did
+     * @param ownerDid      did of the wallet
+     * @param subject       fields the credential subject must have, with their values
+     * @param expiresAfter  credentials must expire after, optional
+     * @param expiresBefore credentials must expire before, optional
+     * @param offset        number of credentials to skip
+     * @param limit         max number of credentials
+     * @return the credential JSON
+     */
+    public List<String> findCredentialData(String table, String ownerColumn, String ownerDid, Map<String, String> subject,
+                                           Instant expiresAfter, Instant expiresBefore, int offset, int limit) {
+        String jsonColumn = getJsonColumn(table);
+        if (jsonColumn == null) {
+            return filter(table, ownerColumn, ownerDid, subject, expiresAfter, expiresBefore, offset, limit);
+        }
+        try {
+            return query(table, ownerColumn, ownerDid, jsonColumn, subject, expiresAfter, expiresBefore, offset, limit);
+        } catch (BadSqlGrammarException e) {
+            String current = refreshJsonColumn(table);
+            if (current == null || current.equals(jsonColumn)) {
+                throw e;
+            }
+            return query(table, ownerColumn, ownerDid, current, subject, expiresAfter, expiresBefore, offset, limit);
+        }
+    }
+
+    private List<String> query(String table, String ownerColumn, String ownerDid, String jsonColumn, Map<String, String> subject,
+                               Instant expiresAfter, Instant expiresBefore, int offset, int limit) {
+        StringBuilder sql = new StringBuilder("select r.data from (");
+        List<Object> params = new ArrayList<>();
+        sql.append(String.format(SELECT_OWN_DATA, table, ownerColumn));
+        params.add(ownerDid);
+        appendPredicates(sql, params, "c." + jsonColumn, subject, expiresAfter, expiresBefore);
+        sql.append(" union all ").append(String.format(SELECT_SHARED_DATA, table, ownerColumn));
+        params.add(ownerDid);
+        appendPredicates(sql, params, SHARED_DATA_COLUMN, subject, expiresAfter, expiresBefore);
+        sql.append(") r order by r.created_at desc, r.id desc limit ? offset ?");
+        params.add(limit);
+        params.add(offset);
+        return jdbcTemplate.queryForList(sql.toString(), String.class, params.toArray());
+    }
+
+    private void appendPredicates(StringBuilder sql, List<Object> params, String jsonColumn, Map<String, String> subject,
+                                  Instant expiresAfter, Instant expiresBefore) {
+        if (!CollectionUtils.isEmpty(subject)) {
+            //subject is an array for credentials issued by MIW, but may be a single object for stored credentials
+            sql.append(" and (").append(jsonColumn).append(" @> ?::jsonb or ").append(jsonColumn).append(" @> ?::jsonb)");
+            params.add(toJson(Map.of(CREDENTIAL_SUBJECT, List.of(subject))));
+            params.add(toJson(Map.of(CREDENTIAL_SUBJECT, subject)));
+        }
+        if (expiresAfter != null) {
+            sql.append(" and (").append(jsonColumn).append(" ->> 'expirationDate')::timestamptz > ?");
+            params.add(OffsetDateTime.ofInstant(expiresAfter, ZoneOffset.UTC));
+        }
+        if (expiresBefore != null) {
+            sql.append(" and (").append(jsonColumn).append(" ->> 'expirationDate')::timestamptz < ?");
+            params.add(OffsetDateTime.ofInstant(expiresBefore, ZoneOffset.UTC));
+        }
+    }
+
+    /**
+     * Convert next batch of credentials to jsonb, while credential_data is migrated.
+     *
+     * @param table     holders_credential or issuers_credential
+     * @param batchSize the batch size
+     * @return number of converted credentials, 0 if nothing is left to convert
+     */
+    public int migrateBatch(String table, int batchSize) {
+        try {
+            return jdbcTemplate.update(String.format(MIGRATE_BATCH, table), batchSize);
+        } catch (BadSqlGrammarException e) {
+            //credential_json is gone if another instance switched credential_data to jsonb meanwhile
+            if (CREDENTIAL_JSON.equals(refreshJsonColumn(table))) {
+                throw e;
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Is credential_data of a table migrated to jsonb right now.
+     *
+     * @param table holders_credential or issuers_credential
+     * @return true if credentials are left to be converted by {@link #migrateBatch(String, int)}
+     */
+    public boolean isMigrating(String table) {
+        return CREDENTIAL_JSON.equals(getJsonColumn(table));
+    }
+
+    /**
+     * Jsonb column of a table, read again after the refresh interval as long as credential_data is migrated, the layout
+     * does not change anymore once it is switched to jsonb.
+     */
+    private String getJsonColumn(String table) {
+        Map<String, String> columns = jsonColumns;
+        if (columns == null || (columns.containsValue(CREDENTIAL_JSON)
+                && System.currentTimeMillis() - jsonColumnsReadAt >= credentialJsonSettings.layoutRefreshIntervalMillis())) {
+            columns = readJsonColumns();
+        }
+        return toColumn(columns.get(table));
+    }
+
+    private String refreshJsonColumn(String table) {
+        return toColumn(readJsonColumns().get(table));
+    }
+
+    private Map<String, String> readJsonColumns() {
+        Map<String, String> previous = jsonColumns;
+        Map<String, String> columns = Map.of(HOLDERS_CREDENTIAL, readJsonColumn(HOLDERS_CREDENTIAL), ISSUERS_CREDENTIAL, readJsonColumn(ISSUERS_CREDENTIAL));
+        columns.forEach((table, column) -> {
+            if (previous == null ? CREDENTIAL_JSON.equals(column) : !Objects.equals(previous.get(table), column)) {
+                log.info("Jsonb column of {} is {}", table, column.isEmpty() ? "not used" : column);
+            }
+        });
+        jsonColumnsReadAt = System.currentTimeMillis();
+        jsonColumns = columns;
+        return columns;
+    }
+
+    private static String toColumn(String column) {
+        return column.isEmpty() ? null : column;
+    }
+
+    @SneakyThrows
+    private String readJsonColumn(String table) {
+        if (!POSTGRESQL.equals(JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(), DatabaseMetaData::getDatabaseProductName))) {
+            return "";
+        }
+        Map<String, String> types = new HashMap<>();
+        jdbcTemplate.query(SELECT_JSON_COLUMNS, (RowCallbackHandler) rs -> types.put(rs.getString(1), rs.getString(2)), table);
+        if (types.containsKey(CREDENTIAL_JSON)) {
+            return CREDENTIAL_JSON;
+        }
+        return "jsonb".equals(types.get(CREDENTIAL_DATA)) ? CREDENTIAL_DATA : "";
+    }
+
+    private List<String> filter(String table, String ownerColumn, String ownerDid, Map<String, String> subject,
+                                Instant expiresAfter, Instant expiresBefore, int offset, int limit) {
+        List<String> result = new ArrayList<>();
+        int[] skipped = {0};
+        jdbcTemplate.query(String.format(SELECT_DATA, table, ownerColumn) + " order by c.created_at desc, c.id desc", (RowCallbackHandler) rs -> {
+            if (result.size() >= limit) {
+                return;
+            }
+            String data = rs.getString(1);
+            if (matches(data, subject, expiresAfter, expiresBefore)) {
+                if (skipped[0] < offset) {
+                    skipped[0]++;
+                } else {
+                    result.add(data);
+                }
+            }
+        }, ownerDid);
+        return result;
+    }
+
+    @SneakyThrows
+    private boolean matches(String data, Map<String, String> subject, Instant expiresAfter, Instant expiresBefore) {
+        Map<String, Object> credential = objectMapper.readValue(data, Map.class);
+        if (!CollectionUtils.isEmpty(subject)) {
+            Object credentialSubject = credential.get(CREDENTIAL_SUBJECT);
+            List<?> subjects = credentialSubject instanceof List<?> list ? list : List.of(credentialSubject);
+            boolean found = subjects.stream().anyMatch(item -> item instanceof Map<?, ?> map
+                    && subject.entrySet().stream().allMatch(field -> field.getValue().equals(map.get(field.getKey()))));
+            if (!found) {
+                return false;
+            }
+        }
+        if (expiresAfter != null || expiresBefore != null) {
+            Object expirationDate = credential.get(EXPIRATION_DATE);
+            if (expirationDate == null) {
+                return false;
+            }
+            Instant expiry = Instant.parse(expirationDate.toString());
+            return (expiresAfter == null || expiry.isAfter(expiresAfter)) && (expiresBefore == null || expiry.isBefore(expiresBefore));
+        }
+        return true;
+    }
+
+    @SneakyThrows
+    private String toJson(Object value) {
+        return objectMapper.writeValueAsString(value);
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.dao.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import org.eclipse.tractusx.managedidentitywallets.dto.CountFreeSlice;
+import org.eclipse.tractusx.managedidentitywallets.dto.CursorSlice;
+import org.eclipse.tractusx.managedidentitywallets.exception.BadDataException;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Reads pages of entities without a count query, one more row than requested tells whether there is a next page.
+ * <p>
+ * Pages are found either by offset or by a keyset over (sort column, id). The cost of a keyset page does not depend on
+ * its position. The keyset position is handed to the client as an opaque cursor, which is only valid for the same sort
+ * column and order.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CursorPageRepository {
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Specification of attribute equal to value.
+     *
+     * @param <E>       the entity type
+     * @param attribute the attribute
+     * @param value     the value
+     * @return the specification
+     */
+    public static <E> Specification<E> equal(String attribute, Object value) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get(attribute), value);
+    }
+
+    /**
+     * Specification of a collection attribute having any of the values as element. The collection is matched in an
+     * EXISTS subquery, so each entity is found once even if it has several of the values.
+     *
+     * @param <E>       the entity type
+     * @param attribute the collection attribute
+     * @param values    the values
+     * @return the specification, null if there are no values
+     */
+    public static <E> Specification<E> containsAnyElement(String attribute, List<String> values) {
+        if (CollectionUtils.isEmpty(values)) {
+            return null;
+        }
+        return (root, query, criteriaBuilder) -> {
+            Subquery<Integer> subquery = query.subquery(Integer.class);
+            Root<E> correlated = subquery.correlate(root);
+            Join<E, String> element = correlated.join(attribute);
+            return criteriaBuilder.exists(subquery.select(criteriaBuilder.literal(1)).where(element.in(values)));
+        };
+    }
+
+    /**
+     * Find one page after the cursor.
+     *
+     * @param <E>           the entity type
+     * @param entityClass   the entity class
+     * @param specification the filter
+     * @param sortColumn    the sort column
+     * @param sortType      the sort order, asc or desc
+     * @param size          the page size
+     * @param cursor        the cursor of the previous page, empty for the first page
+     * @return the page with the cursor of the next page
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <E> CursorSlice<E> findPage(Class<E> entityClass, Specification<E> specification, String sortColumn,
+                                       String sortType, int size, String cursor) {
+        Sort.Direction direction = validate(sortType, size);
+        Specification<E> filter = specification;
+        if (StringUtils.hasText(cursor)) {
+            Position position = decode(cursor, sortColumn, direction);
+            Specification<E> after = (root, query, criteriaBuilder) -> {
+                Path<Comparable> sortPath = sortPath(root, sortColumn);
+                Path<Comparable> idPath = root.get(idColumn(entityClass));
+                Comparable value = toValue(position.value(), sortPath.getJavaType());
+                Comparable id = position.id();
+                return direction.isAscending()
+                        ? criteriaBuilder.or(criteriaBuilder.greaterThan(sortPath, value),
+                        criteriaBuilder.and(criteriaBuilder.equal(sortPath, value), criteriaBuilder.greaterThan(idPath, id)))
+                        : criteriaBuilder.or(criteriaBuilder.lessThan(sortPath, value),
+                        criteriaBuilder.and(criteriaBuilder.equal(sortPath, value), criteriaBuilder.lessThan(idPath, id)));
+            };
+            filter = filter == null ? after : filter.and(after);
+        }
+
+        List<E> rows = find(entityClass, filter, sortColumn, direction, 0, size);
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = encode(rows.get(size - 1), sortColumn, direction);
+        }
+        return new CursorSlice<>(rows, PageRequest.of(0, size, Sort.by(direction, sortColumn)), nextCursor);
+    }
+
+    /**
+     * Find one page by page number, without count query.
+     *
+     * @param <E>           the entity type
+     * @param entityClass   the entity class
+     * @param specification the filter
+     * @param sortColumn    the sort column
+     * @param sortType      the sort order, asc or desc
+     * @param pageNumber    the page number, starts with zero
+     * @param size          the page size
+     * @return the slice
+     */
+    public <E> CountFreeSlice<E> findSlice(Class<E> entityClass, Specification<E> specification, String sortColumn,
+                                           String sortType, int pageNumber, int size) {
+        Sort.Direction direction = validate(sortType, size);
+        PageRequest pageable = PageRequest.of(pageNumber, size, Sort.by(direction, sortColumn));
+        long offset = pageable.getOffset();
+        if (offset > Integer.MAX_VALUE) {
+            return new CountFreeSlice<>(List.of(), pageable, false, null);
+        }
+        List<E> rows = find(entityClass, specification, sortColumn, direction, (int) offset, size);
+        boolean hasNext = rows.size() > size;
+        return new CountFreeSlice<>(hasNext ? rows.subList(0, size) : rows, pageable, hasNext, null);
+    }
+
+    @SuppressWarnings({"rawtypes"})
+    private <E> List<E> find(Class<E> entityClass, Specification<E> specification, String sortColumn,
+                             Sort.Direction direction, int offset, int size) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<E> query = criteriaBuilder.createQuery(entityClass);
+        Root<E> root = query.from(entityClass);
+        Path<Comparable> sortPath = sortPath(root, sortColumn);
+        Path<Comparable> idPath = root.get(idColumn(entityClass));
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        //id makes the order unique, rows with the same sort value are never skipped or repeated
+        query.orderBy(direction.isAscending()
+                ? List.of(criteriaBuilder.asc(sortPath), criteriaBuilder.asc(idPath))
+                : List.of(criteriaBuilder.desc(sortPath), criteriaBuilder.desc(idPath)));
+
+        //one more row tells if there is a next page
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(size == Integer.MAX_VALUE ? size : size + 1)
+                .getResultList();
+    }
+
+    private static Sort.Direction validate(String sortType, int size) {
+        if (size < 1) {
+            throw new BadDataException("Size must be at least 1");
+        }
+        return Sort.Direction.fromOptionalString(sortType)
+                .orElseThrow(() -> new BadDataException("Invalid sort type " + sortType));
+    }
+
+    @SuppressWarnings({"rawtypes"})
+    private static Path<Comparable> sortPath(Root<?> root, String sortColumn) {
+        try {
+            return root.get(sortColumn);
+        } catch (IllegalArgumentException e) {
+            throw new BadDataException("Invalid sort column " + sortColumn);
+        }
+    }
+
+    private String idColumn(Class<?> entityClass) {
+        EntityType<?> entityType = entityManager.getMetamodel().entity(entityClass);
+        return entityType.getId(entityType.getIdType().getJavaType()).getName();
+    }
+
+    private String encode(Object entity, String sortColumn, Sort.Direction direction) {
+        Object value = new BeanWrapperImpl(entity).getPropertyValue(sortColumn);
+        if (value == null) {
+            throw new BadDataException("Cursor pagination is not supported for sort column " + sortColumn + " with empty values");
+        }
+        Object id = entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
+        String stringValue = value instanceof Date date ? date.toInstant().toString() : value.toString();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(new Position(sortColumn, direction.name(), stringValue, ((Number) id).longValue()));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can not write cursor", e);
+        }
+    }
+
+    private Position decode(String cursor, String sortColumn, Sort.Direction direction) {
+        Position position;
+        try {
+            position = objectMapper.readValue(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8), Position.class);
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            throw new BadDataException("Invalid cursor");
+        }
+        if (!sortColumn.equals(position.column()) || !direction.name().equals(position.direction()) || position.value() == null) {
+            throw new BadDataException("Cursor does not match sort column and sort type of the request");
+        }
+        return position;
+    }
+
+    private static Comparable<?> toValue(String value, Class<?> type) {
+        try {
+            if (Date.class.isAssignableFrom(type)) {
+                return Timestamp.from(Instant.parse(value));
+            } else if (type == Long.class || type == long.class) {
+                return Long.valueOf(value);
+            } else if (type == Integer.class || type == int.class) {
+                return Integer.valueOf(value);
+            } else if (type == Boolean.class || type == boolean.class) {
+                return Boolean.valueOf(value);
+            } else if (type == String.class) {
+                return value;
+            }
+        } catch (RuntimeException e) {
+            throw new BadDataException("Invalid cursor");
+        }
+        throw new BadDataException("Cursor pagination is not supported for sort column of type " + type.getSimpleName());
+    }
+
+    private record Position(String column, String direction, String value, long id) {
+    }
+}
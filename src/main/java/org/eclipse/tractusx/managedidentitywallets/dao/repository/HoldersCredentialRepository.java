@@ -24,6 +24,7 @@ package org.eclipse.tractusx.managedidentitywallets.dao.repository;
 import com.smartsensesolutions.java.commons.base.repository.BaseRepository;
 import org.eclipse.tractusx.managedidentitywallets.dao.entity.HoldersCredential;
 import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredential;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -32,7 +33,7 @@ import java.util.List;
 /**
  * The interface Credential repository.
  */
-public interface HoldersCredentialRepository extends BaseRepository<HoldersCredential, Long> {
+public interface HoldersCredentialRepository extends BaseRepository<HoldersCredential, Long>, JpaSpecificationExecutor<HoldersCredential> {
     /**
      * Gets by holder did.
      *
@@ -47,8 +48,10 @@ public interface HoldersCredentialRepository extends BaseRepository<HoldersCrede
      * @param holderDid the holder did
      * @return the credentials by holder
      */
-    @Query("select data from HoldersCredential where holderDid=:holderDid")
-    List<VerifiableCredential> getCredentialsByHolder(@Param("holderDid") String holderDid);
+    default List<VerifiableCredential> getCredentialsByHolder(String holderDid) {
+        //not a projection on data, which is null for credentials in shared storage
+        return getByHolderDid(holderDid).stream().map(HoldersCredential::getData).toList();
+    }
 
     /**
      * Gets by holder did and type.
@@ -57,18 +60,32 @@ public interface HoldersCredentialRepository extends BaseRepository<HoldersCrede
      * @param type      the type
      * @return the by holder did and type
      */
-    List<HoldersCredential> getByHolderDidAndType(String holderDid, String type);
+    @Query("select c from HoldersCredential c join c.types t where c.holderDid=:holderDid and t=:type")
+    List<HoldersCredential> getByHolderDidAndType(@Param("holderDid") String holderDid, @Param("type") String type);
 
-    List<HoldersCredential> getByHolderDidAndIssuerDidAndTypeAndStored(String holderDid, String issuerDid, String type, boolean stored);
+    /**
+     * Gets by holder did, issuer did, type and stored.
+     *
+     * @param holderDid the holder did
+     * @param issuerDid the issuer did
+     * @param type      the type
+     * @param stored    true for credentials stored by the holder, false for credentials issued by MIW
+     * @return the credentials
+     */
+    @Query("select c from HoldersCredential c join c.types t where c.holderDid=:holderDid and c.issuerDid=:issuerDid and t=:type and c.stored=:stored")
+    List<HoldersCredential> getByHolderDidAndIssuerDidAndTypeAndStored(@Param("holderDid") String holderDid, @Param("issuerDid") String issuerDid,
+                                                                       @Param("type") String type, @Param("stored") boolean stored);
 
     /**
-     * Exists by holder did and type boolean.
+     * Exists by holder did, type and stored boolean.
      *
      * @param holderDid the holder did
      * @param type      the type
+     * @param stored    true for credentials stored by the holder, false for credentials issued by MIW
      * @return the boolean
      */
-    boolean existsByHolderDidAndType(String holderDid, String type);
+    @Query("select count(c) > 0 from HoldersCredential c join c.types t where c.holderDid=:holderDid and t=:type and c.stored=:stored")
+    boolean existsByHolderDidAndTypeAndStored(@Param("holderDid") String holderDid, @Param("type") String type, @Param("stored") boolean stored);
 
     /**
      * Exists by holder did and credential id boolean.
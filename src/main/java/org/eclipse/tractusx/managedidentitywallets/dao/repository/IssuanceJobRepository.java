@@ -0,0 +1,118 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.dao.repository;
+
+import com.smartsensesolutions.java.commons.base.repository.BaseRepository;
+import org.eclipse.tractusx.managedidentitywallets.constant.IssuanceJobStatus;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.IssuanceJob;
+import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredential;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The interface Issuance job repository.
+ */
+@Repository
+public interface IssuanceJobRepository extends BaseRepository<IssuanceJob, Long> {
+
+    /**
+     * Gets job by job id.
+     *
+     * @param jobId the job id
+     * @return the job
+     */
+    IssuanceJob getByJobId(String jobId);
+
+    /**
+     * Gets jobs of status, oldest first.
+     *
+     * @param status   the status
+     * @param pageable the pageable
+     * @return the jobs
+     */
+    List<IssuanceJob> getByStatusOrderByIdAsc(IssuanceJobStatus status, Pageable pageable);
+
+    /**
+     * Start a queued job, only if it is still queued. The job is leased to the caller until the given date.
+     *
+     * @param id         the id
+     * @param leaseOwner the lease owner, unique per start of a job
+     * @param leaseUntil the end of the lease
+     * @param modifiedAt the modified at
+     * @return 1 if started, 0 if job was started by someone else
+     */
+    @Modifying
+    @Query("update IssuanceJob set status=org.eclipse.tractusx.managedidentitywallets.constant.IssuanceJobStatus.RUNNING, leaseOwner=:leaseOwner, leaseUntil=:leaseUntil, modifiedAt=:modifiedAt " +
+            "where id=:id and status=org.eclipse.tractusx.managedidentitywallets.constant.IssuanceJobStatus.QUEUED")
+    int start(@Param("id") Long id, @Param("leaseOwner") String leaseOwner, @Param("leaseUntil") Date leaseUntil, @Param("modifiedAt") Date modifiedAt);
+
+    /**
+     * Extend the leases of running jobs.
+     *
+     * @param leaseOwners the lease owners of the jobs
+     * @param leaseUntil  the new end of the leases
+     * @return number of renewed leases, lower than the number of owners if jobs were queued again meanwhile
+     */
+    @Modifying
+    @Query("update IssuanceJob set leaseUntil=:leaseUntil where leaseOwner in :leaseOwners " +
+            "and status=org.eclipse.tractusx.managedidentitywallets.constant.IssuanceJobStatus.RUNNING")
+    int renewLeases(@Param("leaseOwners") Collection<String> leaseOwners, @Param("leaseUntil") Date leaseUntil);
+
+    /**
+     * Complete a running job, only if the caller still holds its lease.
+     *
+     * @param id           the id
+     * @param leaseOwner   the lease owner
+     * @param status       the final status
+     * @param credential   the issued credential, null if failed
+     * @param errorMessage the error message, null if succeeded
+     * @param completedAt  the completed at
+     * @return 1 if completed, 0 if the lease was lost and the job is queued again or run by someone else
+     */
+    @Modifying
+    @Query("update IssuanceJob set status=:status, credential=:credential, errorMessage=:errorMessage, completedAt=:completedAt, modifiedAt=:completedAt, leaseOwner=null, leaseUntil=null " +
+            "where id=:id and leaseOwner=:leaseOwner and status=org.eclipse.tractusx.managedidentitywallets.constant.IssuanceJobStatus.RUNNING")
+    int complete(@Param("id") Long id, @Param("leaseOwner") String leaseOwner, @Param("status") IssuanceJobStatus status,
+                 @Param("credential") VerifiableCredential credential, @Param("errorMessage") String errorMessage,
+                 @Param("completedAt") Date completedAt);
+
+    /**
+     * Queue running jobs again whose lease has expired. Jobs started before leases were introduced have no lease, they
+     * are queued again if they were not modified since the given date.
+     *
+     * @param now            the now
+     * @param modifiedBefore the modified before
+     * @return number of queued jobs
+     */
+    @Modifying
+    @Query("update IssuanceJob set status=org.eclipse.tractusx.managedidentitywallets.constant.IssuanceJobStatus.QUEUED, leaseOwner=null, leaseUntil=null " +
+            "where status=org.eclipse.tractusx.managedidentitywallets.constant.IssuanceJobStatus.RUNNING " +
+            "and (leaseUntil<:now or (leaseUntil is null and modifiedAt<:modifiedBefore))")
+    int requeueExpired(@Param("now") Date now, @Param("modifiedBefore") Date modifiedBefore);
+}
@@ -23,13 +23,16 @@ package org.eclipse.tractusx.managedidentitywallets.dao.repository;
 
 import com.smartsensesolutions.java.commons.base.repository.BaseRepository;
 import org.eclipse.tractusx.managedidentitywallets.dao.entity.IssuersCredential;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 /**
  * The interface Credential repository.
  */
-public interface IssuersCredentialRepository extends BaseRepository<IssuersCredential, Long> {
+public interface IssuersCredentialRepository extends BaseRepository<IssuersCredential, Long>, JpaSpecificationExecutor<IssuersCredential> {
 
 
     /**
@@ -40,5 +43,14 @@ public interface IssuersCredentialRepository extends BaseRepository<IssuersCrede
      * @param type      the type
      * @return the by issuer did and holder did and type
      */
-    List<IssuersCredential> getByIssuerDidAndHolderDidAndType(String issuerDid, String holderDid, String type);
+    @Query("select c from IssuersCredential c join c.types t where c.issuerDid=:issuerDid and c.holderDid=:holderDid and t=:type")
+    List<IssuersCredential> getByIssuerDidAndHolderDidAndType(@Param("issuerDid") String issuerDid, @Param("holderDid") String holderDid, @Param("type") String type);
+
+    /**
+     * Count credentials issued by issuer.
+     *
+     * @param issuerDid the issuer did
+     * @return the count
+     */
+    long countByIssuerDid(String issuerDid);
 }
@@ -0,0 +1,44 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.dao.repository;
+
+import com.smartsensesolutions.java.commons.base.repository.BaseRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.SummaryItem;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * The interface Summary item repository.
+ */
+@Repository
+public interface SummaryItemRepository extends BaseRepository<SummaryItem, Long> {
+
+    /**
+     * Gets summary items of holder in order of insertion.
+     *
+     * @param holderDid the holder did
+     * @param issuerDid the issuer did
+     * @return the summary items
+     */
+    List<SummaryItem> getByHolderDidAndIssuerDidOrderByIdAsc(String holderDid, String issuerDid);
+}
@@ -0,0 +1,107 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.dao.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.Wallet;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.WalletKey;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.*;
+
+/**
+ * Writes new wallets and their keys with JDBC batch inserts, used by bulk onboarding where one statement per row is too slow.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WalletBatchRepository {
+
+    private static final String INSERT_WALLET = "insert into wallet (name, did, bpn, algorithm, did_document, created_at) values (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_WALLET_KEY = "insert into wallet_key (wallet_id, key_id, vault_access_token, reference_key, private_key, public_key, created_at) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_WALLET_ID = "select id, bpn from wallet where bpn in (%s)";
+
+    private static final String SELECT_EXISTING_BPN = "select bpn from wallet where bpn in (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Gets the BPNs which already have a wallet.
+     *
+     * @param bpns the bpns
+     * @return the existing bpns
+     */
+    public Set<String> getExistingBpns(List<String> bpns) {
+        if (bpns.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(String.format(SELECT_EXISTING_BPN, placeholders(bpns.size())), String.class, bpns.toArray()));
+    }
+
+    /**
+     * Save wallets and their keys in wallet and wallet_key table. Generated ids are set on the wallets and as wallet id
+     * on the keys.
+     *
+     * @param wallets the wallets
+     * @param keys    the keys, in order of the wallets
+     */
+    public void saveAll(List<Wallet> wallets, List<WalletKey> keys) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate(INSERT_WALLET, wallets, wallets.size(), (ps, wallet) -> {
+            ps.setString(1, wallet.getName());
+            ps.setString(2, wallet.getDid());
+            ps.setString(3, wallet.getBpn());
+            ps.setString(4, wallet.getAlgorithm());
+            ps.setString(5, wallet.getDidDocument().toJson());
+            ps.setTimestamp(6, now);
+        });
+
+        //batch inserts do not return generated keys on every driver, ids are read back by the unique bpn
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query(String.format(SELECT_WALLET_ID, placeholders(wallets.size())),
+                (RowCallbackHandler) resultSet -> ids.put(resultSet.getString(2), resultSet.getLong(1)),
+                wallets.stream().map(Wallet::getBpn).toArray());
+        for (int i = 0; i < wallets.size(); i++) {
+            Long id = ids.get(wallets.get(i).getBpn());
+            wallets.get(i).setId(id);
+            keys.get(i).setWalletId(id);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_WALLET_KEY, keys, keys.size(), (ps, key) -> {
+            ps.setLong(1, key.getWalletId());
+            ps.setString(2, key.getKeyId());
+            ps.setString(3, key.getVaultAccessToken());
+            ps.setString(4, key.getReferenceKey());
+            ps.setString(5, key.getPrivateKey());
+            ps.setString(6, key.getPublicKey());
+            ps.setTimestamp(7, now);
+        });
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
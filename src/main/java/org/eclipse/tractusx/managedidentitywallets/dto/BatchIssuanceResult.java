@@ -0,0 +1,66 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.dto;
+
+import lombok.*;
+import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredential;
+
+/**
+ * Result of one item of a batch request, either the issued credential or the error.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchIssuanceResult {
+
+    private String holderIdentifier;
+
+    private boolean success;
+
+    private VerifiableCredential credential;
+
+    private String error;
+
+    /**
+     * Successful result.
+     *
+     * @param holderIdentifier the holder identifier
+     * @param credential       the credential
+     * @return the batch issuance result
+     */
+    public static BatchIssuanceResult issued(String holderIdentifier, VerifiableCredential credential) {
+        return BatchIssuanceResult.builder().holderIdentifier(holderIdentifier).success(true).credential(credential).build();
+    }
+
+    /**
+     * Failed result.
+     *
+     * @param holderIdentifier the holder identifier
+     * @param error            the error
+     * @return the batch issuance result
+     */
+    public static BatchIssuanceResult failed(String holderIdentifier, String error) {
+        return BatchIssuanceResult.builder().holderIdentifier(holderIdentifier).success(false).error(error).build();
+    }
+}
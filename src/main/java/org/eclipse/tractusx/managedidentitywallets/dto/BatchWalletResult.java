@@ -0,0 +1,68 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.dto;
+
+import lombok.*;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.Wallet;
+
+/**
+ * Result of one wallet of a bulk onboarding request, either the created wallet or the error.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchWalletResult {
+
+    private String bpn;
+
+    private String did;
+
+    private boolean success;
+
+    private Wallet wallet;
+
+    private String error;
+
+    /**
+     * Successful result.
+     *
+     * @param wallet the created wallet
+     * @return the batch wallet result
+     */
+    public static BatchWalletResult created(Wallet wallet) {
+        return BatchWalletResult.builder().bpn(wallet.getBpn()).did(wallet.getDid()).success(true).wallet(wallet).build();
+    }
+
+    /**
+     * Failed result.
+     *
+     * @param bpn   the bpn
+     * @param did   the did, if the wallet is created
+     * @param error the error
+     * @return the batch wallet result
+     */
+    public static BatchWalletResult failed(String bpn, String did, String error) {
+        return BatchWalletResult.builder().bpn(bpn).did(did).success(false).error(error).build();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a listing without count query. It may carry an approximate total, which is left out if unknown.
+ *
+ * @param <T> the type of the content
+ */
+public class CountFreeSlice<T> extends SliceImpl<T> {
+
+    private final Long approximateTotalElements;
+
+    /**
+     * Instantiates a new Count free slice.
+     *
+     * @param content                  the content
+     * @param pageable                 the pageable
+     * @param hasNext                  whether there is a next page
+     * @param approximateTotalElements the approximate total, null if unknown
+     */
+    public CountFreeSlice(List<T> content, Pageable pageable, boolean hasNext, Long approximateTotalElements) {
+        super(content, pageable, hasNext);
+        this.approximateTotalElements = approximateTotalElements;
+    }
+
+    /**
+     * Gets approximate total elements.
+     *
+     * @return the approximate total elements, null if unknown
+     */
+    public Long getApproximateTotalElements() {
+        return approximateTotalElements;
+    }
+
+    /**
+     * Copy of this slice with another approximate total.
+     *
+     * @param approximateTotalElements the approximate total, null if unknown
+     * @return the count free slice
+     */
+    public CountFreeSlice<T> withApproximateTotalElements(Long approximateTotalElements) {
+        return new CountFreeSlice<>(getContent(), getPageable(), hasNext(), approximateTotalElements);
+    }
+
+    @Override
+    @JsonProperty("hasNext")
+    public boolean hasNext() {
+        return super.hasNext();
+    }
+
+    @Override
+    public <U> CountFreeSlice<U> map(Function<? super T, ? extends U> converter) {
+        return new CountFreeSlice<>(getConvertedContent(converter), getPageable(), hasNext(), approximateTotalElements);
+    }
+}
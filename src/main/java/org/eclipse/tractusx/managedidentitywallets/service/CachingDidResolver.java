@@ -0,0 +1,357 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.text.StringEscapeUtils;
+import org.eclipse.tractusx.managedidentitywallets.config.DidResolverSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
+import org.eclipse.tractusx.managedidentitywallets.exception.DidResolutionProblem;
+import org.eclipse.tractusx.managedidentitywallets.exception.WalletNotFoundProblem;
+import org.eclipse.tractusx.ssi.lib.did.resolver.DidResolver;
+import org.eclipse.tractusx.ssi.lib.did.web.util.DidWebParser;
+import org.eclipse.tractusx.ssi.lib.model.did.Did;
+import org.eclipse.tractusx.ssi.lib.model.did.DidDocument;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DID resolver shared by all credential and presentation validations.
+ * <p>
+ * DID documents are fetched with one pooled HTTP client and cached as long as Cache-Control of the response allows,
+ * capped by a max TTL. Expired documents with an ETag are revalidated with If-None-Match. Failed resolutions are
+ * remembered for a short time, so an unreachable host is not asked again for every credential. Concurrent
+ * resolutions of the same DID share one request.
+ * <p>
+ * DIDs hosted by this MIW are read from the wallet table directly instead of calling our own did.json endpoint.
+ */
+@Slf4j
+@Component
+public class CachingDidResolver implements DidResolver {
+
+    /**
+     * Name of the DID document cache in metrics.
+     */
+    public static final String DID_DOCUMENT_CACHE = "didDocuments";
+
+    /**
+     * Name of the counter of resolutions, tagged with host and result. Hosts come from DIDs of incoming credentials,
+     * so only the MIW host and configured hosts are tagged by name, all others are tagged {@link #OTHER_HOST}.
+     */
+    public static final String RESOLVE_METRIC = "miw.did.resolve";
+
+    /**
+     * Name of the timer of DID document requests, tagged with host and status.
+     */
+    public static final String FETCH_METRIC = "miw.did.fetch";
+
+    /**
+     * Host tag of hosts which are not tagged by name.
+     */
+    public static final String OTHER_HOST = "other";
+
+    /**
+     * Name of the timer of resolutions, tagged with source (local or remote) and outcome. Hit and miss of remote
+     * resolutions are counted by {@link #RESOLVE_METRIC}.
+     */
+    public static final String RESOLVE_TIME_METRIC = "miw.did.resolve.time";
+
+    private static final String DID_WEB_PREFIX = "did:web:";
+
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|,)\\s*max-age\\s*=\\s*\"?(\\d+)");
+
+    private final MIWSettings miwSettings;
+
+    private final DidResolverSettings settings;
+
+    private final MeterRegistry meterRegistry;
+
+    private final DidDocumentService didDocumentService;
+
+    private final String localDidPrefix;
+
+    private final Set<String> metricHosts = new HashSet<>();
+
+    private final DidWebParser didWebParser = new DidWebParser();
+
+    private final HttpClient httpClient;
+
+    private final Cache<String, CachedDidDocument> cache;
+
+    private final ConcurrentMap<String, CompletableFuture<CachedDidDocument>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new Caching did resolver.
+     *
+     * @param miwSettings        the miw settings
+     * @param settings           the did resolver settings
+     * @param meterRegistry      the meter registry
+     * @param didDocumentService the did document service
+     */
+    public CachingDidResolver(MIWSettings miwSettings, DidResolverSettings settings, MeterRegistry meterRegistry,
+                              DidDocumentService didDocumentService) {
+        this.miwSettings = miwSettings;
+        this.settings = settings;
+        this.meterRegistry = meterRegistry;
+        this.didDocumentService = didDocumentService;
+        //port is percent encoded in did:web
+        this.localDidPrefix = StringUtils.hasText(miwSettings.host())
+                ? (DID_WEB_PREFIX + miwSettings.host().replace(":", "%3A") + ":").toLowerCase(Locale.ROOT)
+                : null;
+        if (settings.metricHosts() != null) {
+            settings.metricHosts().forEach(host -> metricHosts.add(host.trim().toLowerCase(Locale.ROOT)));
+        }
+        if (StringUtils.hasText(miwSettings.host())) {
+            metricHosts.add(miwSettings.host().toLowerCase(Locale.ROOT));
+        }
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(settings.connectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        //stale entries are kept for one more max TTL to revalidate them with their ETag
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(settings.cacheMaxSize())
+                .expireAfterWrite(settings.maxTtl().multipliedBy(2))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, DID_DOCUMENT_CACHE);
+    }
+
+    @Override
+    public DidDocument resolve(Did did) {
+        String source = did != null && isLocal(did.toString()) ? "local" : "remote";
+        String outcome = "error";
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            DidDocument didDocument = resolveDocument(did);
+            outcome = "resolved";
+            return didDocument;
+        } finally {
+            sample.stop(Timer.builder(RESOLVE_TIME_METRIC)
+                    .description("Time taken to resolve DID documents")
+                    .tag("source", source)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private DidDocument resolveDocument(Did did) {
+        if (!isResolvable(did)) {
+            throw new DidResolutionProblem("Only did:web is supported, can not resolve " + did);
+        }
+        String key = did.toString();
+        if (isLocal(key)) {
+            return resolveLocal(key);
+        }
+        CachedDidDocument cached = cache.getIfPresent(key);
+        if (cached != null && cached.isFresh()) {
+            count(cached.host(), cached.failure() == null ? "hit" : "negative_hit");
+            return cached.get();
+        }
+
+        CompletableFuture<CachedDidDocument> future = new CompletableFuture<>();
+        CompletableFuture<CachedDidDocument> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            //same DID is already requested by another thread
+            CachedDidDocument shared = running.join();
+            count(shared.host(), "shared");
+            return shared.get();
+        }
+        try {
+            CachedDidDocument fetched = fetch(did, cached);
+            if (fetched.isFresh() || fetched.etag() != null) {
+                cache.put(key, fetched);
+            } else {
+                cache.invalidate(key);
+            }
+            future.complete(fetched);
+            return fetched.get();
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Only did:web is resolved.
+     *
+     * @param did the did
+     * @return true if did can be resolved
+     */
+    public boolean isResolvable(Did did) {
+        return did != null && did.toString().startsWith(DID_WEB_PREFIX);
+    }
+
+    private boolean isLocal(String did) {
+        return localDidPrefix != null && did.toLowerCase(Locale.ROOT).startsWith(localDidPrefix);
+    }
+
+    private DidDocument resolveLocal(String did) {
+        try {
+            DidDocument didDocument = didDocumentService.getDidDocument(did);
+            count(miwSettings.host(), "local");
+            return didDocument;
+        } catch (WalletNotFoundProblem e) {
+            count(miwSettings.host(), "error");
+            throw new DidResolutionProblem("Can not resolve " + did, e);
+        }
+    }
+
+    /**
+     * Remove a DID document from cache, e.g. after the document was changed.
+     *
+     * @param did the did
+     */
+    public void evict(String did) {
+        cache.invalidate(did);
+    }
+
+    @SneakyThrows
+    private CachedDidDocument fetch(Did did, CachedDidDocument stale) {
+        URI uri = didWebParser.parse(did, miwSettings.enforceHttps());
+        String host = uri.getAuthority();
+        boolean revalidate = stale != null && stale.document() != null && stale.etag() != null;
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(settings.requestTimeout())
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .GET();
+        if (revalidate) {
+            request.header(HttpHeaders.IF_NONE_MATCH, stale.etag());
+        }
+
+        String status = "error";
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            status = String.valueOf(response.statusCode());
+            java.net.http.HttpHeaders headers = response.headers();
+            if (revalidate && response.statusCode() == HttpStatus.NOT_MODIFIED.value()) {
+                count(host, "revalidated");
+                return new CachedDidDocument(host, stale.document(), headers.firstValue(HttpHeaders.ETAG).orElse(stale.etag()), null, freshUntil(headers));
+            }
+            if (response.statusCode() == HttpStatus.OK.value()) {
+                count(host, "miss");
+                //no-store does not allow to keep the document, not even for revalidation
+                String etag = cacheControl(headers).contains("no-store") ? null : headers.firstValue(HttpHeaders.ETAG).orElse(null);
+                return new CachedDidDocument(host, DidDocument.fromJson(response.body()), etag, null, freshUntil(headers));
+            }
+            return failed(host, new DidResolutionProblem(String.format("Unexpected response status %d while resolving %s", response.statusCode(), did)));
+        } catch (IOException | RuntimeException e) {
+            return failed(host, new DidResolutionProblem("Can not resolve " + did, e));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            count(host, "error");
+            return new CachedDidDocument(host, null, null, new DidResolutionProblem("Interrupted while resolving " + did, e), Instant.EPOCH);
+        } finally {
+            sample.stop(Timer.builder(FETCH_METRIC)
+                    .description("Time taken to fetch DID documents")
+                    .tag("host", metricHost(host))
+                    .tag("status", status)
+                    .register(meterRegistry));
+        }
+    }
+
+    private CachedDidDocument failed(String host, DidResolutionProblem problem) {
+        log.warn("DID resolution failed for host {}: {}", StringEscapeUtils.escapeJava(host), StringEscapeUtils.escapeJava(problem.getMessage()));
+        count(host, "error");
+        return new CachedDidDocument(host, null, null, problem, Instant.now().plus(settings.negativeTtl()));
+    }
+
+    private Instant freshUntil(java.net.http.HttpHeaders headers) {
+        String cacheControl = cacheControl(headers);
+        Duration ttl = settings.defaultTtl();
+        if (cacheControl.contains("no-store") || cacheControl.contains("no-cache")) {
+            ttl = Duration.ZERO;
+        } else {
+            Matcher matcher = MAX_AGE.matcher(cacheControl);
+            if (matcher.find()) {
+                ttl = Duration.ofSeconds(Long.parseLong(matcher.group(1)));
+            }
+        }
+        if (ttl.compareTo(settings.maxTtl()) > 0) {
+            ttl = settings.maxTtl();
+        }
+        return Instant.now().plus(ttl);
+    }
+
+    private static String cacheControl(java.net.http.HttpHeaders headers) {
+        return String.join(",", headers.allValues(HttpHeaders.CACHE_CONTROL)).toLowerCase(Locale.ROOT);
+    }
+
+    private void count(String host, String result) {
+        Counter.builder(RESOLVE_METRIC)
+                .description("DID resolutions by host and result")
+                .tag("host", metricHost(host))
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private String metricHost(String host) {
+        String name = host == null ? null : host.toLowerCase(Locale.ROOT);
+        return name != null && metricHosts.contains(name) ? name : OTHER_HOST;
+    }
+
+    private record CachedDidDocument(String host, DidDocument document, String etag, DidResolutionProblem failure,
+                                     Instant freshUntil) {
+
+        boolean isFresh() {
+            return Instant.now().isBefore(freshUntil);
+        }
+
+        DidDocument get() {
+            if (failure != null) {
+                throw new DidResolutionProblem(failure.getMessage(), failure);
+            }
+            return document;
+        }
+    }
+}
@@ -21,9 +21,14 @@
 
 package org.eclipse.tractusx.managedidentitywallets.service;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.text.StringEscapeUtils;
+import org.eclipse.tractusx.managedidentitywallets.config.CacheSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
 import org.eclipse.tractusx.managedidentitywallets.constant.StringPool;
 import org.eclipse.tractusx.managedidentitywallets.dao.entity.Wallet;
 import org.eclipse.tractusx.managedidentitywallets.dao.repository.WalletRepository;
@@ -35,22 +40,87 @@ import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCreden
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class CommonService {
 
+    /**
+     * The constant WALLET_CACHE.
+     */
+    public static final String WALLET_CACHE = "wallets";
+
     private final WalletRepository walletRepository;
 
+    private final MIWSettings miwSettings;
+
+    /**
+     * Wallets by BPN and by did, both keys of a wallet point to the same instance. Missing wallets are not cached.
+     */
+    private final Cache<String, Wallet> walletCache;
+
+    /**
+     * The authority wallet, kept for the lifetime of the application once loaded.
+     */
+    private volatile Wallet authorityWallet;
+
+    /**
+     * Instantiates a new Common service.
+     *
+     * @param walletRepository the wallet repository
+     * @param miwSettings      the miw settings
+     * @param cacheSettings    the cache settings
+     * @param meterRegistry    the meter registry
+     */
+    public CommonService(WalletRepository walletRepository, MIWSettings miwSettings, CacheSettings cacheSettings, MeterRegistry meterRegistry) {
+        this.walletRepository = walletRepository;
+        this.miwSettings = miwSettings;
+        this.walletCache = Caffeine.newBuilder()
+                .maximumSize(cacheSettings.wallet().maxSize())
+                .expireAfterWrite(cacheSettings.wallet().ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, walletCache, WALLET_CACHE);
+    }
+
     /**
      * Gets wallet by identifier(BPN or did).
+     * <p>
+     * Wallets are cached, the returned wallet is shared and must not be modified.
      *
      * @param identifier the identifier
      * @return the wallet by identifier
      */
     public Wallet getWalletByIdentifier(String identifier) {
+        Wallet authority = authorityWallet;
+        if (authority != null && (authority.getBpn().equals(identifier) || authority.getDid().equals(identifier))) {
+            return authority;
+        }
+        Wallet wallet = walletCache.getIfPresent(identifier);
+        if (wallet == null) {
+            wallet = loadWallet(identifier);
+            cacheWallet(wallet);
+        }
+        return wallet;
+    }
+
+    /**
+     * Invalidate cached wallet, must be called whenever a wallet is created, updated or deleted.
+     *
+     * @param bpn the bpn of the wallet
+     * @param did the did of the wallet
+     */
+    public void invalidateWallet(String bpn, String did) {
+        walletCache.invalidateAll(List.of(bpn, did));
+        Wallet authority = authorityWallet;
+        if (authority != null && (authority.getBpn().equals(bpn) || authority.getDid().equals(did))) {
+            authorityWallet = null;
+        }
+    }
+
+    private Wallet loadWallet(String identifier) {
         Wallet wallet;
         if (CommonUtils.getIdentifierType(identifier).equals(StringPool.BPN)) {
             wallet = walletRepository.getByBpn(identifier);
@@ -66,6 +136,15 @@ public class CommonService {
         return wallet;
     }
 
+    private void cacheWallet(Wallet wallet) {
+        if (wallet.getBpn().equals(miwSettings.authorityWalletBpn())) {
+            authorityWallet = wallet;
+        } else {
+            walletCache.put(wallet.getBpn(), wallet);
+            walletCache.put(wallet.getDid(), wallet);
+        }
+    }
+
     public static boolean validateExpiry(boolean withCredentialExpiryDate, VerifiableCredential verifiableCredential, Map<String, Object> response) {
         //validate expiry date
         boolean dateValidation = true;
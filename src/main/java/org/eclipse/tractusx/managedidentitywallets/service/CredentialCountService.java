@@ -0,0 +1,102 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.text.StringEscapeUtils;
+import org.eclipse.tractusx.managedidentitywallets.config.CacheSettings;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.IssuersCredentialRepository;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Approximate number of credentials per issuer, so listings can show a total without a count query per request.
+ * <p>
+ * Counts are read in the background. A request never waits for a count: the first request of an issuer starts it and
+ * gets no total, later requests get the cached count, which is refreshed in the background once it is older than the
+ * configured TTL.
+ */
+@Slf4j
+@Service
+public class CredentialCountService {
+
+    /**
+     * Name of the credential count cache in metrics.
+     */
+    public static final String CREDENTIAL_COUNT_CACHE = "issuerCredentialCounts";
+
+    private final ExecutorService countExecutor;
+
+    private final LoadingCache<String, Long> issuerCounts;
+
+    /**
+     * Instantiates a new Credential count service.
+     *
+     * @param issuersCredentialRepository the issuers credential repository
+     * @param cacheSettings               the cache settings
+     * @param meterRegistry               the meter registry
+     */
+    public CredentialCountService(IssuersCredentialRepository issuersCredentialRepository, CacheSettings cacheSettings,
+                                  MeterRegistry meterRegistry) {
+        this.countExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("miw-count-"));
+        this.issuerCounts = Caffeine.newBuilder()
+                .maximumSize(cacheSettings.credentialCount().maxSize())
+                .refreshAfterWrite(cacheSettings.credentialCount().ttl())
+                .executor(countExecutor)
+                .recordStats()
+                .build(issuerDid -> {
+                    log.debug("Counting credentials of issuer -> {}", StringEscapeUtils.escapeJava(issuerDid));
+                    return issuersCredentialRepository.countByIssuerDid(issuerDid);
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, issuerCounts, CREDENTIAL_COUNT_CACHE);
+    }
+
+    /**
+     * Stop count worker on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        countExecutor.shutdown();
+    }
+
+    /**
+     * Gets approximate number of credentials issued by issuer.
+     *
+     * @param issuerDid the issuer did
+     * @return the approximate count, null if the issuer was not counted yet
+     */
+    public Long getApproximateIssuedCount(String issuerDid) {
+        Long count = issuerCounts.getIfPresent(issuerDid);
+        if (count == null) {
+            issuerCounts.refresh(issuerDid);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.managedidentitywallets.config.CredentialJsonSettings;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.CredentialQueryRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts stored credentials to jsonb in small batches while the application is running, so that credential_data
+ * can be switched to jsonb without locking the credential tables for a full rewrite.
+ * <p>
+ * New credentials are converted by a database trigger. Once all credentials are converted, liquibase replaces
+ * credential_data by the converted column on the next start. Instances convert concurrently, rows locked by another
+ * instance are skipped.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CredentialJsonMigrationService {
+
+    private static final List<String> TABLES = List.of(CredentialQueryRepository.HOLDERS_CREDENTIAL, CredentialQueryRepository.ISSUERS_CREDENTIAL);
+
+    private final CredentialQueryRepository credentialQueryRepository;
+
+    private final CredentialJsonSettings credentialJsonSettings;
+
+    private final Set<String> migrated = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Convert next batch of credentials of each table, nothing is done if credential_data is not migrated right now.
+     */
+    @Scheduled(fixedDelayString = "${miw.credentialJson.migrationPollIntervalMillis}")
+    public void migrateBatch() {
+        for (String table : TABLES) {
+            if (migrated.contains(table) || !credentialQueryRepository.isMigrating(table)) {
+                continue;
+            }
+            int converted = credentialQueryRepository.migrateBatch(table, credentialJsonSettings.migrationBatchSize());
+            if (converted == 0) {
+                migrated.add(table);
+                log.info("All credentials of {} are converted to jsonb, credential_data is switched to jsonb on next start", table);
+            } else {
+                log.debug("{} credentials of {} converted to jsonb", converted, table);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.eclipse.tractusx.managedidentitywallets.config.CredentialJsonSettings;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.Wallet;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.CredentialQueryRepository;
+import org.eclipse.tractusx.managedidentitywallets.dto.CountFreeSlice;
+import org.eclipse.tractusx.managedidentitywallets.dto.CredentialQueryRequest;
+import org.eclipse.tractusx.managedidentitywallets.exception.BadDataException;
+import org.eclipse.tractusx.managedidentitywallets.utils.Validate;
+import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredential;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Queries credentials of holders and issuers by fields of the credential subject and by expiration date.
+ */
+@Service
+@RequiredArgsConstructor
+public class CredentialQueryService {
+
+    private static final Pattern SUBJECT_FIELD = Pattern.compile("[A-Za-z][A-Za-z0-9_-]{0,63}");
+
+    private final CredentialQueryRepository credentialQueryRepository;
+
+    private final CommonService commonService;
+
+    private final CredentialJsonSettings credentialJsonSettings;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Query credentials held by the wallet of the caller.
+     *
+     * @param request    the request
+     * @param pageNumber the page number
+     * @param size       the size
+     * @param callerBPN  the caller bpn
+     * @return the credentials, newest first
+     */
+    public CountFreeSlice<VerifiableCredential> queryHoldersCredentials(CredentialQueryRequest request, int pageNumber, int size, String callerBPN) {
+        //Holder must be caller of API
+        Wallet holderWallet = commonService.getWalletByIdentifier(callerBPN);
+        return query(CredentialQueryRepository.HOLDERS_CREDENTIAL, "holder_did", holderWallet.getDid(), request, pageNumber, size);
+    }
+
+    /**
+     * Query credentials issued by the wallet of the caller.
+     *
+     * @param request    the request
+     * @param pageNumber the page number
+     * @param size       the size
+     * @param callerBPN  the caller bpn
+     * @return the credentials, newest first
+     */
+    public CountFreeSlice<VerifiableCredential> queryIssuersCredentials(CredentialQueryRequest request, int pageNumber, int size, String callerBPN) {
+        //Issuer must be caller of API
+        Wallet issuerWallet = commonService.getWalletByIdentifier(callerBPN);
+        return query(CredentialQueryRepository.ISSUERS_CREDENTIAL, "issuer_did", issuerWallet.getDid(), request, pageNumber, size);
+    }
+
+    private CountFreeSlice<VerifiableCredential> query(String table, String ownerColumn, String ownerDid, CredentialQueryRequest request,
+                                                       int pageNumber, int size) {
+        validate(request);
+        //one more row tells whether there is a next page
+        List<String> rows = credentialQueryRepository.findCredentialData(table, ownerColumn, ownerDid, request.getSubject(),
+                request.getExpiresAfter(), request.getExpiresBefore(), (int) Math.min((long) pageNumber * size, Integer.MAX_VALUE), size + 1);
+        boolean hasNext = rows.size() > size;
+        List<VerifiableCredential> credentials = rows.stream().limit(size).map(this::toCredential).toList();
+        return new CountFreeSlice<>(credentials, PageRequest.of(pageNumber, size), hasNext, null);
+    }
+
+    private void validate(CredentialQueryRequest request) {
+        Map<String, String> subject = request.getSubject();
+        if (subject == null) {
+            return;
+        }
+        Validate.isTrue(subject.size() > credentialJsonSettings.maxSubjectFields())
+                .launch(new BadDataException("At most " + credentialJsonSettings.maxSubjectFields() + " subject fields can be queried"));
+        subject.forEach((field, value) -> {
+            Validate.isFalse(SUBJECT_FIELD.matcher(field).matches()).launch(new BadDataException("Invalid subject field " + field));
+            Validate.isNull(value).launch(new BadDataException("Value of subject field " + field + " is missing"));
+        });
+    }
+
+    @SneakyThrows
+    private VerifiableCredential toCredential(String data) {
+        return new VerifiableCredential(objectMapper.readValue(data, Map.class));
+    }
+}
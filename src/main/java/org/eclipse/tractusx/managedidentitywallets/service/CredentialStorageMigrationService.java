@@ -0,0 +1,105 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.managedidentitywallets.config.CredentialStorageSettings;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.CredentialContentRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.CredentialQueryRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Moves the JSON of credentials stored before shared storage was enabled to credential_content in small batches, and
+ * deletes contents no credential refers to anymore.
+ * <p>
+ * Nothing is done while shared storage is disabled or credential_data is migrated to jsonb. Instances move credentials
+ * concurrently, on Postgres rows locked by another instance are skipped.
+ */
+@Slf4j
+@Service
+public class CredentialStorageMigrationService {
+
+    private static final List<String> TABLES = List.of(CredentialQueryRepository.HOLDERS_CREDENTIAL, CredentialQueryRepository.ISSUERS_CREDENTIAL);
+
+    private final CredentialContentRepository credentialContentRepository;
+
+    private final CredentialStorageSettings credentialStorageSettings;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Set<String> shared = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Instantiates a new Credential storage migration service.
+     *
+     * @param credentialContentRepository the credential content repository
+     * @param credentialStorageSettings   the credential storage settings
+     * @param transactionManager          the transaction manager
+     */
+    public CredentialStorageMigrationService(CredentialContentRepository credentialContentRepository,
+                                             CredentialStorageSettings credentialStorageSettings,
+                                             PlatformTransactionManager transactionManager) {
+        this.credentialContentRepository = credentialContentRepository;
+        this.credentialStorageSettings = credentialStorageSettings;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Move next batch of credentials of each table to shared storage and delete a batch of unreferenced contents.
+     */
+    @Scheduled(fixedDelayString = "${miw.credentialStorage.migrationPollIntervalMillis}")
+    public void migrateBatch() {
+        if (!credentialContentRepository.isSharing()) {
+            return;
+        }
+        int batchSize = credentialStorageSettings.migrationBatchSize();
+        for (String table : TABLES) {
+            if (shared.contains(table)) {
+                continue;
+            }
+            Integer moved = transactionTemplate.execute(status -> credentialContentRepository.shareBatch(table, batchSize));
+            if (moved == null || moved == 0) {
+                shared.add(table);
+                log.info("All credentials of {} are in shared storage", table);
+            } else {
+                log.debug("{} credentials of {} moved to shared storage", moved, table);
+            }
+        }
+        try {
+            Integer deleted = transactionTemplate.execute(status -> credentialContentRepository.deleteUnreferenced(batchSize));
+            if (deleted != null && deleted > 0) {
+                log.debug("{} unreferenced credential contents deleted", deleted);
+            }
+        } catch (DataIntegrityViolationException e) {
+            //a credential referring to a content committed after the batch was selected, the foreign key kept the content
+            log.debug("Unreferenced credential contents are referenced again, deletion is retried with the next batch", e);
+        }
+    }
+}
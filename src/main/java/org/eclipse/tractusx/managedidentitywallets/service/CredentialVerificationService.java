@@ -0,0 +1,270 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.text.StringEscapeUtils;
+import org.eclipse.tractusx.managedidentitywallets.config.VerificationSettings;
+import org.eclipse.tractusx.managedidentitywallets.utils.CommonUtils;
+import org.eclipse.tractusx.ssi.lib.did.resolver.DidResolver;
+import org.eclipse.tractusx.ssi.lib.exception.UnsupportedSignatureTypeException;
+import org.eclipse.tractusx.ssi.lib.model.did.DidParser;
+import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredential;
+import org.eclipse.tractusx.ssi.lib.proof.LinkedDataProofValidation;
+import org.eclipse.tractusx.ssi.lib.proof.SignatureType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Verifies linked data proofs of credentials. Credentials of one request are verified concurrently on a bounded pool.
+ */
+@Service
+@Slf4j
+public class CredentialVerificationService {
+
+    /**
+     * Name of the timer of linked data proof verifications, tagged with credential type and outcome.
+     */
+    public static final String VERIFY_METRIC = "miw.credential.verify";
+
+    private final DidResolver didResolver;
+
+    private final VerificationSettings verificationSettings;
+
+    private final ExecutorService verificationExecutor;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Instantiates a new Credential verification service.
+     *
+     * @param didResolver          the did resolver
+     * @param verificationSettings the verification settings
+     * @param meterRegistry        the meter registry
+     */
+    public CredentialVerificationService(DidResolver didResolver, VerificationSettings verificationSettings, MeterRegistry meterRegistry) {
+        this.didResolver = didResolver;
+        this.verificationSettings = verificationSettings;
+        this.verificationExecutor = Executors.newFixedThreadPool(verificationSettings.parallelism(), new CustomizableThreadFactory("miw-verify-"));
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Stop verification workers on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        verificationExecutor.shutdown();
+    }
+
+    /**
+     * Verify proof of credential.
+     *
+     * @param credential the credential
+     * @return true if proof is valid
+     */
+    public boolean verifyProof(VerifiableCredential credential) {
+        String outcome = "error";
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            boolean isValid = verify(credential);
+            outcome = isValid ? "valid" : "invalid";
+            return isValid;
+        } finally {
+            sample.stop(Timer.builder(VERIFY_METRIC)
+                    .description("Time taken to verify linked data proofs of credentials")
+                    .tag("type", CommonUtils.getMetricType(credential.getTypes()))
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    @SneakyThrows
+    private boolean verify(VerifiableCredential credential) {
+        String proofType = credential.getProof().getType();
+        LinkedDataProofValidation linkedDataProofValidation;
+        if (SignatureType.ED21559.toString().equals(proofType)) {
+            linkedDataProofValidation = LinkedDataProofValidation.newInstance(
+                    SignatureType.ED21559,
+                    didResolver
+            );
+        } else if (SignatureType.JWS.toString().equals(proofType)) {
+            linkedDataProofValidation = LinkedDataProofValidation.newInstance(
+                    SignatureType.JWS,
+                    didResolver
+            );
+        } else {
+            throw new UnsupportedSignatureTypeException(proofType);
+        }
+
+        boolean isValid = linkedDataProofValidation.verifyProof(credential);
+        if (isValid) {
+            log.debug("Credential validation result: (valid: {}, credential-id: {})", isValid, credential.getId());
+        } else {
+            log.info("Credential validation result: (valid: {}, credential-id: {})", isValid, credential.getId());
+        }
+        return isValid;
+    }
+
+    /**
+     * Verify proofs of credentials concurrently. Credentials not verified within the configured timeout are not valid.
+     * Error of a verification is thrown to the caller, same as for a single credential. After a timeout or with fail
+     * fast, verifications which have not started are skipped, running ones finish in the background.
+     *
+     * @param credentials the credentials
+     * @param failFast    stop verifying other credentials once one credential is not valid
+     * @return true if proofs of all credentials are valid
+     */
+    @SneakyThrows
+    public boolean verifyProofs(List<VerifiableCredential> credentials, boolean failFast) {
+        if (credentials.size() <= 1) {
+            return credentials.isEmpty() || verifyProof(credentials.get(0));
+        }
+
+        AtomicBoolean stop = new AtomicBoolean(false);
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(credentials.size());
+        for (VerifiableCredential credential : credentials) {
+            CompletableFuture<Boolean> future = CompletableFuture.supplyAsync(() -> !stop.get() && verifyProof(credential), verificationExecutor);
+            if (failFast) {
+                future.whenComplete((valid, e) -> {
+                    if (e != null || !Boolean.TRUE.equals(valid)) {
+                        failed.complete(null);
+                    }
+                });
+            }
+            futures.add(future);
+        }
+
+        try {
+            CompletableFuture.anyOf(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])), failed)
+                    .get(verificationSettings.timeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Verification of {} credentials did not finish within {}", credentials.size(), verificationSettings.timeout());
+            stop.set(true);
+            return false;
+        } catch (ExecutionException e) {
+            //error of a single verification is handled below, in order of credentials
+        }
+
+        boolean valid = true;
+        for (CompletableFuture<Boolean> future : futures) {
+            if (!future.isDone()) {
+                //only with fail fast, another credential is already not valid
+                stop.set(true);
+                valid = false;
+                continue;
+            }
+            try {
+                valid &= future.join();
+            } catch (CompletionException e) {
+                stop.set(true);
+                throw e.getCause();
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Verify proofs of credentials independently of each other. DID of each distinct issuer is resolved once up front,
+     * proofs of the same issuer then use the cached DID document.
+     *
+     * @param credentials the credentials
+     * @return result of each credential, in order of credentials
+     */
+    public List<ProofResult> verifyEach(List<VerifiableCredential> credentials) {
+        long deadline = System.nanoTime() + verificationSettings.timeout().toNanos();
+
+        Set<String> issuers = new HashSet<>();
+        credentials.forEach(credential -> {
+            if (credential.getIssuer() != null) {
+                issuers.add(credential.getIssuer().toString());
+            }
+        });
+        await(issuers.stream()
+                .map(issuer -> CompletableFuture.runAsync(() -> resolveIssuer(issuer), verificationExecutor))
+                .toList(), deadline);
+
+        AtomicBoolean stop = new AtomicBoolean(false);
+        List<CompletableFuture<ProofResult>> futures = credentials.stream()
+                .map(credential -> CompletableFuture.supplyAsync(() -> stop.get() ? ProofResult.failed("Verification timed out") : ProofResult.of(verifyProof(credential)), verificationExecutor)
+                        .exceptionally(e -> ProofResult.failed(e instanceof CompletionException && e.getCause() != null ? e.getCause().getMessage() : e.getMessage())))
+                .toList();
+        if (!await(futures, deadline)) {
+            log.warn("Verification of {} credentials did not finish within {}", credentials.size(), verificationSettings.timeout());
+            stop.set(true);
+        }
+        return futures.stream()
+                .map(future -> future.getNow(ProofResult.failed("Verification timed out")))
+                .toList();
+    }
+
+    private void resolveIssuer(String issuer) {
+        try {
+            didResolver.resolve(DidParser.parse(issuer));
+        } catch (Exception e) {
+            //failure is remembered by resolver and reported by verification of the credential
+            log.debug("Can not resolve issuer {}", StringEscapeUtils.escapeJava(issuer), e);
+        }
+    }
+
+    @SneakyThrows(InterruptedException.class)
+    private static boolean await(List<? extends CompletableFuture<?>> futures, long deadline) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            //errors are handled by each future
+            return true;
+        }
+    }
+
+    /**
+     * Result of verification of one credential.
+     *
+     * @param valid true if proof is valid
+     * @param error error while verifying, null if proof could be verified
+     */
+    public record ProofResult(boolean valid, String error) {
+
+        static ProofResult of(boolean valid) {
+            return new ProofResult(valid, null);
+        }
+
+        static ProofResult failed(String error) {
+            return new ProofResult(false, error);
+        }
+    }
+}
@@ -21,21 +21,61 @@
 
 package org.eclipse.tractusx.managedidentitywallets.service;
 
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.managedidentitywallets.config.DidDocumentSettings;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.Wallet;
 import org.eclipse.tractusx.ssi.lib.model.did.DidDocument;
 import org.springframework.stereotype.Service;
 
+import java.security.MessageDigest;
+import java.util.Base64;
+
 /**
  * The type Did document service.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class DidDocumentService {
-    
+
+    /**
+     * Name of the cache of serialized DID documents in metrics, the resolver cache of other DID documents is
+     * {@link CachingDidResolver#DID_DOCUMENT_CACHE}.
+     */
+    public static final String DID_DOCUMENT_CACHE = "didDocumentResponses";
+
     private final CommonService commonService;
 
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Serialized DID documents by BPN, together with the wallet they were serialized from.
+     */
+    private final Cache<String, CachedDidDocument> didDocumentCache;
+
+    /**
+     * Instantiates a new Did document service.
+     *
+     * @param commonService       the common service
+     * @param objectMapper        the object mapper
+     * @param didDocumentSettings the did document settings
+     * @param meterRegistry       the meter registry
+     */
+    public DidDocumentService(CommonService commonService, ObjectMapper objectMapper, DidDocumentSettings didDocumentSettings, MeterRegistry meterRegistry) {
+        this.commonService = commonService;
+        this.objectMapper = objectMapper;
+        this.didDocumentCache = Caffeine.newBuilder()
+                .maximumSize(didDocumentSettings.cacheMaxSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, didDocumentCache, DID_DOCUMENT_CACHE);
+    }
+
     /**
      * Gets did document by identifier(BPN or Did).
      *
@@ -46,4 +86,41 @@ public class DidDocumentService {
         return commonService.getWalletByIdentifier(identifier).getDidDocument();
     }
 
+    /**
+     * Gets serialized did document by BPN, with its ETag.
+     * <p>
+     * The document is serialized once per wallet. A wallet that is created, deleted or reloaded in the wallet cache is
+     * a new instance, so the serialized document is never older than the wallet it is served for.
+     *
+     * @param bpn the bpn
+     * @return the serialized did document
+     */
+    public SerializedDidDocument getSerializedDidDocument(String bpn) {
+        Wallet wallet = commonService.getWalletByIdentifier(bpn);
+        CachedDidDocument cached = didDocumentCache.getIfPresent(bpn);
+        if (cached == null || cached.wallet() != wallet) {
+            cached = new CachedDidDocument(wallet, serialize(wallet.getDidDocument()));
+            didDocumentCache.put(bpn, cached);
+        }
+        return cached.document();
+    }
+
+    @SneakyThrows
+    private SerializedDidDocument serialize(DidDocument didDocument) {
+        byte[] body = objectMapper.writeValueAsBytes(didDocument);
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+        return new SerializedDidDocument(body, "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"");
+    }
+
+    /**
+     * DID document serialized as JSON.
+     *
+     * @param body the JSON bytes, must not be modified
+     * @param etag the strong ETag of the body, quoted
+     */
+    public record SerializedDidDocument(byte[] body, String etag) {
+    }
+
+    private record CachedDidDocument(Wallet wallet, SerializedDidDocument document) {
+    }
 }
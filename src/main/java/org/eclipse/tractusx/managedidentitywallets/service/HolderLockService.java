@@ -0,0 +1,85 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.service;
+
+import org.eclipse.tractusx.managedidentitywallets.config.SummarySettings;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.AdvisoryLockRepository;
+import org.eclipse.tractusx.managedidentitywallets.utils.Validate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per holder locks held until the current transaction ends, used to serialise summary VC updates of a holder.
+ * <p>
+ * Holders are mapped to a fixed number of striped locks, so updates of different holders only wait for each other
+ * if they share a stripe. On Postgres an advisory lock on the holder is taken as well, which also serialises
+ * instances sharing the database. The in-memory lock is taken first, so threads of one instance queue in memory
+ * and at most one of them per stripe waits for the advisory lock. The lock is taken inside the transaction, so a
+ * waiting thread still holds the database connection of its transaction; many concurrent updates of the same
+ * holder can use up the connection pool.
+ */
+@Service
+public class HolderLockService {
+
+    private final ReentrantLock[] stripes;
+
+    private final AdvisoryLockRepository advisoryLockRepository;
+
+    /**
+     * Instantiates a new Holder lock service.
+     *
+     * @param summarySettings        the summary settings
+     * @param advisoryLockRepository the advisory lock repository
+     */
+    public HolderLockService(SummarySettings summarySettings, AdvisoryLockRepository advisoryLockRepository) {
+        this.stripes = new ReentrantLock[Math.max(1, summarySettings.lockStripes())];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.advisoryLockRepository = advisoryLockRepository;
+    }
+
+    /**
+     * Lock holder until the current transaction is committed or rolled back.
+     *
+     * @param holderDid the holder did
+     */
+    public void lockUntilTransactionEnds(String holderDid) {
+        Validate.isFalse(TransactionSynchronizationManager.isSynchronizationActive())
+                .launch(new IllegalStateException("Holder lock requires an active transaction"));
+
+        ReentrantLock lock = stripes[Math.floorMod(holderDid.hashCode(), stripes.length)];
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+        if (advisoryLockRepository.isSupported()) {
+            advisoryLockRepository.lockForTransaction(holderDid);
+        }
+    }
+}
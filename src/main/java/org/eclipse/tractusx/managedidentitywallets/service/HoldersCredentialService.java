@@ -21,21 +21,20 @@
 
 package org.eclipse.tractusx.managedidentitywallets.service;
 
-import com.smartsensesolutions.java.commons.FilterRequest;
 import com.smartsensesolutions.java.commons.base.repository.BaseRepository;
 import com.smartsensesolutions.java.commons.base.service.BaseService;
-import com.smartsensesolutions.java.commons.criteria.CriteriaOperator;
-import com.smartsensesolutions.java.commons.operator.Operator;
-import com.smartsensesolutions.java.commons.sort.Sort;
-import com.smartsensesolutions.java.commons.sort.SortType;
 import com.smartsensesolutions.java.commons.specification.SpecificationUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.text.StringEscapeUtils;
 import org.eclipse.tractusx.managedidentitywallets.constant.StringPool;
 import org.eclipse.tractusx.managedidentitywallets.dao.entity.HoldersCredential;
 import org.eclipse.tractusx.managedidentitywallets.dao.entity.Wallet;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.CursorPageRepository;
 import org.eclipse.tractusx.managedidentitywallets.dao.repository.HoldersCredentialRepository;
+import org.eclipse.tractusx.managedidentitywallets.dto.CursorSlice;
 import org.eclipse.tractusx.managedidentitywallets.exception.CredentialNotFoundProblem;
 import org.eclipse.tractusx.managedidentitywallets.exception.ForbiddenException;
 import org.eclipse.tractusx.managedidentitywallets.utils.CommonUtils;
@@ -43,8 +42,10 @@ import org.eclipse.tractusx.managedidentitywallets.utils.Validate;
 import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredential;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
@@ -65,6 +66,11 @@ public class HoldersCredentialService extends BaseService<HoldersCredential, Lon
      */
     public static final String BASE_WALLET_BPN_IS_NOT_MATCHING_WITH_REQUEST_BPN_FROM_TOKEN = "Base wallet BPN is not matching with request BPN(from token)";
 
+    /**
+     * Value of the credential type tag of issuance metrics for credentials issued by holders to themselves.
+     */
+    public static final String SELF_ISSUED_TYPE = "self_issued";
+
     private final HoldersCredentialRepository holdersCredentialRepository;
 
     private final CommonService commonService;
@@ -73,6 +79,10 @@ public class HoldersCredentialService extends BaseService<HoldersCredential, Lon
 
     private final WalletKeyService walletKeyService;
 
+    private final CursorPageRepository cursorPageRepository;
+
+    private final MeterRegistry meterRegistry;
+
     @Override
     protected BaseRepository<HoldersCredential, Long> getRepository() {
         return holdersCredentialRepository;
@@ -96,44 +106,52 @@ public class HoldersCredentialService extends BaseService<HoldersCredential, Lon
      * @return the credentials
      */
     public PageImpl<VerifiableCredential> getCredentials(String credentialId, String issuerIdentifier, List<String> type, String sortColumn, String sortType, int pageNumber, int size, String callerBPN) {
-        FilterRequest filterRequest = new FilterRequest();
-        filterRequest.setPage(pageNumber);
-        filterRequest.setSize(size);
+        //Holder must be caller of API
+        Wallet holderWallet = commonService.getWalletByIdentifier(callerBPN);
+        Specification<HoldersCredential> specification = getCredentialSpecification(holderWallet, credentialId, issuerIdentifier, type);
+        Page<HoldersCredential> filter = holdersCredentialRepository.findAll(specification, PageRequest.of(pageNumber, size, Direction.fromString(sortType), sortColumn));
+
+        List<VerifiableCredential> list = new ArrayList<>(filter.getContent().size());
+        for (HoldersCredential credential : filter.getContent()) {
+            list.add(credential.getData());
+        }
+
+        return new PageImpl<>(list, filter.getPageable(), filter.getTotalElements());
+    }
 
+    /**
+     * Gets list of holder's credentials with cursor pagination, without total count.
+     *
+     * @param credentialId     the credentialId
+     * @param issuerIdentifier the issuer identifier
+     * @param type             the type
+     * @param sortColumn       the sort column
+     * @param sortType         the sort type
+     * @param size             the size
+     * @param cursor           the cursor of the previous page, empty for the first page
+     * @param callerBPN        the caller bpn
+     * @return the credentials
+     */
+    public CursorSlice<VerifiableCredential> getCredentialsByCursor(String credentialId, String issuerIdentifier, List<String> type, String sortColumn, String sortType, int size, String cursor, String callerBPN) {
         //Holder must be caller of API
         Wallet holderWallet = commonService.getWalletByIdentifier(callerBPN);
-        filterRequest.appendCriteria(StringPool.HOLDER_DID, Operator.EQUALS, holderWallet.getDid());
+        Specification<HoldersCredential> specification = getCredentialSpecification(holderWallet, credentialId, issuerIdentifier, type);
+        return cursorPageRepository.findPage(HoldersCredential.class, specification, sortColumn, sortType, size, cursor)
+                .map(HoldersCredential::getData);
+    }
+
+    private Specification<HoldersCredential> getCredentialSpecification(Wallet holderWallet, String credentialId, String issuerIdentifier, List<String> type) {
+        Specification<HoldersCredential> specification = CursorPageRepository.equal(StringPool.HOLDER_DID, holderWallet.getDid());
 
         if (StringUtils.hasText(issuerIdentifier)) {
             Wallet issuerWallet = commonService.getWalletByIdentifier(issuerIdentifier);
-            filterRequest.appendCriteria(StringPool.ISSUER_DID, Operator.EQUALS, issuerWallet.getDid());
+            specification = specification.and(CursorPageRepository.equal(StringPool.ISSUER_DID, issuerWallet.getDid()));
         }
 
         if (StringUtils.hasText(credentialId)) {
-            filterRequest.appendCriteria(StringPool.CREDENTIAL_ID, Operator.EQUALS, credentialId);
-        }
-        FilterRequest request = new FilterRequest();
-        if (!CollectionUtils.isEmpty(type)) {
-            request.setPage(filterRequest.getPage());
-            request.setSize(filterRequest.getSize());
-            request.setCriteriaOperator(CriteriaOperator.OR);
-            for (String str : type) {
-                request.appendCriteria(StringPool.TYPE, Operator.CONTAIN, str);
-            }
-        }
-
-        Sort sort = new Sort();
-        sort.setColumn(sortColumn);
-        sort.setSortType(SortType.valueOf(sortType.toUpperCase()));
-        filterRequest.setSort(sort);
-        Page<HoldersCredential> filter = filter(filterRequest, request, CriteriaOperator.AND);
-
-        List<VerifiableCredential> list = new ArrayList<>(filter.getContent().size());
-        for (HoldersCredential credential : filter.getContent()) {
-            list.add(credential.getData());
+            specification = specification.and(CursorPageRepository.equal(StringPool.CREDENTIAL_ID, credentialId));
         }
-
-        return new PageImpl<>(list, filter.getPageable(), filter.getTotalElements());
+        return specification.and(CursorPageRepository.containsAnyElement(StringPool.TYPES, type));
     }
 
     /**
@@ -144,20 +162,33 @@ public class HoldersCredentialService extends BaseService<HoldersCredential, Lon
      * @return the verifiable credential
      */
     public VerifiableCredential issueCredential(Map<String, Object> data, String callerBpn) {
+        String outcome = "failed";
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            VerifiableCredential credential = issueSelfIssuedCredential(data, callerBpn);
+            outcome = "issued";
+            return credential;
+        } finally {
+            sample.stop(Timer.builder(IssuersCredentialService.ISSUE_METRIC)
+                    .description("Time taken to issue credentials")
+                    .tag("type", SELF_ISSUED_TYPE)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private VerifiableCredential issueSelfIssuedCredential(Map<String, Object> data, String callerBpn) {
         VerifiableCredential verifiableCredential = new VerifiableCredential(data);
         Wallet issuerWallet = commonService.getWalletByIdentifier(verifiableCredential.getIssuer().toString());
 
         //validate BPN access, Holder must be caller of API
         Validate.isFalse(callerBpn.equals(issuerWallet.getBpn())).launch(new ForbiddenException(BASE_WALLET_BPN_IS_NOT_MATCHING_WITH_REQUEST_BPN_FROM_TOKEN));
 
-        // get Key
-        byte[] privateKeyBytes = walletKeyService.getPrivateKeyByWalletIdentifierAsBytes(issuerWallet.getId());
-
-        // Create Credential
-        HoldersCredential credential = CommonUtils.getHoldersCredential(verifiableCredential.getCredentialSubject().get(0),
+        // Create Credential, signed with cached key of issuer
+        HoldersCredential credential = walletKeyService.withPrivateKey(issuerWallet.getId(), key -> CommonUtils.getHoldersCredential(verifiableCredential.getCredentialSubject().get(0),
                 verifiableCredential.getTypes(), issuerWallet.getDidDocument(),
-                privateKeyBytes, issuerWallet.getDid(),
-                verifiableCredential.getContext(), Date.from(verifiableCredential.getExpirationDate()), true);
+                key.getEncoded(), issuerWallet.getDid(),
+                verifiableCredential.getContext(), Date.from(verifiableCredential.getExpirationDate()), true));
 
         //Store Credential in holder table
         credential = create(credential);
@@ -0,0 +1,323 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.text.StringEscapeUtils;
+import org.eclipse.tractusx.managedidentitywallets.config.IssuanceJobSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
+import org.eclipse.tractusx.managedidentitywallets.constant.IssuanceJobStatus;
+import org.eclipse.tractusx.managedidentitywallets.constant.IssuanceJobType;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.IssuanceJob;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.IssuanceJobRepository;
+import org.eclipse.tractusx.managedidentitywallets.dto.IssueDismantlerCredentialRequest;
+import org.eclipse.tractusx.managedidentitywallets.dto.IssueFrameworkCredentialRequest;
+import org.eclipse.tractusx.managedidentitywallets.dto.IssueMembershipCredentialRequest;
+import org.eclipse.tractusx.managedidentitywallets.exception.ForbiddenException;
+import org.eclipse.tractusx.managedidentitywallets.exception.IssuanceJobNotFoundProblem;
+import org.eclipse.tractusx.managedidentitywallets.utils.Validate;
+import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredential;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Asynchronous issuance. Requests are stored as jobs and answered right away, credentials are signed by a worker pool
+ * of its own, so signing does not hold servlet threads. Jobs of one issuer run with limited concurrency, jobs which
+ * can not start are left queued and picked up by the next poll.
+ * <p>
+ * A running job is leased to the worker which started it. The lease is renewed by a heartbeat while the job runs and
+ * the job is completed only while the worker still holds it, so a job is queued again only if its instance stopped
+ * renewing, not because issuance took longer than the running timeout.
+ * <p>
+ * The credential is stored in the transaction which completes the job. If the lease was lost meanwhile, the credential
+ * is rolled back and issued by the worker which took the job over, so each job issues its credential once.
+ */
+@Service
+@Slf4j
+public class IssuanceJobService {
+
+    private final IssuanceJobRepository issuanceJobRepository;
+
+    private final IssuersCredentialService issuersCredentialService;
+
+    private final MIWSettings miwSettings;
+
+    private final IssuanceJobSettings issuanceJobSettings;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate issuanceTransactionTemplate;
+
+    private final ExecutorService issuanceExecutor;
+
+    private final Map<String, Semaphore> issuerPermits = new ConcurrentHashMap<>();
+
+    private final Set<String> runningLeases = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Instantiates a new Issuance job service.
+     *
+     * @param issuanceJobRepository    the issuance job repository
+     * @param issuersCredentialService the issuers credential service
+     * @param miwSettings              the miw settings
+     * @param issuanceJobSettings      the issuance job settings
+     * @param objectMapper             the object mapper
+     * @param transactionManager       the transaction manager
+     */
+    public IssuanceJobService(IssuanceJobRepository issuanceJobRepository, IssuersCredentialService issuersCredentialService,
+                              MIWSettings miwSettings, IssuanceJobSettings issuanceJobSettings, ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager) {
+        this.issuanceJobRepository = issuanceJobRepository;
+        this.issuersCredentialService = issuersCredentialService;
+        this.miwSettings = miwSettings;
+        this.issuanceJobSettings = issuanceJobSettings;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.issuanceTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.issuanceExecutor = Executors.newFixedThreadPool(issuanceJobSettings.workers(), new CustomizableThreadFactory("miw-issuance-"));
+    }
+
+    /**
+     * Stop issuance workers on shutdown, running jobs are queued again once their lease expires.
+     */
+    @PreDestroy
+    public void shutdown() {
+        issuanceExecutor.shutdown();
+    }
+
+    /**
+     * Submit membership credential issuance.
+     *
+     * @param request   the request
+     * @param callerBPN the caller bpn
+     * @return the queued job
+     */
+    public IssuanceJob submitMembershipCredential(IssueMembershipCredentialRequest request, String callerBPN) {
+        validateAuthority(callerBPN);
+        return submit(IssuanceJobType.MEMBERSHIP, request.getBpn(), request, callerBPN);
+    }
+
+    /**
+     * Submit dismantler credential issuance.
+     *
+     * @param request   the request
+     * @param callerBPN the caller bpn
+     * @return the queued job
+     */
+    public IssuanceJob submitDismantlerCredential(IssueDismantlerCredentialRequest request, String callerBPN) {
+        validateAuthority(callerBPN);
+        return submit(IssuanceJobType.DISMANTLER, request.getBpn(), request, callerBPN);
+    }
+
+    /**
+     * Submit framework credential issuance.
+     *
+     * @param request   the request
+     * @param callerBPN the caller bpn
+     * @return the queued job
+     */
+    public IssuanceJob submitFrameworkCredential(IssueFrameworkCredentialRequest request, String callerBPN) {
+        validateAuthority(callerBPN);
+        return submit(IssuanceJobType.FRAMEWORK, request.getHolderIdentifier(), request, callerBPN);
+    }
+
+    /**
+     * Submit credential issuance, issuer of the credential is validated when the job runs.
+     *
+     * @param holderDid the holder did
+     * @param data      the data
+     * @param callerBpn the caller bpn
+     * @return the queued job
+     */
+    public IssuanceJob submitCredential(String holderDid, Map<String, Object> data, String callerBpn) {
+        return submit(IssuanceJobType.CREDENTIAL, holderDid, data, callerBpn);
+    }
+
+    /**
+     * Gets job, only the caller who submitted the job can read it.
+     *
+     * @param jobId     the job id
+     * @param callerBpn the caller bpn
+     * @return the job
+     */
+    public IssuanceJob getJob(String jobId, String callerBpn) {
+        IssuanceJob job = issuanceJobRepository.getByJobId(jobId);
+        Validate.isNull(job).launch(new IssuanceJobNotFoundProblem("Issuance job not found with id " + jobId));
+        Validate.isFalse(job.getIssuerBpn().equals(callerBpn)).launch(new ForbiddenException("Issuance job was not submitted by BPN " + callerBpn));
+        return job;
+    }
+
+    /**
+     * Start queued jobs. Running jobs whose lease has expired are queued again first, so jobs of a stopped instance are
+     * not lost.
+     */
+    @Scheduled(fixedDelayString = "${miw.issuanceJob.pollIntervalMillis}")
+    public void startQueuedJobs() {
+        Date now = new Date();
+        Date runningSince = new Date(now.getTime() - issuanceJobSettings.runningTimeout().toMillis());
+        Integer requeued = transactionTemplate.execute(status -> issuanceJobRepository.requeueExpired(now, runningSince));
+        if (requeued != null && requeued > 0) {
+            log.warn("{} issuance jobs whose lease expired before {} are queued again", requeued, now);
+        }
+        issuanceJobRepository.getByStatusOrderByIdAsc(IssuanceJobStatus.QUEUED, PageRequest.of(0, issuanceJobSettings.pollBatchSize()))
+                .forEach(this::start);
+    }
+
+    /**
+     * Renew the leases of the jobs running on this instance.
+     */
+    @Scheduled(fixedDelayString = "${miw.issuanceJob.heartbeatIntervalMillis}")
+    public void renewLeases() {
+        Set<String> leaseOwners = Set.copyOf(runningLeases);
+        if (leaseOwners.isEmpty()) {
+            return;
+        }
+        Integer renewed = transactionTemplate.execute(status -> issuanceJobRepository.renewLeases(leaseOwners, leaseUntil()));
+        if (!Objects.equals(renewed, leaseOwners.size())) {
+            //jobs completed meanwhile are not renewed either, lost leases are reported when the job completes
+            log.debug("Renewed {} of {} issuance job leases", renewed, leaseOwners.size());
+        }
+    }
+
+    @SneakyThrows
+    private IssuanceJob submit(IssuanceJobType type, String holderIdentifier, Object request, String callerBpn) {
+        IssuanceJob job = issuanceJobRepository.save(IssuanceJob.builder()
+                .jobId(UUID.randomUUID().toString())
+                .type(type)
+                .status(IssuanceJobStatus.QUEUED)
+                .issuerBpn(callerBpn)
+                .holderIdentifier(holderIdentifier)
+                .requestData(objectMapper.writeValueAsString(request))
+                .build());
+        log.debug("Issuance job {} of type {} queued for holder {}", job.getJobId(), type, StringEscapeUtils.escapeJava(holderIdentifier));
+        start(job);
+        return job;
+    }
+
+    private void start(IssuanceJob job) {
+        Semaphore permits = issuerPermits.computeIfAbsent(job.getIssuerBpn(), bpn -> new Semaphore(issuanceJobSettings.perIssuerConcurrency()));
+        if (!permits.tryAcquire()) {
+            //issuer is at its limit, job stays queued
+            return;
+        }
+        String leaseOwner = UUID.randomUUID().toString();
+        try {
+            Integer claimed = transactionTemplate.execute(status -> issuanceJobRepository.start(job.getId(), leaseOwner, leaseUntil(), new Date()));
+            if (!Objects.equals(claimed, 1)) {
+                //already started by other poll or instance
+                permits.release();
+                return;
+            }
+            runningLeases.add(leaseOwner);
+            issuanceExecutor.execute(() -> {
+                try {
+                    //read job again, the given instance may still be written to a response
+                    issuanceJobRepository.findById(job.getId()).ifPresent(started -> run(started, leaseOwner));
+                } finally {
+                    runningLeases.remove(leaseOwner);
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            //shutting down, job is queued again once its lease expires
+            runningLeases.remove(leaseOwner);
+            permits.release();
+            log.warn("Issuance job {} rejected, workers are stopped", job.getJobId());
+        } catch (RuntimeException e) {
+            runningLeases.remove(leaseOwner);
+            permits.release();
+            log.error("Issuance job {} could not be started", job.getJobId(), e);
+        }
+    }
+
+    private void run(IssuanceJob job, String leaseOwner) {
+        Boolean completed;
+        try {
+            completed = issuanceTransactionTemplate.execute(status -> {
+                if (complete(job, leaseOwner, IssuanceJobStatus.SUCCEEDED, issue(job), null)) {
+                    return true;
+                }
+                //job was queued again, credential is issued by its new owner
+                status.setRollbackOnly();
+                return false;
+            });
+        } catch (Exception e) {
+            log.debug("Issuance job {} failed", job.getJobId(), e);
+            completed = transactionTemplate.execute(status -> complete(job, leaseOwner, IssuanceJobStatus.FAILED, null, e.getMessage()));
+        }
+        if (!Boolean.TRUE.equals(completed)) {
+            log.warn("Issuance job {} lost its lease while running, it was queued again and its result is not stored", job.getJobId());
+        }
+    }
+
+    private boolean complete(IssuanceJob job, String leaseOwner, IssuanceJobStatus result, VerifiableCredential credential, String errorMessage) {
+        return issuanceJobRepository.complete(job.getId(), leaseOwner, result, credential, errorMessage, new Date()) == 1;
+    }
+
+    private Date leaseUntil() {
+        return new Date(System.currentTimeMillis() + issuanceJobSettings.runningTimeout().toMillis());
+    }
+
+    @SneakyThrows
+    private VerifiableCredential issue(IssuanceJob job) {
+        String issuerBpn = job.getIssuerBpn();
+        return switch (job.getType()) {
+            case MEMBERSHIP ->
+                    issuersCredentialService.issueMembershipCredential(objectMapper.readValue(job.getRequestData(), IssueMembershipCredentialRequest.class), issuerBpn);
+            case DISMANTLER ->
+                    issuersCredentialService.issueDismantlerCredential(objectMapper.readValue(job.getRequestData(), IssueDismantlerCredentialRequest.class), issuerBpn);
+            case FRAMEWORK ->
+                    issuersCredentialService.issueFrameworkCredential(objectMapper.readValue(job.getRequestData(), IssueFrameworkCredentialRequest.class), issuerBpn);
+            case CREDENTIAL ->
+                    issuersCredentialService.issueCredentialUsingBaseWallet(job.getHolderIdentifier(), objectMapper.readValue(job.getRequestData(), new TypeReference<Map<String, Object>>() {
+                    }), issuerBpn);
+        };
+    }
+
+    private void validateAuthority(String callerBPN) {
+        //rejected right away instead of failing the job, only base wallet issues these credentials
+        Validate.isFalse(miwSettings.authorityWalletBpn().equals(callerBPN)).launch(new ForbiddenException(IssuersCredentialService.BASE_WALLET_BPN_IS_NOT_MATCHING_WITH_REQUEST_BPN_FROM_TOKEN));
+    }
+}
@@ -21,25 +21,36 @@
 
 package org.eclipse.tractusx.managedidentitywallets.service;
 
-import com.smartsensesolutions.java.commons.FilterRequest;
 import com.smartsensesolutions.java.commons.base.repository.BaseRepository;
 import com.smartsensesolutions.java.commons.base.service.BaseService;
-import com.smartsensesolutions.java.commons.criteria.CriteriaOperator;
-import com.smartsensesolutions.java.commons.operator.Operator;
-import com.smartsensesolutions.java.commons.sort.Sort;
-import com.smartsensesolutions.java.commons.sort.SortType;
 import com.smartsensesolutions.java.commons.specification.SpecificationUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.text.StringEscapeUtils;
+import org.eclipse.tractusx.managedidentitywallets.config.BatchSettings;
 import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.SummarySettings;
+import org.eclipse.tractusx.managedidentitywallets.config.VerificationSettings;
 import org.eclipse.tractusx.managedidentitywallets.constant.MIWVerifiableCredentialType;
 import org.eclipse.tractusx.managedidentitywallets.constant.StringPool;
 import org.eclipse.tractusx.managedidentitywallets.dao.entity.HoldersCredential;
 import org.eclipse.tractusx.managedidentitywallets.dao.entity.IssuersCredential;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.SummaryItem;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.SummaryUpdate;
 import org.eclipse.tractusx.managedidentitywallets.dao.entity.Wallet;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.CredentialBatchRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.CursorPageRepository;
 import org.eclipse.tractusx.managedidentitywallets.dao.repository.HoldersCredentialRepository;
 import org.eclipse.tractusx.managedidentitywallets.dao.repository.IssuersCredentialRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.SummaryItemRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.SummaryUpdateRepository;
+import org.eclipse.tractusx.managedidentitywallets.dto.BatchIssuanceResult;
+import org.eclipse.tractusx.managedidentitywallets.dto.CountFreeSlice;
+import org.eclipse.tractusx.managedidentitywallets.dto.CursorSlice;
 import org.eclipse.tractusx.managedidentitywallets.dto.IssueDismantlerCredentialRequest;
 import org.eclipse.tractusx.managedidentitywallets.dto.IssueFrameworkCredentialRequest;
 import org.eclipse.tractusx.managedidentitywallets.dto.IssueMembershipCredentialRequest;
@@ -49,9 +60,6 @@ import org.eclipse.tractusx.managedidentitywallets.exception.ForbiddenException;
 import org.eclipse.tractusx.managedidentitywallets.utils.CommonUtils;
 import org.eclipse.tractusx.managedidentitywallets.utils.Validate;
 import org.eclipse.tractusx.ssi.lib.did.resolver.DidResolver;
-import org.eclipse.tractusx.ssi.lib.did.web.DidWebResolver;
-import org.eclipse.tractusx.ssi.lib.did.web.util.DidWebParser;
-import org.eclipse.tractusx.ssi.lib.model.did.DidDocument;
 import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredential;
 import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredentialSubject;
 import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredentialType;
@@ -59,16 +67,32 @@ import org.eclipse.tractusx.ssi.lib.proof.LinkedDataProofValidation;
 import org.eclipse.tractusx.ssi.lib.proof.SignatureType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
-import java.net.http.HttpClient;
+import java.net.URI;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * The type Issuers credential service.
@@ -82,6 +106,31 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
      */
     public static final String BASE_WALLET_BPN_IS_NOT_MATCHING_WITH_REQUEST_BPN_FROM_TOKEN = "Base wallet BPN is not matching with request BPN(from token)";
 
+    /**
+     * Name of the counter of skipped summary VC re-signs.
+     */
+    public static final String SUMMARY_RESIGN_SKIPPED = "miw.summary.resign.skipped";
+
+    /**
+     * Name of the counter of queued summary VC updates collapsed into another update.
+     */
+    public static final String SUMMARY_UPDATES_COALESCED = "miw.summary.updates.coalesced";
+
+    /**
+     * Name of the timer of credential issuance, tagged with credential type and outcome.
+     */
+    public static final String ISSUE_METRIC = "miw.credential.issue";
+
+    /**
+     * Name of the counter of credentials issued in batch, tagged with credential type and outcome.
+     */
+    public static final String BATCH_ISSUE_METRIC = "miw.credential.issue.batch";
+
+    /**
+     * Name of the timer of summary VC regeneration.
+     */
+    public static final String SUMMARY_SIGN_METRIC = "miw.summary.sign";
+
     private final IssuersCredentialRepository issuersCredentialRepository;
     private final MIWSettings miwSettings;
 
@@ -93,6 +142,40 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
 
     private final CommonService commonService;
 
+    private final BatchSettings batchSettings;
+
+    private final CredentialBatchRepository credentialBatchRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService batchExecutor;
+
+    private final SummaryItemRepository summaryItemRepository;
+
+    private final Counter summaryResignSkippedCounter;
+
+    private final SummarySettings summarySettings;
+
+    private final SummaryUpdateRepository summaryUpdateRepository;
+
+    private final Counter summaryUpdatesCoalescedCounter;
+
+    private final DidResolver didResolver;
+
+    private final CredentialVerificationService credentialVerificationService;
+
+    private final CursorPageRepository cursorPageRepository;
+
+    private final CredentialCountService credentialCountService;
+
+    private final HolderLockService holderLockService;
+
+    private final VerificationSettings verificationSettings;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Timer summarySignTimer;
+
     /**
      * Instantiates a new Issuers credential service.
      *
@@ -102,16 +185,68 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
      * @param walletKeyService            the wallet key service
      * @param holdersCredentialRepository the holders credential repository
      * @param commonService               the common service
+     * @param batchSettings               the batch settings
+     * @param credentialBatchRepository   the credential batch repository
+     * @param transactionManager          the transaction manager
+     * @param summaryItemRepository       the summary item repository
+     * @param meterRegistry               the meter registry
+     * @param summarySettings             the summary settings
+     * @param summaryUpdateRepository     the summary update repository
+     * @param didResolver                 the did resolver
+     * @param credentialVerificationService the credential verification service
+     * @param cursorPageRepository        the cursor page repository
+     * @param credentialCountService      the credential count service
+     * @param holderLockService           the holder lock service
+     * @param verificationSettings        the verification settings
      */
     public IssuersCredentialService(IssuersCredentialRepository issuersCredentialRepository, MIWSettings miwSettings,
                                     SpecificationUtil<IssuersCredential> credentialSpecificationUtil,
-                                    WalletKeyService walletKeyService, HoldersCredentialRepository holdersCredentialRepository, CommonService commonService) {
+                                    WalletKeyService walletKeyService, HoldersCredentialRepository holdersCredentialRepository, CommonService commonService,
+                                    BatchSettings batchSettings, CredentialBatchRepository credentialBatchRepository,
+                                    PlatformTransactionManager transactionManager, SummaryItemRepository summaryItemRepository,
+                                    MeterRegistry meterRegistry, SummarySettings summarySettings,
+                                    SummaryUpdateRepository summaryUpdateRepository, DidResolver didResolver,
+                                    CredentialVerificationService credentialVerificationService,
+                                    CursorPageRepository cursorPageRepository, CredentialCountService credentialCountService,
+                                    HolderLockService holderLockService, VerificationSettings verificationSettings) {
         this.issuersCredentialRepository = issuersCredentialRepository;
         this.miwSettings = miwSettings;
         this.credentialSpecificationUtil = credentialSpecificationUtil;
         this.walletKeyService = walletKeyService;
         this.holdersCredentialRepository = holdersCredentialRepository;
         this.commonService = commonService;
+        this.batchSettings = batchSettings;
+        this.credentialBatchRepository = credentialBatchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchExecutor = Executors.newFixedThreadPool(batchSettings.parallelism(), new CustomizableThreadFactory("miw-batch-"));
+        this.summaryItemRepository = summaryItemRepository;
+        this.summaryResignSkippedCounter = Counter.builder(SUMMARY_RESIGN_SKIPPED)
+                .description("Summary VC updates skipped because items of summary VC did not change")
+                .register(meterRegistry);
+        this.summarySettings = summarySettings;
+        this.summaryUpdateRepository = summaryUpdateRepository;
+        this.summaryUpdatesCoalescedCounter = Counter.builder(SUMMARY_UPDATES_COALESCED)
+                .description("Queued summary VC updates collapsed into one summary VC of the same holder")
+                .register(meterRegistry);
+        this.didResolver = didResolver;
+        this.credentialVerificationService = credentialVerificationService;
+        this.cursorPageRepository = cursorPageRepository;
+        this.credentialCountService = credentialCountService;
+        this.holderLockService = holderLockService;
+        this.verificationSettings = verificationSettings;
+        this.meterRegistry = meterRegistry;
+        this.summarySignTimer = Timer.builder(SUMMARY_SIGN_METRIC)
+                .description("Time taken to regenerate and store summary VCs")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stop batch workers on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdown();
     }
 
 
@@ -140,43 +275,79 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
      * @return the credentials
      */
     public PageImpl<VerifiableCredential> getCredentials(String credentialId, String holderIdentifier, List<String> type, String sortColumn, String sortType, int pageNumber, int size, String callerBPN) {
-        FilterRequest filterRequest = new FilterRequest();
-        filterRequest.setSize(size);
-        filterRequest.setPage(pageNumber);
+        //Issuer must be caller of API
+        Wallet issuerWallet = commonService.getWalletByIdentifier(callerBPN);
+        Specification<IssuersCredential> specification = getCredentialSpecification(issuerWallet, credentialId, holderIdentifier, type);
+        Page<IssuersCredential> filter = issuersCredentialRepository.findAll(specification, PageRequest.of(pageNumber, size, Direction.fromString(sortType), sortColumn));
 
+        List<VerifiableCredential> list = new ArrayList<>(filter.getContent().size());
+        for (IssuersCredential credential : filter.getContent()) {
+            list.add(credential.getData());
+        }
+        return new PageImpl<>(list, filter.getPageable(), filter.getTotalElements());
+    }
+
+    /**
+     * Gets credentials with cursor pagination, without total count.
+     *
+     * @param credentialId     the credential id
+     * @param holderIdentifier the holder identifier
+     * @param type             the type
+     * @param sortColumn       the sort column
+     * @param sortType         the sort type
+     * @param size             the size
+     * @param cursor           the cursor of the previous page, empty for the first page
+     * @param callerBPN        the caller bpn
+     * @return the credentials
+     */
+    public CursorSlice<VerifiableCredential> getCredentialsByCursor(String credentialId, String holderIdentifier, List<String> type, String sortColumn, String sortType, int size, String cursor, String callerBPN) {
         //Issuer must be caller of API
         Wallet issuerWallet = commonService.getWalletByIdentifier(callerBPN);
-        filterRequest.appendCriteria(StringPool.ISSUER_DID, Operator.EQUALS, issuerWallet.getDid());
+        Specification<IssuersCredential> specification = getCredentialSpecification(issuerWallet, credentialId, holderIdentifier, type);
+        return cursorPageRepository.findPage(IssuersCredential.class, specification, sortColumn, sortType, size, cursor)
+                .map(IssuersCredential::getData);
+    }
+
+    /**
+     * Gets credentials without count query.
+     *
+     * @param credentialId     the credential id
+     * @param holderIdentifier the holder identifier
+     * @param type             the type
+     * @param sortColumn       the sort column
+     * @param sortType         the sort type
+     * @param pageNumber       the page number
+     * @param size             the size
+     * @param approximateTotal whether to add the approximate total, only known if the credentials are not filtered
+     * @param callerBPN        the caller bpn
+     * @return the credentials
+     */
+    public CountFreeSlice<VerifiableCredential> getCredentialsSlice(String credentialId, String holderIdentifier, List<String> type, String sortColumn, String sortType, int pageNumber, int size, boolean approximateTotal, String callerBPN) {
+        //Issuer must be caller of API
+        Wallet issuerWallet = commonService.getWalletByIdentifier(callerBPN);
+        Specification<IssuersCredential> specification = getCredentialSpecification(issuerWallet, credentialId, holderIdentifier, type);
+        CountFreeSlice<VerifiableCredential> slice = cursorPageRepository.findSlice(IssuersCredential.class, specification, sortColumn, sortType, pageNumber, size)
+                .map(IssuersCredential::getData);
+
+        boolean filtered = StringUtils.hasText(credentialId) || StringUtils.hasText(holderIdentifier) || !CollectionUtils.isEmpty(type);
+        if (approximateTotal && !filtered) {
+            return slice.withApproximateTotalElements(credentialCountService.getApproximateIssuedCount(issuerWallet.getDid()));
+        }
+        return slice;
+    }
+
+    private Specification<IssuersCredential> getCredentialSpecification(Wallet issuerWallet, String credentialId, String holderIdentifier, List<String> type) {
+        Specification<IssuersCredential> specification = CursorPageRepository.equal(StringPool.ISSUER_DID, issuerWallet.getDid());
 
         if (StringUtils.hasText(holderIdentifier)) {
             Wallet holderWallet = commonService.getWalletByIdentifier(holderIdentifier);
-            filterRequest.appendCriteria(StringPool.HOLDER_DID, Operator.EQUALS, holderWallet.getDid());
+            specification = specification.and(CursorPageRepository.equal(StringPool.HOLDER_DID, holderWallet.getDid()));
         }
 
         if (StringUtils.hasText(credentialId)) {
-            filterRequest.appendCriteria(StringPool.CREDENTIAL_ID, Operator.EQUALS, credentialId);
-        }
-        FilterRequest request = new FilterRequest();
-        if (!CollectionUtils.isEmpty(type)) {
-            request.setPage(filterRequest.getPage());
-            request.setSize(filterRequest.getSize());
-            request.setCriteriaOperator(CriteriaOperator.OR);
-            for (String str : type) {
-                request.appendCriteria(StringPool.TYPE, Operator.CONTAIN, str);
-            }
-        }
-
-        Sort sort = new Sort();
-        sort.setColumn(sortColumn);
-        sort.setSortType(SortType.valueOf(sortType.toUpperCase()));
-        filterRequest.setSort(sort);
-        Page<IssuersCredential> filter = filter(filterRequest, request, CriteriaOperator.AND);
-
-        List<VerifiableCredential> list = new ArrayList<>(filter.getContent().size());
-        for (IssuersCredential credential : filter.getContent()) {
-            list.add(credential.getData());
+            specification = specification.and(CursorPageRepository.equal(StringPool.CREDENTIAL_ID, credentialId));
         }
-        return new PageImpl<>(list, filter.getPageable(), filter.getTotalElements());
+        return specification.and(CursorPageRepository.containsAnyElement(StringPool.TYPES, type));
     }
 
 
@@ -190,13 +361,16 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
      */
     @Transactional(isolation = Isolation.READ_UNCOMMITTED, propagation = Propagation.REQUIRED)
     public VerifiableCredential issueBpnCredential(Wallet baseWallet, Wallet holderWallet, boolean authority) {
-        byte[] privateKeyBytes = walletKeyService.getPrivateKeyByWalletIdentifierAsBytes(baseWallet.getId());
+        return timeIssuance(MIWVerifiableCredentialType.BPN_CREDENTIAL, () -> createBpnCredential(baseWallet, holderWallet, authority));
+    }
+
+    private VerifiableCredential createBpnCredential(Wallet baseWallet, Wallet holderWallet, boolean authority) {
         List<String> types = List.of(VerifiableCredentialType.VERIFIABLE_CREDENTIAL, MIWVerifiableCredentialType.BPN_CREDENTIAL);
         VerifiableCredentialSubject verifiableCredentialSubject = new VerifiableCredentialSubject(Map.of(StringPool.TYPE, MIWVerifiableCredentialType.BPN_CREDENTIAL,
                 StringPool.ID, holderWallet.getDid(),
                 StringPool.BPN, holderWallet.getBpn()));
-        HoldersCredential holdersCredential = CommonUtils.getHoldersCredential(verifiableCredentialSubject,
-                types, baseWallet.getDidDocument(), privateKeyBytes, holderWallet.getDid(), miwSettings.vcContexts(), miwSettings.vcExpiryDate(), authority);
+        HoldersCredential holdersCredential = signCredential(baseWallet, verifiableCredentialSubject,
+                types, holderWallet.getDid(), miwSettings.vcContexts(), miwSettings.vcExpiryDate(), authority);
 
         //Store Credential in holder wallet
         holdersCredential = holdersCredentialRepository.save(holdersCredential);
@@ -206,7 +380,7 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
         issuersCredentialRepository.save(issuersCredential);
 
         //update summery VC
-        updateSummeryCredentials(baseWallet.getDidDocument(), privateKeyBytes, baseWallet.getDid(), holderWallet.getBpn(), holderWallet.getDid(), MIWVerifiableCredentialType.BPN_CREDENTIAL);
+        updateSummeryCredentials(baseWallet, holderWallet.getBpn(), holderWallet.getDid(), MIWVerifiableCredentialType.BPN_CREDENTIAL);
 
         log.debug("BPN credential issued for bpn -{}", StringEscapeUtils.escapeJava(holderWallet.getBpn()));
 
@@ -222,6 +396,10 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
      */
     @Transactional(isolation = Isolation.READ_UNCOMMITTED, propagation = Propagation.REQUIRED)
     public VerifiableCredential issueFrameworkCredential(IssueFrameworkCredentialRequest request, String callerBPN) {
+        return timeIssuance(MIWVerifiableCredentialType.USE_CASE_FRAMEWORK_CONDITION, () -> createFrameworkCredential(request, callerBPN));
+    }
+
+    private VerifiableCredential createFrameworkCredential(IssueFrameworkCredentialRequest request, String callerBPN) {
 
         //validate type
         Validate.isFalse(miwSettings.supportedFrameworkVCTypes().contains(request.getType())).launch(new BadDataException("Framework credential of type " + request.getType() + " is not supported, supported values are " + miwSettings.supportedFrameworkVCTypes()));
@@ -232,20 +410,13 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
         Wallet baseWallet = commonService.getWalletByIdentifier(miwSettings.authorityWalletBpn());
 
         validateAccess(callerBPN, baseWallet);
-        // get Key
-        byte[] privateKeyBytes = walletKeyService.getPrivateKeyByWalletIdentifierAsBytes(baseWallet.getId());
 
         //if base wallet issue credentials to itself
         boolean isSelfIssued = isSelfIssued(holderWallet.getBpn());
 
-        VerifiableCredentialSubject subject = new VerifiableCredentialSubject(Map.of(
-                StringPool.TYPE, request.getType(),
-                StringPool.ID, holderWallet.getDid(),
-                StringPool.HOLDER_IDENTIFIER, holderWallet.getBpn(),
-                StringPool.CONTRACT_TEMPLATE, request.getContractTemplate(),
-                StringPool.CONTRACT_VERSION, request.getContractVersion()));
+        VerifiableCredentialSubject subject = getFrameworkCredentialSubject(request, holderWallet);
         List<String> types = List.of(VerifiableCredentialType.VERIFIABLE_CREDENTIAL, MIWVerifiableCredentialType.USE_CASE_FRAMEWORK_CONDITION);
-        HoldersCredential holdersCredential = CommonUtils.getHoldersCredential(subject, types, baseWallet.getDidDocument(), privateKeyBytes, holderWallet.getDid(), miwSettings.vcContexts(), miwSettings.vcExpiryDate(), isSelfIssued);
+        HoldersCredential holdersCredential = signCredential(baseWallet, subject, types, holderWallet.getDid(), miwSettings.vcContexts(), miwSettings.vcExpiryDate(), isSelfIssued);
 
         //save in holder wallet
         holdersCredential = holdersCredentialRepository.save(holdersCredential);
@@ -255,7 +426,7 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
         issuersCredential = create(issuersCredential);
 
         //update summery cred
-        updateSummeryCredentials(baseWallet.getDidDocument(), privateKeyBytes, baseWallet.getDid(), holderWallet.getBpn(), holderWallet.getDid(), request.getType());
+        updateSummeryCredentials(baseWallet, holderWallet.getBpn(), holderWallet.getDid(), request.getType());
 
         log.debug("Framework VC of type ->{} issued to bpn ->{}", StringEscapeUtils.escapeJava(request.getType()), StringEscapeUtils.escapeJava(holderWallet.getBpn()));
 
@@ -272,6 +443,10 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
      */
     @Transactional(isolation = Isolation.READ_UNCOMMITTED, propagation = Propagation.REQUIRED)
     public VerifiableCredential issueDismantlerCredential(IssueDismantlerCredentialRequest request, String callerBPN) {
+        return timeIssuance(MIWVerifiableCredentialType.DISMANTLER_CREDENTIAL, () -> createDismantlerCredential(request, callerBPN));
+    }
+
+    private VerifiableCredential createDismantlerCredential(IssueDismantlerCredentialRequest request, String callerBPN) {
 
         //Fetch Holder Wallet
         Wallet holderWallet = commonService.getWalletByIdentifier(request.getBpn());
@@ -284,8 +459,6 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
         //check duplicate
         isCredentialExit(holderWallet.getDid(), MIWVerifiableCredentialType.DISMANTLER_CREDENTIAL);
 
-        byte[] privateKeyBytes = walletKeyService.getPrivateKeyByWalletIdentifierAsBytes(issuerWallet.getId());
-
         //if base wallet issue credentials to itself
         boolean isSelfIssued = isSelfIssued(request.getBpn());
 
@@ -295,7 +468,7 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
                 StringPool.ACTIVITY_TYPE, request.getActivityType(),
                 StringPool.ALLOWED_VEHICLE_BRANDS, request.getAllowedVehicleBrands() == null ? Collections.emptySet() : request.getAllowedVehicleBrands()));
         List<String> types = List.of(VerifiableCredentialType.VERIFIABLE_CREDENTIAL, MIWVerifiableCredentialType.DISMANTLER_CREDENTIAL);
-        HoldersCredential holdersCredential = CommonUtils.getHoldersCredential(subject, types, issuerWallet.getDidDocument(), privateKeyBytes, holderWallet.getDid(), miwSettings.vcContexts(), miwSettings.vcExpiryDate(), isSelfIssued);
+        HoldersCredential holdersCredential = signCredential(issuerWallet, subject, types, holderWallet.getDid(), miwSettings.vcContexts(), miwSettings.vcExpiryDate(), isSelfIssued);
 
 
         //save in holder wallet
@@ -306,7 +479,7 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
         issuersCredential = create(issuersCredential);
 
         //update summery VC
-        updateSummeryCredentials(issuerWallet.getDidDocument(), privateKeyBytes, issuerWallet.getDid(), holderWallet.getBpn(), holderWallet.getDid(), MIWVerifiableCredentialType.DISMANTLER_CREDENTIAL);
+        updateSummeryCredentials(issuerWallet, holderWallet.getBpn(), holderWallet.getDid(), MIWVerifiableCredentialType.DISMANTLER_CREDENTIAL);
 
         log.debug("Dismantler VC issued to bpn -> {}", StringEscapeUtils.escapeJava(request.getBpn()));
 
@@ -323,6 +496,10 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
      */
     @Transactional(isolation = Isolation.READ_UNCOMMITTED, propagation = Propagation.REQUIRED)
     public VerifiableCredential issueMembershipCredential(IssueMembershipCredentialRequest issueMembershipCredentialRequest, String callerBPN) {
+        return timeIssuance(VerifiableCredentialType.MEMBERSHIP_CREDENTIAL, () -> createMembershipCredential(issueMembershipCredentialRequest, callerBPN));
+    }
+
+    private VerifiableCredential createMembershipCredential(IssueMembershipCredentialRequest issueMembershipCredentialRequest, String callerBPN) {
 
         //Fetch Holder Wallet
         Wallet holderWallet = commonService.getWalletByIdentifier(issueMembershipCredentialRequest.getBpn());
@@ -335,20 +512,14 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
 
         validateAccess(callerBPN, issuerWallet);
 
-        byte[] privateKeyBytes = walletKeyService.getPrivateKeyByWalletIdentifierAsBytes(issuerWallet.getId());
         List<String> types = List.of(VerifiableCredentialType.VERIFIABLE_CREDENTIAL, VerifiableCredentialType.MEMBERSHIP_CREDENTIAL);
 
         //if base wallet issue credentials to itself
         boolean isSelfIssued = isSelfIssued(issueMembershipCredentialRequest.getBpn());
 
         //VC Subject
-        VerifiableCredentialSubject verifiableCredentialSubject = new VerifiableCredentialSubject(Map.of(StringPool.TYPE, VerifiableCredentialType.MEMBERSHIP_CREDENTIAL,
-                StringPool.ID, holderWallet.getDid(),
-                StringPool.HOLDER_IDENTIFIER, holderWallet.getBpn(),
-                StringPool.MEMBER_OF, issuerWallet.getName(),
-                StringPool.STATUS, "Active",
-                StringPool.START_TIME, Instant.now().toString()));
-        HoldersCredential holdersCredential = CommonUtils.getHoldersCredential(verifiableCredentialSubject, types, issuerWallet.getDidDocument(), privateKeyBytes, holderWallet.getDid(), miwSettings.vcContexts(), miwSettings.vcExpiryDate(), isSelfIssued);
+        VerifiableCredentialSubject verifiableCredentialSubject = getMembershipCredentialSubject(holderWallet, issuerWallet);
+        HoldersCredential holdersCredential = signCredential(issuerWallet, verifiableCredentialSubject, types, holderWallet.getDid(), miwSettings.vcContexts(), miwSettings.vcExpiryDate(), isSelfIssued);
 
 
         //save in holder wallet
@@ -360,7 +531,7 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
         issuersCredential = create(issuersCredential);
 
         //update summery VC
-        updateSummeryCredentials(issuerWallet.getDidDocument(), privateKeyBytes, issuerWallet.getDid(), holderWallet.getBpn(), holderWallet.getDid(), VerifiableCredentialType.MEMBERSHIP_CREDENTIAL);
+        updateSummeryCredentials(issuerWallet, holderWallet.getBpn(), holderWallet.getDid(), VerifiableCredentialType.MEMBERSHIP_CREDENTIAL);
 
         log.debug("Membership VC issued to bpn ->{}", StringEscapeUtils.escapeJava(issueMembershipCredentialRequest.getBpn()));
 
@@ -379,6 +550,10 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
      */
     @Transactional(isolation = Isolation.READ_UNCOMMITTED, propagation = Propagation.REQUIRED)
     public VerifiableCredential issueCredentialUsingBaseWallet(String holderDid, Map<String, Object> data, String callerBpn) {
+        return timeIssuance(CommonUtils.CUSTOM_TYPE, () -> createCredentialUsingBaseWallet(holderDid, data, callerBpn));
+    }
+
+    private VerifiableCredential createCredentialUsingBaseWallet(String holderDid, Map<String, Object> data, String callerBpn) {
         //Fetch Holder Wallet
         Wallet holderWallet = commonService.getWalletByIdentifier(holderDid);
 
@@ -391,15 +566,11 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
 
         validateAccess(callerBpn, issuerWallet);
 
-        // get issuer Key
-        byte[] privateKeyBytes = walletKeyService.getPrivateKeyByWalletIdentifierAsBytes(issuerWallet.getId());
-
         boolean isSelfIssued = isSelfIssued(holderWallet.getBpn());
 
         // Create Credential
-        HoldersCredential holdersCredential = CommonUtils.getHoldersCredential(verifiableCredential.getCredentialSubject().get(0),
-                verifiableCredential.getTypes(), issuerWallet.getDidDocument(),
-                privateKeyBytes,
+        HoldersCredential holdersCredential = signCredential(issuerWallet, verifiableCredential.getCredentialSubject().get(0),
+                verifiableCredential.getTypes(),
                 holderWallet.getDid(),
                 verifiableCredential.getContext(), Date.from(verifiableCredential.getExpirationDate()), isSelfIssued);
 
@@ -417,6 +588,188 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
         return issuersCredential.getData();
     }
 
+    /**
+     * Issue membership credentials to many holders with one lookup of the issuer wallet and key.
+     * Every holder gets its own result, failure of one holder does not affect the others.
+     *
+     * @param requests  the requests
+     * @param callerBPN the caller bpn
+     * @return the results in order of the requests
+     */
+    public List<BatchIssuanceResult> issueMembershipCredentials(List<IssueMembershipCredentialRequest> requests, String callerBPN) {
+        validateBatchSize(requests, batchSettings.maxSize());
+
+        // Fetch Issuer Wallet only once for the whole batch, its key is cached
+        Wallet issuerWallet = commonService.getWalletByIdentifier(miwSettings.authorityWalletBpn());
+        validateAccess(callerBPN, issuerWallet);
+
+        List<String> types = List.of(VerifiableCredentialType.VERIFIABLE_CREDENTIAL, VerifiableCredentialType.MEMBERSHIP_CREDENTIAL);
+        return issueInBatch(VerifiableCredentialType.MEMBERSHIP_CREDENTIAL, requests, IssueMembershipCredentialRequest::getBpn, request -> commonService.getWalletByIdentifier(request.getBpn()),
+                request -> VerifiableCredentialType.MEMBERSHIP_CREDENTIAL, issuerWallet, (request, holderWallet) -> {
+                    //check duplicate
+                    isCredentialExit(holderWallet.getDid(), VerifiableCredentialType.MEMBERSHIP_CREDENTIAL);
+                    return signCredential(issuerWallet, getMembershipCredentialSubject(holderWallet, issuerWallet), types,
+                            holderWallet.getDid(), miwSettings.vcContexts(),
+                            miwSettings.vcExpiryDate(), isSelfIssued(holderWallet.getBpn()));
+                });
+    }
+
+    /**
+     * Issue framework credentials to many holders with one lookup of the issuer wallet and key.
+     * Every holder gets its own result, failure of one holder does not affect the others.
+     *
+     * @param requests  the requests
+     * @param callerBPN the caller bpn
+     * @return the results in order of the requests
+     */
+    public List<BatchIssuanceResult> issueFrameworkCredentials(List<IssueFrameworkCredentialRequest> requests, String callerBPN) {
+        validateBatchSize(requests, batchSettings.maxSize());
+
+        // Fetch Issuer Wallet only once for the whole batch, its key is cached
+        Wallet issuerWallet = commonService.getWalletByIdentifier(miwSettings.authorityWalletBpn());
+        validateAccess(callerBPN, issuerWallet);
+
+        List<String> types = List.of(VerifiableCredentialType.VERIFIABLE_CREDENTIAL, MIWVerifiableCredentialType.USE_CASE_FRAMEWORK_CONDITION);
+        return issueInBatch(MIWVerifiableCredentialType.USE_CASE_FRAMEWORK_CONDITION, requests, IssueFrameworkCredentialRequest::getHolderIdentifier, request -> commonService.getWalletByIdentifier(request.getHolderIdentifier()),
+                IssueFrameworkCredentialRequest::getType, issuerWallet, (request, holderWallet) -> {
+                    //validate type
+                    Validate.isFalse(miwSettings.supportedFrameworkVCTypes().contains(request.getType())).launch(new BadDataException("Framework credential of type " + request.getType() + " is not supported, supported values are " + miwSettings.supportedFrameworkVCTypes()));
+                    return signCredential(issuerWallet, getFrameworkCredentialSubject(request, holderWallet), types,
+                            holderWallet.getDid(), miwSettings.vcContexts(),
+                            miwSettings.vcExpiryDate(), isSelfIssued(holderWallet.getBpn()));
+                });
+    }
+
+    /**
+     * Issue BPN credentials to many new wallets with one lookup of the authority wallet and key, used by bulk onboarding.
+     * Every wallet gets its own result, failure of one wallet does not affect the others.
+     *
+     * @param holderWallets the stored holder wallets
+     * @return the results in order of the wallets
+     */
+    public List<BatchIssuanceResult> issueBpnCredentials(List<Wallet> holderWallets) {
+        if (holderWallets.isEmpty()) {
+            return List.of();
+        }
+        Wallet baseWallet = commonService.getWalletByIdentifier(miwSettings.authorityWalletBpn());
+
+        List<String> types = List.of(VerifiableCredentialType.VERIFIABLE_CREDENTIAL, MIWVerifiableCredentialType.BPN_CREDENTIAL);
+        return issueInBatch(MIWVerifiableCredentialType.BPN_CREDENTIAL, holderWallets, Wallet::getBpn, Function.identity(), wallet -> MIWVerifiableCredentialType.BPN_CREDENTIAL,
+                baseWallet, (request, holderWallet) -> {
+                    VerifiableCredentialSubject verifiableCredentialSubject = new VerifiableCredentialSubject(Map.of(StringPool.TYPE, MIWVerifiableCredentialType.BPN_CREDENTIAL,
+                            StringPool.ID, holderWallet.getDid(),
+                            StringPool.BPN, holderWallet.getBpn()));
+                    return signCredential(baseWallet, verifiableCredentialSubject, types,
+                            holderWallet.getDid(), miwSettings.vcContexts(), miwSettings.vcExpiryDate(), isSelfIssued(holderWallet.getBpn()));
+                });
+    }
+
+    /**
+     * Issue credentials in batch: sign in parallel, store with JDBC batch inserts and update the summary VC of
+     * each holder in its own transaction. The summary VC update is queued in the transaction storing the credential,
+     * so if signing the summary VC fails it is retried by the queue poller.
+     *
+     * @param type                 credential type used as metric tag
+     * @param requests             the requests
+     * @param holderIdentifier     holder identifier of a request
+     * @param holderWalletResolver holder wallet of a request
+     * @param summaryItem          summary VC item of a request
+     * @param issuerWallet         the issuer wallet
+     * @param credentialFactory    validates a request and creates the signed credential
+     * @return the results in order of the requests
+     */
+    private <T> List<BatchIssuanceResult> issueInBatch(String type, List<T> requests, Function<T, String> holderIdentifier, Function<T, Wallet> holderWalletResolver,
+                                                       Function<T, String> summaryItem, Wallet issuerWallet,
+                                                       BiFunction<T, Wallet, HoldersCredential> credentialFactory) {
+        int size = requests.size();
+        BatchIssuanceResult[] results = new BatchIssuanceResult[size];
+        HoldersCredential[] credentials = new HoldersCredential[size];
+        Wallet[] holderWallets = new Wallet[size];
+
+        //validate and sign in parallel
+        Set<String> batchItems = ConcurrentHashMap.newKeySet();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int index = i;
+            T request = requests.get(i);
+            futures.add(CompletableFuture.runAsync(() -> {
+                String identifier = holderIdentifier.apply(request);
+                try {
+                    Wallet holderWallet = holderWalletResolver.apply(request);
+                    Validate.isFalse(batchItems.add(holderWallet.getDid() + "|" + summaryItem.apply(request)))
+                            .launch(new DuplicateCredentialProblem("Credential of type " + summaryItem.apply(request) + " is requested more than once for " + identifier));
+                    credentials[index] = credentialFactory.apply(request, holderWallet);
+                    holderWallets[index] = holderWallet;
+                } catch (RuntimeException e) {
+                    log.debug("Batch issuance failed for holder {}", StringEscapeUtils.escapeJava(identifier), e);
+                    results[index] = BatchIssuanceResult.failed(identifier, e.getMessage());
+                }
+            }, batchExecutor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        //store in chunks, a failing chunk is retried item by item so that one bad row does not fail the others
+        List<Integer> signed = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (credentials[i] != null) {
+                signed.add(i);
+            }
+        }
+        int chunkSize = Math.max(1, batchSettings.insertChunkSize());
+        for (int from = 0; from < signed.size(); from += chunkSize) {
+            List<Integer> chunk = signed.subList(from, Math.min(from + chunkSize, signed.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    credentialBatchRepository.saveAll(chunk.stream().map(i -> credentials[i]).toList());
+                    summaryUpdateRepository.saveAll(chunk.stream().map(i -> queuedSummaryUpdate(issuerWallet, holderWallets[i], summaryItem.apply(requests.get(i)))).toList());
+                });
+            } catch (RuntimeException e) {
+                log.warn("Batch insert of {} credentials failed, retrying one by one", chunk.size(), e);
+                for (Integer index : chunk) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            credentialBatchRepository.saveAll(List.of(credentials[index]));
+                            summaryUpdateRepository.save(queuedSummaryUpdate(issuerWallet, holderWallets[index], summaryItem.apply(requests.get(index))));
+                        });
+                    } catch (RuntimeException ex) {
+                        results[index] = BatchIssuanceResult.failed(holderIdentifier.apply(requests.get(index)), ex.getMessage());
+                    }
+                }
+            }
+        }
+
+        //sign summary VC of each holder, unless coalesced by the queue poller
+        futures.clear();
+        int issued = 0;
+        Set<String> holders = new HashSet<>();
+        for (Integer index : signed) {
+            if (results[index] != null) {
+                continue;
+            }
+            issued++;
+            Wallet holderWallet = holderWallets[index];
+            results[index] = BatchIssuanceResult.issued(holderIdentifier.apply(requests.get(index)), credentials[index].getData());
+            if (summarySettings.coalesce() || !holders.add(holderWallet.getDid())) {
+                continue;
+            }
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> signQueuedSummaryCredential(holderWallet.getBpn(), holderWallet.getDid(),
+                            issuerWallet.getDid()));
+                } catch (RuntimeException e) {
+                    //summary VC update stays queued and is retried with next poll
+                    log.error("Summery VC update failed for holder did -> {}, retrying with queue", StringEscapeUtils.escapeJava(holderWallet.getDid()), e);
+                }
+            }, batchExecutor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        countBatchIssuance(type, "issued", issued);
+        countBatchIssuance(type, "failed", size - issued);
+        log.debug("Batch issuance done, {} of {} credentials issued", issued, size);
+        return Arrays.asList(results);
+    }
+
     /**
      * Credentials validation map.
      *
@@ -428,8 +781,6 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
     public Map<String, Object> credentialsValidation(Map<String, Object> data, boolean withCredentialExpiryDate) {
         VerifiableCredential verifiableCredential = new VerifiableCredential(data);
 
-        DidResolver didResolver = new DidWebResolver(HttpClient.newHttpClient(), new DidWebParser(), miwSettings.enforceHttps());
-
         String proofTye = verifiableCredential.getProof().get(StringPool.TYPE).toString();
         LinkedDataProofValidation proofValidation;
         if (SignatureType.ED21559.toString().equals(proofTye)) {
@@ -454,6 +805,80 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
     }
 
 
+    /**
+     * Validate many credentials at once. Issuer DIDs are resolved once per batch and proofs are verified in parallel.
+     *
+     * @param data                     the credentials
+     * @param withCredentialExpiryDate the with credential expiry date
+     * @return validation result of each credential, in order of the request
+     */
+    public List<Map<String, Object>> credentialsValidation(List<Map<String, Object>> data, boolean withCredentialExpiryDate) {
+        Validate.isTrue(data.isEmpty()).launch(new BadDataException("At least one VC is required"));
+        validateBatchSize(data, verificationSettings.maxBatchSize());
+
+        List<VerifiableCredential> credentials = new ArrayList<>(data.size());
+        List<Map<String, Object>> results = new ArrayList<>(data.size());
+        for (Map<String, Object> vc : data) {
+            Map<String, Object> result = new TreeMap<>();
+            try {
+                VerifiableCredential verifiableCredential = new VerifiableCredential(vc);
+                credentials.add(verifiableCredential);
+                result.put("vc", verifiableCredential);
+            } catch (RuntimeException e) {
+                result.put(StringPool.VALID, false);
+                result.put(StringPool.ERROR, "Invalid VC: " + e.getMessage());
+            }
+            results.add(result);
+        }
+
+        Iterator<CredentialVerificationService.ProofResult> proofResults = credentialVerificationService.verifyEach(credentials).iterator();
+        for (Map<String, Object> result : results) {
+            if (!result.containsKey("vc")) {
+                continue;
+            }
+            CredentialVerificationService.ProofResult proofResult = proofResults.next();
+            String error = proofResult.error();
+            boolean dateValidation = false;
+            try {
+                dateValidation = CommonService.validateExpiry(withCredentialExpiryDate, (VerifiableCredential) result.get("vc"), result);
+            } catch (RuntimeException e) {
+                error = "Can not validate expiry date: " + e.getMessage();
+            }
+            result.put(StringPool.VALID, proofResult.valid() && dateValidation);
+            if (error != null) {
+                result.put(StringPool.ERROR, error);
+            }
+        }
+        return results;
+    }
+
+    private VerifiableCredential timeIssuance(String type, Supplier<VerifiableCredential> issuance) {
+        String outcome = "failed";
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            VerifiableCredential credential = issuance.get();
+            outcome = "issued";
+            return credential;
+        } finally {
+            sample.stop(Timer.builder(ISSUE_METRIC)
+                    .description("Time taken to issue credentials")
+                    .tag("type", type)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private void countBatchIssuance(String type, String outcome, int count) {
+        if (count > 0) {
+            Counter.builder(BATCH_ISSUE_METRIC)
+                    .description("Credentials issued in batch")
+                    .tag("type", type)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment(count);
+        }
+    }
+
     private void validateAccess(String callerBpn, Wallet issuerWallet) {
         //validate BPN access, VC must be issued by base wallet
         Validate.isFalse(callerBpn.equals(issuerWallet.getBpn())).launch(new ForbiddenException(BASE_WALLET_BPN_IS_NOT_MATCHING_WITH_REQUEST_BPN_FROM_TOKEN));
@@ -464,54 +889,150 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
 
 
     private void isCredentialExit(String holderDid, String credentialType) {
-        Validate.isTrue(holdersCredentialRepository.existsByHolderDidAndType(holderDid, credentialType)).launch(new DuplicateCredentialProblem("Credential of type " + credentialType + " is already exists "));
+        Validate.isTrue(holdersCredentialRepository.existsByHolderDidAndTypeAndStored(holderDid, credentialType, false)).launch(new DuplicateCredentialProblem("Credential of type " + credentialType + " is already exists "));
     }
 
     private boolean isSelfIssued(String holderBpn) {
         return holderBpn.equals(miwSettings.authorityWalletBpn());
     }
 
+    private static void validateBatchSize(List<?> requests, int maxSize) {
+        Validate.isTrue(requests.size() > maxSize).launch(new BadDataException("Batch can not have more than " + maxSize + " items"));
+    }
+
+    private VerifiableCredentialSubject getMembershipCredentialSubject(Wallet holderWallet, Wallet issuerWallet) {
+        return new VerifiableCredentialSubject(Map.of(StringPool.TYPE, VerifiableCredentialType.MEMBERSHIP_CREDENTIAL,
+                StringPool.ID, holderWallet.getDid(),
+                StringPool.HOLDER_IDENTIFIER, holderWallet.getBpn(),
+                StringPool.MEMBER_OF, issuerWallet.getName(),
+                StringPool.STATUS, "Active",
+                StringPool.START_TIME, Instant.now().toString()));
+    }
+
+    private VerifiableCredentialSubject getFrameworkCredentialSubject(IssueFrameworkCredentialRequest request, Wallet holderWallet) {
+        return new VerifiableCredentialSubject(Map.of(
+                StringPool.TYPE, request.getType(),
+                StringPool.ID, holderWallet.getDid(),
+                StringPool.HOLDER_IDENTIFIER, holderWallet.getBpn(),
+                StringPool.CONTRACT_TEMPLATE, request.getContractTemplate(),
+                StringPool.CONTRACT_VERSION, request.getContractVersion()));
+    }
+
 
     /**
-     * Update summery credentials.
+     * Update summery credentials. Summary VC is signed again only if type is not yet part of its items
+     * or holder does not have summary VC anymore.
      *
-     * @param issuerDidDocument the issuer did document
-     * @param issuerPrivateKey  the issuer private key
-     * @param holderBpn         the holder bpn
-     * @param holderDid         the holder did
-     * @param type              the type
+     * @param issuerWallet the issuer wallet
+     * @param holderBpn    the holder bpn
+     * @param holderDid    the holder did
+     * @param type         the type
      */
-    private void updateSummeryCredentials(DidDocument issuerDidDocument, byte[] issuerPrivateKey, String issuerDid, String holderBpn, String holderDid, String type) {
+    private void updateSummeryCredentials(Wallet issuerWallet, String holderBpn, String holderDid, String type) {
+        String issuerDid = issuerWallet.getDid();
 
-        //get last issued summary vc to holder to update items
-        Page<IssuersCredential> filter = getLastIssuedSummaryCredential(issuerDid, holderDid);
-        List<String> items;
-        if (!filter.getContent().isEmpty()) {
-            IssuersCredential issuersCredential = filter.getContent().get(0);
+        //concurrent issuances to same holder must not read the same summary VC, else both sign a new one
+        holderLockService.lockUntilTransactionEnds(holderDid);
 
-            //check if summery VC has subject
-            Validate.isTrue(issuersCredential.getData().getCredentialSubject().isEmpty()).launch(new BadDataException("VC subject not found in existing su,,ery VC"));
+        //items of summary VC are kept in summary_item, items of summary VCs issued before are filled in by liquibase
+        List<String> items = getSummaryItems(holderDid, issuerDid);
 
-            //Check if we have only one subject in summery VC
-            Validate.isTrue(issuersCredential.getData().getCredentialSubject().size() > 1).launch(new BadDataException("VC subjects can more then 1 in case of summery VC"));
+        //get summery VC of holder
+        List<HoldersCredential> vcs = holdersCredentialRepository.getByHolderDidAndIssuerDidAndTypeAndStored(holderDid, issuerDid, MIWVerifiableCredentialType.SUMMARY_CREDENTIAL, false); //deleted only not stored VC
 
-            VerifiableCredentialSubject subject = issuersCredential.getData().getCredentialSubject().get(0);
-            if (subject.containsKey(StringPool.ITEMS)) {
-                items = (List<String>) subject.get(StringPool.ITEMS);
-                if (!items.contains(type)) {
-                    items.add(type);
-                }
-            } else {
-                items = List.of(type);
+        if (items.contains(type) && !CollectionUtils.isEmpty(vcs)) {
+            //items are not changed and holder still has summary VC, no need to sign again
+            summaryResignSkippedCounter.increment();
+            log.debug("Summary VC of holder did -> {} already has item -> {}", StringEscapeUtils.escapeJava(holderDid), StringEscapeUtils.escapeJava(type));
+            return;
+        }
+        if (!items.contains(type)) {
+            items.add(type);
+            saveSummaryItem(holderDid, issuerDid, type);
+        }
+
+        if (summarySettings.coalesce()) {
+            //summary VC is signed by queue poller, once for all issuances to holder within the window
+            summaryUpdateRepository.save(SummaryUpdate.builder()
+                    .holderDid(holderDid)
+                    .holderBpn(holderBpn)
+                    .issuerDid(issuerDid)
+                    .dueAt(new Date(System.currentTimeMillis() + summarySettings.coalesceWindow().toMillis()))
+                    .build());
+            log.debug("Summary VC update queued for holder did -> {}", StringEscapeUtils.escapeJava(holderDid));
+            return;
+        }
+        signSummaryCredential(issuerWallet, holderBpn, holderDid, items, vcs);
+    }
 
+    /**
+     * Sign summary VCs of queued summary VC updates which are due. Each holder is handled in its own transaction and
+     * all updates queued for a holder are collapsed into one summary VC. Queue is polled even if coalescing is disabled,
+     * so updates queued before a restart are not lost.
+     */
+    @Scheduled(fixedDelayString = "${miw.summary.pollIntervalMillis}")
+    public void signQueuedSummaryCredentials() {
+        List<SummaryUpdate> dueUpdates = summaryUpdateRepository.getByDueAtLessThanEqualOrderByDueAtAsc(new Date(), PageRequest.of(0, summarySettings.pollBatchSize()));
+        Map<String, SummaryUpdate> updates = new LinkedHashMap<>();
+        dueUpdates.forEach(update -> updates.putIfAbsent(update.getIssuerDid() + "|" + update.getHolderDid(), update));
+        for (SummaryUpdate update : updates.values()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> signQueuedSummaryCredential(update.getHolderBpn(), update.getHolderDid(), update.getIssuerDid()));
+            } catch (RuntimeException e) {
+                //queued updates are kept and retried with next poll
+                log.error("Queued summery VC update failed for holder did -> {}", StringEscapeUtils.escapeJava(update.getHolderDid()), e);
             }
-        } else {
-            items = List.of(type);
         }
+    }
+
+    private void signQueuedSummaryCredential(String holderBpn, String holderDid, String issuerDid) {
+        holderLockService.lockUntilTransactionEnds(holderDid);
+        List<SummaryUpdate> queued = summaryUpdateRepository.getByHolderDidAndIssuerDidOrderByIdAsc(holderDid, issuerDid);
+        if (queued.isEmpty()) {
+            //already signed by other instance
+            return;
+        }
+        //delete only what was read, updates queued meanwhile are signed with next poll
+        summaryUpdateRepository.deleteAllInBatch(queued);
+        summaryUpdatesCoalescedCounter.increment(queued.size() - 1d);
+
+        //updates without item were queued after their item was stored and always need a new summary VC
+        List<String> items = getSummaryItems(holderDid, issuerDid);
+        boolean changed = queued.stream().anyMatch(update -> update.getItem() == null);
+        for (SummaryUpdate update : queued) {
+            if (update.getItem() != null && !items.contains(update.getItem())) {
+                items.add(update.getItem());
+                saveSummaryItem(holderDid, issuerDid, update.getItem());
+                changed = true;
+            }
+        }
+        List<HoldersCredential> vcs = holdersCredentialRepository.getByHolderDidAndIssuerDidAndTypeAndStored(holderDid, issuerDid, MIWVerifiableCredentialType.SUMMARY_CREDENTIAL, false);
+        if (!changed && !CollectionUtils.isEmpty(vcs)) {
+            summaryResignSkippedCounter.increment();
+            log.debug("Summary VC of holder did -> {} already has queued items", StringEscapeUtils.escapeJava(holderDid));
+            return;
+        }
+
+        Wallet issuerWallet = commonService.getWalletByIdentifier(issuerDid);
+        signSummaryCredential(issuerWallet, holderBpn, holderDid, items, vcs);
+    }
+
+    private SummaryUpdate queuedSummaryUpdate(Wallet issuerWallet, Wallet holderWallet, String item) {
+        long delay = summarySettings.coalesce() ? summarySettings.coalesceWindow().toMillis() : 0;
+        return SummaryUpdate.builder()
+                .holderDid(holderWallet.getDid())
+                .holderBpn(holderWallet.getBpn())
+                .issuerDid(issuerWallet.getDid())
+                .item(item)
+                .dueAt(new Date(System.currentTimeMillis() + delay))
+                .build();
+    }
+
+    private void signSummaryCredential(Wallet issuerWallet, String holderBpn, String holderDid,
+                                       List<String> items, List<HoldersCredential> vcs) {
         log.debug("Issuing summary VC with items ->{}", StringEscapeUtils.escapeJava(items.toString()));
+        Timer.Sample sample = Timer.start();
 
-        //get summery VC of holder
-        List<HoldersCredential> vcs = holdersCredentialRepository.getByHolderDidAndIssuerDidAndTypeAndStored(holderDid, issuerDid, MIWVerifiableCredentialType.SUMMARY_CREDENTIAL, false); //deleted only not stored VC
         if (CollectionUtils.isEmpty(vcs)) {
             log.debug("No summery VC found for did ->{}, checking in issuer", StringEscapeUtils.escapeJava(holderDid));
         } else {
@@ -530,9 +1051,7 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
                 StringPool.CONTRACT_TEMPLATE, miwSettings.contractTemplatesUrl()));
 
         List<String> types = List.of(VerifiableCredentialType.VERIFIABLE_CREDENTIAL, MIWVerifiableCredentialType.SUMMARY_CREDENTIAL);
-        HoldersCredential holdersCredential = CommonUtils.getHoldersCredential(subject, types,
-                issuerDidDocument,
-                issuerPrivateKey,
+        HoldersCredential holdersCredential = signCredential(issuerWallet, subject, types,
                 holderDid, miwSettings.summaryVcContexts(), miwSettings.vcExpiryDate(), isSelfIssued);
 
 
@@ -542,24 +1061,28 @@ public class IssuersCredentialService extends BaseService<IssuersCredential, Lon
         //Store Credential in issuers table
         issuersCredentialRepository.save(IssuersCredential.of(holdersCredential));
 
+        sample.stop(summarySignTimer);
         log.info("Summery VC updated for holder did -> {}", StringEscapeUtils.escapeJava(holderDid));
     }
 
-    private Page<IssuersCredential> getLastIssuedSummaryCredential(String issuerDid, String holderDid) {
-        FilterRequest filterRequest = new FilterRequest();
-
-        //we need latest one record
-        filterRequest.setPage(0);
-        filterRequest.setSize(1);
-        Sort sort = new Sort();
-        sort.setColumn(StringPool.CREATED_AT);
-        sort.setSortType(SortType.valueOf("desc".toUpperCase()));
-        filterRequest.setSort(sort);
+    private HoldersCredential signCredential(Wallet issuerWallet, VerifiableCredentialSubject subject, List<String> types, String holderDid,
+                                             List<URI> contexts, Date expiryDate, boolean selfIssued) {
+        //cached key is only used while signing, it must not be kept
+        return walletKeyService.withPrivateKey(issuerWallet.getId(), key -> CommonUtils.getHoldersCredential(subject, types,
+                issuerWallet.getDidDocument(), key.getEncoded(), holderDid, contexts, expiryDate, selfIssued));
+    }
 
-        filterRequest.appendCriteria(StringPool.HOLDER_DID, Operator.EQUALS, holderDid);
-        filterRequest.appendCriteria(StringPool.ISSUER_DID, Operator.EQUALS, issuerDid);
-        filterRequest.appendCriteria(StringPool.TYPE, Operator.EQUALS, MIWVerifiableCredentialType.SUMMARY_CREDENTIAL);
+    private List<String> getSummaryItems(String holderDid, String issuerDid) {
+        return summaryItemRepository.getByHolderDidAndIssuerDidOrderByIdAsc(holderDid, issuerDid).stream()
+                .map(SummaryItem::getItem)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
 
-        return filter(filterRequest);
+    private void saveSummaryItem(String holderDid, String issuerDid, String item) {
+        summaryItemRepository.save(SummaryItem.builder()
+                .holderDid(holderDid)
+                .issuerDid(issuerDid)
+                .item(item)
+                .build());
     }
 }
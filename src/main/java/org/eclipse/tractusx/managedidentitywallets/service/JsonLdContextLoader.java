@@ -0,0 +1,265 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.service;
+
+import com.apicatalog.jsonld.JsonLdError;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.loader.DocumentLoader;
+import com.apicatalog.jsonld.loader.DocumentLoaderOptions;
+import com.apicatalog.jsonld.loader.HttpLoader;
+import com.apicatalog.jsonld.loader.SchemeRouter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.managedidentitywallets.config.JsonLdSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
+import org.eclipse.tractusx.managedidentitywallets.constant.StringPool;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Document loader for the JSON-LD contexts used to canonicalize credentials when they are signed or verified.
+ * <p>
+ * Contexts listed in the classpath index {@value #BUNDLE_INDEX} are served without any network access. The contexts
+ * configured in the MIW settings are fetched once when the application is ready and kept for the lifetime of the
+ * application. Any other context is fetched on first use and kept in a size bound LRU cache.
+ * <p>
+ * The loader replaces the default http and https loaders of titanium, which is used by the SSI library.
+ */
+@Slf4j
+@Component
+public class JsonLdContextLoader implements DocumentLoader {
+
+    /**
+     * Name of the cache of contexts which are not configured, in metrics.
+     */
+    public static final String CONTEXT_CACHE = "jsonLdContexts";
+
+    /**
+     * Name of the counter of context loads, tagged with result bundled (bundled or preloaded), hit, miss or error.
+     */
+    public static final String CONTEXT_METRIC = "miw.jsonld.context";
+
+    /**
+     * Classpath index of bundled contexts, the keys are context URLs and the values file names next to the index.
+     */
+    public static final String BUNDLE_INDEX = "jsonld/contexts.properties";
+
+    private static final String BUNDLE_DIRECTORY = "jsonld/";
+
+    private static final String HTTP = "http";
+
+    private static final String HTTPS = "https";
+
+    private final JsonLdSettings settings;
+
+    private final MeterRegistry meterRegistry;
+
+    private final DocumentLoader remoteLoader;
+
+    private final Set<URI> configuredContexts;
+
+    private final Map<URI, Document> store = new ConcurrentHashMap<>();
+
+    private final Cache<URI, Document> cache;
+
+    /**
+     * Instantiates a new Json ld context loader which fetches unknown contexts with the default titanium http loader.
+     *
+     * @param miwSettings   the miw settings
+     * @param settings      the json ld settings
+     * @param meterRegistry the meter registry
+     */
+    @Autowired
+    public JsonLdContextLoader(MIWSettings miwSettings, JsonLdSettings settings, MeterRegistry meterRegistry) {
+        this(miwSettings, settings, meterRegistry, HttpLoader.defaultInstance());
+    }
+
+    /**
+     * Instantiates a new Json ld context loader.
+     *
+     * @param miwSettings   the miw settings
+     * @param settings      the json ld settings
+     * @param meterRegistry the meter registry
+     * @param remoteLoader  the loader used for contexts which are not bundled
+     */
+    public JsonLdContextLoader(MIWSettings miwSettings, JsonLdSettings settings, MeterRegistry meterRegistry,
+                               DocumentLoader remoteLoader) {
+        this.settings = settings;
+        this.meterRegistry = meterRegistry;
+        this.remoteLoader = remoteLoader;
+        this.configuredContexts = configuredContexts(miwSettings);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(settings.cacheMaxSize())
+                .expireAfterWrite(settings.cacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CONTEXT_CACHE);
+        loadBundle();
+    }
+
+    /**
+     * Route http and https documents of titanium through this loader.
+     */
+    @PostConstruct
+    public void install() {
+        ((SchemeRouter) SchemeRouter.defaultInstance()).set(HTTP, this).set(HTTPS, this);
+    }
+
+    /**
+     * Restore the default http and https loaders of titanium.
+     */
+    @PreDestroy
+    public void uninstall() {
+        ((SchemeRouter) SchemeRouter.defaultInstance()).set(HTTP, HttpLoader.defaultInstance()).set(HTTPS, HttpLoader.defaultInstance());
+    }
+
+    /**
+     * Fetch the configured contexts which are not bundled, without delaying the startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (settings.preload()) {
+            CompletableFuture.runAsync(this::preload);
+        }
+    }
+
+    /**
+     * Fetch the configured contexts which are not bundled. A context which can not be fetched is logged and fetched
+     * again on first use.
+     */
+    public void preload() {
+        for (URI url : configuredContexts) {
+            if (store.containsKey(url)) {
+                continue;
+            }
+            try {
+                store.put(url, fetch(url, new DocumentLoaderOptions()));
+                log.debug("Preloaded JSON-LD context {}", url);
+            } catch (JsonLdError e) {
+                log.warn("Can not preload JSON-LD context {}, it is fetched on first use: {}", url, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public Document loadDocument(URI url, DocumentLoaderOptions options) throws JsonLdError {
+        Document document = store.get(url);
+        if (document != null) {
+            count("bundled");
+            return document;
+        }
+        if (configuredContexts.contains(url)) {
+            //not preloaded yet or the preload failed, keep it for good once fetched
+            document = fetch(url, options);
+            store.put(url, document);
+            count("miss");
+            return document;
+        }
+        document = cache.getIfPresent(url);
+        if (document != null) {
+            count("hit");
+            return document;
+        }
+        document = fetch(url, options);
+        cache.put(url, document);
+        count("miss");
+        return document;
+    }
+
+    private Document fetch(URI url, DocumentLoaderOptions options) throws JsonLdError {
+        try {
+            return remoteLoader.loadDocument(url, options);
+        } catch (JsonLdError e) {
+            count(StringPool.ERROR);
+            throw e;
+        }
+    }
+
+    private void count(String result) {
+        meterRegistry.counter(CONTEXT_METRIC, "result", result).increment();
+    }
+
+    private void loadBundle() {
+        ClassLoader classLoader = Objects.requireNonNullElse(Thread.currentThread().getContextClassLoader(),
+                JsonLdContextLoader.class.getClassLoader());
+        try {
+            Enumeration<URL> indexes = classLoader.getResources(BUNDLE_INDEX);
+            for (URL index : Collections.list(indexes)) {
+                Properties properties = new Properties();
+                try (InputStream inputStream = index.openStream()) {
+                    properties.load(inputStream);
+                }
+                for (String url : properties.stringPropertyNames()) {
+                    store.put(URI.create(url), readBundled(classLoader, url, properties.getProperty(url)));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Can not read JSON-LD context index " + BUNDLE_INDEX, e);
+        }
+        log.debug("Loaded {} bundled JSON-LD contexts", store.size());
+    }
+
+    private static Document readBundled(ClassLoader classLoader, String url, String file) throws IOException {
+        try (InputStream inputStream = classLoader.getResourceAsStream(BUNDLE_DIRECTORY + file)) {
+            if (inputStream == null) {
+                throw new IOException("Bundled JSON-LD context " + file + " of " + url + " not found");
+            }
+            Document document = JsonDocument.of(inputStream);
+            document.setDocumentUrl(URI.create(url));
+            return document;
+        } catch (JsonLdError e) {
+            throw new IOException("Bundled JSON-LD context " + file + " of " + url + " is not valid JSON", e);
+        }
+    }
+
+    private static Set<URI> configuredContexts(MIWSettings miwSettings) {
+        Set<URI> contexts = new LinkedHashSet<>();
+        Stream.of(miwSettings.vcContexts(), miwSettings.summaryVcContexts(), miwSettings.didDocumentContextUrls())
+                .filter(Objects::nonNull)
+                .forEach(contexts::addAll);
+        contexts.add(URI.create(StringPool.JWS_2020_CONTEXT));
+        return Collections.unmodifiableSet(contexts);
+    }
+}
@@ -26,6 +26,8 @@ import com.nimbusds.jwt.SignedJWT;
 import com.smartsensesolutions.java.commons.base.repository.BaseRepository;
 import com.smartsensesolutions.java.commons.base.service.BaseService;
 import com.smartsensesolutions.java.commons.specification.SpecificationUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -36,15 +38,10 @@ import org.eclipse.tractusx.managedidentitywallets.dao.entity.Wallet;
 import org.eclipse.tractusx.managedidentitywallets.dao.repository.HoldersCredentialRepository;
 import org.eclipse.tractusx.managedidentitywallets.exception.BadDataException;
 import org.eclipse.tractusx.managedidentitywallets.utils.Validate;
-import org.eclipse.tractusx.ssi.lib.crypt.ed25519.Ed25519Key;
 import org.eclipse.tractusx.ssi.lib.crypt.octet.OctetKeyPairFactory;
 import org.eclipse.tractusx.ssi.lib.crypt.x21559.x21559PrivateKey;
 import org.eclipse.tractusx.ssi.lib.did.resolver.DidResolver;
-import org.eclipse.tractusx.ssi.lib.did.web.DidWebResolver;
-import org.eclipse.tractusx.ssi.lib.did.web.util.DidWebParser;
 import org.eclipse.tractusx.ssi.lib.exception.InvalidJsonLdException;
-import org.eclipse.tractusx.ssi.lib.exception.InvalidePrivateKeyFormat;
-import org.eclipse.tractusx.ssi.lib.exception.UnsupportedSignatureTypeException;
 import org.eclipse.tractusx.ssi.lib.jwt.SignedJwtFactory;
 import org.eclipse.tractusx.ssi.lib.jwt.SignedJwtValidator;
 import org.eclipse.tractusx.ssi.lib.jwt.SignedJwtVerifier;
@@ -54,8 +51,6 @@ import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCreden
 import org.eclipse.tractusx.ssi.lib.model.verifiable.presentation.VerifiablePresentation;
 import org.eclipse.tractusx.ssi.lib.model.verifiable.presentation.VerifiablePresentationBuilder;
 import org.eclipse.tractusx.ssi.lib.model.verifiable.presentation.VerifiablePresentationType;
-import org.eclipse.tractusx.ssi.lib.proof.LinkedDataProofValidation;
-import org.eclipse.tractusx.ssi.lib.proof.SignatureType;
 import org.eclipse.tractusx.ssi.lib.serialization.jsonLd.JsonLdSerializerImpl;
 import org.eclipse.tractusx.ssi.lib.serialization.jwt.SerializedJwtPresentationFactory;
 import org.eclipse.tractusx.ssi.lib.serialization.jwt.SerializedJwtPresentationFactoryImpl;
@@ -64,7 +59,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.util.*;
 
 /**
@@ -75,6 +69,16 @@ import java.util.*;
 @RequiredArgsConstructor
 public class PresentationService extends BaseService<HoldersCredential, Long> {
 
+    /**
+     * Name of the timer of JWT presentation signing.
+     */
+    public static final String JWT_SIGN_METRIC = "miw.presentation.jwt.sign";
+
+    /**
+     * Name of the timer of JWT presentation signature verifications, tagged with outcome.
+     */
+    public static final String JWT_VERIFY_METRIC = "miw.presentation.jwt.verify";
+
     private final HoldersCredentialRepository holdersCredentialRepository;
 
 
@@ -86,6 +90,12 @@ public class PresentationService extends BaseService<HoldersCredential, Long> {
 
     private final MIWSettings miwSettings;
 
+    private final DidResolver didResolver;
+
+    private final CredentialVerificationService credentialVerificationService;
+
+    private final MeterRegistry meterRegistry;
+
     @Override
     protected BaseRepository<HoldersCredential, Long> getRepository() {
         return holdersCredentialRepository;
@@ -105,7 +115,6 @@ public class PresentationService extends BaseService<HoldersCredential, Long> {
      * @param callerBpn the caller bpn
      * @return the map
      */
-    @SneakyThrows({InvalidePrivateKeyFormat.class})
     public Map<String, Object> createPresentation(Map<String, Object> data, boolean asJwt, String audience, String callerBpn) {
         List<Map<String, Object>> verifiableCredentialList = (List<Map<String, Object>>) data.get(StringPool.VERIFIABLE_CREDENTIALS);
 
@@ -131,10 +140,16 @@ public class PresentationService extends BaseService<HoldersCredential, Long> {
                     new SignedJwtFactory(new OctetKeyPairFactory()), new JsonLdSerializerImpl(), vpIssuerDid);
 
             //Build JWT
-            Ed25519Key ed25519Key = walletKeyService.getPrivateKeyByWalletIdentifier(callerWallet.getId());
-            x21559PrivateKey privateKey = new x21559PrivateKey(ed25519Key.getEncoded());
-            SignedJWT presentation = presentationFactory.createPresentation(vpIssuerDid
-                    , verifiableCredentials, audience, privateKey);
+            SignedJWT presentation = walletKeyService.withPrivateKey(callerWallet.getId(), ed25519Key -> {
+                x21559PrivateKey privateKey = new x21559PrivateKey(ed25519Key.getEncoded());
+                Timer.Sample sample = Timer.start(meterRegistry);
+                SignedJWT jwt = presentationFactory.createPresentation(vpIssuerDid
+                        , verifiableCredentials, audience, privateKey);
+                sample.stop(Timer.builder(JWT_SIGN_METRIC)
+                        .description("Time taken to sign presentations as JWT")
+                        .register(meterRegistry));
+                return jwt;
+            });
 
             response.put(StringPool.VP, presentation.serialize());
         } else {
@@ -162,10 +177,11 @@ public class PresentationService extends BaseService<HoldersCredential, Long> {
      * @param asJwt                    the as jwt
      * @param withCredentialExpiryDate the with credential expiry date
      * @param audience                 the audience
+     * @param failFast                 stop verifying credentials once one credential is not valid
      * @return the map
      */
     @SneakyThrows
-    public Map<String, Object> validatePresentation(Map<String, Object> vp, boolean asJwt, boolean withCredentialExpiryDate, String audience) {
+    public Map<String, Object> validatePresentation(Map<String, Object> vp, boolean asJwt, boolean withCredentialExpiryDate, String audience, boolean failFast) {
 
         Map<String, Object> response = new HashMap<>();
         if (asJwt) {
@@ -198,10 +214,8 @@ public class PresentationService extends BaseService<HoldersCredential, Long> {
 
                 for (VerifiableCredential credential : presentation.getVerifiableCredentials()) {
                     validateExpiryDate = CommonService.validateExpiry(withCredentialExpiryDate, credential, response);
-                    if (!validateCredential(credential)) {
-                        validCredential = false;
-                    }
                 }
+                validCredential = credentialVerificationService.verifyProofs(presentation.getVerifiableCredentials(), failFast);
             } catch (InvalidJsonLdException e) {
                 throw new BadDataException(String.format("Validation of VP in form of JSON-LD is not supported. Invalid Json-LD: %s", e.getMessage()));
             }
@@ -223,14 +237,21 @@ public class PresentationService extends BaseService<HoldersCredential, Long> {
 
     private boolean validateSignature(SignedJWT signedJWT) {
         //validate jwt signature
+        String outcome = "error";
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            DidResolver didResolver = new DidWebResolver(HttpClient.newHttpClient(), new DidWebParser(), miwSettings.enforceHttps());
-
             SignedJwtVerifier jwtVerifier = new SignedJwtVerifier(didResolver);
-            return jwtVerifier.verify(signedJWT);
+            boolean valid = jwtVerifier.verify(signedJWT);
+            outcome = valid ? "valid" : "invalid";
+            return valid;
         } catch (Exception e) {
             log.error("Can not verify signature of jwt", e);
             return false;
+        } finally {
+            sample.stop(Timer.builder(JWT_VERIFY_METRIC)
+                    .description("Time taken to verify signatures of JWT presentations")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
         }
     }
 
@@ -259,33 +280,4 @@ public class PresentationService extends BaseService<HoldersCredential, Long> {
             return true;
         }
     }
-
-    @SneakyThrows
-    private boolean validateCredential(VerifiableCredential credential) {
-        DidResolver didResolver = new DidWebResolver(HttpClient.newHttpClient(), new DidWebParser(), miwSettings.enforceHttps());
-
-        String proofType = credential.getProof().getType();
-        LinkedDataProofValidation linkedDataProofValidation;
-        if (SignatureType.ED21559.toString().equals(proofType)) {
-            linkedDataProofValidation = LinkedDataProofValidation.newInstance(
-                    SignatureType.ED21559,
-                    didResolver
-            );
-        } else if (SignatureType.JWS.toString().equals(proofType)) {
-            linkedDataProofValidation = LinkedDataProofValidation.newInstance(
-                    SignatureType.JWS,
-                    didResolver
-            );
-        } else {
-            throw new UnsupportedSignatureTypeException(proofType);
-        }
-
-        boolean isValid = linkedDataProofValidation.verifyProof(credential);
-        if (isValid) {
-            log.debug("Credential validation result: (valid: {}, credential-id: {})", isValid, credential.getId());
-        } else {
-            log.info("Credential validation result: (valid: {}, credential-id: {})", isValid, credential.getId());
-        }
-        return isValid;
-    }
 }
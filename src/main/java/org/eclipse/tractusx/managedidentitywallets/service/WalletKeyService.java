@@ -21,13 +21,19 @@
 
 package org.eclipse.tractusx.managedidentitywallets.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.smartsensesolutions.java.commons.base.repository.BaseRepository;
 import com.smartsensesolutions.java.commons.base.service.BaseService;
 import com.smartsensesolutions.java.commons.specification.SpecificationUtil;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.bouncycastle.util.io.pem.PemReader;
+import org.eclipse.tractusx.managedidentitywallets.config.CacheSettings;
 import org.eclipse.tractusx.managedidentitywallets.dao.entity.WalletKey;
 import org.eclipse.tractusx.managedidentitywallets.dao.repository.WalletKeyRepository;
 import org.eclipse.tractusx.managedidentitywallets.utils.EncryptionUtils;
@@ -35,21 +41,72 @@ import org.eclipse.tractusx.ssi.lib.crypt.ed25519.Ed25519Key;
 import org.springframework.stereotype.Service;
 
 import java.io.StringReader;
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * The type Wallet key service.
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class WalletKeyService extends BaseService<WalletKey, Long> {
 
+    /**
+     * The constant SIGNING_KEY_CACHE.
+     */
+    public static final String SIGNING_KEY_CACHE = "signingKeys";
+
+    /**
+     * Name of the timer of private key loading and decryption, done on signing key cache misses only.
+     */
+    public static final String DECRYPT_METRIC = "miw.key.decrypt";
+
     private final WalletKeyRepository walletKeyRepository;
 
     private final SpecificationUtil<WalletKey> specificationUtil;
 
     private final EncryptionUtils encryptionUtils;
 
+    /**
+     * Decrypted and PEM parsed private keys by wallet id, as bytes and as parsed key. Both are wiped when an entry is
+     * evicted.
+     */
+    private final Cache<Long, CachedKey> privateKeyCache;
+
+    private final Timer decryptTimer;
+
+    /**
+     * Instantiates a new Wallet key service.
+     *
+     * @param walletKeyRepository the wallet key repository
+     * @param specificationUtil   the specification util
+     * @param encryptionUtils     the encryption utils
+     * @param cacheSettings       the cache settings
+     * @param meterRegistry       the meter registry
+     */
+    public WalletKeyService(WalletKeyRepository walletKeyRepository, SpecificationUtil<WalletKey> specificationUtil,
+                            EncryptionUtils encryptionUtils, CacheSettings cacheSettings, MeterRegistry meterRegistry) {
+        this.walletKeyRepository = walletKeyRepository;
+        this.specificationUtil = specificationUtil;
+        this.encryptionUtils = encryptionUtils;
+        this.privateKeyCache = Caffeine.newBuilder()
+                .maximumSize(cacheSettings.signingKey().maxSize())
+                .expireAfterWrite(cacheSettings.signingKey().ttl())
+                .removalListener((Long walletId, CachedKey key, RemovalCause cause) -> {
+                    if (key != null) {
+                        key.wipe();
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, privateKeyCache, SIGNING_KEY_CACHE);
+        this.decryptTimer = Timer.builder(DECRYPT_METRIC)
+                .description("Time taken to load and decrypt private keys of wallets")
+                .register(meterRegistry);
+    }
+
     @Override
     protected BaseRepository<WalletKey, Long> getRepository() {
         return walletKeyRepository;
@@ -66,24 +123,120 @@ public class WalletKeyService extends BaseService<WalletKey, Long> {
      * @param walletId the wallet id
      * @return the byte [ ]
      */
-    @SneakyThrows
     public byte[] getPrivateKeyByWalletIdentifierAsBytes(long walletId) {
-        return getPrivateKeyByWalletIdentifier(walletId).getEncoded();
+        //always hand out a copy, cached bytes are wiped on eviction
+        byte[] key = privateKeyCache.get(walletId, id -> new CachedKey(loadPrivateKey(id))).copy();
+        if (key == null) {
+            //entry was evicted and wiped while we were reading it
+            key = loadPrivateKey(walletId);
+        }
+        return key;
     }
 
     /**
-     * Gets private key by wallet identifier.
+     * Run an operation with the parsed private key of a wallet. The cached key is only valid during the operation, it
+     * is wiped once evicted and must not be kept by the caller.
      *
-     * @param walletId the wallet id
-     * @return the private key by wallet identifier
+     * @param walletId  the wallet id
+     * @param operation the operation, e.g. signing
+     * @param <T>       the result type
+     * @return the result of the operation
      */
     @SneakyThrows
+    public <T> T withPrivateKey(long walletId, KeyOperation<T> operation) {
+        CachedKey cached = privateKeyCache.get(walletId, id -> new CachedKey(loadPrivateKey(id)));
+        Lock lock = cached.lock.readLock();
+        lock.lock();
+        try {
+            if (!cached.wiped) {
+                return operation.apply(cached.key);
+            }
+        } finally {
+            lock.unlock();
+        }
+        //entry was evicted and wiped before we could use it
+        return operation.apply(Ed25519Key.asPrivateKey(loadPrivateKey(walletId)));
+    }
 
-    public Ed25519Key getPrivateKeyByWalletIdentifier(long walletId) {
+    /**
+     * Invalidate cached private key of wallet, must be called whenever the key of a wallet is created or rotated.
+     *
+     * @param walletId the wallet id
+     */
+    public void invalidatePrivateKey(long walletId) {
+        privateKeyCache.invalidate(walletId);
+    }
+
+    @SneakyThrows
+    private byte[] loadPrivateKey(Long walletId) {
+        log.debug("Signing key of wallet id {} not found in cache, loading from database", walletId);
+        Timer.Sample sample = Timer.start();
         WalletKey wallet = walletKeyRepository.getByWalletId(walletId);
         String privateKey = encryptionUtils.decrypt(wallet.getPrivateKey());
-        byte[] content = new PemReader(new StringReader(privateKey)).readPemObject().getContent();
-        return Ed25519Key.asPrivateKey(content);
+        byte[] key = new PemReader(new StringReader(privateKey)).readPemObject().getContent();
+        sample.stop(decryptTimer);
+        return key;
+    }
+
+    /**
+     * Operation on a private key.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface KeyOperation<T> {
+
+        /**
+         * Apply the operation.
+         *
+         * @param key the private key
+         * @return the result
+         * @throws Exception if the operation fails
+         */
+        T apply(Ed25519Key key) throws Exception;
     }
 
+    /**
+     * Cached key bytes and the key parsed from a copy of them. The key is wiped only after running operations are done,
+     * a wiped key is never handed out.
+     */
+    private static final class CachedKey {
+
+        private final byte[] bytes;
+
+        private final Ed25519Key key;
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private volatile boolean wiped;
+
+        @SneakyThrows
+        private CachedKey(byte[] bytes) {
+            this.bytes = bytes;
+            this.key = Ed25519Key.asPrivateKey(bytes.clone());
+        }
+
+        private byte[] copy() {
+            Lock readLock = lock.readLock();
+            readLock.lock();
+            try {
+                return wiped ? null : bytes.clone();
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        private void wipe() {
+            Lock writeLock = lock.writeLock();
+            writeLock.lock();
+            try {
+                Arrays.fill(bytes, (byte) 0);
+                //getEncoded returns the array the key was parsed from
+                Arrays.fill(key.getEncoded(), (byte) 0);
+                wiped = true;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
 }
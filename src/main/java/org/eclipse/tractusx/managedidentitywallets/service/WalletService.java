@@ -27,21 +27,31 @@ import com.smartsensesolutions.java.commons.base.service.BaseService;
 import com.smartsensesolutions.java.commons.sort.Sort;
 import com.smartsensesolutions.java.commons.sort.SortType;
 import com.smartsensesolutions.java.commons.specification.SpecificationUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.text.StringEscapeUtils;
 import org.bouncycastle.util.io.pem.PemObject;
 import org.bouncycastle.util.io.pem.PemWriter;
+import org.eclipse.tractusx.managedidentitywallets.config.BatchSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.ExportSettings;
 import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
 import org.eclipse.tractusx.managedidentitywallets.constant.StringPool;
 import org.eclipse.tractusx.managedidentitywallets.dao.entity.HoldersCredential;
 import org.eclipse.tractusx.managedidentitywallets.dao.entity.Wallet;
 import org.eclipse.tractusx.managedidentitywallets.dao.entity.WalletKey;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.CredentialExportRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.CursorPageRepository;
 import org.eclipse.tractusx.managedidentitywallets.dao.repository.HoldersCredentialRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.WalletBatchRepository;
 import org.eclipse.tractusx.managedidentitywallets.dao.repository.WalletRepository;
+import org.eclipse.tractusx.managedidentitywallets.dto.BatchIssuanceResult;
+import org.eclipse.tractusx.managedidentitywallets.dto.BatchWalletResult;
 import org.eclipse.tractusx.managedidentitywallets.dto.CreateWalletRequest;
+import org.eclipse.tractusx.managedidentitywallets.dto.CursorSlice;
 import org.eclipse.tractusx.managedidentitywallets.exception.BadDataException;
 import org.eclipse.tractusx.managedidentitywallets.exception.DuplicateWalletProblem;
 import org.eclipse.tractusx.managedidentitywallets.exception.ForbiddenException;
@@ -56,24 +66,28 @@ import org.eclipse.tractusx.ssi.lib.model.did.*;
 import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredential;
 import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredentialType;
 import org.springframework.data.domain.Page;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.StringWriter;
+import java.io.*;
 import java.net.URI;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * The type Wallet service.
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class WalletService extends BaseService<Wallet, Long> {
 
 
@@ -81,6 +95,11 @@ public class WalletService extends BaseService<Wallet, Long> {
      * The constant BASE_WALLET_BPN_IS_NOT_MATCHING_WITH_REQUEST_BPN_FROM_TOKEN.
      */
     public static final String BASE_WALLET_BPN_IS_NOT_MATCHING_WITH_REQUEST_BPN_FROM_TOKEN = "Base wallet BPN is not matching with request BPN(from token)";
+
+    /**
+     * Name of the timer of wallet creation including key generation and BPN credential, tagged with outcome.
+     */
+    public static final String CREATE_WALLET_METRIC = "miw.wallet.create";
     private final WalletRepository walletRepository;
 
     private final MIWSettings miwSettings;
@@ -97,6 +116,74 @@ public class WalletService extends BaseService<Wallet, Long> {
 
     private final CommonService commonService;
 
+    private final CursorPageRepository cursorPageRepository;
+
+    private final CredentialExportRepository credentialExportRepository;
+
+    private final ExportSettings exportSettings;
+
+    private final BatchSettings batchSettings;
+
+    private final WalletBatchRepository walletBatchRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService onboardingExecutor;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Instantiates a new Wallet service.
+     *
+     * @param walletRepository            the wallet repository
+     * @param miwSettings                 the miw settings
+     * @param encryptionUtils             the encryption utils
+     * @param walletKeyService            the wallet key service
+     * @param holdersCredentialRepository the holders credential repository
+     * @param walletSpecificationUtil     the wallet specification util
+     * @param issuersCredentialService    the issuers credential service
+     * @param commonService               the common service
+     * @param cursorPageRepository        the cursor page repository
+     * @param credentialExportRepository  the credential export repository
+     * @param exportSettings              the export settings
+     * @param batchSettings               the batch settings
+     * @param walletBatchRepository       the wallet batch repository
+     * @param transactionManager          the transaction manager
+     * @param meterRegistry               the meter registry
+     */
+    public WalletService(WalletRepository walletRepository, MIWSettings miwSettings, EncryptionUtils encryptionUtils,
+                         WalletKeyService walletKeyService, HoldersCredentialRepository holdersCredentialRepository,
+                         SpecificationUtil<Wallet> walletSpecificationUtil, IssuersCredentialService issuersCredentialService,
+                         CommonService commonService, CursorPageRepository cursorPageRepository,
+                         CredentialExportRepository credentialExportRepository, ExportSettings exportSettings,
+                         BatchSettings batchSettings, WalletBatchRepository walletBatchRepository,
+                         PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.walletRepository = walletRepository;
+        this.miwSettings = miwSettings;
+        this.encryptionUtils = encryptionUtils;
+        this.walletKeyService = walletKeyService;
+        this.holdersCredentialRepository = holdersCredentialRepository;
+        this.walletSpecificationUtil = walletSpecificationUtil;
+        this.issuersCredentialService = issuersCredentialService;
+        this.commonService = commonService;
+        this.cursorPageRepository = cursorPageRepository;
+        this.credentialExportRepository = credentialExportRepository;
+        this.exportSettings = exportSettings;
+        this.batchSettings = batchSettings;
+        this.walletBatchRepository = walletBatchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.onboardingExecutor = Executors.newFixedThreadPool(batchSettings.parallelism(), new CustomizableThreadFactory("miw-onboarding-"));
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Shutdown onboarding threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        onboardingExecutor.shutdown();
+    }
 
     @Override
     protected BaseRepository<Wallet, Long> getRepository() {
@@ -108,6 +195,20 @@ public class WalletService extends BaseService<Wallet, Long> {
         return walletSpecificationUtil;
     }
 
+    /**
+     * Delete wallet and drop it from the wallet cache.
+     *
+     * @param id the id
+     */
+    @Override
+    public void delete(Long id) {
+        Wallet wallet = walletRepository.findById(id).orElse(null);
+        super.delete(id);
+        if (wallet != null) {
+            commonService.invalidateWallet(wallet.getBpn(), wallet.getDid());
+        }
+    }
+
     /**
      * Store credential map.
      *
@@ -165,11 +266,52 @@ public class WalletService extends BaseService<Wallet, Long> {
         }
 
         if (withCredentials) {
-            wallet.setVerifiableCredentials(holdersCredentialRepository.getCredentialsByHolder(wallet.getDid()));
+            //cached wallet is shared, credentials are set on a copy
+            wallet = wallet.toBuilder()
+                    .verifiableCredentials(holdersCredentialRepository.getCredentialsByHolder(wallet.getDid()))
+                    .build();
         }
         return wallet;
     }
 
+    /**
+     * Write all credentials of a holder as newline delimited JSON, one credential per line.
+     * <p>
+     * The stored JSON is written page by page, credentials are never parsed and only one page is held in memory. There is
+     * deliberately no transaction around the export: pages are read in short statements, so a slow download does not hold
+     * a pooled connection, at the price of the export not being a snapshot of the wallet.
+     *
+     * @param holderDid    the holder did
+     * @param outputStream the output stream
+     * @throws IOException if writing to the output stream fails
+     */
+    public void exportCredentials(String holderDid, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try {
+            credentialExportRepository.forEachCredentialData(holderDid, exportSettings.fetchSize(), json -> {
+                try {
+                    writeLine(writer, json);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private static void writeLine(Writer writer, String json) throws IOException {
+        for (int i = 0; i < json.length(); i++) {
+            char c = json.charAt(i);
+            //line breaks in JSON text are whitespace between tokens, they are escaped inside strings
+            if (c != '\n' && c != '\r') {
+                writer.write(c);
+            }
+        }
+        writer.write('\n');
+    }
+
 
     /**
      * Gets wallets.
@@ -192,6 +334,19 @@ public class WalletService extends BaseService<Wallet, Long> {
         return filter(filterRequest);
     }
 
+    /**
+     * Gets wallets with cursor pagination, without total count.
+     *
+     * @param size       the size
+     * @param sortColumn the sort column
+     * @param sortType   the sort type
+     * @param cursor     the cursor of the previous page, empty for the first page
+     * @return the wallets
+     */
+    public CursorSlice<Wallet> getWalletsByCursor(int size, String sortColumn, String sortType, String cursor) {
+        return cursorPageRepository.findPage(Wallet.class, null, sortColumn, sortType, size, cursor);
+    }
+
     /**
      * Create wallet wallet.
      *
@@ -201,7 +356,18 @@ public class WalletService extends BaseService<Wallet, Long> {
     @SneakyThrows
     @Transactional(isolation = Isolation.READ_UNCOMMITTED, propagation = Propagation.REQUIRED)
     public Wallet createWallet(CreateWalletRequest request, String callerBpn) {
-        return createWallet(request, false, callerBpn);
+        String outcome = "failed";
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Wallet wallet = createWallet(request, false, callerBpn);
+            outcome = "created";
+            return wallet;
+        } finally {
+            sample.stop(Timer.builder(CREATE_WALLET_METRIC)
+                    .description("Time taken to create wallets")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
     }
 
     /**
@@ -214,13 +380,122 @@ public class WalletService extends BaseService<Wallet, Long> {
     private Wallet createWallet(CreateWalletRequest request, boolean authority, String callerBpn) {
         validateCreateWallet(request, callerBpn);
 
+        NewWallet newWallet = newWallet(request);
+
+        //Save wallet
+        Wallet wallet = create(newWallet.wallet());
+        commonService.invalidateWallet(wallet.getBpn(), wallet.getDid());
+
+        //Save key
+        WalletKey walletKey = newWallet.key();
+        walletKey.setWalletId(wallet.getId());
+        walletKeyService.getRepository().save(walletKey);
+        walletKeyService.invalidatePrivateKey(wallet.getId());
+        log.debug("Wallet created for bpn ->{}", StringEscapeUtils.escapeJava(request.getBpn()));
+
+        Wallet issuerWallet = walletRepository.getByBpn(miwSettings.authorityWalletBpn());
+
+        //issue BPN credentials
+        issuersCredentialService.issueBpnCredential(issuerWallet, wallet, authority);
+
+        return wallet;
+    }
+
+    /**
+     * Create many wallets and issue their BPN credentials and summary VCs. Keys are generated and credentials signed in
+     * parallel, wallets and keys are stored with JDBC batch inserts and the authority wallet key is loaded once.
+     * Every BPN gets its own result, failure of one wallet does not affect the others.
+     *
+     * @param requests  the requests
+     * @param callerBpn the caller bpn
+     * @return the results in order of the requests
+     */
+    public List<BatchWalletResult> createWallets(List<CreateWalletRequest> requests, String callerBpn) {
+        Validate.isTrue(requests.size() > batchSettings.maxSize()).launch(new BadDataException("Batch can not have more than " + batchSettings.maxSize() + " items"));
+        Validate.isFalse(callerBpn.equalsIgnoreCase(miwSettings.authorityWalletBpn())).launch(new ForbiddenException(BASE_WALLET_BPN_IS_NOT_MATCHING_WITH_REQUEST_BPN_FROM_TOKEN));
+
+        int size = requests.size();
+        BatchWalletResult[] results = new BatchWalletResult[size];
+        NewWallet[] newWallets = new NewWallet[size];
+
+        //existing and repeated BPNs are rejected before any key is generated
+        Set<String> existingBpns = walletBatchRepository.getExistingBpns(requests.stream().map(CreateWalletRequest::getBpn).toList());
+        Set<String> batchBpns = new HashSet<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int index = i;
+            CreateWalletRequest request = requests.get(i);
+            if (existingBpns.contains(request.getBpn())) {
+                results[index] = BatchWalletResult.failed(request.getBpn(), null, "Wallet is already exists for bpn " + request.getBpn());
+            } else if (!batchBpns.add(request.getBpn())) {
+                results[index] = BatchWalletResult.failed(request.getBpn(), null, "Wallet is requested more than once for bpn " + request.getBpn());
+            } else {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        newWallets[index] = newWallet(request);
+                    } catch (Exception e) {
+                        log.debug("Batch wallet creation failed for bpn {}", StringEscapeUtils.escapeJava(request.getBpn()), e);
+                        results[index] = BatchWalletResult.failed(request.getBpn(), null, e.getMessage());
+                    }
+                }, onboardingExecutor));
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        //store in chunks, a failing chunk is retried item by item so that one bad row does not fail the others
+        List<Integer> built = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (newWallets[i] != null) {
+                built.add(i);
+            }
+        }
+        int chunkSize = Math.max(1, batchSettings.insertChunkSize());
+        for (int from = 0; from < built.size(); from += chunkSize) {
+            List<Integer> chunk = built.subList(from, Math.min(from + chunkSize, built.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> walletBatchRepository.saveAll(chunk.stream().map(i -> newWallets[i].wallet()).toList(),
+                        chunk.stream().map(i -> newWallets[i].key()).toList()));
+            } catch (RuntimeException e) {
+                log.warn("Batch insert of {} wallets failed, retrying one by one", chunk.size(), e);
+                for (Integer index : chunk) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> walletBatchRepository.saveAll(List.of(newWallets[index].wallet()), List.of(newWallets[index].key())));
+                    } catch (RuntimeException ex) {
+                        results[index] = BatchWalletResult.failed(requests.get(index).getBpn(), null, ex.getMessage());
+                    }
+                }
+            }
+        }
+
+        //issue BPN credentials and summary VCs of stored wallets
+        List<Integer> stored = built.stream().filter(index -> results[index] == null).toList();
+        List<Wallet> wallets = stored.stream().map(index -> newWallets[index].wallet()).toList();
+        wallets.forEach(wallet -> commonService.invalidateWallet(wallet.getBpn(), wallet.getDid()));
+        List<BatchIssuanceResult> issued = issuersCredentialService.issueBpnCredentials(wallets);
+        for (int i = 0; i < stored.size(); i++) {
+            Wallet wallet = wallets.get(i);
+            BatchIssuanceResult credential = issued.get(i);
+            results[stored.get(i)] = credential.isSuccess() ? BatchWalletResult.created(wallet)
+                    : BatchWalletResult.failed(wallet.getBpn(), wallet.getDid(), "Wallet is created, BPN credential is not issued: " + credential.getError());
+        }
+        log.debug("Batch wallet creation done, {} of {} wallets created", wallets.size(), size);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Generate key pair and DID document of a new wallet, the key is encrypted and has no wallet id yet.
+     *
+     * @param request the request
+     * @return the new wallet
+     */
+    @SneakyThrows
+    private NewWallet newWallet(CreateWalletRequest request) {
         //create private key pair
         IKeyGenerator keyGenerator = new x21559Generator();
         KeyPair keyPair = keyGenerator.generateKey();
 
         //create did json
         Did did = DidWebFactory.fromHostnameAndPath(miwSettings.host(), request.getBpn());
-
         String keyId = UUID.randomUUID().toString();
 
         JsonWebKey jwk = new JsonWebKey(keyId, keyPair.getPublicKey(), keyPair.getPrivateKey());
@@ -240,36 +515,25 @@ public class WalletService extends BaseService<Wallet, Long> {
             }
         });
         didDocument.put("@context", mutableContext);
+        //builder keeps URI and key objects, DID document getters expect plain JSON values
         didDocument = DidDocument.fromJson(didDocument.toJson());
         log.debug("did document created for bpn ->{}", StringEscapeUtils.escapeJava(request.getBpn()));
 
-        //Save wallet
-        Wallet wallet = create(Wallet.builder()
+        Wallet wallet = Wallet.builder()
                 .didDocument(didDocument)
                 .bpn(request.getBpn())
                 .name(request.getName())
                 .did(did.toUri().toString())
                 .algorithm(StringPool.ED_25519)
-                .build());
-
-
-        //Save key
-        walletKeyService.getRepository().save(WalletKey.builder()
-                .walletId(wallet.getId())
+                .build();
+        WalletKey walletKey = WalletKey.builder()
                 .keyId(keyId)
                 .referenceKey("dummy ref key, removed once vault setup is ready")
                 .vaultAccessToken("dummy vault access token, removed once vault setup is ready")
                 .privateKey(encryptionUtils.encrypt(getPrivateKeyString(keyPair.getPrivateKey().asByte())))
                 .publicKey(encryptionUtils.encrypt(getPublicKeyString(keyPair.getPublicKey().asByte())))
-                .build());
-        log.debug("Wallet created for bpn ->{}", StringEscapeUtils.escapeJava(request.getBpn()));
-
-        Wallet issuerWallet = walletRepository.getByBpn(miwSettings.authorityWalletBpn());
-
-        //issue BPN credentials
-        issuersCredentialService.issueBpnCredential(issuerWallet, wallet, authority);
-
-        return wallet;
+                .build();
+        return new NewWallet(wallet, walletKey);
     }
 
     /**
@@ -321,4 +585,9 @@ public class WalletService extends BaseService<Wallet, Long> {
         return stringWriter.toString();
     }
 
+    /**
+     * Wallet and key which are not stored yet.
+     */
+    private record NewWallet(Wallet wallet, WalletKey key) {
+    }
 }
@@ -21,7 +21,10 @@
 
 package org.eclipse.tractusx.managedidentitywallets.utils;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.SneakyThrows;
+import org.eclipse.tractusx.managedidentitywallets.constant.MIWVerifiableCredentialType;
 import org.eclipse.tractusx.managedidentitywallets.constant.StringPool;
 import org.eclipse.tractusx.managedidentitywallets.dao.entity.HoldersCredential;
 import org.eclipse.tractusx.ssi.lib.crypt.x21559.x21559PrivateKey;
@@ -40,7 +43,9 @@ import java.net.URI;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -48,6 +53,20 @@ import java.util.UUID;
  */
 public class CommonUtils {
 
+    /**
+     * Name of the timer of linked data proof creation, tagged with credential type.
+     */
+    public static final String SIGN_METRIC = "miw.credential.sign";
+
+    /**
+     * Value of the credential type tag for credentials not issued by MIW itself.
+     */
+    public static final String CUSTOM_TYPE = "custom";
+
+    private static final List<String> METRIC_TYPES = List.of(VerifiableCredentialType.MEMBERSHIP_CREDENTIAL,
+            MIWVerifiableCredentialType.BPN_CREDENTIAL, MIWVerifiableCredentialType.DISMANTLER_CREDENTIAL,
+            MIWVerifiableCredentialType.USE_CASE_FRAMEWORK_CONDITION, MIWVerifiableCredentialType.SUMMARY_CREDENTIAL);
+
     private CommonUtils() {
         throw new IllegalStateException("Utility class");
     }
@@ -66,6 +85,42 @@ public class CommonUtils {
         }
     }
 
+    /**
+     * Gets credential type used as metric tag. Types are free text for custom credentials, so only the types issued
+     * by MIW are used as tag value to keep the number of time series bounded.
+     *
+     * @param types the credential types
+     * @return the credential type tag
+     */
+    public static String getMetricType(List<String> types) {
+        if (types != null) {
+            for (String type : types) {
+                if (METRIC_TYPES.contains(type)) {
+                    return type;
+                }
+            }
+        }
+        return CUSTOM_TYPE;
+    }
+
+    /**
+     * Gets the types of a stored credential from its comma joined credential_type column.
+     *
+     * @param type the comma joined types
+     * @return the types
+     */
+    public static Set<String> getCredentialTypes(String type) {
+        Set<String> types = new LinkedHashSet<>();
+        if (type != null) {
+            for (String value : type.split(",")) {
+                if (!value.isBlank()) {
+                    types.add(value.trim());
+                }
+            }
+        }
+        return types;
+    }
+
 
     /**
      * Gets credential.
@@ -73,7 +128,7 @@ public class CommonUtils {
      * @param subject         the subject
      * @param types           the types
      * @param issuerDoc       the issuer doc
-     * @param privateKeyBytes the private key bytes
+     * @param privateKeyBytes the private key bytes, only used while signing
      * @param holderDid       the holder did
      * @return the credential
      */
@@ -105,14 +160,19 @@ public class CommonUtils {
         //VC Builder
 
         // if the credential does not contain the JWS proof-context add it
-        URI jwsUri = URI.create("https://w3id.org/security/suites/jws-2020/v1");
-        if (!contexts.contains(jwsUri))
-            contexts.add(jwsUri);
+        URI jwsUri = URI.create(StringPool.JWS_2020_CONTEXT);
+        List<URI> vcContexts;
+        //contexts may be the shared list from settings, credentials can be signed in parallel
+        synchronized (contexts) {
+            if (!contexts.contains(jwsUri))
+                contexts.add(jwsUri);
+            vcContexts = new ArrayList<>(contexts);
+        }
 
         URI id = URI.create(UUID.randomUUID().toString());
         VerifiableCredentialBuilder builder =
                 new VerifiableCredentialBuilder()
-                        .context(contexts)
+                        .context(vcContexts)
                         .id(URI.create(issuerDoc.getId() + "#" + id))
                         .type(verifiableCredentialType)
                         .issuer(issuerDoc.getId())
@@ -124,8 +184,13 @@ public class CommonUtils {
         LinkedDataProofGenerator generator = LinkedDataProofGenerator.newInstance(SignatureType.JWS);
         URI verificationMethod = issuerDoc.getVerificationMethods().get(0).getId();
 
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
         JWSSignature2020 proof =
                 (JWSSignature2020) generator.createProof(builder.build(), verificationMethod, new x21559PrivateKey(privateKey));
+        sample.stop(Timer.builder(SIGN_METRIC)
+                .description("Time taken to create linked data proofs of credentials")
+                .tag("type", getMetricType(verifiableCredentialType))
+                .register(Metrics.globalRegistry));
 
 
         //Adding Proof to VC
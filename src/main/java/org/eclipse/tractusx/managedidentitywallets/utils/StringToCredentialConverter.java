@@ -22,6 +22,8 @@
 package org.eclipse.tractusx.managedidentitywallets.utils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.AttributeConverter;
 import lombok.SneakyThrows;
 import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredential;
@@ -34,6 +36,15 @@ import java.util.Map;
  */
 public class StringToCredentialConverter implements AttributeConverter<VerifiableCredential, String> {
 
+    /**
+     * Name of the timer of converters, tagged with converter and operation.
+     */
+    public static final String CONVERTER_METRIC = "miw.converter";
+
+    private static final Timer SERIALIZE_TIMER = converterTimer("credential", "serialize");
+
+    private static final Timer DESERIALIZE_TIMER = converterTimer("credential", "deserialize");
+
     private final ObjectMapper objectMapper;
 
     /**
@@ -47,13 +58,42 @@ public class StringToCredentialConverter implements AttributeConverter<Verifiabl
 
     @Override
     public String convertToDatabaseColumn(VerifiableCredential verifiableCredential) {
-        return verifiableCredential.toJson();
+        //credential is optional for issuance jobs
+        if (verifiableCredential == null) {
+            return null;
+        }
+        Timer.Sample sample = Timer.start();
+        String json = verifiableCredential.toJson();
+        sample.stop(SERIALIZE_TIMER);
+        return json;
     }
 
     @SneakyThrows
     @Override
     public VerifiableCredential convertToEntityAttribute(String string) {
+        if (string == null) {
+            return null;
+        }
+        Timer.Sample sample = Timer.start();
         Map<String, Object> map = objectMapper.readValue(string, Map.class);
-        return new VerifiableCredential(map);
+        VerifiableCredential credential = new VerifiableCredential(map);
+        sample.stop(DESERIALIZE_TIMER);
+        return credential;
+    }
+
+    /**
+     * Timer of a converter operation. Converters are created by hibernate, so the timer is registered in the global
+     * registry which includes the registry of the application.
+     *
+     * @param converter the converter
+     * @param operation the operation
+     * @return the timer
+     */
+    static Timer converterTimer(String converter, String operation) {
+        return Timer.builder(CONVERTER_METRIC)
+                .description("Time taken to convert credentials and DID documents from and to database columns")
+                .tag("converter", converter)
+                .tag("operation", operation)
+                .register(Metrics.globalRegistry);
     }
 }
\ No newline at end of file
@@ -21,6 +21,7 @@
 
 package org.eclipse.tractusx.managedidentitywallets.utils;
 
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.AttributeConverter;
 import lombok.SneakyThrows;
 import org.eclipse.tractusx.ssi.lib.model.did.DidDocument;
@@ -30,15 +31,24 @@ import org.eclipse.tractusx.ssi.lib.model.did.DidDocument;
  */
 public class StringToDidDocumentConverter implements AttributeConverter<DidDocument, String> {
 
+    private static final Timer SERIALIZE_TIMER = StringToCredentialConverter.converterTimer("did_document", "serialize");
+
+    private static final Timer DESERIALIZE_TIMER = StringToCredentialConverter.converterTimer("did_document", "deserialize");
+
     @SneakyThrows
     @Override
     public String convertToDatabaseColumn(DidDocument didDocument) {
-        return didDocument.toJson();
+        Timer.Sample sample = Timer.start();
+        String json = didDocument.toJson();
+        sample.stop(SERIALIZE_TIMER);
+        return json;
     }
 
     @Override
     public DidDocument convertToEntityAttribute(String string) {
-
-        return DidDocument.fromJson(string);
+        Timer.Sample sample = Timer.start();
+        DidDocument didDocument = DidDocument.fromJson(string);
+        sample.stop(DESERIALIZE_TIMER);
+        return didDocument;
     }
 }
\ No newline at end of file
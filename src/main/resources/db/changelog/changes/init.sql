@@ -77,4 +77,233 @@ COMMENT ON TABLE public.holders_credential IS 'This table will store holders cre
 COMMENT ON COLUMN public.holders_credential.is_stored IS 'true is VC is stored using store VC api(Not issued by MIW)';
 
 --changeset nitin:2
-ALTER TABLE public.wallet_key ADD key_id varchar(255) NULL;
\ No newline at end of file
+ALTER TABLE public.wallet_key ADD key_id varchar(255) NULL;
+
+--changeset nitin:3
+CREATE TABLE IF NOT EXISTS public.summary_item
+(
+    id            bigserial    NOT NULL,
+    holder_did    varchar(255) NOT NULL,
+    issuer_did    varchar(255) NOT NULL,
+    item          varchar(255) NOT NULL,
+    created_at    timestamp(6) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    modified_at   timestamp(6) NULL,
+    modified_from varchar(255) NULL,
+    CONSTRAINT summary_item_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_summary_item UNIQUE (holder_did, issuer_did, item),
+    CONSTRAINT summary_item_fk FOREIGN KEY (modified_from) REFERENCES public.wallet (bpn) ON DELETE SET NULL,
+    CONSTRAINT summary_item_holder_wallet_fk FOREIGN KEY (holder_did) REFERENCES public.wallet (did) ON DELETE CASCADE
+);
+COMMENT ON TABLE public.summary_item IS 'This table will store items of summary VC per holder, same as items of last issued summary VC';
+
+
+--changeset nitin:4
+CREATE TABLE IF NOT EXISTS public.summary_update
+(
+    id            bigserial    NOT NULL,
+    holder_did    varchar(255) NOT NULL,
+    holder_bpn    varchar(255) NOT NULL,
+    issuer_did    varchar(255) NOT NULL,
+    due_at        timestamp(6) NOT NULL,
+    created_at    timestamp(6) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    modified_at   timestamp(6) NULL,
+    modified_from varchar(255) NULL,
+    CONSTRAINT summary_update_pkey PRIMARY KEY (id),
+    CONSTRAINT summary_update_fk FOREIGN KEY (modified_from) REFERENCES public.wallet (bpn) ON DELETE SET NULL,
+    CONSTRAINT summary_update_holder_wallet_fk FOREIGN KEY (holder_did) REFERENCES public.wallet (did) ON DELETE CASCADE
+);
+CREATE INDEX IF NOT EXISTS idx_summary_update_due_at ON public.summary_update (due_at);
+COMMENT ON TABLE public.summary_update IS 'This table will store queued summary VC updates, when summary VC updates are coalesced';
+
+--changeset nitin:5
+-- holder_did, credential_type is the prefix used by duplicate checks, issuer_did and is_stored are added for summary VC lookups
+CREATE INDEX IF NOT EXISTS idx_holders_credential_holder_type ON public.holders_credential (holder_did, credential_type, issuer_did, is_stored);
+CREATE INDEX IF NOT EXISTS idx_holders_credential_holder_credential_id ON public.holders_credential (holder_did, credential_id);
+CREATE INDEX IF NOT EXISTS idx_holders_credential_holder_created_at ON public.holders_credential (holder_did, created_at);
+-- latest summary VC of holder is read with ORDER BY created_at DESC LIMIT 1
+CREATE INDEX IF NOT EXISTS idx_issuers_credential_holder_issuer_type ON public.issuers_credential (holder_did, issuer_did, credential_type, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_issuers_credential_issuer_created_at ON public.issuers_credential (issuer_did, created_at);
+CREATE INDEX IF NOT EXISTS idx_wallet_key_wallet_id ON public.wallet_key (wallet_id);
+CREATE INDEX IF NOT EXISTS idx_summary_update_holder_issuer ON public.summary_update (holder_did, issuer_did);
+
+--changeset nitin:6
+CREATE TABLE IF NOT EXISTS public.issuance_job
+(
+    id                bigserial    NOT NULL,
+    job_id            varchar(36)  NOT NULL,
+    job_type          varchar(50)  NOT NULL,
+    status            varchar(50)  NOT NULL,
+    issuer_bpn        varchar(255) NOT NULL,
+    holder_identifier varchar(255) NULL,
+    request_data      text         NOT NULL,
+    credential        text         NULL,
+    error_message     text         NULL,
+    completed_at      timestamp(6) NULL,
+    created_at        timestamp(6) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    modified_at       timestamp(6) NULL,
+    modified_from     varchar(255) NULL,
+    CONSTRAINT issuance_job_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_issuance_job_job_id UNIQUE (job_id),
+    CONSTRAINT issuance_job_fk FOREIGN KEY (modified_from) REFERENCES public.wallet (bpn) ON DELETE SET NULL
+);
+-- queued jobs are polled oldest first
+CREATE INDEX IF NOT EXISTS idx_issuance_job_status ON public.issuance_job (status, id);
+COMMENT ON TABLE public.issuance_job IS 'This table will store asynchronous issuance jobs with their request and issued credential';
+
+--changeset nitin:7 dbms:postgresql
+-- credential_data is moved to jsonb without rewriting the tables: credential_json is filled by trigger for new rows and in
+-- batches by the application for existing rows, nitin:10 replaces credential_data by credential_json once all rows are filled
+ALTER TABLE public.holders_credential ADD COLUMN IF NOT EXISTS credential_json jsonb NULL;
+ALTER TABLE public.issuers_credential ADD COLUMN IF NOT EXISTS credential_json jsonb NULL;
+
+--changeset nitin:8 dbms:postgresql splitStatements:false
+CREATE OR REPLACE FUNCTION public.sync_credential_json() RETURNS trigger AS
+$$
+BEGIN
+    NEW.credential_json := NEW.credential_data::jsonb;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+CREATE TRIGGER holders_credential_sync_json BEFORE INSERT OR UPDATE OF credential_data ON public.holders_credential FOR EACH ROW EXECUTE FUNCTION public.sync_credential_json();
+CREATE TRIGGER issuers_credential_sync_json BEFORE INSERT OR UPDATE OF credential_data ON public.issuers_credential FOR EACH ROW EXECUTE FUNCTION public.sync_credential_json();
+
+--changeset nitin:9 dbms:postgresql runInTransaction:false
+-- jsonb_path_ops only supports @>, which is the operator used by credential queries
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_holders_credential_json ON public.holders_credential USING gin (credential_json jsonb_path_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_issuers_credential_json ON public.issuers_credential USING gin (credential_json jsonb_path_ops);
+-- rows left to migrate, shrinks while the migration runs
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_holders_credential_json_pending ON public.holders_credential (id) WHERE credential_json IS NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_issuers_credential_json_pending ON public.issuers_credential (id) WHERE credential_json IS NULL;
+
+--changeset nitin:10 dbms:postgresql
+--preconditions onFail:CONTINUE
+--precondition-sql-check expectedResult:0 SELECT count(*) FROM (SELECT id FROM public.holders_credential WHERE credential_json IS NULL UNION ALL SELECT id FROM public.issuers_credential WHERE credential_json IS NULL) pending
+-- skipped until all rows are migrated and retried on next start
+DROP TRIGGER IF EXISTS holders_credential_sync_json ON public.holders_credential;
+DROP TRIGGER IF EXISTS issuers_credential_sync_json ON public.issuers_credential;
+DROP FUNCTION IF EXISTS public.sync_credential_json();
+DROP INDEX IF EXISTS public.idx_holders_credential_json_pending;
+DROP INDEX IF EXISTS public.idx_issuers_credential_json_pending;
+ALTER TABLE public.holders_credential DROP COLUMN credential_data;
+ALTER TABLE public.holders_credential RENAME COLUMN credential_json TO credential_data;
+ALTER TABLE public.issuers_credential DROP COLUMN credential_data;
+ALTER TABLE public.issuers_credential RENAME COLUMN credential_json TO credential_data;
+
+--changeset nitin:11
+-- one row per type of a credential, type filters and duplicate checks are index lookups instead of LIKE on credential_type
+CREATE TABLE IF NOT EXISTS public.holders_credential_type
+(
+    credential_id   bigint       NOT NULL,
+    credential_type varchar(255) NOT NULL,
+    CONSTRAINT holders_credential_type_pkey PRIMARY KEY (credential_id, credential_type),
+    CONSTRAINT holders_credential_type_fk FOREIGN KEY (credential_id) REFERENCES public.holders_credential (id) ON DELETE CASCADE
+);
+CREATE INDEX IF NOT EXISTS idx_holders_credential_type_type ON public.holders_credential_type (credential_type, credential_id);
+COMMENT ON TABLE public.holders_credential_type IS 'This table will store types of holders credentials';
+
+CREATE TABLE IF NOT EXISTS public.issuers_credential_type
+(
+    credential_id   bigint       NOT NULL,
+    credential_type varchar(255) NOT NULL,
+    CONSTRAINT issuers_credential_type_pkey PRIMARY KEY (credential_id, credential_type),
+    CONSTRAINT issuers_credential_type_fk FOREIGN KEY (credential_id) REFERENCES public.issuers_credential (id) ON DELETE CASCADE
+);
+CREATE INDEX IF NOT EXISTS idx_issuers_credential_type_type ON public.issuers_credential_type (credential_type, credential_id);
+COMMENT ON TABLE public.issuers_credential_type IS 'This table will store types of issuers credentials';
+
+--changeset nitin:12 dbms:postgresql
+-- types of existing credentials, credential_type is the comma joined list without VerifiableCredential
+INSERT INTO public.holders_credential_type (credential_id, credential_type)
+SELECT DISTINCT c.id, trim(t.type) FROM public.holders_credential c, unnest(string_to_array(c.credential_type, ',')) AS t(type)
+WHERE trim(t.type) <> ''
+ON CONFLICT DO NOTHING;
+INSERT INTO public.issuers_credential_type (credential_id, credential_type)
+SELECT DISTINCT c.id, trim(t.type) FROM public.issuers_credential c, unnest(string_to_array(c.credential_type, ',')) AS t(type)
+WHERE trim(t.type) <> ''
+ON CONFLICT DO NOTHING;
+
+--changeset nitin:13
+-- JSON of a credential is stored once for holder and issuer if miw.credentialStorage.shared is set, credential_data of
+-- the credential is null then
+CREATE TABLE IF NOT EXISTS public.credential_content
+(
+    hash            varchar(64)  NOT NULL,
+    credential_data text         NOT NULL,
+    created_at      timestamp(6) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    modified_at     timestamp(6) NULL,
+    modified_from   varchar(255) NULL,
+    CONSTRAINT credential_content_pkey PRIMARY KEY (hash)
+);
+COMMENT ON TABLE public.credential_content IS 'This table will store JSON of credentials by SHA-256 hash, shared by holders and issuers credentials';
+ALTER TABLE public.holders_credential ADD COLUMN IF NOT EXISTS content_hash varchar(64) NULL;
+ALTER TABLE public.holders_credential ALTER COLUMN credential_data DROP NOT NULL;
+ALTER TABLE public.issuers_credential ADD COLUMN IF NOT EXISTS content_hash varchar(64) NULL;
+ALTER TABLE public.issuers_credential ALTER COLUMN credential_data DROP NOT NULL;
+
+--changeset nitin:14 dbms:postgresql splitStatements:false
+-- credential_content is empty at this point, so the type is changed without rewriting data; NOT VALID does not check
+-- existing credentials, nitin:22 validates them without blocking writes to the credential tables
+ALTER TABLE public.credential_content ALTER COLUMN credential_data TYPE jsonb USING credential_data::jsonb;
+DO
+$$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'holders_credential_content_fk') THEN
+        ALTER TABLE public.holders_credential ADD CONSTRAINT holders_credential_content_fk FOREIGN KEY (content_hash) REFERENCES public.credential_content (hash) NOT VALID;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'issuers_credential_content_fk') THEN
+        ALTER TABLE public.issuers_credential ADD CONSTRAINT issuers_credential_content_fk FOREIGN KEY (content_hash) REFERENCES public.credential_content (hash) NOT VALID;
+    END IF;
+END;
+$$;
+
+--changeset nitin:15 dbms:!postgresql
+CREATE INDEX IF NOT EXISTS idx_holders_credential_content_hash ON public.holders_credential (content_hash);
+CREATE INDEX IF NOT EXISTS idx_issuers_credential_content_hash ON public.issuers_credential (content_hash);
+ALTER TABLE public.holders_credential ADD CONSTRAINT holders_credential_content_fk FOREIGN KEY (content_hash) REFERENCES public.credential_content (hash);
+ALTER TABLE public.issuers_credential ADD CONSTRAINT issuers_credential_content_fk FOREIGN KEY (content_hash) REFERENCES public.credential_content (hash);
+
+--changeset nitin:16
+-- batch issuance queues the summary VC update with the credential, the item is added to summary_item when it is signed
+ALTER TABLE public.summary_update ADD COLUMN IF NOT EXISTS item varchar(255) NULL;
+
+--changeset nitin:17 dbms:postgresql
+-- items of holders without summary_item rows are read once from their last issued summary VC, issuance does not fall back
+-- to summary VCs anymore; credential_data is text or jsonb depending on the jsonb migration, or null for shared content
+INSERT INTO public.summary_item (holder_did, issuer_did, item)
+SELECT l.holder_did, l.issuer_did, i.item
+FROM (SELECT DISTINCT ON (c.holder_did, c.issuer_did) c.holder_did, c.issuer_did,
+             coalesce(c.credential_data::text, s.credential_data::text)::jsonb -> 'credentialSubject' AS subject
+      FROM public.issuers_credential c
+               LEFT JOIN public.credential_content s ON s.hash = c.content_hash
+      WHERE c.credential_type = 'SummaryCredential'
+      ORDER BY c.holder_did, c.issuer_did, c.created_at DESC, c.id DESC) l
+         CROSS JOIN LATERAL (SELECT CASE jsonb_typeof(l.subject) WHEN 'array' THEN l.subject -> 0 -> 'items' ELSE l.subject -> 'items' END AS items) li
+         CROSS JOIN LATERAL jsonb_array_elements_text(CASE jsonb_typeof(li.items) WHEN 'array' THEN li.items END) WITH ORDINALITY AS i(item, position)
+WHERE EXISTS (SELECT 1 FROM public.wallet w WHERE w.did = l.holder_did)
+  AND NOT EXISTS (SELECT 1 FROM public.summary_item si WHERE si.holder_did = l.holder_did AND si.issuer_did = l.issuer_did)
+ORDER BY l.holder_did, l.issuer_did, i.position
+ON CONFLICT DO NOTHING;
+
+--changeset nitin:18
+-- a running job is leased to the worker which started it, the lease is renewed while the job runs
+ALTER TABLE public.issuance_job ADD COLUMN IF NOT EXISTS lease_owner varchar(36) NULL;
+ALTER TABLE public.issuance_job ADD COLUMN IF NOT EXISTS lease_until timestamp(6) NULL;
+
+--changeset nitin:19 dbms:postgresql runInTransaction:false
+-- a failed concurrent build leaves an invalid index and the changeset is not recorded, it is dropped and built again on
+-- the next start; the same applies to nitin:20 and nitin:21
+DROP INDEX CONCURRENTLY IF EXISTS public.idx_credential_content_json;
+CREATE INDEX CONCURRENTLY idx_credential_content_json ON public.credential_content USING gin (credential_data jsonb_path_ops);
+
+--changeset nitin:20 dbms:postgresql runInTransaction:false
+DROP INDEX CONCURRENTLY IF EXISTS public.idx_holders_credential_content_hash;
+CREATE INDEX CONCURRENTLY idx_holders_credential_content_hash ON public.holders_credential (content_hash);
+
+--changeset nitin:21 dbms:postgresql runInTransaction:false
+DROP INDEX CONCURRENTLY IF EXISTS public.idx_issuers_credential_content_hash;
+CREATE INDEX CONCURRENTLY idx_issuers_credential_content_hash ON public.issuers_credential (content_hash);
+
+--changeset nitin:22 dbms:postgresql runInTransaction:false
+-- validating an already valid constraint does nothing, so the changeset can run again if it fails in between
+ALTER TABLE public.holders_credential VALIDATE CONSTRAINT holders_credential_content_fk;
+ALTER TABLE public.issuers_credential VALIDATE CONSTRAINT issuers_credential_content_fk;
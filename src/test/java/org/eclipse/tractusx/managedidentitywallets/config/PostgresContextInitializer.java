@@ -0,0 +1,51 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.config;
+
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Test context of the application with Postgres instead of H2 as database, migrated by liquibase like in production.
+ * Test classes using it share one context. They run with the mocked web environment, so they do not take the port of
+ * the H2 test context.
+ */
+public class PostgresContextInitializer extends TestContextInitializer {
+
+    //EXPLAIN (GENERIC_PLAN) needs Postgres 16
+    private static final PostgreSQLContainer<?> POSTGRES_CONTAINER = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Override
+    public void initialize(ConfigurableApplicationContext applicationContext) {
+        super.initialize(applicationContext);
+        POSTGRES_CONTAINER.start();
+        String url = POSTGRES_CONTAINER.getJdbcUrl();
+        TestPropertyValues.of(
+                "spring.datasource.url=" + url + (url.contains("?") ? "&" : "?") + "stringtype=unspecified&reWriteBatchedInserts=true",
+                "spring.datasource.driverClassName=org.postgresql.Driver",
+                "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+                "spring.datasource.username=" + POSTGRES_CONTAINER.getUsername(),
+                "spring.datasource.password=" + POSTGRES_CONTAINER.getPassword()
+        ).applyTo(applicationContext.getEnvironment());
+    }
+}
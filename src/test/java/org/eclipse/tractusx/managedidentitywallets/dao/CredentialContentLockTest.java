@@ -0,0 +1,100 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.dao;
+
+import org.eclipse.tractusx.managedidentitywallets.ManagedIdentityWalletsApplication;
+import org.eclipse.tractusx.managedidentitywallets.config.PostgresContextInitializer;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.CredentialContentRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Locking of shared credential content on Postgres, between transactions storing credentials and deletion of
+ * unreferenced content.
+ */
+@SpringBootTest(classes = {ManagedIdentityWalletsApplication.class})
+@ContextConfiguration(initializers = {PostgresContextInitializer.class})
+class CredentialContentLockTest {
+
+    private static final String COUNT_CONTENT = "select count(*) from credential_content where hash = ?";
+
+    @Autowired
+    private CredentialContentRepository credentialContentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void contentSavedByRunningTransactionIsNotDeleted() throws Exception {
+        String json = "{\"id\":\"" + UUID.randomUUID() + "\"}";
+        String hash = CredentialContentRepository.hash(json);
+        //stored before and not referenced anymore, e.g. its credentials were deleted
+        credentialContentRepository.save(hash, json);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch saved = new CountDownLatch(1);
+        CountDownLatch deleted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            //transaction of a new credential with the same content, which is not committed yet
+            Future<?> storing = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                credentialContentRepository.save(hash, json);
+                saved.countDown();
+                try {
+                    Assertions.assertTrue(deleted.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+            }));
+            Assertions.assertTrue(saved.await(10, TimeUnit.SECONDS));
+
+            transactionTemplate.execute(status -> credentialContentRepository.deleteUnreferenced(Integer.MAX_VALUE));
+            Assertions.assertEquals(1, jdbcTemplate.queryForObject(COUNT_CONTENT, Integer.class, hash));
+            deleted.countDown();
+            storing.get(10, TimeUnit.SECONDS);
+
+            //not locked anymore, still not referenced
+            transactionTemplate.execute(status -> credentialContentRepository.deleteUnreferenced(Integer.MAX_VALUE));
+            Assertions.assertEquals(0, jdbcTemplate.queryForObject(COUNT_CONTENT, Integer.class, hash));
+        } finally {
+            deleted.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.dao;
+
+import org.eclipse.tractusx.managedidentitywallets.ManagedIdentityWalletsApplication;
+import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.TestContextInitializer;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.Wallet;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.CredentialContentRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.CredentialQueryRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.HoldersCredentialRepository;
+import org.eclipse.tractusx.managedidentitywallets.utils.TestUtils;
+import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredential;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT, classes = {ManagedIdentityWalletsApplication.class})
+@ContextConfiguration(initializers = {TestContextInitializer.class})
+class CredentialContentRepositoryTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MIWSettings miwSettings;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CredentialContentRepository credentialContentRepository;
+
+    @Autowired
+    private HoldersCredentialRepository holdersCredentialRepository;
+
+    @Test
+    void hashIsStable() {
+        String hash = CredentialContentRepository.hash("{\"id\":\"1\"}");
+        Assertions.assertEquals(64, hash.length());
+        Assertions.assertEquals(hash, CredentialContentRepository.hash("{\"id\":\"1\"}"));
+        Assertions.assertNotEquals(hash, CredentialContentRepository.hash("{\"id\":\"2\"}"));
+    }
+
+    @Test
+    void saveIsIdempotent() {
+        String json = "{\"id\":\"" + UUID.randomUUID() + "\"}";
+        String hash = CredentialContentRepository.hash(json);
+
+        credentialContentRepository.save(hash, json);
+        credentialContentRepository.saveAll(Map.of(hash, json));
+
+        Assertions.assertEquals(1, jdbcTemplate.queryForObject("select count(*) from credential_content where hash = ?", Integer.class, hash));
+
+        //not referenced by any credential
+        credentialContentRepository.deleteUnreferenced(Integer.MAX_VALUE);
+        Assertions.assertEquals(0, jdbcTemplate.queryForObject("select count(*) from credential_content where hash = ?", Integer.class, hash));
+    }
+
+    @Test
+    void sharedCredentialsAreReadFromContent() throws Exception {
+        String bpn = UUID.randomUUID().toString();
+        ResponseEntity<String> response = TestUtils.createWallet(bpn, bpn, restTemplate, miwSettings.authorityWalletBpn());
+        Assertions.assertEquals(HttpStatus.CREATED.value(), response.getStatusCode().value());
+        Wallet wallet = TestUtils.getWalletFromString(response.getBody());
+        List<VerifiableCredential> before = holdersCredentialRepository.getCredentialsByHolder(wallet.getDid());
+        Assertions.assertFalse(before.isEmpty());
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Integer moved;
+        do {
+            moved = transactionTemplate.execute(status -> credentialContentRepository.shareBatch(CredentialQueryRepository.HOLDERS_CREDENTIAL, 100));
+        } while (moved != null && moved > 0);
+
+        Assertions.assertEquals(0, jdbcTemplate.queryForObject("select count(*) from holders_credential where holder_did = ? and (credential_data is not null or content_hash is null)",
+                Integer.class, wallet.getDid()));
+        List<VerifiableCredential> after = holdersCredentialRepository.getCredentialsByHolder(wallet.getDid());
+        Assertions.assertEquals(before.stream().map(VerifiableCredential::getId).collect(Collectors.toSet()), after.stream().map(VerifiableCredential::getId).collect(Collectors.toSet()));
+
+        //still referenced by the credentials
+        credentialContentRepository.deleteUnreferenced(Integer.MAX_VALUE);
+        Assertions.assertEquals(before.size(), holdersCredentialRepository.getCredentialsByHolder(wallet.getDid()).size());
+    }
+}
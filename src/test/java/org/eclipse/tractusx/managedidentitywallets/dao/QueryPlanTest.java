@@ -0,0 +1,246 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.dao;
+
+import org.eclipse.tractusx.managedidentitywallets.ManagedIdentityWalletsApplication;
+import org.eclipse.tractusx.managedidentitywallets.config.PostgresContextInitializer;
+import org.eclipse.tractusx.managedidentitywallets.config.SqlStatistics;
+import org.eclipse.tractusx.managedidentitywallets.constant.IssuanceJobStatus;
+import org.eclipse.tractusx.managedidentitywallets.constant.StringPool;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.HoldersCredential;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.IssuersCredential;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.CredentialExportRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.CredentialQueryRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.CursorPageRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.HoldersCredentialRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.IssuanceJobRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.IssuersCredentialRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.SummaryItemRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.SummaryUpdateRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.WalletKeyRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.WalletRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Runs the repository queries against Postgres, records the SQL they send through {@link SqlStatistics} and fails if
+ * the plan of a query can not do without a table scan. The tables hold few rows, so sequential scans are disabled for
+ * the EXPLAIN, the plan falls back to a scan only if no index serves the query. The subject query is explained with
+ * enough credentials for regular planning, its JSON predicates have to use the GIN indexes.
+ */
+@SpringBootTest(classes = {ManagedIdentityWalletsApplication.class})
+@ContextConfiguration(initializers = {PostgresContextInitializer.class})
+class QueryPlanTest {
+
+    private static final String SEQ_SCAN = "Seq Scan";
+
+    private static final String DID = "did:web:localhost:BPNL000000000001";
+
+    private static final String ISSUER_DID = "did:web:localhost:BPNL000000000000";
+
+    private static final String TYPE = "MembershipCredential";
+
+    private static final String SUBJECT_HOLDER_DID = "did:web:localhost:BPNL000000000042";
+
+    private static final String SUBJECT_HOLDER_BPN = "BPNL000000000042";
+
+    private static final String SUBJECT_JSON = "jsonb_build_object('id', 'urn:uuid:' || i, 'credentialSubject', jsonb_build_array(jsonb_build_object('holderIdentifier', 'BPNL' || lpad(i::text, 12, '0'))))";
+
+    @Autowired
+    private HoldersCredentialRepository holdersCredentialRepository;
+
+    @Autowired
+    private IssuersCredentialRepository issuersCredentialRepository;
+
+    @Autowired
+    private CursorPageRepository cursorPageRepository;
+
+    @Autowired
+    private CredentialQueryRepository credentialQueryRepository;
+
+    @Autowired
+    private CredentialExportRepository credentialExportRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private WalletKeyRepository walletKeyRepository;
+
+    @Autowired
+    private SummaryItemRepository summaryItemRepository;
+
+    @Autowired
+    private SummaryUpdateRepository summaryUpdateRepository;
+
+    @Autowired
+    private IssuanceJobRepository issuanceJobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void holdersCredentialQueriesUseIndexTest() {
+        assertIndexed(() -> {
+            holdersCredentialRepository.getByHolderDid(DID);
+            holdersCredentialRepository.getByHolderDidAndType(DID, TYPE);
+            holdersCredentialRepository.getByHolderDidAndIssuerDidAndTypeAndStored(DID, ISSUER_DID, TYPE, false);
+            holdersCredentialRepository.existsByHolderDidAndTypeAndStored(DID, TYPE, false);
+            holdersCredentialRepository.existsByHolderDidAndCredentialId(DID, "urn:uuid:1");
+            Specification<HoldersCredential> holder = CursorPageRepository.equal(StringPool.HOLDER_DID, DID);
+            cursorPageRepository.findPage(HoldersCredential.class, holder, StringPool.CREATED_AT, "desc", 10, null);
+            cursorPageRepository.findPage(HoldersCredential.class, holder.and(CursorPageRepository.containsAnyElement(StringPool.TYPES, List.of(TYPE, "BpnCredential"))),
+                    StringPool.CREATED_AT, "desc", 10, null);
+            credentialQueryRepository.findCredentialData(CredentialQueryRepository.HOLDERS_CREDENTIAL, "holder_did", DID,
+                    Map.of("holderIdentifier", "BPNL000000000001"), Instant.now(), null, 0, 10);
+            credentialExportRepository.forEachCredentialData(DID, 10, json -> {
+            });
+        });
+    }
+
+    @Test
+    void issuersCredentialQueriesUseIndexTest() {
+        assertIndexed(() -> {
+            issuersCredentialRepository.getByIssuerDidAndHolderDidAndType(ISSUER_DID, DID, TYPE);
+            issuersCredentialRepository.countByIssuerDid(ISSUER_DID);
+            Specification<IssuersCredential> issuer = CursorPageRepository.equal(StringPool.ISSUER_DID, ISSUER_DID);
+            cursorPageRepository.findPage(IssuersCredential.class, issuer, StringPool.CREATED_AT, "desc", 10, null);
+            cursorPageRepository.findSlice(IssuersCredential.class, issuer.and(CursorPageRepository.containsAnyElement(StringPool.TYPES, List.of(TYPE))),
+                    StringPool.CREATED_AT, "desc", 0, 10);
+            credentialQueryRepository.findCredentialData(CredentialQueryRepository.ISSUERS_CREDENTIAL, "issuer_did", ISSUER_DID,
+                    Map.of("holderIdentifier", "BPNL000000000001"), null, null, 0, 10);
+        });
+    }
+
+    @Test
+    void walletAndSummaryQueriesUseIndexTest() {
+        assertIndexed(() -> {
+            walletRepository.getByBpn("BPNL000000000001");
+            walletRepository.existsByBpn("BPNL000000000001");
+            walletRepository.getByDid(DID);
+            walletKeyRepository.getByWalletId(1L);
+            summaryItemRepository.getByHolderDidAndIssuerDidOrderByIdAsc(DID, ISSUER_DID);
+            summaryUpdateRepository.getByHolderDidAndIssuerDidOrderByIdAsc(DID, ISSUER_DID);
+            summaryUpdateRepository.getByDueAtLessThanEqualOrderByDueAtAsc(new Date(), PageRequest.of(0, 100));
+            issuanceJobRepository.getByJobId("00000000-0000-0000-0000-000000000000");
+            issuanceJobRepository.getByStatusOrderByIdAsc(IssuanceJobStatus.QUEUED, PageRequest.of(0, 10));
+        });
+    }
+
+    @Test
+    void subjectQueryUsesJsonbIndexesTest() {
+        //most credentials belong to one holder, half of them in shared storage, so only the JSON predicates are selective
+        jdbcTemplate.update("insert into wallet (name, did, bpn, did_document) values (?, ?, ?, '{}')", "Query plan", SUBJECT_HOLDER_DID, SUBJECT_HOLDER_BPN);
+        jdbcTemplate.update("insert into credential_content (hash, credential_data) select md5('content' || i) || md5('hash' || i), " + SUBJECT_JSON +
+                " from generate_series(1, 10000) i where i % 2 = 1");
+        jdbcTemplate.update("insert into holders_credential (holder_did, issuer_did, credential_id, credential_data, content_hash, credential_type) " +
+                "select ?, ?, 'urn:uuid:' || i, case when i % 2 = 0 then " + SUBJECT_JSON + " end, case when i % 2 = 1 then md5('content' || i) || md5('hash' || i) end, ? " +
+                "from generate_series(1, 10000) i", SUBJECT_HOLDER_DID, ISSUER_DID, TYPE);
+        jdbcTemplate.execute("analyze credential_content");
+        jdbcTemplate.execute("analyze holders_credential");
+
+        List<String> selects = recordSelects(() -> credentialQueryRepository.findCredentialData(CredentialQueryRepository.HOLDERS_CREDENTIAL, "holder_did",
+                SUBJECT_HOLDER_DID, Map.of("holderIdentifier", "BPNL000000000042"), null, null, 0, 10));
+        Assertions.assertEquals(1, selects.size());
+        String plan = String.join("\n", explain(selects.get(0), true));
+        Assertions.assertTrue(plan.contains("idx_holders_credential_json"), () -> "Credential JSON index not used:\n" + plan);
+        Assertions.assertTrue(plan.contains("idx_credential_content_json"), () -> "Shared content JSON index not used:\n" + plan);
+    }
+
+    /**
+     * Run the queries and explain each SELECT they sent, with sequential scans disabled.
+     */
+    private void assertIndexed(Runnable queries) {
+        List<String> selects = recordSelects(queries);
+        Assertions.assertFalse(selects.isEmpty(), "No SQL recorded");
+        for (String sql : selects) {
+            List<String> plan = explain(sql, false);
+            Assertions.assertTrue(plan.stream().noneMatch(line -> line.contains(SEQ_SCAN)),
+                    () -> "Query falls back to a table scan: " + sql + "\n" + String.join("\n", plan));
+        }
+    }
+
+    private static List<String> recordSelects(Runnable queries) {
+        SqlStatistics statistics = SqlStatistics.start(true);
+        try {
+            queries.run();
+        } finally {
+            SqlStatistics.stop();
+        }
+        return statistics.getSql().stream()
+                .filter(sql -> sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select"))
+                .toList();
+    }
+
+    private List<String> explain(String sql, boolean seqScan) {
+        return jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set enable_seqscan = " + seqScan);
+                try (ResultSet resultSet = statement.executeQuery("explain (generic_plan) " + numberParameters(sql))) {
+                    List<String> plan = new ArrayList<>();
+                    while (resultSet.next()) {
+                        plan.add(resultSet.getString(1));
+                    }
+                    return plan;
+                } finally {
+                    statement.execute("reset enable_seqscan");
+                }
+            }
+        });
+    }
+
+    /**
+     * JDBC parameters ? as $1, $2... which EXPLAIN (GENERIC_PLAN) accepts without values.
+     */
+    private static String numberParameters(String sql) {
+        StringBuilder result = new StringBuilder(sql.length() + 16);
+        boolean quoted = false;
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                result.append('$').append(++parameter);
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
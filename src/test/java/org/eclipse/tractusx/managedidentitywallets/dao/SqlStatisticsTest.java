@@ -0,0 +1,140 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.dao;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.eclipse.tractusx.managedidentitywallets.ManagedIdentityWalletsApplication;
+import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.SqlStatistics;
+import org.eclipse.tractusx.managedidentitywallets.config.SqlStatisticsFilter;
+import org.eclipse.tractusx.managedidentitywallets.config.SqlStatisticsSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.TestContextInitializer;
+import org.eclipse.tractusx.managedidentitywallets.constant.RestURI;
+import org.eclipse.tractusx.managedidentitywallets.utils.AuthenticationUtils;
+import org.eclipse.tractusx.managedidentitywallets.utils.TestUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Objects;
+import java.util.UUID;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT, classes = {ManagedIdentityWalletsApplication.class})
+@ContextConfiguration(initializers = {TestContextInitializer.class})
+class SqlStatisticsTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MIWSettings miwSettings;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlStatisticsFilter sqlStatisticsFilter;
+
+    @Test
+    void statementsOfCurrentThreadAreCounted() {
+        SqlStatistics statistics = SqlStatistics.start();
+        try {
+            jdbcTemplate.queryForObject("select count(*) from wallet", Long.class);
+            jdbcTemplate.queryForObject("select count(*) from holders_credential", Long.class);
+        } finally {
+            SqlStatistics.stop();
+        }
+        Assertions.assertEquals(2, statistics.getStatements());
+        Assertions.assertTrue(statistics.getNanos() > 0);
+
+        //not recorded after stop
+        jdbcTemplate.queryForObject("select count(*) from wallet", Long.class);
+        Assertions.assertEquals(2, statistics.getStatements());
+    }
+
+    @Test
+    void statementsOfRequestAreReturnedAndRecorded() {
+        String bpn = UUID.randomUUID().toString();
+        long requests = count(HttpMethod.POST.name(), RestURI.WALLETS);
+
+        withResponseHeaders(() -> {
+            ResponseEntity<String> response = TestUtils.createWallet(bpn, bpn, restTemplate, miwSettings.authorityWalletBpn());
+
+            Assertions.assertEquals(HttpStatus.CREATED.value(), response.getStatusCode().value());
+            String statements = response.getHeaders().getFirst(SqlStatisticsFilter.SQL_STATEMENTS);
+            Assertions.assertNotNull(statements);
+            Assertions.assertTrue(Integer.parseInt(statements) > 0);
+            Assertions.assertNotNull(response.getHeaders().getFirst(SqlStatisticsFilter.SQL_TIME));
+        });
+        Assertions.assertEquals(requests + 1, count(HttpMethod.POST.name(), RestURI.WALLETS));
+    }
+
+    @Test
+    void streamedResponseIsNotBuffered() {
+        String bpn = UUID.randomUUID().toString();
+        TestUtils.createWallet(bpn, bpn, restTemplate, miwSettings.authorityWalletBpn());
+
+        withResponseHeaders(() -> {
+            HttpEntity<Void> entity = new HttpEntity<>(AuthenticationUtils.getValidUserHttpHeaders(bpn));
+            ResponseEntity<String> response = restTemplate.exchange(RestURI.API_WALLETS_IDENTIFIER_CREDENTIALS_EXPORT, HttpMethod.GET, entity, String.class, bpn);
+
+            Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
+            Assertions.assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(response.getHeaders().getContentType()));
+            Assertions.assertEquals(2, Objects.requireNonNull(response.getBody()).split("\n").length); //BPN VC + Summary VC
+            Assertions.assertNull(response.getHeaders().getFirst(SqlStatisticsFilter.SQL_STATEMENTS));
+        });
+    }
+
+    /**
+     * Run with SQL statistics added as response headers, which is off in other tests.
+     */
+    private void withResponseHeaders(Runnable runnable) {
+        SqlStatisticsFilter target = AopTestUtils.getTargetObject(sqlStatisticsFilter);
+        SqlStatisticsSettings settings = (SqlStatisticsSettings) ReflectionTestUtils.getField(target, "settings");
+        ReflectionTestUtils.setField(target, "settings", new SqlStatisticsSettings(true, settings.warnStatements(), settings.endpointWarnStatements()));
+        try {
+            runnable.run();
+        } finally {
+            ReflectionTestUtils.setField(target, "settings", settings);
+        }
+    }
+
+    private long count(String method, String uri) {
+        DistributionSummary summary = meterRegistry.find(SqlStatisticsFilter.STATEMENTS_METRIC).tags("method", method, "uri", uri).summary();
+        return summary == null ? 0 : summary.count();
+    }
+}
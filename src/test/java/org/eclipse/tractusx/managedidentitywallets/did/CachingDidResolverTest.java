@@ -0,0 +1,210 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.did;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.tractusx.managedidentitywallets.config.DidResolverSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
+import org.eclipse.tractusx.managedidentitywallets.exception.DidResolutionProblem;
+import org.eclipse.tractusx.managedidentitywallets.exception.WalletNotFoundProblem;
+import org.eclipse.tractusx.managedidentitywallets.service.CachingDidResolver;
+import org.eclipse.tractusx.managedidentitywallets.service.DidDocumentService;
+import org.eclipse.tractusx.ssi.lib.model.did.Did;
+import org.eclipse.tractusx.ssi.lib.model.did.DidDocument;
+import org.eclipse.tractusx.ssi.lib.model.did.DidParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+class CachingDidResolverTest {
+
+    private static final String DID_DOCUMENT = """
+            {
+              "id": "%s",
+              "verificationMethod": [
+                {
+                  "publicKeyMultibase": "z9mo3TUPvEntiBQtHYVXXy5DfxLGgaHa84ZT6Er2qWs4y",
+                  "controller": "%s",
+                  "id": "%s#key-1",
+                  "type": "Ed25519VerificationKey2020"
+                }
+              ],
+              "@context": "https://www.w3.org/ns/did/v1"
+            }
+            """;
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private final AtomicInteger status = new AtomicInteger(200);
+
+    private final AtomicReference<String> cacheControl = new AtomicReference<>();
+
+    private final AtomicReference<String> etag = new AtomicReference<>();
+
+    private HttpServer server;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CachingDidResolver resolver;
+
+    private Did did;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        did = DidParser.parse("did:web:localhost%3A" + server.getAddress().getPort() + ":test");
+        server.createContext("/test/did.json", exchange -> {
+            requests.incrementAndGet();
+            if (cacheControl.get() != null) {
+                exchange.getResponseHeaders().add("Cache-Control", cacheControl.get());
+            }
+            if (etag.get() != null) {
+                exchange.getResponseHeaders().add("ETag", etag.get());
+                if (etag.get().equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    exchange.sendResponseHeaders(304, -1);
+                    exchange.close();
+                    return;
+                }
+            }
+            byte[] body = DID_DOCUMENT.formatted(did, did, did).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status.get(), body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        server.start();
+
+        MIWSettings miwSettings = new MIWSettings(null, null, null, null, null, null, null, null, null, false, null, null);
+        DidResolverSettings settings = new DidResolverSettings(Duration.ofSeconds(5), Duration.ofSeconds(5), 100,
+                Duration.ofMinutes(5), Duration.ofHours(1), Duration.ofMinutes(1), List.of("localhost:" + server.getAddress().getPort()));
+        meterRegistry = new SimpleMeterRegistry();
+        resolver = new CachingDidResolver(miwSettings, settings, meterRegistry, Mockito.mock(DidDocumentService.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void documentIsServedFromCacheWithinMaxAge() {
+        cacheControl.set("public, max-age=300");
+
+        DidDocument first = resolver.resolve(did);
+        DidDocument second = resolver.resolve(did);
+
+        Assertions.assertEquals(did.toString(), first.getId().toString());
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, requests.get());
+        Assertions.assertEquals(1, resolveCount("hit"));
+    }
+
+    @Test
+    void expiredDocumentIsRevalidatedWithEtag() {
+        cacheControl.set("no-cache");
+        etag.set("\"v1\"");
+
+        DidDocument first = resolver.resolve(did);
+        DidDocument second = resolver.resolve(did);
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(2, requests.get());
+        Assertions.assertEquals(1, resolveCount("revalidated"));
+    }
+
+    @Test
+    void noStoreIsNotCached() {
+        cacheControl.set("no-store");
+        etag.set("\"v1\"");
+
+        resolver.resolve(did);
+        resolver.resolve(did);
+
+        Assertions.assertEquals(2, requests.get());
+        Assertions.assertEquals(2, resolveCount("miss"));
+    }
+
+    @Test
+    void failedResolutionIsCached() {
+        status.set(404);
+
+        Assertions.assertThrows(DidResolutionProblem.class, () -> resolver.resolve(did));
+        Assertions.assertThrows(DidResolutionProblem.class, () -> resolver.resolve(did));
+
+        Assertions.assertEquals(1, requests.get());
+        Assertions.assertEquals(1, resolveCount("negative_hit"));
+    }
+
+    @Test
+    void localDidIsResolvedWithoutHttp() throws Exception {
+        String host = "localhost:" + server.getAddress().getPort();
+        MIWSettings miwSettings = new MIWSettings(host, null, null, null, null, null, null, null, null, false, null, null);
+        DidResolverSettings settings = new DidResolverSettings(Duration.ofSeconds(5), Duration.ofSeconds(5), 100,
+                Duration.ofMinutes(5), Duration.ofHours(1), Duration.ofMinutes(1), List.of());
+        DidDocumentService didDocumentService = Mockito.mock(DidDocumentService.class);
+        DidDocument didDocument = DidDocument.fromJson(DID_DOCUMENT.formatted(did, did, did));
+        Mockito.when(didDocumentService.getDidDocument(did.toString())).thenReturn(didDocument);
+        CachingDidResolver localResolver = new CachingDidResolver(miwSettings, settings, meterRegistry, didDocumentService);
+
+        Assertions.assertSame(didDocument, localResolver.resolve(did));
+        Assertions.assertEquals(0, requests.get());
+        Assertions.assertEquals(1, resolveCount("local"));
+
+        Did unknown = DidParser.parse("did:web:localhost%3A" + server.getAddress().getPort() + ":unknown");
+        Mockito.when(didDocumentService.getDidDocument(unknown.toString())).thenThrow(new WalletNotFoundProblem("not found"));
+        Assertions.assertThrows(DidResolutionProblem.class, () -> localResolver.resolve(unknown));
+        Assertions.assertEquals(0, requests.get());
+    }
+
+    @Test
+    void unknownHostIsNotTaggedByName() {
+        DidResolverSettings settings = new DidResolverSettings(Duration.ofSeconds(5), Duration.ofSeconds(5), 100,
+                Duration.ofMinutes(5), Duration.ofHours(1), Duration.ofMinutes(1), List.of());
+        MIWSettings miwSettings = new MIWSettings(null, null, null, null, null, null, null, null, null, false, null, null);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CachingDidResolver otherResolver = new CachingDidResolver(miwSettings, settings, registry, Mockito.mock(DidDocumentService.class));
+
+        otherResolver.resolve(did);
+
+        Assertions.assertEquals(1, registry.get(CachingDidResolver.RESOLVE_METRIC).tag("host", CachingDidResolver.OTHER_HOST).tag("result", "miss").counter().count());
+        Assertions.assertTrue(registry.find(CachingDidResolver.RESOLVE_METRIC).tag("host", "localhost:" + server.getAddress().getPort()).counters().isEmpty());
+        Assertions.assertNotNull(registry.find(CachingDidResolver.FETCH_METRIC).tag("host", CachingDidResolver.OTHER_HOST).timer());
+    }
+
+    private double resolveCount(String result) {
+        return meterRegistry.get(CachingDidResolver.RESOLVE_METRIC)
+                .tag("host", "localhost:" + server.getAddress().getPort())
+                .tag("result", result)
+                .counter().count();
+    }
+}
@@ -21,22 +21,25 @@
 
 package org.eclipse.tractusx.managedidentitywallets.did;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.eclipse.tractusx.managedidentitywallets.ManagedIdentityWalletsApplication;
 import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
 import org.eclipse.tractusx.managedidentitywallets.config.TestContextInitializer;
 import org.eclipse.tractusx.managedidentitywallets.constant.RestURI;
 import org.eclipse.tractusx.managedidentitywallets.dao.entity.Wallet;
 import org.eclipse.tractusx.managedidentitywallets.dto.CreateWalletRequest;
+import org.eclipse.tractusx.managedidentitywallets.service.CachingDidResolver;
+import org.eclipse.tractusx.managedidentitywallets.service.DidDocumentService;
 import org.eclipse.tractusx.managedidentitywallets.service.WalletService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.*;
 import org.springframework.test.context.ContextConfiguration;
 
+import java.util.Objects;
 import java.util.UUID;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT, classes = {ManagedIdentityWalletsApplication.class})
@@ -51,6 +54,9 @@ class DidDocumentsTest {
     @Autowired
     private MIWSettings miwSettings;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void getDidDocumentInvalidBpn404() {
         ResponseEntity<String> response = restTemplate.getForEntity(RestURI.DID_DOCUMENTS, String.class, UUID.randomUUID().toString());
@@ -85,6 +91,49 @@ class DidDocumentsTest {
         Assertions.assertNotNull(response.getBody());
     }
 
+    @Test
+    void getDidResolveNotModified304() {
+        String bpn = UUID.randomUUID().toString();
+
+        createWallet(bpn);
+        ResponseEntity<String> response = restTemplate.getForEntity(RestURI.DID_RESOLVE, String.class, bpn);
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
+        String etag = response.getHeaders().getETag();
+        Assertions.assertNotNull(etag);
+        Assertions.assertFalse(etag.startsWith("W/"));
+        Assertions.assertTrue(Objects.requireNonNull(response.getHeaders().getCacheControl()).contains("max-age="));
+
+        //same document, same ETag
+        Assertions.assertEquals(etag, restTemplate.getForEntity(RestURI.DID_RESOLVE, String.class, bpn).getHeaders().getETag());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        response = restTemplate.exchange(RestURI.DID_RESOLVE, HttpMethod.GET, new HttpEntity<>(headers), String.class, bpn);
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatusCode().value());
+        Assertions.assertNull(response.getBody());
+
+        headers.setIfNoneMatch("\"other\"");
+        response = restTemplate.exchange(RestURI.DID_RESOLVE, HttpMethod.GET, new HttpEntity<>(headers), String.class, bpn);
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
+        Assertions.assertNotNull(response.getBody());
+    }
+
+    @Test
+    void didDocumentCacheHasOwnMetrics() {
+        Assertions.assertNotEquals(CachingDidResolver.DID_DOCUMENT_CACHE, DidDocumentService.DID_DOCUMENT_CACHE);
+        String bpn = UUID.randomUUID().toString();
+        createWallet(bpn);
+
+        double hits = cacheHits();
+        restTemplate.getForEntity(RestURI.DID_RESOLVE, String.class, bpn);
+        restTemplate.getForEntity(RestURI.DID_RESOLVE, String.class, bpn);
+        Assertions.assertTrue(cacheHits() > hits);
+    }
+
+    private double cacheHits() {
+        return meterRegistry.get("cache.gets").tag("cache", DidDocumentService.DID_DOCUMENT_CACHE).tag("result", "hit").functionCounter().count();
+    }
+
     private Wallet createWallet(String bpn) {
         CreateWalletRequest createWalletRequest = new CreateWalletRequest();
         createWalletRequest.setBpn(bpn);
@@ -0,0 +1,176 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.vc;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.tractusx.managedidentitywallets.ManagedIdentityWalletsApplication;
+import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.TestContextInitializer;
+import org.eclipse.tractusx.managedidentitywallets.constant.MIWVerifiableCredentialType;
+import org.eclipse.tractusx.managedidentitywallets.constant.RestURI;
+import org.eclipse.tractusx.managedidentitywallets.constant.StringPool;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.HoldersCredential;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.Wallet;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.HoldersCredentialRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.SummaryUpdateRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.WalletRepository;
+import org.eclipse.tractusx.managedidentitywallets.dto.IssueMembershipCredentialBatchRequest;
+import org.eclipse.tractusx.managedidentitywallets.dto.IssueMembershipCredentialRequest;
+import org.eclipse.tractusx.managedidentitywallets.service.HolderLockService;
+import org.eclipse.tractusx.managedidentitywallets.service.IssuersCredentialService;
+import org.eclipse.tractusx.managedidentitywallets.utils.AuthenticationUtils;
+import org.eclipse.tractusx.managedidentitywallets.utils.TestUtils;
+import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredentialType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT, classes = {ManagedIdentityWalletsApplication.class})
+@ContextConfiguration(initializers = {TestContextInitializer.class})
+class BatchIssuanceTest {
+
+    @Autowired
+    private HoldersCredentialRepository holdersCredentialRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MIWSettings miwSettings;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IssuersCredentialService issuersCredentialService;
+
+    @Autowired
+    private HolderLockService holderLockService;
+
+    @Autowired
+    private SummaryUpdateRepository summaryUpdateRepository;
+
+    @Test
+    void issueMembershipCredentialsInBatch201() throws JsonProcessingException {
+        Wallet first = createHolderWallet();
+        Wallet second = createHolderWallet();
+
+        ResponseEntity<String> response = issueMembershipBatch(miwSettings.authorityWalletBpn(), first.getBpn(), second.getBpn());
+        Assertions.assertEquals(HttpStatus.CREATED.value(), response.getStatusCode().value());
+
+        List<Map<String, Object>> results = objectMapper.readValue(response.getBody(), List.class);
+        Assertions.assertEquals(2, results.size());
+        results.forEach(result -> Assertions.assertTrue(Boolean.parseBoolean(result.get("success").toString())));
+
+        for (Wallet wallet : List.of(first, second)) {
+            List<HoldersCredential> credentials = holdersCredentialRepository.getByHolderDidAndType(wallet.getDid(), MIWVerifiableCredentialType.MEMBERSHIP_CREDENTIAL);
+            Assertions.assertEquals(1, credentials.size());
+            Assertions.assertFalse(holdersCredentialRepository.getByHolderDidAndType(wallet.getDid(), MIWVerifiableCredentialType.SUMMARY_CREDENTIAL).isEmpty());
+        }
+    }
+
+    @Test
+    void issueMembershipCredentialsInBatchPartialFailure207() throws JsonProcessingException {
+        Wallet wallet = createHolderWallet();
+        String unknownBpn = UUID.randomUUID().toString();
+
+        //same holder twice and one unknown holder, only first item must be issued
+        ResponseEntity<String> response = issueMembershipBatch(miwSettings.authorityWalletBpn(), wallet.getBpn(), unknownBpn, wallet.getBpn());
+        Assertions.assertEquals(HttpStatus.MULTI_STATUS.value(), response.getStatusCode().value());
+
+        List<Map<String, Object>> results = objectMapper.readValue(response.getBody(), List.class);
+        Assertions.assertEquals(3, results.size());
+        Assertions.assertEquals(1, results.stream().filter(result -> Boolean.parseBoolean(result.get("success").toString())).count());
+        Assertions.assertEquals(unknownBpn, results.get(1).get("holderIdentifier"));
+        Assertions.assertFalse(Boolean.parseBoolean(results.get(1).get("success").toString()));
+
+        Assertions.assertEquals(1, holdersCredentialRepository.getByHolderDidAndType(wallet.getDid(), MIWVerifiableCredentialType.MEMBERSHIP_CREDENTIAL).size());
+    }
+
+    @Test
+    void summaryUpdateRetriedWhenSigningFails() throws Exception {
+        Wallet wallet = createHolderWallet();
+
+        //first summary VC update of the holder fails, whether it is run by the batch or by the queue poller
+        IssuersCredentialService target = AopTestUtils.getTargetObject(issuersCredentialService);
+        HolderLockService failingLockService = Mockito.spy(holderLockService);
+        Mockito.doThrow(new IllegalStateException("Summary VC update failed")).doCallRealMethod()
+                .when(failingLockService).lockUntilTransactionEnds(wallet.getDid());
+        ReflectionTestUtils.setField(target, "holderLockService", failingLockService);
+        try {
+            ResponseEntity<String> response = issueMembershipBatch(miwSettings.authorityWalletBpn(), wallet.getBpn());
+            Assertions.assertEquals(HttpStatus.CREATED.value(), response.getStatusCode().value());
+            Assertions.assertEquals(1, holdersCredentialRepository.getByHolderDidAndType(wallet.getDid(), MIWVerifiableCredentialType.MEMBERSHIP_CREDENTIAL).size());
+
+            List<HoldersCredential> summaryVcs = List.of();
+            for (int i = 0; i < 100 && summaryVcs.isEmpty(); i++) {
+                Thread.sleep(100);
+                summaryVcs = holdersCredentialRepository.getByHolderDidAndType(wallet.getDid(), MIWVerifiableCredentialType.SUMMARY_CREDENTIAL);
+            }
+            Assertions.assertEquals(1, summaryVcs.size());
+            List<String> items = (List<String>) summaryVcs.get(0).getData().getCredentialSubject().get(0).get(StringPool.ITEMS);
+            Assertions.assertTrue(items.contains(VerifiableCredentialType.MEMBERSHIP_CREDENTIAL));
+        } finally {
+            ReflectionTestUtils.setField(target, "holderLockService", holderLockService);
+        }
+        Mockito.verify(failingLockService, Mockito.atLeast(2)).lockUntilTransactionEnds(wallet.getDid());
+        Assertions.assertTrue(summaryUpdateRepository.getByHolderDidAndIssuerDidOrderByIdAsc(wallet.getDid(), miwSettings.authorityWalletDid()).isEmpty());
+    }
+
+    @Test
+    void issueMembershipCredentialsInBatch403() {
+        Wallet wallet = createHolderWallet();
+
+        ResponseEntity<String> response = issueMembershipBatch(wallet.getBpn(), wallet.getBpn());
+        Assertions.assertEquals(HttpStatus.FORBIDDEN.value(), response.getStatusCode().value());
+    }
+
+    private Wallet createHolderWallet() {
+        String bpn = UUID.randomUUID().toString();
+        return TestUtils.createWallet(bpn, "did:web:localhost:" + bpn, walletRepository);
+    }
+
+    private ResponseEntity<String> issueMembershipBatch(String callerBpn, String... holderBpns) {
+        HttpHeaders headers = AuthenticationUtils.getValidUserHttpHeaders(callerBpn);
+        List<IssueMembershipCredentialRequest> requests = Arrays.stream(holderBpns)
+                .map(bpn -> IssueMembershipCredentialRequest.builder().bpn(bpn).build())
+                .toList();
+        HttpEntity<IssueMembershipCredentialBatchRequest> entity = new HttpEntity<>(IssueMembershipCredentialBatchRequest.builder().credentials(requests).build(), headers);
+        return restTemplate.exchange(RestURI.CREDENTIALS_ISSUER_MEMBERSHIP_BATCH, HttpMethod.POST, entity, String.class);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.vc;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.eclipse.tractusx.managedidentitywallets.ManagedIdentityWalletsApplication;
+import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.TestContextInitializer;
+import org.eclipse.tractusx.managedidentitywallets.service.CredentialVerificationService;
+import org.eclipse.tractusx.managedidentitywallets.service.IssuersCredentialService;
+import org.eclipse.tractusx.managedidentitywallets.service.WalletService;
+import org.eclipse.tractusx.managedidentitywallets.utils.CommonUtils;
+import org.eclipse.tractusx.managedidentitywallets.utils.StringToCredentialConverter;
+import org.eclipse.tractusx.managedidentitywallets.utils.TestUtils;
+import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredential;
+import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredentialType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.util.Map;
+import java.util.UUID;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT, classes = {ManagedIdentityWalletsApplication.class})
+@ContextConfiguration(initializers = {TestContextInitializer.class})
+class CredentialMetricsTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MIWSettings miwSettings;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CredentialVerificationService credentialVerificationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void issuanceIsTimedByTypeAndOutcome() {
+        String bpn = UUID.randomUUID().toString();
+        String type = VerifiableCredentialType.MEMBERSHIP_CREDENTIAL;
+        long created = count(WalletService.CREATE_WALLET_METRIC, "outcome", "created");
+        long issued = count(IssuersCredentialService.ISSUE_METRIC, "type", type, "outcome", "issued");
+        long failed = count(IssuersCredentialService.ISSUE_METRIC, "type", type, "outcome", "failed");
+        long signed = count(CommonUtils.SIGN_METRIC, "type", type);
+
+        ResponseEntity<String> walletResponse = TestUtils.createWallet(bpn, bpn, restTemplate, miwSettings.authorityWalletBpn());
+        Assertions.assertEquals(HttpStatus.CREATED.value(), walletResponse.getStatusCode().value());
+        ResponseEntity<String> response = TestUtils.issueMembershipVC(restTemplate, bpn, miwSettings.authorityWalletBpn());
+        Assertions.assertEquals(HttpStatus.CREATED.value(), response.getStatusCode().value());
+
+        //duplicate membership credential
+        ResponseEntity<String> duplicate = TestUtils.issueMembershipVC(restTemplate, bpn, miwSettings.authorityWalletBpn());
+        Assertions.assertEquals(HttpStatus.CONFLICT.value(), duplicate.getStatusCode().value());
+
+        Assertions.assertEquals(created + 1, count(WalletService.CREATE_WALLET_METRIC, "outcome", "created"));
+        Assertions.assertEquals(issued + 1, count(IssuersCredentialService.ISSUE_METRIC, "type", type, "outcome", "issued"));
+        Assertions.assertEquals(failed + 1, count(IssuersCredentialService.ISSUE_METRIC, "type", type, "outcome", "failed"));
+        Assertions.assertEquals(signed + 1, count(CommonUtils.SIGN_METRIC, "type", type));
+        Assertions.assertTrue(count(IssuersCredentialService.SUMMARY_SIGN_METRIC) > 0);
+        Assertions.assertTrue(count(StringToCredentialConverter.CONVERTER_METRIC, "converter", "credential", "operation", "serialize") > 0);
+    }
+
+    @Test
+    void verificationIsTimedByOutcome() throws JsonProcessingException {
+        String bpn = UUID.randomUUID().toString();
+        TestUtils.createWallet(bpn, bpn, restTemplate, miwSettings.authorityWalletBpn());
+        String type = VerifiableCredentialType.MEMBERSHIP_CREDENTIAL;
+        ResponseEntity<String> response = TestUtils.issueMembershipVC(restTemplate, bpn, miwSettings.authorityWalletBpn());
+        Assertions.assertEquals(HttpStatus.CREATED.value(), response.getStatusCode().value());
+        long valid = count(CredentialVerificationService.VERIFY_METRIC, "type", type, "outcome", "valid");
+
+        VerifiableCredential credential = new VerifiableCredential(objectMapper.readValue(response.getBody(), Map.class));
+        Assertions.assertTrue(credentialVerificationService.verifyProof(credential));
+
+        Assertions.assertEquals(valid + 1, count(CredentialVerificationService.VERIFY_METRIC, "type", type, "outcome", "valid"));
+    }
+
+    private long count(String name, String... tags) {
+        Timer timer = meterRegistry.find(name).tags(tags).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.vc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.tractusx.managedidentitywallets.ManagedIdentityWalletsApplication;
+import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.TestContextInitializer;
+import org.eclipse.tractusx.managedidentitywallets.constant.MIWVerifiableCredentialType;
+import org.eclipse.tractusx.managedidentitywallets.constant.RestURI;
+import org.eclipse.tractusx.managedidentitywallets.constant.StringPool;
+import org.eclipse.tractusx.managedidentitywallets.dto.CredentialQueryRequest;
+import org.eclipse.tractusx.managedidentitywallets.utils.AuthenticationUtils;
+import org.eclipse.tractusx.managedidentitywallets.utils.TestUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT, classes = {ManagedIdentityWalletsApplication.class})
+@ContextConfiguration(initializers = {TestContextInitializer.class})
+class CredentialQueryTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MIWSettings miwSettings;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void queryCredentialsBySubject200() throws Exception {
+        String bpn = UUID.randomUUID().toString();
+        createWalletWithMembership(bpn);
+        Map<String, String> subject = Map.of(StringPool.HOLDER_IDENTIFIER, bpn, StringPool.STATUS, "Active");
+
+        List<Map<String, Object>> credentials = query(RestURI.CREDENTIALS_QUERY, bpn, CredentialQueryRequest.builder().subject(subject).build());
+        Assertions.assertEquals(1, credentials.size());
+        Assertions.assertTrue(((List<String>) credentials.get(0).get("type")).contains(MIWVerifiableCredentialType.MEMBERSHIP_CREDENTIAL));
+
+        credentials = query(RestURI.ISSUERS_CREDENTIALS_QUERY, miwSettings.authorityWalletBpn(), CredentialQueryRequest.builder().subject(subject).build());
+        Assertions.assertEquals(1, credentials.size());
+
+        //other holder does not see the credential
+        String otherBpn = UUID.randomUUID().toString();
+        TestUtils.createWallet(otherBpn, otherBpn, restTemplate, miwSettings.authorityWalletBpn());
+        Assertions.assertTrue(query(RestURI.CREDENTIALS_QUERY, otherBpn, CredentialQueryRequest.builder().subject(subject).build()).isEmpty());
+    }
+
+    @Test
+    void queryCredentialsByExpirationDate200() throws Exception {
+        String bpn = UUID.randomUUID().toString();
+        createWalletWithMembership(bpn);
+        Map<String, String> subject = Map.of(StringPool.HOLDER_IDENTIFIER, bpn, StringPool.STATUS, "Active");
+        Instant expiry = miwSettings.vcExpiryDate().toInstant();
+
+        CredentialQueryRequest request = new CredentialQueryRequest(subject, expiry.minus(Duration.ofDays(1)), null);
+        Assertions.assertEquals(1, query(RestURI.CREDENTIALS_QUERY, bpn, request).size());
+
+        request = new CredentialQueryRequest(subject, null, expiry.minus(Duration.ofDays(1)));
+        Assertions.assertTrue(query(RestURI.CREDENTIALS_QUERY, bpn, request).isEmpty());
+    }
+
+    @Test
+    void queryCredentialsWithInvalidSubject400() {
+        String bpn = UUID.randomUUID().toString();
+        TestUtils.createWallet(bpn, bpn, restTemplate, miwSettings.authorityWalletBpn());
+
+        ResponseEntity<String> response = exchange(RestURI.CREDENTIALS_QUERY, bpn, CredentialQueryRequest.builder().subject(Map.of("a.b", "c")).build());
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCode().value());
+
+        Map<String, String> subject = new HashMap<>();
+        for (int i = 0; i <= 10; i++) {
+            subject.put("field" + i, "value");
+        }
+        response = exchange(RestURI.CREDENTIALS_QUERY, bpn, CredentialQueryRequest.builder().subject(subject).build());
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCode().value());
+    }
+
+    private void createWalletWithMembership(String bpn) {
+        ResponseEntity<String> response = TestUtils.createWallet(bpn, bpn, restTemplate, miwSettings.authorityWalletBpn());
+        Assertions.assertEquals(HttpStatus.CREATED.value(), response.getStatusCode().value());
+        response = TestUtils.issueMembershipVC(restTemplate, bpn, miwSettings.authorityWalletBpn());
+        Assertions.assertEquals(HttpStatus.CREATED.value(), response.getStatusCode().value());
+    }
+
+    private List<Map<String, Object>> query(String uri, String callerBpn, CredentialQueryRequest request) throws Exception {
+        ResponseEntity<String> response = exchange(uri, callerBpn, request);
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
+        return (List<Map<String, Object>>) objectMapper.readValue(response.getBody(), Map.class).get("content");
+    }
+
+    private ResponseEntity<String> exchange(String uri, String callerBpn, CredentialQueryRequest request) {
+        HttpHeaders headers = AuthenticationUtils.getValidUserHttpHeaders(callerBpn);
+        headers.set(HttpHeaders.CONTENT_TYPE, "application/json");
+        return restTemplate.exchange(uri, HttpMethod.POST, new HttpEntity<>(request, headers), String.class);
+    }
+}
@@ -23,6 +23,7 @@ package org.eclipse.tractusx.managedidentitywallets.vc;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.eclipse.tractusx.managedidentitywallets.ManagedIdentityWalletsApplication;
 import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
 import org.eclipse.tractusx.managedidentitywallets.config.TestContextInitializer;
@@ -37,6 +38,7 @@ import org.eclipse.tractusx.managedidentitywallets.dao.repository.IssuersCredent
 import org.eclipse.tractusx.managedidentitywallets.dao.repository.WalletRepository;
 import org.eclipse.tractusx.managedidentitywallets.dto.IssueFrameworkCredentialRequest;
 import org.eclipse.tractusx.managedidentitywallets.dto.IssueMembershipCredentialRequest;
+import org.eclipse.tractusx.managedidentitywallets.service.IssuersCredentialService;
 import org.eclipse.tractusx.managedidentitywallets.utils.AuthenticationUtils;
 import org.eclipse.tractusx.managedidentitywallets.utils.TestUtils;
 import org.eclipse.tractusx.ssi.lib.did.web.DidWebFactory;
@@ -75,6 +77,9 @@ class FrameworkHoldersCredentialTest {
     @Autowired
     private IssuersCredentialRepository issuersCredentialRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
 
     @Test
     void issueFrameworkCredentialTest403() {
@@ -204,6 +209,30 @@ class FrameworkHoldersCredentialTest {
 
     }
 
+    @Test
+    void issueSameFrameworkVCTwiceShouldNotResignSummaryTest201() throws JsonProcessingException {
+        String bpn = UUID.randomUUID().toString();
+        String did = DidWebFactory.fromHostnameAndPath(miwSettings.host(), bpn).toString();
+        Wallet wallet = TestUtils.createWallet(bpn, did, walletRepository);
+        String type = "TraceabilityCredential";
+
+        HttpHeaders headers = AuthenticationUtils.getValidUserHttpHeaders(miwSettings.authorityWalletBpn());
+        HttpEntity<IssueFrameworkCredentialRequest> entity = new HttpEntity<>(TestUtils.getIssueFrameworkCredentialRequest(bpn, type), headers);
+
+        ResponseEntity<String> response = restTemplate.exchange(RestURI.API_CREDENTIALS_ISSUER_FRAMEWORK, HttpMethod.POST, entity, String.class);
+        Assertions.assertEquals(HttpStatus.CREATED.value(), response.getStatusCode().value());
+        String summaryCredentialId = TestUtils.getSummaryCredentialId(wallet.getDid(), holdersCredentialRepository);
+        double skipped = meterRegistry.get(IssuersCredentialService.SUMMARY_RESIGN_SKIPPED).counter().count();
+
+        //issue same type again, items of summary VC are not changed
+        response = restTemplate.exchange(RestURI.API_CREDENTIALS_ISSUER_FRAMEWORK, HttpMethod.POST, entity, String.class);
+        Assertions.assertEquals(HttpStatus.CREATED.value(), response.getStatusCode().value());
+
+        Assertions.assertEquals(2, holdersCredentialRepository.getByHolderDidAndType(wallet.getDid(), MIWVerifiableCredentialType.USE_CASE_FRAMEWORK_CONDITION).size());
+        Assertions.assertEquals(summaryCredentialId, TestUtils.getSummaryCredentialId(wallet.getDid(), holdersCredentialRepository));
+        Assertions.assertEquals(skipped + 1, meterRegistry.get(IssuersCredentialService.SUMMARY_RESIGN_SKIPPED).counter().count());
+    }
+
     private void validate(Wallet wallet, String type, ResponseEntity<String> response, MIWSettings miwSettings, String oldSummaryCredentialId) throws JsonProcessingException {
         ObjectMapper objectMapper = new ObjectMapper();
         Map<String, Object> map = objectMapper.readValue(response.getBody(), Map.class);
@@ -26,15 +26,20 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.eclipse.tractusx.managedidentitywallets.ManagedIdentityWalletsApplication;
 import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
 import org.eclipse.tractusx.managedidentitywallets.config.TestContextInitializer;
+import org.eclipse.tractusx.managedidentitywallets.config.VerificationSettings;
 import org.eclipse.tractusx.managedidentitywallets.constant.MIWVerifiableCredentialType;
 import org.eclipse.tractusx.managedidentitywallets.constant.RestURI;
 import org.eclipse.tractusx.managedidentitywallets.constant.StringPool;
 import org.eclipse.tractusx.managedidentitywallets.controller.IssuersCredentialController;
 import org.eclipse.tractusx.managedidentitywallets.dao.entity.HoldersCredential;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.CredentialBatchRepository;
 import org.eclipse.tractusx.managedidentitywallets.dao.repository.HoldersCredentialRepository;
 import org.eclipse.tractusx.managedidentitywallets.dao.repository.WalletRepository;
 import org.eclipse.tractusx.managedidentitywallets.dto.CreateWalletRequest;
 import org.eclipse.tractusx.managedidentitywallets.dto.IssueFrameworkCredentialRequest;
+import org.eclipse.tractusx.managedidentitywallets.exception.BadDataException;
+import org.eclipse.tractusx.managedidentitywallets.service.CredentialVerificationService;
+import org.eclipse.tractusx.managedidentitywallets.service.IssuersCredentialService;
 import org.eclipse.tractusx.managedidentitywallets.utils.AuthenticationUtils;
 import org.eclipse.tractusx.managedidentitywallets.utils.TestUtils;
 import org.eclipse.tractusx.ssi.lib.did.resolver.DidResolver;
@@ -51,6 +56,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.AdditionalAnswers;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -59,6 +65,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.*;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.net.URI;
 import java.time.Instant;
@@ -83,6 +91,15 @@ class HoldersCredentialTest {
     @Autowired
     private IssuersCredentialController credentialController;
 
+    @Autowired
+    private CredentialBatchRepository credentialBatchRepository;
+
+    @Autowired
+    private IssuersCredentialService issuersCredentialService;
+
+    @Autowired
+    private CredentialVerificationService credentialVerificationService;
+
 
     @Test
     void issueCredentialTestWithInvalidBPNAccess403() throws JsonProcessingException {
@@ -185,6 +202,17 @@ class HoldersCredentialTest {
         Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
         Assertions.assertEquals(1, Objects.requireNonNull(credentialList).size());
 
+        //types are matched exactly, not as substring of the stored types
+        response = restTemplate.exchange(RestURI.CREDENTIALS + "?type={list}"
+                , HttpMethod.GET, entity, String.class, "Membership");
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
+        Assertions.assertEquals(0, TestUtils.getVerifiableCredentials(response, objectMapper).size());
+
+        response = restTemplate.exchange(RestURI.CREDENTIALS + "?type={list}&size=1"
+                , HttpMethod.GET, entity, String.class, String.join(",", MIWVerifiableCredentialType.MEMBERSHIP_CREDENTIAL, MIWVerifiableCredentialType.SUMMARY_CREDENTIAL));
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
+        Assertions.assertEquals(2, ((Number) objectMapper.readValue(response.getBody(), Map.class).get("totalElements")).intValue());
+
         list = new ArrayList<>();
         list.add(MIWVerifiableCredentialType.SUMMARY_CREDENTIAL);
         response = restTemplate.exchange(RestURI.CREDENTIALS + "?type={list}"
@@ -302,6 +330,64 @@ class HoldersCredentialTest {
     }
 
 
+    @Test
+    @DisplayName("validate VCs in batch, invalid VC must not fail other VCs")
+    void validateCredentialsInBatch() throws com.fasterxml.jackson.core.JsonProcessingException {
+        Map<String, Object> map = issueVC();
+
+        List<Map<String, Object>> results = credentialController.credentialsValidation(List.of(map, Map.<String, Object>of("type", "invalid")), false).getBody();
+
+        Assertions.assertEquals(2, Objects.requireNonNull(results).size());
+        Assertions.assertEquals(map.get("id"), ((VerifiableCredential) results.get(0).get("vc")).getId().toString());
+        Assertions.assertFalse(Boolean.parseBoolean(results.get(1).get(StringPool.VALID).toString()));
+        Assertions.assertNotNull(results.get(1).get(StringPool.ERROR));
+    }
+
+    @Test
+    void validateCredentialsInBatchWithoutVC400() {
+        List<Map<String, Object>> credentials = List.of();
+        Assertions.assertThrows(BadDataException.class, () -> credentialController.credentialsValidation(credentials, false));
+    }
+
+    @Test
+    @DisplayName("validate VCs of same issuer in batch, issuer DID must be resolved once")
+    void validateCredentialsInBatchResolvesIssuerOnce() throws com.fasterxml.jackson.core.JsonProcessingException {
+        List<Map<String, Object>> credentials = List.of(issueVC(), issueVC(), issueVC());
+
+        //proofs are not verified by the spy, so only resolutions of issuers up front are counted
+        IssuersCredentialService target = AopTestUtils.getTargetObject(issuersCredentialService);
+        CredentialVerificationService verificationService = Mockito.spy((CredentialVerificationService) AopTestUtils.getTargetObject(credentialVerificationService));
+        DidResolver resolver = (DidResolver) ReflectionTestUtils.getField(verificationService, "didResolver");
+        DidResolver countingResolver = Mockito.mock(DidResolver.class, AdditionalAnswers.delegatesTo(resolver));
+        ReflectionTestUtils.setField(verificationService, "didResolver", countingResolver);
+        Mockito.doReturn(true).when(verificationService).verifyProof(Mockito.any(VerifiableCredential.class));
+        ReflectionTestUtils.setField(target, "credentialVerificationService", verificationService);
+        try {
+            List<Map<String, Object>> results = credentialController.credentialsValidation(credentials, false).getBody();
+
+            Assertions.assertEquals(3, Objects.requireNonNull(results).size());
+            results.forEach(result -> Assertions.assertTrue(Boolean.parseBoolean(result.get(StringPool.VALID).toString())));
+            Mockito.verify(countingResolver, Mockito.times(1)).resolve(Mockito.any());
+        } finally {
+            ReflectionTestUtils.setField(target, "credentialVerificationService", credentialVerificationService);
+        }
+    }
+
+    @Test
+    void validateCredentialsInBatchWithTooManyVC400() throws com.fasterxml.jackson.core.JsonProcessingException {
+        List<Map<String, Object>> credentials = List.of(issueVC(), issueVC());
+
+        //validation has its own limit, independent of the issuance batch size
+        IssuersCredentialService target = AopTestUtils.getTargetObject(issuersCredentialService);
+        VerificationSettings settings = (VerificationSettings) ReflectionTestUtils.getField(target, "verificationSettings");
+        ReflectionTestUtils.setField(target, "verificationSettings", new VerificationSettings(settings.parallelism(), settings.timeout(), 1));
+        try {
+            Assertions.assertThrows(BadDataException.class, () -> credentialController.credentialsValidation(credentials, false));
+        } finally {
+            ReflectionTestUtils.setField(target, "verificationSettings", settings);
+        }
+    }
+
     private Map<String, Object> issueVC() throws JsonProcessingException {
         String bpn = UUID.randomUUID().toString();
         String baseBpn = miwSettings.authorityWalletBpn();
@@ -313,6 +399,55 @@ class HoldersCredentialTest {
     }
 
 
+    @Test
+    void getCredentialsByCursorTest200() throws JsonProcessingException {
+        String bpn = UUID.randomUUID().toString();
+        String did = DidWebFactory.fromHostnameAndPath(miwSettings.host(), bpn).toString();
+        HttpHeaders headers = AuthenticationUtils.getValidUserHttpHeaders(bpn);
+        TestUtils.createWallet(bpn, did, walletRepository);
+        TestUtils.issueMembershipVC(restTemplate, bpn, miwSettings.authorityWalletBpn());
+
+        //credentials of one batch have the same creation date, cursor must neither skip nor repeat them
+        VerifiableCredential membership = holdersCredentialRepository.getByHolderDidAndType(did, MIWVerifiableCredentialType.MEMBERSHIP_CREDENTIAL).get(0).getData();
+        List<HoldersCredential> copies = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            copies.add(HoldersCredential.builder().holderDid(did).issuerDid(miwSettings.authorityWalletDid())
+                    .type(MIWVerifiableCredentialType.MEMBERSHIP_CREDENTIAL).credentialId(membership.getId().toString()).data(membership).build());
+        }
+        credentialBatchRepository.saveAll(copies);
+
+        HttpEntity<Map> entity = new HttpEntity<>(headers);
+        List<String> ids = new ArrayList<>();
+        String cursor = "";
+        do {
+            ResponseEntity<String> response = restTemplate.exchange(RestURI.CREDENTIALS + "?size=2&cursor={cursor}", HttpMethod.GET, entity, String.class, cursor);
+            Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
+            Map<String, Object> page = objectMapper.readValue(response.getBody(), Map.class);
+            Assertions.assertFalse(page.containsKey("totalElements"));
+            List<VerifiableCredential> credentials = TestUtils.getVerifiableCredentials(response, objectMapper);
+            Assertions.assertTrue(credentials.size() <= 2);
+            credentials.forEach(vc -> ids.add(vc.getId().toString()));
+            cursor = (String) page.get("nextCursor");
+        } while (cursor != null);
+
+        ResponseEntity<String> response = restTemplate.exchange(RestURI.CREDENTIALS, HttpMethod.GET, entity, String.class);
+        List<String> expected = TestUtils.getVerifiableCredentials(response, objectMapper).stream().map(vc -> vc.getId().toString()).sorted().toList();
+        Assertions.assertEquals(holdersCredentialRepository.getByHolderDid(did).size(), ids.size());
+        Assertions.assertEquals(expected, ids.stream().sorted().toList());
+    }
+
+    @Test
+    void getCredentialsByInvalidCursorTest400() {
+        String bpn = UUID.randomUUID().toString();
+        String did = DidWebFactory.fromHostnameAndPath(miwSettings.host(), bpn).toString();
+        TestUtils.createWallet(bpn, did, walletRepository);
+        HttpEntity<Map> entity = new HttpEntity<>(AuthenticationUtils.getValidUserHttpHeaders(bpn));
+
+        ResponseEntity<String> response = restTemplate.exchange(RestURI.CREDENTIALS + "?cursor={cursor}", HttpMethod.GET, entity, String.class, "not-a-cursor");
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCode().value());
+    }
+
     private ResponseEntity<String> issueVC(String bpn, String did, String type, HttpHeaders headers) throws JsonProcessingException {
         String baseBpn = miwSettings.authorityWalletBpn();
         //save wallet
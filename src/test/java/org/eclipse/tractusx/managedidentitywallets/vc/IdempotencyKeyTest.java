@@ -0,0 +1,128 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.vc;
+
+import org.eclipse.tractusx.managedidentitywallets.ManagedIdentityWalletsApplication;
+import org.eclipse.tractusx.managedidentitywallets.config.IdempotencyFilter;
+import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.TestContextInitializer;
+import org.eclipse.tractusx.managedidentitywallets.constant.MIWVerifiableCredentialType;
+import org.eclipse.tractusx.managedidentitywallets.constant.RestURI;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.Wallet;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.HoldersCredentialRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.WalletRepository;
+import org.eclipse.tractusx.managedidentitywallets.dto.CreateWalletRequest;
+import org.eclipse.tractusx.managedidentitywallets.dto.IssueFrameworkCredentialRequest;
+import org.eclipse.tractusx.managedidentitywallets.utils.AuthenticationUtils;
+import org.eclipse.tractusx.managedidentitywallets.utils.TestUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.util.UUID;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT, classes = {ManagedIdentityWalletsApplication.class})
+@ContextConfiguration(initializers = {TestContextInitializer.class})
+class IdempotencyKeyTest {
+
+    @Autowired
+    private HoldersCredentialRepository holdersCredentialRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MIWSettings miwSettings;
+
+    @Test
+    void retryOfFrameworkCredentialIsReplayedTest() {
+        Wallet wallet = createHolderWallet();
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        ResponseEntity<String> response = issueFrameworkCredential(wallet.getBpn(), "PcfCredential", idempotencyKey);
+        Assertions.assertEquals(HttpStatus.CREATED.value(), response.getStatusCode().value());
+        Assertions.assertNull(response.getHeaders().getFirst(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+
+        //retry gets the same credential, no second credential is signed
+        ResponseEntity<String> replay = issueFrameworkCredential(wallet.getBpn(), "PcfCredential", idempotencyKey);
+        Assertions.assertEquals(HttpStatus.CREATED.value(), replay.getStatusCode().value());
+        Assertions.assertEquals(Boolean.TRUE.toString(), replay.getHeaders().getFirst(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+        Assertions.assertEquals(response.getBody(), replay.getBody());
+        Assertions.assertEquals(1, holdersCredentialRepository.getByHolderDidAndType(wallet.getDid(), MIWVerifiableCredentialType.USE_CASE_FRAMEWORK_CONDITION).size());
+
+        //same key for another request is rejected
+        response = issueFrameworkCredential(wallet.getBpn(), "QualityCredential", idempotencyKey);
+        Assertions.assertEquals(HttpStatus.UNPROCESSABLE_ENTITY.value(), response.getStatusCode().value());
+
+        //without key every request is issued
+        response = issueFrameworkCredential(wallet.getBpn(), "PcfCredential", null);
+        Assertions.assertEquals(HttpStatus.CREATED.value(), response.getStatusCode().value());
+        Assertions.assertEquals(2, holdersCredentialRepository.getByHolderDidAndType(wallet.getDid(), MIWVerifiableCredentialType.USE_CASE_FRAMEWORK_CONDITION).size());
+    }
+
+    @Test
+    void retryOfWalletCreationIsReplayedTest() {
+        String bpn = UUID.randomUUID().toString();
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        ResponseEntity<String> response = createWallet(bpn, idempotencyKey, miwSettings.authorityWalletBpn());
+        Assertions.assertEquals(HttpStatus.CREATED.value(), response.getStatusCode().value());
+
+        //without key the retry would fail with 409
+        ResponseEntity<String> replay = createWallet(bpn, idempotencyKey, miwSettings.authorityWalletBpn());
+        Assertions.assertEquals(HttpStatus.CREATED.value(), replay.getStatusCode().value());
+        Assertions.assertEquals(response.getBody(), replay.getBody());
+
+        //key is scoped to the caller
+        response = createWallet(UUID.randomUUID().toString(), idempotencyKey, bpn);
+        Assertions.assertNull(response.getHeaders().getFirst(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+    }
+
+    private Wallet createHolderWallet() {
+        String bpn = UUID.randomUUID().toString();
+        return TestUtils.createWallet(bpn, "did:web:localhost:" + bpn, walletRepository);
+    }
+
+    private ResponseEntity<String> issueFrameworkCredential(String holderBpn, String type, String idempotencyKey) {
+        HttpHeaders headers = AuthenticationUtils.getValidUserHttpHeaders(miwSettings.authorityWalletBpn());
+        if (idempotencyKey != null) {
+            headers.set(IdempotencyFilter.IDEMPOTENCY_KEY, idempotencyKey);
+        }
+        IssueFrameworkCredentialRequest request = IssueFrameworkCredentialRequest.builder().holderIdentifier(holderBpn).type(type)
+                .contractTemplate("https://public.catena-x.org/contracts/").contractVersion("1.0.0").build();
+        return restTemplate.exchange(RestURI.API_CREDENTIALS_ISSUER_FRAMEWORK, HttpMethod.POST, new HttpEntity<>(request, headers), String.class);
+    }
+
+    private ResponseEntity<String> createWallet(String bpn, String idempotencyKey, String callerBpn) {
+        HttpHeaders headers = AuthenticationUtils.getValidUserHttpHeaders(callerBpn);
+        headers.set(IdempotencyFilter.IDEMPOTENCY_KEY, idempotencyKey);
+        CreateWalletRequest request = CreateWalletRequest.builder().bpn(bpn).name("Wallet " + bpn).build();
+        return restTemplate.exchange(RestURI.WALLETS, HttpMethod.POST, new HttpEntity<>(request, headers), String.class);
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.vc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.tractusx.managedidentitywallets.ManagedIdentityWalletsApplication;
+import org.eclipse.tractusx.managedidentitywallets.config.IssuanceJobSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.TestContextInitializer;
+import org.eclipse.tractusx.managedidentitywallets.constant.IssuanceJobStatus;
+import org.eclipse.tractusx.managedidentitywallets.constant.MIWVerifiableCredentialType;
+import org.eclipse.tractusx.managedidentitywallets.constant.RestURI;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.IssuanceJob;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.Wallet;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.HoldersCredentialRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.IssuanceJobRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.WalletRepository;
+import org.eclipse.tractusx.managedidentitywallets.dto.IssueMembershipCredentialRequest;
+import org.eclipse.tractusx.managedidentitywallets.service.IssuanceJobService;
+import org.eclipse.tractusx.managedidentitywallets.service.IssuersCredentialService;
+import org.eclipse.tractusx.managedidentitywallets.utils.AuthenticationUtils;
+import org.eclipse.tractusx.managedidentitywallets.utils.TestUtils;
+import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredential;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT, classes = {ManagedIdentityWalletsApplication.class})
+@ContextConfiguration(initializers = {TestContextInitializer.class})
+class IssuanceJobTest {
+
+    @Autowired
+    private HoldersCredentialRepository holdersCredentialRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MIWSettings miwSettings;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IssuanceJobService issuanceJobService;
+
+    @Autowired
+    private IssuersCredentialService issuersCredentialService;
+
+    @Autowired
+    private IssuanceJobRepository issuanceJobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void issueMembershipCredentialAsync202() throws Exception {
+        Wallet wallet = createHolderWallet();
+
+        ResponseEntity<String> response = issueMembershipAsync(miwSettings.authorityWalletBpn(), wallet.getBpn());
+        Assertions.assertEquals(HttpStatus.ACCEPTED.value(), response.getStatusCode().value());
+        Map<String, Object> job = objectMapper.readValue(response.getBody(), Map.class);
+        Assertions.assertEquals(IssuanceJobStatus.QUEUED.name(), job.get("status"));
+        Assertions.assertNotNull(response.getHeaders().getLocation());
+        Assertions.assertTrue(response.getHeaders().getLocation().getPath().endsWith(job.get("jobId").toString()));
+
+        job = waitForCompletion(job.get("jobId").toString(), miwSettings.authorityWalletBpn());
+        Assertions.assertEquals(IssuanceJobStatus.SUCCEEDED.name(), job.get("status"));
+        Map<String, Object> credential = (Map<String, Object>) job.get("credential");
+        Assertions.assertTrue(((List<String>) credential.get("type")).contains(MIWVerifiableCredentialType.MEMBERSHIP_CREDENTIAL));
+        Assertions.assertEquals(1, holdersCredentialRepository.getByHolderDidAndType(wallet.getDid(), MIWVerifiableCredentialType.MEMBERSHIP_CREDENTIAL).size());
+    }
+
+    @Test
+    void issueDuplicateMembershipCredentialAsyncFails() throws Exception {
+        Wallet wallet = createHolderWallet();
+
+        ResponseEntity<String> response = issueMembershipAsync(miwSettings.authorityWalletBpn(), wallet.getBpn());
+        String jobId = objectMapper.readValue(response.getBody(), Map.class).get("jobId").toString();
+        Assertions.assertEquals(IssuanceJobStatus.SUCCEEDED.name(), waitForCompletion(jobId, miwSettings.authorityWalletBpn()).get("status"));
+
+        //failure of the issuance is reported by the job, not by the request
+        response = issueMembershipAsync(miwSettings.authorityWalletBpn(), wallet.getBpn());
+        Assertions.assertEquals(HttpStatus.ACCEPTED.value(), response.getStatusCode().value());
+        jobId = objectMapper.readValue(response.getBody(), Map.class).get("jobId").toString();
+        Map<String, Object> job = waitForCompletion(jobId, miwSettings.authorityWalletBpn());
+        Assertions.assertEquals(IssuanceJobStatus.FAILED.name(), job.get("status"));
+        Assertions.assertNotNull(job.get("errorMessage"));
+        Assertions.assertNull(job.get("credential"));
+        Assertions.assertEquals(1, holdersCredentialRepository.getByHolderDidAndType(wallet.getDid(), MIWVerifiableCredentialType.MEMBERSHIP_CREDENTIAL).size());
+    }
+
+    @Test
+    void runningTimeoutExpiresDuringIssuance() throws Exception {
+        Wallet wallet = createHolderWallet();
+        IssuanceJobService target = AopTestUtils.getTargetObject(issuanceJobService);
+        IssuanceJobSettings settings = (IssuanceJobSettings) ReflectionTestUtils.getField(target, "issuanceJobSettings");
+        //issuance takes four times the running timeout
+        Duration runningTimeout = Duration.ofMillis(500);
+        IssuersCredentialService slowIssuer = Mockito.mock(IssuersCredentialService.class, AdditionalAnswers.delegatesTo(issuersCredentialService));
+        Mockito.doAnswer(invocation -> {
+            Thread.sleep(runningTimeout.multipliedBy(4).toMillis());
+            return issuersCredentialService.issueMembershipCredential(invocation.getArgument(0), invocation.getArgument(1));
+        }).when(slowIssuer).issueMembershipCredential(Mockito.any(), Mockito.any());
+        ReflectionTestUtils.setField(target, "issuanceJobSettings", new IssuanceJobSettings(settings.workers(), settings.perIssuerConcurrency(),
+                settings.pollIntervalMillis(), settings.pollBatchSize(), runningTimeout, settings.heartbeatIntervalMillis()));
+        ReflectionTestUtils.setField(target, "issuersCredentialService", slowIssuer);
+        try {
+            ResponseEntity<String> response = issueMembershipAsync(miwSettings.authorityWalletBpn(), wallet.getBpn());
+            String jobId = objectMapper.readValue(response.getBody(), Map.class).get("jobId").toString();
+
+            //heartbeats and polls as scheduled, a poll queues the job again if its lease is not renewed
+            for (int i = 0; i < 100; i++) {
+                IssuanceJob job = issuanceJobRepository.getByJobId(jobId);
+                if (job.getCompletedAt() != null) {
+                    break;
+                }
+                issuanceJobService.renewLeases();
+                issuanceJobService.startQueuedJobs();
+                Thread.sleep(100);
+            }
+
+            Map<String, Object> job = waitForCompletion(jobId, miwSettings.authorityWalletBpn());
+            Assertions.assertEquals(IssuanceJobStatus.SUCCEEDED.name(), job.get("status"));
+            Mockito.verify(slowIssuer, Mockito.times(1)).issueMembershipCredential(Mockito.any(), Mockito.any());
+            Assertions.assertEquals(1, holdersCredentialRepository.getByHolderDidAndType(wallet.getDid(), MIWVerifiableCredentialType.MEMBERSHIP_CREDENTIAL).size());
+        } finally {
+            ReflectionTestUtils.setField(target, "issuanceJobSettings", settings);
+            ReflectionTestUtils.setField(target, "issuersCredentialService", issuersCredentialService);
+        }
+    }
+
+    @Test
+    void credentialIsRolledBackIfLeaseIsLost() throws Exception {
+        Wallet wallet = createHolderWallet();
+        IssuanceJobService target = AopTestUtils.getTargetObject(issuanceJobService);
+        AtomicBoolean requeued = new AtomicBoolean();
+        IssuersCredentialService requeueingIssuer = Mockito.mock(IssuersCredentialService.class, AdditionalAnswers.delegatesTo(issuersCredentialService));
+        Mockito.doAnswer(invocation -> {
+            VerifiableCredential credential = issuersCredentialService.issueMembershipCredential(invocation.getArgument(0), invocation.getArgument(1));
+            if (requeued.compareAndSet(false, true)) {
+                //another instance queues the job again after the credential is issued, before the job is completed
+                CompletableFuture.runAsync(() -> jdbcTemplate.update("update issuance_job set status = ?, lease_owner = null, lease_until = null where holder_identifier = ?",
+                        IssuanceJobStatus.QUEUED.name(), wallet.getBpn())).join();
+            }
+            return credential;
+        }).when(requeueingIssuer).issueMembershipCredential(Mockito.any(), Mockito.any());
+        ReflectionTestUtils.setField(target, "issuersCredentialService", requeueingIssuer);
+        try {
+            ResponseEntity<String> response = issueMembershipAsync(miwSettings.authorityWalletBpn(), wallet.getBpn());
+            String jobId = objectMapper.readValue(response.getBody(), Map.class).get("jobId").toString();
+
+            for (int i = 0; i < 100; i++) {
+                IssuanceJob job = issuanceJobRepository.getByJobId(jobId);
+                if (job.getCompletedAt() != null) {
+                    break;
+                }
+                issuanceJobService.startQueuedJobs();
+                Thread.sleep(100);
+            }
+
+            //credential of the first run is rolled back, so the second run does not fail as duplicate
+            Map<String, Object> job = waitForCompletion(jobId, miwSettings.authorityWalletBpn());
+            Assertions.assertEquals(IssuanceJobStatus.SUCCEEDED.name(), job.get("status"));
+            Mockito.verify(requeueingIssuer, Mockito.times(2)).issueMembershipCredential(Mockito.any(), Mockito.any());
+            Assertions.assertEquals(1, holdersCredentialRepository.getByHolderDidAndType(wallet.getDid(), MIWVerifiableCredentialType.MEMBERSHIP_CREDENTIAL).size());
+        } finally {
+            ReflectionTestUtils.setField(target, "issuersCredentialService", issuersCredentialService);
+        }
+    }
+
+    @Test
+    void issueMembershipCredentialAsync403() throws Exception {
+        Wallet wallet = createHolderWallet();
+
+        ResponseEntity<String> response = issueMembershipAsync(wallet.getBpn(), wallet.getBpn());
+        Assertions.assertEquals(HttpStatus.FORBIDDEN.value(), response.getStatusCode().value());
+
+        //job can only be read by the submitting BPN
+        response = issueMembershipAsync(miwSettings.authorityWalletBpn(), wallet.getBpn());
+        String jobId = objectMapper.readValue(response.getBody(), Map.class).get("jobId").toString();
+        Assertions.assertEquals(HttpStatus.FORBIDDEN.value(), getJob(jobId, wallet.getBpn()).getStatusCode().value());
+    }
+
+    @Test
+    void getIssuanceJob404() {
+        ResponseEntity<String> response = getJob(UUID.randomUUID().toString(), miwSettings.authorityWalletBpn());
+        Assertions.assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatusCode().value());
+    }
+
+    private Map<String, Object> waitForCompletion(String jobId, String callerBpn) throws Exception {
+        Map<String, Object> job = Map.of();
+        for (int i = 0; i < 100; i++) {
+            ResponseEntity<String> response = getJob(jobId, callerBpn);
+            Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
+            job = objectMapper.readValue(response.getBody(), Map.class);
+            if (job.get("completedAt") != null) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        return job;
+    }
+
+    private Wallet createHolderWallet() {
+        String bpn = UUID.randomUUID().toString();
+        return TestUtils.createWallet(bpn, "did:web:localhost:" + bpn, walletRepository);
+    }
+
+    private ResponseEntity<String> issueMembershipAsync(String callerBpn, String holderBpn) {
+        HttpHeaders headers = AuthenticationUtils.getValidUserHttpHeaders(callerBpn);
+        HttpEntity<IssueMembershipCredentialRequest> entity = new HttpEntity<>(IssueMembershipCredentialRequest.builder().bpn(holderBpn).build(), headers);
+        return restTemplate.exchange(RestURI.CREDENTIALS_ISSUER_MEMBERSHIP_ASYNC, HttpMethod.POST, entity, String.class);
+    }
+
+    private ResponseEntity<String> getJob(String jobId, String callerBpn) {
+        HttpEntity<Void> entity = new HttpEntity<>(AuthenticationUtils.getValidUserHttpHeaders(callerBpn));
+        return restTemplate.exchange(RestURI.ISSUERS_CREDENTIALS_JOB, HttpMethod.GET, entity, String.class, jobId);
+    }
+}
@@ -146,6 +146,42 @@ class IssuersCredentialTest {
         }
     }
 
+    @Test
+    void getCredentialsSlice200() throws JsonProcessingException, InterruptedException {
+        String baseBPN = miwSettings.authorityWalletBpn();
+        String holderBpn = UUID.randomUUID().toString();
+        String holderDID = "did:web:localhost:" + holderBpn;
+        HttpEntity<Map> entity = new HttpEntity<>(AuthenticationUtils.getValidUserHttpHeaders(baseBPN));
+        TestUtils.createWallet(holderBpn, holderDID, walletRepository);
+        TestUtils.issueMembershipVC(restTemplate, holderBpn, baseBPN);
+
+        //membership and summary VC, first page of size one has a next page
+        ResponseEntity<String> response = restTemplate.exchange(RestURI.ISSUERS_CREDENTIALS + "?holderIdentifier={did}&size=1&totalCount=none"
+                , HttpMethod.GET, entity, String.class, holderDID);
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
+        Map<String, Object> slice = objectMapper.readValue(response.getBody(), Map.class);
+        Assertions.assertEquals(1, TestUtils.getVerifiableCredentials(response, objectMapper).size());
+        Assertions.assertEquals(Boolean.TRUE, slice.get("hasNext"));
+        Assertions.assertFalse(slice.containsKey("totalElements"));
+        Assertions.assertFalse(slice.containsKey("approximateTotalElements"));
+
+        //approximate total is counted in background, it is given once the count is done
+        Number approximateTotal = null;
+        for (int i = 0; i < 50 && approximateTotal == null; i++) {
+            response = restTemplate.exchange(RestURI.ISSUERS_CREDENTIALS + "?size=1&totalCount=approximate", HttpMethod.GET, entity, String.class);
+            Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
+            approximateTotal = (Number) objectMapper.readValue(response.getBody(), Map.class).get("approximateTotalElements");
+            if (approximateTotal == null) {
+                Thread.sleep(100);
+            }
+        }
+        Assertions.assertNotNull(approximateTotal);
+        Assertions.assertTrue(approximateTotal.longValue() >= 2);
+
+        response = restTemplate.exchange(RestURI.ISSUERS_CREDENTIALS + "?totalCount=maybe", HttpMethod.GET, entity, String.class);
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCode().value());
+    }
+
 
     @Test
     void issueCredentialsTestWithInvalidRole403() {
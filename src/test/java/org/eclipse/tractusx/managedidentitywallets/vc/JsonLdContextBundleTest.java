@@ -0,0 +1,75 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.vc;
+
+import com.apicatalog.jsonld.JsonLdError;
+import com.apicatalog.jsonld.JsonLdErrorCode;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.loader.DocumentLoaderOptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.tractusx.managedidentitywallets.ManagedIdentityWalletsApplication;
+import org.eclipse.tractusx.managedidentitywallets.config.JsonLdSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.TestContextInitializer;
+import org.eclipse.tractusx.managedidentitywallets.constant.StringPool;
+import org.eclipse.tractusx.managedidentitywallets.service.JsonLdContextLoader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.net.URI;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT, classes = {ManagedIdentityWalletsApplication.class})
+@ContextConfiguration(initializers = {TestContextInitializer.class})
+class JsonLdContextBundleTest {
+
+    @Autowired
+    private MIWSettings miwSettings;
+
+    @Autowired
+    private JsonLdSettings jsonLdSettings;
+
+    @Test
+    void configuredContextsAreLoadedWithoutNetwork() throws JsonLdError {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JsonLdContextLoader loader = new JsonLdContextLoader(miwSettings, jsonLdSettings, meterRegistry, (url, options) -> {
+            throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "No network access for " + url);
+        });
+
+        Set<URI> contexts = new LinkedHashSet<>();
+        contexts.addAll(miwSettings.vcContexts());
+        contexts.addAll(miwSettings.summaryVcContexts());
+        contexts.addAll(miwSettings.didDocumentContextUrls());
+        contexts.add(URI.create(StringPool.JWS_2020_CONTEXT));
+
+        for (URI context : contexts) {
+            Document document = loader.loadDocument(context, new DocumentLoaderOptions());
+            Assertions.assertEquals(context, document.getDocumentUrl());
+            Assertions.assertTrue(document.getJsonContent().orElseThrow().asJsonObject().containsKey("@context"), context.toString());
+        }
+        Assertions.assertEquals(contexts.size(), meterRegistry.counter(JsonLdContextLoader.CONTEXT_METRIC, "result", "bundled").count());
+    }
+}
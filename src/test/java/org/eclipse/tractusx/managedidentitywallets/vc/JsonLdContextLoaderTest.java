@@ -0,0 +1,136 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.vc;
+
+import com.apicatalog.jsonld.JsonLdError;
+import com.apicatalog.jsonld.JsonLdErrorCode;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.loader.DocumentLoaderOptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.tractusx.managedidentitywallets.config.JsonLdSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
+import org.eclipse.tractusx.managedidentitywallets.constant.StringPool;
+import org.eclipse.tractusx.managedidentitywallets.service.JsonLdContextLoader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class JsonLdContextLoaderTest {
+
+    private static final URI VC_CONTEXT = URI.create("https://example.org/vc/v1");
+
+    private static final URI BUNDLED_CONTEXT = URI.create("https://example.org/bundled/v1");
+
+    private static final URI UNKNOWN_CONTEXT = URI.create("https://example.org/unknown/v1");
+
+    private final Map<URI, AtomicInteger> fetches = new ConcurrentHashMap<>();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private JsonLdContextLoader loader;
+
+    private boolean offline;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        MIWSettings miwSettings = new MIWSettings(null, null, null, null, null, List.of(VC_CONTEXT),
+                null, null, null, false, null, null);
+        loader = new JsonLdContextLoader(miwSettings, new JsonLdSettings(10, Duration.ofMinutes(1), true), meterRegistry,
+                (url, options) -> {
+                    fetches.computeIfAbsent(url, k -> new AtomicInteger()).incrementAndGet();
+                    if (offline) {
+                        throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "offline");
+                    }
+                    return JsonDocument.of(new StringReader("{\"@context\": {}}"));
+                });
+    }
+
+    @Test
+    void bundledContextIsNotFetched() throws JsonLdError {
+        Document document = loader.loadDocument(BUNDLED_CONTEXT, new DocumentLoaderOptions());
+
+        Assertions.assertEquals(BUNDLED_CONTEXT, document.getDocumentUrl());
+        Assertions.assertTrue(fetches.isEmpty());
+        Assertions.assertEquals(1, count("bundled"));
+    }
+
+    @Test
+    void configuredContextsArePreloadedOnce() throws JsonLdError {
+        loader.preload();
+        loader.preload();
+        loader.loadDocument(VC_CONTEXT, new DocumentLoaderOptions());
+
+        Assertions.assertEquals(1, fetches.get(VC_CONTEXT).get());
+        Assertions.assertEquals(1, fetches.get(URI.create(StringPool.JWS_2020_CONTEXT)).get());
+        Assertions.assertFalse(fetches.containsKey(BUNDLED_CONTEXT));
+        Assertions.assertEquals(1, count("bundled"));
+    }
+
+    @Test
+    void configuredContextIsFetchedOnFirstUseWhenPreloadFailed() throws JsonLdError {
+        offline = true;
+        loader.preload();
+        offline = false;
+
+        loader.loadDocument(VC_CONTEXT, new DocumentLoaderOptions());
+        offline = true;
+        loader.loadDocument(VC_CONTEXT, new DocumentLoaderOptions());
+
+        Assertions.assertEquals(2, fetches.get(VC_CONTEXT).get());
+        Assertions.assertEquals(1, count("miss"));
+        Assertions.assertEquals(1, count("bundled"));
+    }
+
+    @Test
+    void unknownContextIsCached() throws JsonLdError {
+        loader.loadDocument(UNKNOWN_CONTEXT, new DocumentLoaderOptions());
+        loader.loadDocument(UNKNOWN_CONTEXT, new DocumentLoaderOptions());
+
+        Assertions.assertEquals(1, fetches.get(UNKNOWN_CONTEXT).get());
+        Assertions.assertEquals(1, count("miss"));
+        Assertions.assertEquals(1, count("hit"));
+    }
+
+    @Test
+    void failedFetchIsNotCached() {
+        offline = true;
+        Assertions.assertThrows(JsonLdError.class, () -> loader.loadDocument(UNKNOWN_CONTEXT, new DocumentLoaderOptions()));
+        Assertions.assertThrows(JsonLdError.class, () -> loader.loadDocument(UNKNOWN_CONTEXT, new DocumentLoaderOptions()));
+
+        Assertions.assertEquals(2, fetches.get(UNKNOWN_CONTEXT).get());
+        Assertions.assertEquals(2, count(StringPool.ERROR));
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter(JsonLdContextLoader.CONTEXT_METRIC, "result", result).count();
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.vc;
+
+import org.eclipse.tractusx.managedidentitywallets.ManagedIdentityWalletsApplication;
+import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.SummarySettings;
+import org.eclipse.tractusx.managedidentitywallets.config.TestContextInitializer;
+import org.eclipse.tractusx.managedidentitywallets.constant.MIWVerifiableCredentialType;
+import org.eclipse.tractusx.managedidentitywallets.constant.StringPool;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.HoldersCredential;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.Wallet;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.HoldersCredentialRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.WalletRepository;
+import org.eclipse.tractusx.managedidentitywallets.dto.IssueDismantlerCredentialRequest;
+import org.eclipse.tractusx.managedidentitywallets.dto.IssueFrameworkCredentialRequest;
+import org.eclipse.tractusx.managedidentitywallets.dto.IssueMembershipCredentialRequest;
+import org.eclipse.tractusx.managedidentitywallets.service.HolderLockService;
+import org.eclipse.tractusx.managedidentitywallets.service.IssuersCredentialService;
+import org.eclipse.tractusx.managedidentitywallets.utils.TestUtils;
+import org.eclipse.tractusx.ssi.lib.did.web.DidWebFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT, classes = {ManagedIdentityWalletsApplication.class})
+@ContextConfiguration(initializers = {TestContextInitializer.class})
+class SummaryCredentialConcurrencyTest {
+
+    @Autowired
+    private HoldersCredentialRepository holdersCredentialRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private IssuersCredentialService issuersCredentialService;
+
+    @Autowired
+    private HolderLockService holderLockService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MIWSettings miwSettings;
+
+    @Autowired
+    private SummarySettings summarySettings;
+
+    @Test
+    void concurrentIssuancesToSameHolderSignOneSummaryCredentialTest() throws Exception {
+        List<Wallet> wallets = List.of(createHolderWallet(), createHolderWallet(), createHolderWallet());
+
+        //all credential types of all holders are issued at the same time
+        List<Callable<Object>> issuances = new ArrayList<>();
+        for (Wallet wallet : wallets) {
+            issuances.add(() -> issuersCredentialService.issueMembershipCredential(IssueMembershipCredentialRequest.builder().bpn(wallet.getBpn()).build(), miwSettings.authorityWalletBpn()));
+            issuances.add(() -> issuersCredentialService.issueDismantlerCredential(IssueDismantlerCredentialRequest.builder().bpn(wallet.getBpn()).activityType("vehicleDismantle").build(), miwSettings.authorityWalletBpn()));
+            for (String type : miwSettings.supportedFrameworkVCTypes()) {
+                issuances.add(() -> issuersCredentialService.issueFrameworkCredential(IssueFrameworkCredentialRequest.builder().holderIdentifier(wallet.getBpn())
+                        .type(type).contractTemplate("https://public.catena-x.org/contracts/").contractVersion("1.0.0").build(), miwSettings.authorityWalletBpn()));
+            }
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(issuances.size());
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object>> futures = new ArrayList<>();
+            for (Callable<Object> issuance : issuances) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return issuance.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Object> future : futures) {
+                Assertions.assertNotNull(future.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Set<String> expectedItems = new HashSet<>(miwSettings.supportedFrameworkVCTypes());
+        expectedItems.add(MIWVerifiableCredentialType.MEMBERSHIP_CREDENTIAL);
+        expectedItems.add(MIWVerifiableCredentialType.DISMANTLER_CREDENTIAL);
+        for (Wallet wallet : wallets) {
+            List<HoldersCredential> summaryVcs = holdersCredentialRepository.getByHolderDidAndIssuerDidAndTypeAndStored(wallet.getDid(), miwSettings.authorityWalletDid(), MIWVerifiableCredentialType.SUMMARY_CREDENTIAL, false);
+            Assertions.assertEquals(1, summaryVcs.size());
+            List<String> items = (List<String>) summaryVcs.get(0).getData().getCredentialSubject().get(0).get(StringPool.ITEMS);
+            Assertions.assertEquals(expectedItems, new HashSet<>(items));
+        }
+    }
+
+    @Test
+    void holderLockDoesNotBlockOtherHoldersTest() throws Exception {
+        String holderDid = "did:web:localhost:" + UUID.randomUUID();
+        String otherHolderDid = "did:web:localhost:" + UUID.randomUUID();
+        while (Math.floorMod(holderDid.hashCode(), summarySettings.lockStripes()) == Math.floorMod(otherHolderDid.hashCode(), summarySettings.lockStripes())) {
+            otherHolderDid = "did:web:localhost:" + UUID.randomUUID();
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            CountDownLatch locked = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Future<?> holder = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                holderLockService.lockUntilTransactionEnds(holderDid);
+                locked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            Assertions.assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+            //other holder is not blocked, same holder waits for the transaction to end
+            String other = otherHolderDid;
+            executor.submit(() -> transactionTemplate.executeWithoutResult(status -> holderLockService.lockUntilTransactionEnds(other))).get(10, TimeUnit.SECONDS);
+            Future<?> sameHolder = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> holderLockService.lockUntilTransactionEnds(holderDid)));
+            Assertions.assertThrows(TimeoutException.class, () -> sameHolder.get(500, TimeUnit.MILLISECONDS));
+
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+            sameHolder.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Wallet createHolderWallet() {
+        String bpn = UUID.randomUUID().toString();
+        String did = DidWebFactory.fromHostnameAndPath(miwSettings.host(), bpn).toString();
+        return TestUtils.createWallet(bpn, did, walletRepository);
+    }
+}
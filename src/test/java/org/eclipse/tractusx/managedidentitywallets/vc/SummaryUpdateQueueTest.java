@@ -0,0 +1,96 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.vc;
+
+import org.eclipse.tractusx.managedidentitywallets.ManagedIdentityWalletsApplication;
+import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.TestContextInitializer;
+import org.eclipse.tractusx.managedidentitywallets.constant.MIWVerifiableCredentialType;
+import org.eclipse.tractusx.managedidentitywallets.constant.StringPool;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.HoldersCredential;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.SummaryItem;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.SummaryUpdate;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.Wallet;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.HoldersCredentialRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.SummaryItemRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.SummaryUpdateRepository;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.WalletRepository;
+import org.eclipse.tractusx.managedidentitywallets.service.IssuersCredentialService;
+import org.eclipse.tractusx.managedidentitywallets.utils.TestUtils;
+import org.eclipse.tractusx.ssi.lib.did.web.DidWebFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT, classes = {ManagedIdentityWalletsApplication.class})
+@ContextConfiguration(initializers = {TestContextInitializer.class})
+class SummaryUpdateQueueTest {
+
+    @Autowired
+    private HoldersCredentialRepository holdersCredentialRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private SummaryItemRepository summaryItemRepository;
+
+    @Autowired
+    private SummaryUpdateRepository summaryUpdateRepository;
+
+    @Autowired
+    private IssuersCredentialService issuersCredentialService;
+
+    @Autowired
+    private MIWSettings miwSettings;
+
+    @Test
+    void queuedSummaryUpdatesAreSignedOnceTest() {
+        String bpn = UUID.randomUUID().toString();
+        String did = DidWebFactory.fromHostnameAndPath(miwSettings.host(), bpn).toString();
+        Wallet wallet = TestUtils.createWallet(bpn, did, walletRepository);
+
+        //two issuances queued within same window
+        for (String item : List.of(MIWVerifiableCredentialType.MEMBERSHIP_CREDENTIAL, MIWVerifiableCredentialType.DISMANTLER_CREDENTIAL)) {
+            summaryItemRepository.save(SummaryItem.builder().holderDid(wallet.getDid()).issuerDid(miwSettings.authorityWalletDid()).item(item).build());
+            summaryUpdateRepository.save(SummaryUpdate.builder().holderDid(wallet.getDid()).holderBpn(bpn)
+                    .issuerDid(miwSettings.authorityWalletDid()).dueAt(new Date()).build());
+        }
+
+        issuersCredentialService.signQueuedSummaryCredentials();
+
+        List<HoldersCredential> summaryVcs = holdersCredentialRepository.getByHolderDidAndIssuerDidAndTypeAndStored(wallet.getDid(), miwSettings.authorityWalletDid(), MIWVerifiableCredentialType.SUMMARY_CREDENTIAL, false);
+        Assertions.assertEquals(1, summaryVcs.size());
+        List<String> items = (List<String>) summaryVcs.get(0).getData().getCredentialSubject().get(0).get(StringPool.ITEMS);
+        Assertions.assertEquals(List.of(MIWVerifiableCredentialType.MEMBERSHIP_CREDENTIAL, MIWVerifiableCredentialType.DISMANTLER_CREDENTIAL), items);
+
+        Assertions.assertTrue(summaryUpdateRepository.getByDueAtLessThanEqualOrderByDueAtAsc(new Date(), Pageable.unpaged()).stream()
+                .noneMatch(update -> update.getHolderDid().equals(wallet.getDid())));
+    }
+}
@@ -28,6 +28,7 @@ import com.nimbusds.jwt.SignedJWT;
 import org.eclipse.tractusx.managedidentitywallets.ManagedIdentityWalletsApplication;
 import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
 import org.eclipse.tractusx.managedidentitywallets.config.TestContextInitializer;
+import org.eclipse.tractusx.managedidentitywallets.config.VerificationSettings;
 import org.eclipse.tractusx.managedidentitywallets.constant.MIWVerifiableCredentialType;
 import org.eclipse.tractusx.managedidentitywallets.constant.RestURI;
 import org.eclipse.tractusx.managedidentitywallets.constant.StringPool;
@@ -35,6 +36,7 @@ import org.eclipse.tractusx.managedidentitywallets.controller.PresentationContro
 import org.eclipse.tractusx.managedidentitywallets.dao.entity.HoldersCredential;
 import org.eclipse.tractusx.managedidentitywallets.dao.entity.Wallet;
 import org.eclipse.tractusx.managedidentitywallets.dao.repository.HoldersCredentialRepository;
+import org.eclipse.tractusx.managedidentitywallets.service.CredentialVerificationService;
 import org.eclipse.tractusx.managedidentitywallets.utils.AuthenticationUtils;
 import org.eclipse.tractusx.managedidentitywallets.utils.TestUtils;
 import org.eclipse.tractusx.ssi.lib.did.resolver.DidResolver;
@@ -46,9 +48,12 @@ import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCreden
 import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredentialBuilder;
 import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredentialSubject;
 import org.eclipse.tractusx.ssi.lib.model.verifiable.credential.VerifiableCredentialType;
+import org.eclipse.tractusx.ssi.lib.model.did.Did;
+import org.eclipse.tractusx.ssi.lib.model.did.DidParser;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
 import org.mockito.MockedConstruction;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -56,9 +61,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.*;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.net.URI;
 import java.text.ParseException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 
@@ -81,6 +89,9 @@ class PresentationTest {
     @Autowired
     private MIWSettings miwSettings;
 
+    @Autowired
+    private CredentialVerificationService credentialVerificationService;
+
 
     @Test
     void validateVPAssJsonLd400() throws JsonProcessingException {
@@ -106,7 +117,7 @@ class PresentationTest {
         ResponseEntity<Map> vpResponse = createBpnVCAsJwt(bpn, audience);
         Map body = vpResponse.getBody();
 
-        ResponseEntity<Map<String, Object>> mapResponseEntity = presentationController.validatePresentation(body, null, true, false);
+        ResponseEntity<Map<String, Object>> mapResponseEntity = presentationController.validatePresentation(body, null, true, false, false);
 
         Map map = mapResponseEntity.getBody();
         Assertions.assertTrue(Boolean.parseBoolean(map.get(StringPool.VALID).toString()));
@@ -133,7 +144,7 @@ class PresentationTest {
 
             Thread.sleep(62000L); // need to remove this??? Can not mock 2 object creation using new
 
-            ResponseEntity<Map<String, Object>> mapResponseEntity = presentationController.validatePresentation(body, "no valid", true, true);
+            ResponseEntity<Map<String, Object>> mapResponseEntity = presentationController.validatePresentation(body, "no valid", true, true, false);
 
             Map map = mapResponseEntity.getBody();
 
@@ -153,7 +164,7 @@ class PresentationTest {
         ResponseEntity<Map> vpResponse = createBpnVCAsJwt(bpn, audience);
         Map body = vpResponse.getBody();
 
-        ResponseEntity<Map<String, Object>> mapResponseEntity = presentationController.validatePresentation(body, audience, true, true);
+        ResponseEntity<Map<String, Object>> mapResponseEntity = presentationController.validatePresentation(body, audience, true, true, false);
 
         Map map = mapResponseEntity.getBody();
         Assertions.assertTrue(Boolean.parseBoolean(map.get(StringPool.VALID).toString()));
@@ -171,7 +182,7 @@ class PresentationTest {
         ResponseEntity<Map> vpResponse = getIssueVPRequestWithShortExpiry(bpn, audience);
         Map body = vpResponse.getBody();
 
-        ResponseEntity<Map<String, Object>> mapResponseEntity = presentationController.validatePresentation(body, audience, true, true);
+        ResponseEntity<Map<String, Object>> mapResponseEntity = presentationController.validatePresentation(body, audience, true, true, false);
 
         Map map = mapResponseEntity.getBody();
         Assertions.assertFalse(Boolean.parseBoolean(map.get(StringPool.VALID).toString()));
@@ -180,6 +191,120 @@ class PresentationTest {
         Assertions.assertTrue(Boolean.parseBoolean(map.get(StringPool.VALIDATE_JWT_EXPIRY_DATE).toString()));
     }
 
+    @Test
+    void validateVPWithManyCredentials() throws Exception {
+        String bpn = UUID.randomUUID().toString();
+        String audience = "companyA";
+        Wallet wallet = createWalletWithMembership(bpn);
+        List<Map<String, Object>> credentials = List.of(getCredential(wallet, MIWVerifiableCredentialType.BPN_CREDENTIAL),
+                getCredential(wallet, MIWVerifiableCredentialType.SUMMARY_CREDENTIAL), getCredential(wallet, VerifiableCredentialType.MEMBERSHIP_CREDENTIAL));
+
+        Map<String, Object> map = presentationController.validatePresentation(createVPAsJwt(wallet, credentials, audience), audience, true, false, false).getBody();
+        Assertions.assertTrue(Boolean.parseBoolean(map.get(StringPool.VALID).toString()));
+
+        //one credential of many is not valid
+        List<Map<String, Object>> withTampered = new ArrayList<>(credentials);
+        withTampered.add(tamper(credentials.get(0), StringPool.ID, credentials.get(0).get(StringPool.ID) + "-tampered"));
+        map = presentationController.validatePresentation(createVPAsJwt(wallet, withTampered, audience), audience, true, false, false).getBody();
+        Assertions.assertFalse(Boolean.parseBoolean(map.get(StringPool.VALID).toString()));
+    }
+
+    @Test
+    void validateVPWithFailFastStopsAtInvalidCredential() throws Exception {
+        String bpn = UUID.randomUUID().toString();
+        String audience = "companyA";
+        Wallet wallet = createWalletWithMembership(bpn);
+        //issuer of the tampered credential is resolved without delay, the authority of the other credentials is slow
+        String tamperedIssuer = DidWebFactory.fromHostnameAndPath(miwSettings.host(), UUID.randomUUID().toString()).toString();
+        List<Map<String, Object>> credentials = List.of(tamper(getCredential(wallet, MIWVerifiableCredentialType.BPN_CREDENTIAL), "issuer", tamperedIssuer),
+                getCredential(wallet, MIWVerifiableCredentialType.SUMMARY_CREDENTIAL), getCredential(wallet, VerifiableCredentialType.MEMBERSHIP_CREDENTIAL));
+        Map<String, Object> vp = createVPAsJwt(wallet, credentials, audience);
+
+        Duration delay = Duration.ofSeconds(5);
+        withSlowResolver(tamperedIssuer, delay, Duration.ofSeconds(30), () -> {
+            long start = System.nanoTime();
+            Map<String, Object> map = presentationController.validatePresentation(vp, audience, true, false, true).getBody();
+            Assertions.assertFalse(Boolean.parseBoolean(map.get(StringPool.VALID).toString()));
+            Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(delay) < 0);
+        });
+    }
+
+    @Test
+    void validateVPTimesOut() throws Exception {
+        String bpn = UUID.randomUUID().toString();
+        String audience = "companyA";
+        Wallet wallet = createWalletWithMembership(bpn);
+        List<Map<String, Object>> credentials = List.of(getCredential(wallet, MIWVerifiableCredentialType.BPN_CREDENTIAL),
+                getCredential(wallet, VerifiableCredentialType.MEMBERSHIP_CREDENTIAL));
+        Map<String, Object> vp = createVPAsJwt(wallet, credentials, audience);
+
+        Duration delay = Duration.ofSeconds(5);
+        withSlowResolver(null, delay, Duration.ofSeconds(1), () -> {
+            long start = System.nanoTime();
+            Map<String, Object> map = presentationController.validatePresentation(vp, audience, true, false, false).getBody();
+            Assertions.assertFalse(Boolean.parseBoolean(map.get(StringPool.VALID).toString()));
+            Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(delay) < 0);
+        });
+    }
+
+    /**
+     * Run with a DID resolver of credential verification which resolves DIDs only after the delay. The fast DID is
+     * resolved to the DID document of the authority right away.
+     */
+    private void withSlowResolver(String fastDid, Duration delay, Duration timeout, Runnable runnable) {
+        CredentialVerificationService target = AopTestUtils.getTargetObject(credentialVerificationService);
+        DidResolver resolver = (DidResolver) ReflectionTestUtils.getField(target, "didResolver");
+        VerificationSettings settings = (VerificationSettings) ReflectionTestUtils.getField(target, "verificationSettings");
+        DidResolver slowResolver = Mockito.mock(DidResolver.class, AdditionalAnswers.delegatesTo(resolver));
+        Mockito.doAnswer(invocation -> {
+            Did did = invocation.getArgument(0);
+            if (did.toString().equals(fastDid)) {
+                return resolver.resolve(DidParser.parse(miwSettings.authorityWalletDid()));
+            }
+            Thread.sleep(delay.toMillis());
+            return resolver.resolve(did);
+        }).when(slowResolver).resolve(Mockito.any());
+        ReflectionTestUtils.setField(target, "didResolver", slowResolver);
+        ReflectionTestUtils.setField(target, "verificationSettings", new VerificationSettings(settings.parallelism(), timeout, settings.maxBatchSize()));
+        try {
+            runnable.run();
+        } finally {
+            ReflectionTestUtils.setField(target, "didResolver", resolver);
+            ReflectionTestUtils.setField(target, "verificationSettings", settings);
+        }
+    }
+
+    private Wallet createWalletWithMembership(String bpn) {
+        ResponseEntity<String> response = TestUtils.createWallet(bpn, bpn, restTemplate, miwSettings.authorityWalletBpn());
+        Assertions.assertEquals(response.getStatusCode().value(), HttpStatus.CREATED.value());
+        Assertions.assertEquals(HttpStatus.CREATED.value(), TestUtils.issueMembershipVC(restTemplate, bpn, miwSettings.authorityWalletBpn()).getStatusCode().value());
+        return TestUtils.getWalletFromString(response.getBody());
+    }
+
+    private Map<String, Object> getCredential(Wallet wallet, String type) throws JsonProcessingException {
+        List<HoldersCredential> credentials = holdersCredentialRepository.getByHolderDidAndType(wallet.getDid(), type);
+        return objectMapper.readValue(credentials.get(0).getData().toJson(), Map.class);
+    }
+
+    private Map<String, Object> tamper(Map<String, Object> credential, String field, Object value) throws JsonProcessingException {
+        Map<String, Object> tampered = objectMapper.readValue(objectMapper.writeValueAsString(credential), Map.class);
+        tampered.put(field, value);
+        return tampered;
+    }
+
+    private Map<String, Object> createVPAsJwt(Wallet wallet, List<Map<String, Object>> credentials, String audience) throws JsonProcessingException {
+        Map<String, Object> request = new HashMap<>();
+        request.put(StringPool.HOLDER_IDENTIFIER, wallet.getDid());
+        request.put(StringPool.VERIFIABLE_CREDENTIALS, credentials);
+
+        HttpHeaders headers = AuthenticationUtils.getValidUserHttpHeaders(wallet.getBpn());
+        headers.put(HttpHeaders.CONTENT_TYPE, List.of(MediaType.APPLICATION_JSON_VALUE));
+        HttpEntity<String> entity = new HttpEntity<>(objectMapper.writeValueAsString(request), headers);
+        ResponseEntity<Map> vpResponse = restTemplate.exchange(RestURI.API_PRESENTATIONS + "?asJwt={asJwt}&audience={audience}", HttpMethod.POST, entity, Map.class, true, audience);
+        Assertions.assertEquals(HttpStatus.CREATED.value(), vpResponse.getStatusCode().value());
+        return vpResponse.getBody();
+    }
+
     @Test
     void createPresentationAsJWT201() throws JsonProcessingException, ParseException {
         String bpn = UUID.randomUUID().toString();
@@ -0,0 +1,111 @@
+/*
+ * *******************************************************************************
+ *  Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ * ******************************************************************************
+ */
+
+package org.eclipse.tractusx.managedidentitywallets.wallet;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.eclipse.tractusx.managedidentitywallets.ManagedIdentityWalletsApplication;
+import org.eclipse.tractusx.managedidentitywallets.config.MIWSettings;
+import org.eclipse.tractusx.managedidentitywallets.config.TestContextInitializer;
+import org.eclipse.tractusx.managedidentitywallets.dao.entity.Wallet;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.WalletRepository;
+import org.eclipse.tractusx.managedidentitywallets.service.WalletKeyService;
+import org.eclipse.tractusx.ssi.lib.crypt.ed25519.Ed25519Key;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.util.Arrays;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT, classes = {ManagedIdentityWalletsApplication.class})
+@ContextConfiguration(initializers = {TestContextInitializer.class})
+class WalletKeyServiceTest {
+
+    @Autowired
+    private WalletKeyService walletKeyService;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private MIWSettings miwSettings;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void privateKeyServedFromCache() {
+        Wallet wallet = walletRepository.getByBpn(miwSettings.authorityWalletBpn());
+        walletKeyService.invalidatePrivateKey(wallet.getId());
+
+        double hitsBefore = cacheGets("hit");
+        byte[] first = walletKeyService.getPrivateKeyByWalletIdentifierAsBytes(wallet.getId());
+        byte[] second = walletKeyService.getPrivateKeyByWalletIdentifierAsBytes(wallet.getId());
+
+        Assertions.assertArrayEquals(first, second);
+        Assertions.assertEquals(hitsBefore + 1, cacheGets("hit"));
+
+        //caller must get a copy, changing it must not corrupt the cached key
+        Arrays.fill(second, (byte) 0);
+        Assertions.assertArrayEquals(first, walletKeyService.getPrivateKeyByWalletIdentifierAsBytes(wallet.getId()));
+    }
+
+    @Test
+    void privateKeyReloadedAfterInvalidation() {
+        Wallet wallet = walletRepository.getByBpn(miwSettings.authorityWalletBpn());
+        byte[] cached = walletKeyService.getPrivateKeyByWalletIdentifierAsBytes(wallet.getId());
+
+        double missesBefore = cacheGets("miss");
+        walletKeyService.invalidatePrivateKey(wallet.getId());
+
+        Assertions.assertArrayEquals(cached, walletKeyService.getPrivateKeyByWalletIdentifierAsBytes(wallet.getId()));
+        Assertions.assertEquals(missesBefore + 1, cacheGets("miss"));
+    }
+
+    @Test
+    void parsedKeyServedFromCacheAndWipedOnEviction() throws InterruptedException {
+        Wallet wallet = walletRepository.getByBpn(miwSettings.authorityWalletBpn());
+        walletKeyService.invalidatePrivateKey(wallet.getId());
+        byte[] bytes = walletKeyService.getPrivateKeyByWalletIdentifierAsBytes(wallet.getId());
+
+        //the key is kept out of the operation here only to check that it is wiped
+        Ed25519Key first = walletKeyService.withPrivateKey(wallet.getId(), key -> key);
+        Ed25519Key second = walletKeyService.withPrivateKey(wallet.getId(), key -> key);
+        Assertions.assertSame(first, second);
+        Assertions.assertArrayEquals(bytes, first.getEncoded());
+
+        walletKeyService.invalidatePrivateKey(wallet.getId());
+        Assertions.assertNotSame(first, walletKeyService.withPrivateKey(wallet.getId(), key -> key));
+
+        //removal listener runs asynchronously
+        byte[] wiped = new byte[bytes.length];
+        for (int i = 0; i < 50 && !Arrays.equals(wiped, first.getEncoded()); i++) {
+            Thread.sleep(100);
+        }
+        Assertions.assertArrayEquals(wiped, first.getEncoded());
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", WalletKeyService.SIGNING_KEY_CACHE).tag("result", result).functionCounter().count();
+    }
+}
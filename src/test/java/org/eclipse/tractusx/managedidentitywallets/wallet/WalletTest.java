@@ -32,10 +32,14 @@ import org.eclipse.tractusx.managedidentitywallets.constant.StringPool;
 import org.eclipse.tractusx.managedidentitywallets.dao.entity.HoldersCredential;
 import org.eclipse.tractusx.managedidentitywallets.dao.entity.Wallet;
 import org.eclipse.tractusx.managedidentitywallets.dao.entity.WalletKey;
+import org.eclipse.tractusx.managedidentitywallets.dao.repository.CredentialExportRepository;
 import org.eclipse.tractusx.managedidentitywallets.dao.repository.HoldersCredentialRepository;
 import org.eclipse.tractusx.managedidentitywallets.dao.repository.WalletKeyRepository;
 import org.eclipse.tractusx.managedidentitywallets.dao.repository.WalletRepository;
+import org.eclipse.tractusx.managedidentitywallets.dto.CreateWalletBatchRequest;
 import org.eclipse.tractusx.managedidentitywallets.dto.CreateWalletRequest;
+import org.eclipse.tractusx.managedidentitywallets.exception.WalletNotFoundProblem;
+import org.eclipse.tractusx.managedidentitywallets.service.CommonService;
 import org.eclipse.tractusx.managedidentitywallets.service.WalletService;
 import org.eclipse.tractusx.managedidentitywallets.utils.AuthenticationUtils;
 import org.eclipse.tractusx.managedidentitywallets.utils.TestUtils;
@@ -84,6 +88,12 @@ class WalletTest {
     @Autowired
     private WalletService walletService;
 
+    @Autowired
+    private CommonService commonService;
+
+    @Autowired
+    private CredentialExportRepository credentialExportRepository;
+
 
     @Test
     void createDuplicateAuthorityWalletTest() {
@@ -196,6 +206,48 @@ class WalletTest {
     }
 
 
+    @Test
+    void createWalletsInBatchTest() throws JsonProcessingException {
+        String bpn1 = UUID.randomUUID().toString();
+        String bpn2 = UUID.randomUUID().toString();
+        String existingBpn = UUID.randomUUID().toString();
+        String baseBpn = miwSettings.authorityWalletBpn();
+        TestUtils.createWallet(existingBpn, "Existing", restTemplate, baseBpn);
+
+        CreateWalletBatchRequest request = CreateWalletBatchRequest.builder()
+                .wallets(List.of(new CreateWalletRequest(bpn1, "first"), new CreateWalletRequest(existingBpn, "existing"),
+                        new CreateWalletRequest(bpn2, "second"), new CreateWalletRequest(bpn1, "repeated")))
+                .build();
+        HttpEntity<CreateWalletBatchRequest> entity = new HttpEntity<>(request, AuthenticationUtils.getValidUserHttpHeaders(baseBpn));
+        ResponseEntity<String> response = restTemplate.exchange(RestURI.WALLETS_BATCH, HttpMethod.POST, entity, String.class);
+        Assertions.assertEquals(HttpStatus.MULTI_STATUS.value(), response.getStatusCode().value());
+
+        List<Map<String, Object>> results = objectMapper.readValue(response.getBody(), List.class);
+        Assertions.assertEquals(4, results.size());
+        Assertions.assertEquals(List.of(true, false, true, false), results.stream().map(result -> result.get("success")).toList());
+        Assertions.assertEquals(List.of(bpn1, existingBpn, bpn2, bpn1), results.stream().map(result -> result.get("bpn")).toList());
+
+        for (String bpn : List.of(bpn1, bpn2)) {
+            Wallet wallet = walletRepository.getByBpn(bpn);
+            Assertions.assertNotNull(wallet);
+            Assertions.assertNotNull(walletKeyRepository.getByWalletId(wallet.getId()));
+            List<HoldersCredential> credentials = holdersCredentialRepository.getByHolderDid(wallet.getDid());
+            Assertions.assertEquals(Set.of(MIWVerifiableCredentialType.BPN_CREDENTIAL, MIWVerifiableCredentialType.SUMMARY_CREDENTIAL),
+                    new HashSet<>(credentials.stream().map(HoldersCredential::getType).toList()));
+        }
+        Assertions.assertEquals("first", walletRepository.getByBpn(bpn1).getName());
+    }
+
+    @Test
+    void createWalletsInBatchWithUserToken403() {
+        CreateWalletBatchRequest request = CreateWalletBatchRequest.builder()
+                .wallets(List.of(new CreateWalletRequest(UUID.randomUUID().toString(), "first")))
+                .build();
+        HttpEntity<CreateWalletBatchRequest> entity = new HttpEntity<>(request, AuthenticationUtils.getValidUserHttpHeaders("invalid BPN"));
+        ResponseEntity<String> response = restTemplate.exchange(RestURI.WALLETS_BATCH, HttpMethod.POST, entity, String.class);
+        Assertions.assertEquals(HttpStatus.FORBIDDEN.value(), response.getStatusCode().value());
+    }
+
     @Test
     void storeCredentialsTest201() throws JsonProcessingException {
 
@@ -386,6 +438,75 @@ class WalletTest {
         Assertions.assertEquals(body.getBpn(), bpn);
     }
 
+    @Test
+    void getWalletByIdentifierCachedTest() {
+        String bpn = UUID.randomUUID().toString();
+        String baseBpn = miwSettings.authorityWalletBpn();
+        TestUtils.createWallet(bpn, "Sample Name", restTemplate, baseBpn);
+
+        //same instance by BPN and did, no new lookup
+        Wallet byBpn = commonService.getWalletByIdentifier(bpn);
+        Wallet byDid = commonService.getWalletByIdentifier(byBpn.getDid());
+        Assertions.assertSame(byBpn, byDid);
+        Assertions.assertSame(commonService.getWalletByIdentifier(miwSettings.authorityWalletBpn()), commonService.getWalletByIdentifier(miwSettings.authorityWalletDid()));
+
+        //deleted wallet is not served from cache
+        walletService.delete(byBpn.getId());
+        Assertions.assertThrows(WalletNotFoundProblem.class, () -> commonService.getWalletByIdentifier(bpn));
+        Assertions.assertThrows(WalletNotFoundProblem.class, () -> commonService.getWalletByIdentifier(byDid.getDid()));
+    }
+
+    @Test
+    void exportCredentialsTest200() throws JsonProcessingException {
+        String bpn = UUID.randomUUID().toString();
+        String did = DidWebFactory.fromHostnameAndPath(miwSettings.host(), bpn).toString();
+        String baseBpn = miwSettings.authorityWalletBpn();
+
+        TestUtils.createWallet(bpn, "Sample Name", restTemplate, baseBpn);
+        ResponseEntity<Map> storeResponse = storeCredential(bpn, did);
+        Assertions.assertEquals(HttpStatus.CREATED.value(), storeResponse.getStatusCode().value());
+
+        HttpEntity<CreateWalletRequest> entity = new HttpEntity<>(AuthenticationUtils.getValidUserHttpHeaders(bpn));
+        ResponseEntity<String> response = restTemplate.exchange(RestURI.API_WALLETS_IDENTIFIER_CREDENTIALS_EXPORT, HttpMethod.GET, entity, String.class, bpn);
+
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
+        Assertions.assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(response.getHeaders().getContentType()));
+        String[] lines = Objects.requireNonNull(response.getBody()).split("\n");
+        Assertions.assertEquals(3, lines.length); //BPN VC + Summery VC + Stored VC
+
+        Set<String> exportedIds = new HashSet<>();
+        for (String line : lines) {
+            VerifiableCredential credential = new VerifiableCredential(objectMapper.readValue(line, Map.class));
+            exportedIds.add(credential.getId().toString());
+        }
+        Set<String> storedIds = new HashSet<>();
+        holdersCredentialRepository.getByHolderDid(did).forEach(credential -> storedIds.add(credential.getCredentialId()));
+        Assertions.assertEquals(storedIds, exportedIds);
+
+        //one credential per page, each page continues after the last one
+        List<String> paged = new ArrayList<>();
+        credentialExportRepository.forEachCredentialData(did, 1, paged::add);
+        Assertions.assertEquals(lines.length, paged.size());
+        Set<String> pagedIds = new HashSet<>();
+        for (String json : paged) {
+            pagedIds.add(new VerifiableCredential(objectMapper.readValue(json, Map.class)).getId().toString());
+        }
+        Assertions.assertEquals(storedIds, pagedIds);
+    }
+
+    @Test
+    void exportCredentialsWithDifferentBPNTest403() {
+        String bpn = UUID.randomUUID().toString();
+        String baseBpn = miwSettings.authorityWalletBpn();
+
+        TestUtils.createWallet(bpn, "Sample Name", restTemplate, baseBpn);
+
+        HttpEntity<CreateWalletRequest> entity = new HttpEntity<>(AuthenticationUtils.getValidUserHttpHeaders("invalid BPN"));
+        ResponseEntity<String> response = restTemplate.exchange(RestURI.API_WALLETS_IDENTIFIER_CREDENTIALS_EXPORT, HttpMethod.GET, entity, String.class, bpn);
+
+        Assertions.assertEquals(HttpStatus.FORBIDDEN.value(), response.getStatusCode().value());
+    }
+
     @Test
     @Disabled("the endpoint has an issue that prevents resolving did with a port number")
     void getWalletByIdentifierDidTest200() throws JsonProcessingException {